@@ -15,6 +15,7 @@ import network.warzone.tgm.command.*;
 import network.warzone.tgm.join.JoinManager;
 import network.warzone.tgm.map.MapInfo;
 import network.warzone.tgm.map.MapInfoDeserializer;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchManager;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.modules.GameRuleModule;
@@ -127,6 +128,7 @@ public class TGM extends JavaPlugin {
         commandManager.register(CycleCommands.class);
         commandManager.register(BroadcastCommands.class);
         commandManager.register(MiscCommands.class);
+        commandManager.register(MatchCommands.class);
         commandManager.register(NickCommands.class);
         if (apiConfig.getBoolean("enabled", false)) {
             commandManager.register(PunishCommands.class);
@@ -172,13 +174,25 @@ public class TGM extends JavaPlugin {
     }
 
     public static void registerEvents(Listener listener) {
-        Bukkit.getPluginManager().registerEvents(listener, TGM.get());
+        TGM.get().getMatchManager().getEventRouter().registerEvents(listener, null);
+    }
+
+    /**
+     * Registers a listener owned by a match. Its handlers only
+     * receive events that happen inside that match.
+     */
+    public static void registerEvents(Listener listener, Match match) {
+        TGM.get().getMatchManager().getEventRouter().registerEvents(listener, match);
     }
 
     public static void unregisterEvents(Listener listener) {
         HandlerList.unregisterAll(listener);
     }
 
+    /**
+     * Looks up a module of the primary match. Code owned by a
+     * match should resolve modules through that match instead.
+     */
     public <T extends MatchModule> T getModule(Class<T> clazz) {
         return matchManager.getMatch().getModule(clazz);
     }
@@ -4,12 +4,15 @@ import lombok.Getter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.map.MapInfo;
 import network.warzone.tgm.map.ParsedTeam;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchLoadEvent;
 import network.warzone.tgm.match.MatchResultEvent;
 import network.warzone.tgm.modules.StatsModule;
 import network.warzone.tgm.modules.chat.ChatModule;
 import network.warzone.tgm.modules.death.DeathInfo;
 import network.warzone.tgm.modules.death.DeathModule;
+import network.warzone.tgm.modules.stats.MatchStats;
+import network.warzone.tgm.modules.stats.Stat;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.player.event.PlayerXPEvent;
@@ -80,7 +83,7 @@ public class ApiManager implements Listener {
 
     @EventHandler
     public void onMatchResult(MatchResultEvent event) {
-        if (isStatsDisabled()) return;
+        if (isStatsDisabled(event.getMatch())) return;
         try {
             List<String> winners = new ArrayList<>();
             if (event.getWinningTeam() != null) {
@@ -100,7 +103,7 @@ public class ApiManager implements Listener {
                 }
             }
 
-            TeamManagerModule teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+            TeamManagerModule teamManagerModule = event.getMatch().getModule(TeamManagerModule.class);
             List<TeamMapping> teamMappings = new ArrayList<>();
             for (MatchTeam matchTeam : teamManagerModule.getTeams()) {
                 if (matchTeam.isSpectator()) continue;
@@ -109,17 +112,32 @@ public class ApiManager implements Listener {
                     teamMappings.add(new TeamMapping(matchTeam.getId(), playerContext.getUserProfile().getId().toString()));
                 }
             }
+
+            MatchStats matchStats = event.getMatch().getModule(StatsModule.class).getStats();
+            List<PlayerMatchStats> stats = new ArrayList<>();
+            for (int i = 0; i < matchStats.size(); i++) {
+                PlayerContext playerContext = TGM.get().getPlayerManager().getPlayerContext(matchStats.getUuid(i));
+                if (playerContext == null) continue; // left before the match ended
+
+                stats.add(new PlayerMatchStats(playerContext.getUserProfile().getId().toString(),
+                        matchStats.get(i, Stat.KILLS),
+                        matchStats.get(i, Stat.DEATHS),
+                        matchStats.get(i, Stat.BEST_KILLSTREAK),
+                        matchStats.get(i, Stat.OBJECTIVES),
+                        matchStats.get(i, Stat.XP)));
+            }
             Bukkit.getScheduler().runTaskAsynchronously(TGM.get(), () -> {
                 MatchFinishPacket matchFinishPacket = new MatchFinishPacket(
                         matchInProgress.getId(),
                         matchInProgress.getMap(),
                         event.getMatch().getStartedTime(),
                         event.getMatch().getFinishedTime(),
-                        TGM.get().getModule(ChatModule.class).getChatLog(),
+                        event.getMatch().getModule(ChatModule.class).getChatLog(),
                         winners,
                         losers,
                         event.getWinningTeam() != null ? event.getWinningTeam().getId() : null,
-                        teamMappings);
+                        teamMappings,
+                        stats);
                 TGM.get().getTeamClient().finishMatch(matchFinishPacket);
             });
         } catch (Exception e) {
@@ -130,7 +148,7 @@ public class ApiManager implements Listener {
 
     @EventHandler
     public void onMatchLoad(MatchLoadEvent event) {
-        if (isStatsDisabled()) return;
+        if (isStatsDisabled(event.getMatch())) return;
         try {
             deathModule = event.getMatch().getModule(DeathModule.class);
 
@@ -155,7 +173,7 @@ public class ApiManager implements Listener {
 
     @EventHandler
     public void onKill(TGMPlayerDeathEvent event) {
-        if (isStatsDisabled()) return;
+        if (isStatsDisabled(TGM.get().getMatchManager().getMatch(event.getVictim()))) return;
         try {
             DeathInfo deathInfo = deathModule.getPlayer(event.getVictim());
 
@@ -186,6 +204,14 @@ public class ApiManager implements Listener {
     }
 
     public boolean isStatsDisabled() {
-        return !TGM.get().getConfig().getBoolean("api.stats.enabled") || TGM.get().getModule(StatsModule.class).isStatsDisabled();
+        return isStatsDisabled(TGM.get().getMatchManager().getMatch());
+    }
+
+    /**
+     * Only the primary match is reported to the API, arenas are never ranked.
+     */
+    public boolean isStatsDisabled(Match match) {
+        return !TGM.get().getConfig().getBoolean("api.stats.enabled") || match != TGM.get().getMatchManager().getMatch() ||
+                match.getModule(StatsModule.class).isStatsDisabled();
     }
 }
@@ -10,8 +10,10 @@ import network.warzone.tgm.TGM;
 import network.warzone.tgm.gametype.GameType;
 import network.warzone.tgm.map.MapContainer;
 import network.warzone.tgm.map.MapInfo;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchManager;
 import network.warzone.tgm.match.MatchStatus;
+import network.warzone.tgm.modules.StatsModule;
 import network.warzone.tgm.modules.chat.ChatChannel;
 import network.warzone.tgm.modules.chat.ChatConstant;
 import network.warzone.tgm.modules.chat.ChatModule;
@@ -19,6 +21,8 @@ import network.warzone.tgm.modules.countdown.*;
 import network.warzone.tgm.modules.ffa.FFAModule;
 import network.warzone.tgm.modules.killstreak.KillstreakModule;
 import network.warzone.tgm.modules.kit.classes.GameClassModule;
+import network.warzone.tgm.modules.stats.MatchStats;
+import network.warzone.tgm.modules.stats.Stat;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.modules.team.TeamUpdateEvent;
@@ -187,10 +191,11 @@ public class CycleCommands {
         }
     }
 
-    @Command(aliases = {"cycle"}, desc = "Cycle to a new map.")
+    @Command(aliases = {"cycle"}, desc = "Cycle to a new map.", flags = "m:")
     @CommandPermissions({"tgm.cycle"})
-    public static void cycle(CommandContext cmd, CommandSender sender) {
-        MatchStatus matchStatus = TGM.get().getMatchManager().getMatch().getMatchStatus();
+    public static void cycle(CommandContext cmd, CommandSender sender) throws CommandException {
+        Match match = getMatch(cmd, sender);
+        MatchStatus matchStatus = match.getMatchStatus();
         if (matchStatus != MatchStatus.MID) {
             int time = CycleCountdown.START_TIME;
             if (cmd.argsLength() > 0) {
@@ -201,16 +206,17 @@ public class CycleCommands {
                 }
             }
             sender.sendMessage(ChatColor.GREEN + "Cycling in " + time + " seconds.");
-            TGM.get().getModule(CycleCountdown.class).start(time);
+            match.getModule(CycleCountdown.class).start(time);
         } else {
             sender.sendMessage(ChatColor.RED + "A match is currently in progress.");
         }
     }
 
-    @Command(aliases = {"start"}, desc = "Start the match.")
+    @Command(aliases = {"start"}, desc = "Start the match.", flags = "m:")
     @CommandPermissions({"tgm.start"})
-    public static void start(CommandContext cmd, CommandSender sender) {
-        MatchStatus matchStatus = TGM.get().getMatchManager().getMatch().getMatchStatus();
+    public static void start(CommandContext cmd, CommandSender sender) throws CommandException {
+        Match match = getMatch(cmd, sender);
+        MatchStatus matchStatus = match.getMatchStatus();
         if (matchStatus == MatchStatus.PRE) {
             int time = StartCountdown.START_TIME;
             if (cmd.argsLength() > 0) {
@@ -220,34 +226,35 @@ public class CycleCommands {
                     sender.sendMessage(ChatColor.RED + "Unknown time \"" + cmd.getString(0) + "\"");
                 }
             }
-            boolean soloStart = Bukkit.getOnlinePlayers().size() <= 1;
+            boolean soloStart = match.getPlayers().size() <= 1;
             if (!soloStart)
                 sender.sendMessage(ChatColor.GREEN + "Match will start in " + time + " second" + (time == 1 ? "" : "s") + ".");
-            TGM.get().getModule(StartCountdown.class).start((soloStart) ? 0 : time);
+            match.getModule(StartCountdown.class).start((soloStart) ? 0 : time);
         } else {
             sender.sendMessage(ChatColor.RED + "The match cannot be started at this time.");
         }
     }
 
-    @Command(aliases = {"end", "finish"}, desc = "End the match.", anyFlags = true, flags = "f")
+    @Command(aliases = {"end", "finish"}, desc = "End the match.", anyFlags = true, flags = "fm:")
     @CommandPermissions({"tgm.end"})
-    public static void end(CommandContext cmd, CommandSender sender) {
-        MatchStatus matchStatus = TGM.get().getMatchManager().getMatch().getMatchStatus();
+    public static void end(CommandContext cmd, CommandSender sender) throws CommandException {
+        Match match = getMatch(cmd, sender);
+        MatchStatus matchStatus = match.getMatchStatus();
         if (matchStatus == MatchStatus.MID) {
             if (cmd.argsLength() > 0) {
-                MatchTeam matchTeam = TGM.get().getModule(TeamManagerModule.class).getTeamFromInput(cmd.getJoinedStrings(0));
+                MatchTeam matchTeam = match.getModule(TeamManagerModule.class).getTeamFromInput(cmd.getJoinedStrings(0));
                 if (matchTeam == null) {
                     sender.sendMessage(ChatColor.RED + "Unable to find team \"" + cmd.getJoinedStrings(0) + "\"");
                     return;
                 }
                 sender.sendMessage(ChatColor.GREEN + "Ending match...");
-                TGM.get().getMatchManager().endMatch(matchTeam);
+                TGM.get().getMatchManager().endMatch(match, matchTeam);
             } else {
                 sender.sendMessage(ChatColor.GREEN + "Ending match...");
                 if (cmd.hasFlag('f')) {
-                    TGM.get().getMatchManager().endMatch(null);
+                    TGM.get().getMatchManager().endMatch(match, null);
                 } else {
-                    TGM.get().getModule(TimeModule.class).endMatch();
+                    match.getModule(TimeModule.class).endMatch();
                 }
             }
         } else {
@@ -255,10 +262,10 @@ public class CycleCommands {
         }
     }
 
-    @Command(aliases = {"cancel"}, desc = "Cancel all countdowns.")
+    @Command(aliases = {"cancel"}, desc = "Cancel all countdowns.", flags = "m:")
     @CommandPermissions({"tgm.cancel"})
-    public static void cancel(CommandContext cmd, CommandSender sender) {
-        for (Countdown countdown : TGM.get().getModules(Countdown.class)) {
+    public static void cancel(CommandContext cmd, CommandSender sender) throws CommandException {
+        for (Countdown countdown : getMatch(cmd, sender).getModules(Countdown.class)) {
             countdown.cancel();
         }
         sender.sendMessage(ChatColor.GREEN + "Countdowns cancelled.");
@@ -301,13 +308,14 @@ public class CycleCommands {
             sender.sendMessage(ChatConstant.ERROR_COMMAND_PLAYERS_ONLY.toString());
             return;
         }
-        if (TGM.get().getModule(GameClassModule.class) == null) {
+        Player player = (Player) sender;
+        GameClassModule gameClassModule = TGM.get().getMatchManager().getMatch(player).getModule(GameClassModule.class);
+        if (gameClassModule == null) {
             sender.sendMessage(ChatColor.RED + "This map does not use classes.");
             return;
         }
 
-        Player player = (Player) sender;
-        ClassMenu.getClassMenu().open(player);
+        ClassMenu.getClassMenu(gameClassModule).open(player);
     }
 
     @SuppressWarnings("unchecked")
@@ -317,17 +325,18 @@ public class CycleCommands {
             sender.sendMessage(ChatConstant.ERROR_COMMAND_PLAYERS_ONLY.toString());
             return;
         }
-        if (TGM.get().getModule(GameClassModule.class) == null) {
+        Match match = TGM.get().getMatchManager().getMatch((Player) sender);
+        GameClassModule gameClassModule = match.getModule(GameClassModule.class);
+        if (gameClassModule == null) {
             sender.sendMessage(ChatColor.RED + "This map does not use classes.");
             return;
         }
-        if (TGM.get().getMatchManager().getMatch().getMatchStatus() == MatchStatus.POST) {
+        if (match.getMatchStatus() == MatchStatus.POST) {
             sender.sendMessage(ChatColor.RED + "You cannot change classes at this time!");
             return;
         }
 
         String chosenClassString = Strings.getTechnicalName(cmd.getString(0));
-        GameClassModule gameClassModule = TGM.get().getModule(GameClassModule.class);
 
         GameClassModule.GameClassStore actualKit = null;
         for (GameClassModule.GameClassStore gameClassStore : GameClassModule.GameClassStore.values()) {
@@ -347,7 +356,7 @@ public class CycleCommands {
             return;
         }
 
-        if (TGM.get().getMatchManager().getMatch().getMatchStatus() != MatchStatus.MID) {
+        if (match.getMatchStatus() != MatchStatus.MID) {
             gameClassModule.setClassForPlayer(player, chosenClassString);
         } else {
             gameClassModule.addSwitchClassRequest(player, chosenClassString);
@@ -360,7 +369,7 @@ public class CycleCommands {
             sender.sendMessage(ChatConstant.ERROR_COMMAND_PLAYERS_ONLY.toString());
             return;
         }
-        TeamManagerModule teamManager = TGM.get().getModule(TeamManagerModule.class);
+        TeamManagerModule teamManager = TGM.get().getMatchManager().getMatch((Player) sender).getModule(TeamManagerModule.class);
         PlayerContext playerContext = TGM.get().getPlayerManager().getPlayerContext((Player) sender);
         MatchTeam oldTeam = teamManager.getTeam(playerContext.getPlayer());
         MatchTeam team;
@@ -392,7 +401,7 @@ public class CycleCommands {
                 return;
             }
 
-            killstreak = TGM.get().getModule(KillstreakModule.class).getKillstreak(player.getUniqueId().toString());
+            killstreak = TGM.get().getMatchManager().getMatch(player).getModule(KillstreakModule.class).getKillstreak(player);
 
             if (killstreak == 0) {
                 sender.sendMessage(ChatColor.translateAlternateColorCodes('&', "&4" + player.getName() + " &cisn't on a kill streak."));
@@ -404,10 +413,10 @@ public class CycleCommands {
         } else {
             otherPlayer = false;
             player = (Player) sender;
-            killstreak = TGM.get().getModule(KillstreakModule.class).getKillstreak(player.getUniqueId().toString());
+            killstreak = TGM.get().getMatchManager().getMatch(player).getModule(KillstreakModule.class).getKillstreak(player);
         }
 
-        MatchTeam matchTeam = TGM.get().getModule(TeamManagerModule.class).getTeam(player);
+        MatchTeam matchTeam = TGM.get().getMatchManager().getMatch(player).getModule(TeamManagerModule.class).getTeam(player);
 
         if (matchTeam != null) {
             if (killstreak < 1 || matchTeam.isSpectator()) {
@@ -427,8 +436,9 @@ public class CycleCommands {
             return;
         }
         Player player = (Player) sender;
-        MatchTeam matchTeam = TGM.get().getModule(TeamManagerModule.class).getTeam(player);
-        MatchStatus matchStatus = TGM.get().getMatchManager().getMatch().getMatchStatus();
+        Match match = TGM.get().getMatchManager().getMatch(player);
+        MatchTeam matchTeam = match.getModule(TeamManagerModule.class).getTeam(player);
+        MatchStatus matchStatus = match.getMatchStatus();
         if (matchTeam != null) {
             if (matchTeam.isSpectator() || matchStatus == MatchStatus.POST || player.hasPermission("tgm.teleport")) { // allow staff to tp outside of spectator
                 if (cmd.argsLength() == 1) {
@@ -450,13 +460,14 @@ public class CycleCommands {
         }
     }
 
-    @Command(aliases = {"team"}, desc = "Manage teams.")
+    @Command(aliases = {"team"}, desc = "Manage teams.", flags = "m:")
     @CommandPermissions({"tgm.team"})
-    public static void team(CommandContext cmd, CommandSender sender) {
+    public static void team(CommandContext cmd, CommandSender sender) throws CommandException {
+        Match match = getMatch(cmd, sender);
         if (cmd.argsLength() > 0) {
             if (cmd.getString(0).equalsIgnoreCase("alias")) {
                 if (cmd.argsLength() == 3) {
-                    MatchTeam matchTeam = TGM.get().getModule(TeamManagerModule.class).getTeamFromInput(cmd.getString(1));
+                    MatchTeam matchTeam = match.getModule(TeamManagerModule.class).getTeamFromInput(cmd.getString(1));
                     if (matchTeam == null) {
                         sender.sendMessage(ChatColor.RED + "Unknown team \"" + cmd.getString(1) + "\"");
                         return;
@@ -469,7 +480,7 @@ public class CycleCommands {
                 }
             } else if (cmd.getString(0).equalsIgnoreCase("force")) {
                 if (cmd.argsLength() == 3) {
-                    MatchTeam matchTeam = TGM.get().getModule(TeamManagerModule.class).getTeamFromInput(cmd.getString(2));
+                    MatchTeam matchTeam = match.getModule(TeamManagerModule.class).getTeamFromInput(cmd.getString(2));
                     if (matchTeam == null) {
                         sender.sendMessage(ChatColor.RED + "Unknown team \"" + cmd.getString(2) + "\"");
                         return;
@@ -479,6 +490,9 @@ public class CycleCommands {
                         sender.sendMessage(ChatColor.RED + "Unknown player \"" + cmd.getString(1) + "\"");
                         return;
                     }
+                    if (TGM.get().getMatchManager().getMatch(player) != match) {
+                        TGM.get().getMatchManager().movePlayer(TGM.get().getPlayerManager().getPlayerContext(player), match);
+                    }
                     attemptJoinTeam(player, matchTeam, true, true);
                     sender.sendMessage(ChatColor.GREEN + "Forced " + player.getName() + " into " + matchTeam.getColor() + matchTeam.getAlias());
                 } else {
@@ -486,7 +500,7 @@ public class CycleCommands {
                 }
             } else if (cmd.getString(0).equalsIgnoreCase("size")) {
                 if (cmd.argsLength() == 4) {
-                    MatchTeam matchTeam = TGM.get().getModule(TeamManagerModule.class).getTeamFromInput(cmd.getString(1));
+                    MatchTeam matchTeam = match.getModule(TeamManagerModule.class).getTeamFromInput(cmd.getString(1));
                     if (matchTeam == null) {
                         sender.sendMessage(ChatColor.RED + "Unknown team \"" + cmd.getString(1) + "\"");
                         return;
@@ -560,33 +574,34 @@ public class CycleCommands {
         }
         if (cmd.argsLength() > 0) {
             PlayerContext playerContext = TGM.get().getPlayerManager().getPlayerContext((Player) sender);
-            TGM.get().getModule(ChatModule.class).sendTeamChat(playerContext, cmd.getJoinedStrings(0));
+            TGM.get().getMatchManager().getMatch((Player) sender).getModule(ChatModule.class).sendTeamChat(playerContext, cmd.getJoinedStrings(0));
         }
     }
 
     @Command(aliases = {"next"}, desc = "View the next map in the rotation")
     public static void next(CommandContext cmd, CommandSender sender) {
-        MapInfo info = TGM.get().getMatchManager().getNextMap().getMapInfo();
+        MapInfo info = TGM.get().getMatchManager().getNextMap(getMatch(sender)).getMapInfo();
         sender.sendMessage(ChatColor.GRAY + "Next Map: " + ChatColor.YELLOW + info.getName() + ChatColor.GRAY + " by " + ChatColor.YELLOW + String.join(", ", info.getAuthors().stream().map(Strings::getAuthorUsername).collect(Collectors.joining(", "))));
     }
 
     @Command(aliases = {"map"}, desc = "View the map info for the current map")
     public static void map(CommandContext cmd, CommandSender sender) {
-        MapInfo info = TGM.get().getMatchManager().getMatch().getMapContainer().getMapInfo();
+        MapInfo info = getMatch(sender).getMapContainer().getMapInfo();
         sender.sendMessage(ChatColor.GRAY + "Currently playing " + ChatColor.YELLOW + info.getGametype() + ChatColor.GRAY + " on map " + ChatColor.YELLOW + info.getName() + ChatColor.GRAY + " by " + ChatColor.YELLOW + info.getAuthors().stream().map(Strings::getAuthorUsername).collect(Collectors.joining(", ")));
     }
 
-    @Command(aliases = {"time"}, desc = "Time options")
-    public static void time(CommandContext cmd, CommandSender sender) {
+    @Command(aliases = {"time"}, desc = "Time options", flags = "m:")
+    public static void time(CommandContext cmd, CommandSender sender) throws CommandException {
+        Match match = getMatch(cmd, sender);
         if (cmd.argsLength() <= 0) {
             ChatColor timeColor = ChatColor.GREEN;
-            MatchStatus matchStatus = TGM.get().getMatchManager().getMatch().getMatchStatus();
+            MatchStatus matchStatus = match.getMatchStatus();
             if (matchStatus == MatchStatus.PRE) {
                 timeColor = ChatColor.GOLD;
             } else if (matchStatus == MatchStatus.POST) {
                 timeColor = ChatColor.RED;
             }
-            sender.sendMessage(ChatColor.AQUA + "Time elapsed: " + timeColor + Strings.formatTime(TGM.get().getModule(TimeModule.class).getTimeElapsed()));
+            sender.sendMessage(ChatColor.AQUA + "Time elapsed: " + timeColor + Strings.formatTime(match.getModule(TimeModule.class).getTimeElapsed()));
             return;
         }
         if (cmd.getString(0).equalsIgnoreCase("limit")) {
@@ -599,7 +614,7 @@ public class CycleCommands {
                 return;
             }
 
-            TimeModule timeModule = TGM.get().getModule(TimeModule.class);
+            TimeModule timeModule = match.getModule(TimeModule.class);
             if (cmd.getString(1).equalsIgnoreCase("on") || cmd.getString(1).equalsIgnoreCase("true")) {
                 timeModule.setTimeLimited(true);
                 sender.sendMessage(ChatColor.AQUA + "Time limit: " + ChatColor.GREEN + "true");
@@ -827,10 +842,11 @@ public class CycleCommands {
         }
     }
 
-    @Command(aliases = {"countdown", "cd"}, desc = "Manage custom countdowns", usage = "<list|start|create|edit|cancel>", min = 1)
+    @Command(aliases = {"countdown", "cd"}, desc = "Manage custom countdowns", usage = "<list|start|create|edit|cancel>", min = 1, flags = "m:")
     @CommandPermissions({"tgm.countdown"})
-    public static void countdown(CommandContext cmd, CommandSender sender) throws CommandNumberFormatException {
-        CountdownManagerModule countdownManagerModule = TGM.get().getModule(CountdownManagerModule.class);
+    public static void countdown(CommandContext cmd, CommandSender sender) throws CommandException {
+        Match match = getMatch(cmd, sender);
+        CountdownManagerModule countdownManagerModule = match.getModule(CountdownManagerModule.class);
         if (cmd.getString(0).equalsIgnoreCase("list")) {
             Map<String, CustomCountdown> countdowns = countdownManagerModule.getCustomCountdowns();
             if (countdowns.size() > 0) {
@@ -866,7 +882,7 @@ public class CycleCommands {
             boolean visible = cmd.argsLength() <= 6 || Boolean.parseBoolean(cmd.getString(6));
             boolean invert = cmd.argsLength() > 7 && Boolean.parseBoolean(cmd.getString(7));
             List<MatchTeam> teams = cmd.argsLength() > 8 ?
-                    Arrays.stream(cmd.getString(8).split(",")).map(t -> TGM.get().getModule(TeamManagerModule.class).getTeamById(t)).collect(Collectors.toList()) :
+                    Arrays.stream(cmd.getString(8).split(",")).map(t -> match.getModule(TeamManagerModule.class).getTeamById(t)).collect(Collectors.toList()) :
                     new ArrayList<>();
             List<String> onFinish = cmd.argsLength() > 9 ?
                     Arrays.asList(cmd.getString(9).split(",")) :
@@ -904,7 +920,7 @@ public class CycleCommands {
                         countdown.setTeams(new ArrayList<>());
                         break;
                     }
-                    TeamManagerModule teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+                    TeamManagerModule teamManagerModule = match.getModule(TeamManagerModule.class);
                     countdown.setTeams(Arrays.stream(cmd.getRemainingString(3).split(";")).map(teamManagerModule::getTeamFromInput).collect(Collectors.toList()));
                     break;
                 case "onFinish":
@@ -937,6 +953,23 @@ public class CycleCommands {
         }
     }
 
+    /**
+     * @return the match named by the -m flag, or the sender's own match.
+     */
+    private static Match getMatch(CommandContext cmd, CommandSender sender) throws CommandException {
+        if (cmd.hasFlag('m')) {
+            Match match = TGM.get().getMatchManager().findMatch(cmd.getFlag('m'));
+            if (match == null) throw new CommandException("Unknown match \"" + cmd.getFlag('m') + "\"");
+            return match;
+        }
+        return getMatch(sender);
+    }
+
+    private static Match getMatch(CommandSender sender) {
+        MatchManager matchManager = TGM.get().getMatchManager();
+        return sender instanceof Player ? matchManager.getMatch((Player) sender) : matchManager.getMatch();
+    }
+
     public static void viewStats(CommandSender sender, String target) {
         Player targetPlayer = Bukkit.getServer().getPlayer(target);
         if (targetPlayer == null) {
@@ -981,6 +1014,14 @@ public class CycleCommands {
         sender.sendMessage(ChatColor.DARK_AQUA + "   Wins: " + ChatColor.GREEN + profile.getWins());
         sender.sendMessage(ChatColor.DARK_AQUA + "   Losses: " + ChatColor.RED + profile.getLosses());
         sender.sendMessage(ChatColor.DARK_AQUA + "   W/L: " + ChatColor.AQUA + profile.getWLR());
+        MatchStats matchStats = TGM.get().getMatchManager().getMatch(targetPlayer).getModule(StatsModule.class).getStats();
+        int index = matchStats.getIndex(targetPlayer.getUniqueId());
+        if (index >= 0) {
+            sender.sendMessage("");
+            sender.sendMessage(ChatColor.DARK_AQUA + "   This match: " + ChatColor.GREEN + matchStats.get(index, Stat.KILLS) + ChatColor.DARK_AQUA + " kills, " +
+                    ChatColor.RED + matchStats.get(index, Stat.DEATHS) + ChatColor.DARK_AQUA + " deaths, best streak " +
+                    ChatColor.AQUA + matchStats.get(index, Stat.BEST_KILLSTREAK));
+        }
         sender.sendMessage(ChatColor.BLUE + ChatColor.STRIKETHROUGH.toString() + "-------------------------------");
     }
 
@@ -990,7 +1031,8 @@ public class CycleCommands {
     }
 
     public static void attemptJoinTeam(Player player, MatchTeam matchTeam, boolean autoJoin, boolean ignoreFull) {
-        if (!ignoreFull && autoJoin && !player.hasPermission("tgm.pickteam") && !TGM.get().getModule(TeamManagerModule.class).getTeam(player).isSpectator()) {
+        TeamManagerModule teamManagerModule = TGM.get().getMatchManager().getMatch(player).getModule(TeamManagerModule.class);
+        if (!ignoreFull && autoJoin && !player.hasPermission("tgm.pickteam") && !teamManagerModule.getTeam(player).isSpectator()) {
             player.sendMessage(ChatColor.RED + "You are already in a team.");
             return;
         }
@@ -1007,7 +1049,7 @@ public class CycleCommands {
         }
 
         PlayerContext playerContext = TGM.get().getPlayerManager().getPlayerContext(player);
-        TGM.get().getModule(TeamManagerModule.class).joinTeam(playerContext, matchTeam, ignoreFull);
+        teamManagerModule.joinTeam(playerContext, matchTeam, ignoreFull);
     }
 
     private static TextComponent profileToTextComponent(UserProfile profile, int place) {
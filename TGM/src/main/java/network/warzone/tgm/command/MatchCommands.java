@@ -0,0 +1,257 @@
+package network.warzone.tgm.command;
+
+import com.sk89q.minecraft.util.commands.Command;
+import com.sk89q.minecraft.util.commands.CommandContext;
+import com.sk89q.minecraft.util.commands.CommandException;
+import com.sk89q.minecraft.util.commands.CommandPermissions;
+import network.warzone.tgm.TGM;
+import network.warzone.tgm.map.MapContainer;
+import network.warzone.tgm.match.Match;
+import network.warzone.tgm.match.MatchManager;
+import network.warzone.tgm.modules.filter.FilterDispatcher;
+import network.warzone.tgm.modules.filter.FilterManagerModule;
+import network.warzone.tgm.modules.filter.FilterMetrics;
+import network.warzone.tgm.modules.filter.FilterRule;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.modules.tasked.TimerWheel;
+import network.warzone.tgm.parser.item.ItemDeserializer;
+import network.warzone.tgm.profiling.HandlerTimings;
+import network.warzone.tgm.profiling.LifecyclePhase;
+import network.warzone.tgm.profiling.ListenerProfiler;
+import network.warzone.tgm.profiling.ListenerTimings;
+import network.warzone.tgm.profiling.MatchTimings;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Manages the matches running on this server.
+ */
+public class MatchCommands {
+
+    @Command(aliases = {"matches", "arena"}, desc = "Manage running matches", usage = "(list|create|close|join)", min = 1)
+    @CommandPermissions({"tgm.matches"})
+    public static void matches(CommandContext cmd, CommandSender sender) {
+        MatchManager matchManager = TGM.get().getMatchManager();
+        if (cmd.getString(0).equalsIgnoreCase("list")) {
+            sender.sendMessage(ChatColor.GREEN + "Running matches (" + matchManager.getMatchCount() + "):");
+            for (Match match : matchManager.getMatches()) {
+                sender.sendMessage(ChatColor.GRAY + " - " + ChatColor.WHITE + match.getUuid().toString().substring(0, 8) +
+                        ChatColor.GRAY + " " + match.getMapContainer().getMapInfo().getName() +
+                        " [" + match.getMatchStatus() + ", " + match.getPlayers().size() + " players]" +
+                        (match == matchManager.getMatch() ? ChatColor.YELLOW + " (primary)" : ""));
+            }
+        } else if (cmd.getString(0).equalsIgnoreCase("create")) {
+            if (cmd.argsLength() <= 1) {
+                sender.sendMessage(ChatColor.RED + "/" + cmd.getCommand() + " create <map>");
+                return;
+            }
+            MapContainer found = null;
+            for (MapContainer mapContainer : matchManager.getMapLibrary().getMaps()) {
+                if (mapContainer.getMapInfo().getName().equalsIgnoreCase(cmd.getJoinedStrings(1))) {
+                    found = mapContainer;
+                }
+            }
+            if (found == null) {
+                for (MapContainer mapContainer : matchManager.getMapLibrary().getMaps()) {
+                    if (mapContainer.getMapInfo().getName().toLowerCase().startsWith(cmd.getJoinedStrings(1).toLowerCase())) {
+                        found = mapContainer;
+                    }
+                }
+            }
+            if (found == null) {
+                sender.sendMessage(ChatColor.RED + "Map not found \"" + cmd.getJoinedStrings(1) + "\"");
+                return;
+            }
+            Match match = matchManager.createMatch(found);
+            sender.sendMessage(ChatColor.GREEN + "Created match " + ChatColor.YELLOW + match.getUuid().toString().substring(0, 8) +
+                    ChatColor.GREEN + " on " + ChatColor.YELLOW + found.getMapInfo().getName());
+        } else if (cmd.getString(0).equalsIgnoreCase("close")) {
+            if (cmd.argsLength() <= 1) {
+                sender.sendMessage(ChatColor.RED + "/" + cmd.getCommand() + " close <match>");
+                return;
+            }
+            Match match = matchManager.findMatch(cmd.getString(1));
+            if (match == null) {
+                sender.sendMessage(ChatColor.RED + "Unknown match \"" + cmd.getString(1) + "\"");
+                return;
+            }
+            if (match == matchManager.getMatch()) {
+                sender.sendMessage(ChatColor.RED + "The primary match can't be closed.");
+                return;
+            }
+            matchManager.closeMatch(match);
+            sender.sendMessage(ChatColor.YELLOW + "Match closed.");
+        } else if (cmd.getString(0).equalsIgnoreCase("join")) {
+            if (!(sender instanceof Player)) {
+                sender.sendMessage(ChatColor.RED + "Only players can join matches.");
+                return;
+            }
+            if (cmd.argsLength() <= 1) {
+                sender.sendMessage(ChatColor.RED + "/" + cmd.getCommand() + " join <match>");
+                return;
+            }
+            Match match = matchManager.findMatch(cmd.getString(1));
+            if (match == null) {
+                sender.sendMessage(ChatColor.RED + "Unknown match \"" + cmd.getString(1) + "\"");
+                return;
+            }
+            if (match == matchManager.getMatch((Player) sender)) {
+                sender.sendMessage(ChatColor.RED + "You are already in this match.");
+                return;
+            }
+            matchManager.movePlayer(TGM.get().getPlayerManager().getPlayerContext((Player) sender), match);
+        } else {
+            sender.sendMessage(ChatColor.RED + "/" + cmd.getCommand() + " list|create|close|join");
+        }
+    }
+
+    @Command(aliases = {"matchtimings", "mtimings"}, desc = "View the lifecycle timings of a map and the item cache", usage = "[map|report]", flags = "m:")
+    @CommandPermissions({"tgm.timings"})
+    public static void matchTimings(CommandContext cmd, CommandSender sender) throws CommandException {
+        MatchManager matchManager = TGM.get().getMatchManager();
+        Match match = getMatch(cmd, sender);
+
+        if (cmd.argsLength() > 0 && cmd.getString(0).equalsIgnoreCase("report")) {
+            File file = matchManager.getProfiler().writeReport(match);
+            sender.sendMessage(ChatColor.GREEN + "Writing report to " + ChatColor.YELLOW + file.getPath());
+            return;
+        }
+
+        // parsed items are cached across matches, loading a map again should mostly hit.
+        long hits = ItemDeserializer.getCacheHits();
+        long lookups = hits + ItemDeserializer.getCacheMisses();
+        sender.sendMessage(ChatColor.GREEN + "Item cache: " + ChatColor.WHITE + ItemDeserializer.getCacheSize() + ChatColor.GRAY + " items, " +
+                ChatColor.WHITE + hits + ChatColor.GRAY + "/" + lookups + " hits" +
+                (lookups == 0 ? "" : " (" + ChatColor.WHITE + (hits * 100 / lookups) + "%" + ChatColor.GRAY + ")"));
+
+        String mapName = cmd.argsLength() > 0 ? cmd.getJoinedStrings(0) : match.getMapContainer().getMapInfo().getName();
+        List<MatchTimings> history = matchManager.getProfiler().getHistory(mapName);
+        if (history.isEmpty()) {
+            sender.sendMessage(ChatColor.RED + "No timings recorded for \"" + mapName + "\"");
+            return;
+        }
+
+        sender.sendMessage(ChatColor.GREEN + "Lifecycle timings of " + ChatColor.YELLOW + history.get(0).getMapName() + ChatColor.GREEN + " (last " + history.size() + " matches):");
+        Map<String, Long> loadTotals = new HashMap<>();
+        for (MatchTimings timings : history) {
+            StringBuilder line = new StringBuilder(ChatColor.GRAY + " - " + ChatColor.WHITE + timings.getMatchUuid().toString().substring(0, 8));
+            for (LifecyclePhase phase : LifecyclePhase.values()) {
+                line.append(ChatColor.GRAY).append(" ").append(phase.name().toLowerCase()).append(" ")
+                        .append(ChatColor.WHITE).append(formatNanos(timings.getTotal(phase)));
+            }
+            sender.sendMessage(line.toString());
+            timings.getTimings(LifecyclePhase.LOAD).forEach((name, nanos) -> loadTotals.merge(name, nanos, Long::sum));
+        }
+
+        sender.sendMessage(ChatColor.GREEN + "Slowest modules to load (average):");
+        loadTotals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(5)
+                .forEach(entry -> sender.sendMessage(ChatColor.GRAY + " - " + ChatColor.WHITE + entry.getKey() + ChatColor.GRAY + " " + formatNanos(entry.getValue() / history.size())));
+    }
+
+    @Command(aliases = {"listenertimings", "ltimings"}, desc = "View the time spent in event handlers", usage = "[on|off|reset|global]", flags = "m:")
+    @CommandPermissions({"tgm.timings"})
+    public static void listenerTimings(CommandContext cmd, CommandSender sender) throws CommandException {
+        ListenerProfiler listenerProfiler = TGM.get().getMatchManager().getListenerProfiler();
+        Match match = getMatch(cmd, sender);
+        String action = cmd.argsLength() > 0 ? cmd.getString(0).toLowerCase() : "";
+
+        if (action.equals("on") || action.equals("off")) {
+            listenerProfiler.setEnabled(action.equals("on"));
+            sender.sendMessage(ChatColor.GREEN + "Listener profiling " + (listenerProfiler.isEnabled() ? "enabled" : "disabled") +
+                    ChatColor.GRAY + " (applies to listeners registered from now on, match listeners after the next cycle)");
+            return;
+        }
+        if (action.equals("reset")) {
+            match.getTimings().getListenerTimings().reset();
+            listenerProfiler.getGlobalTimings().reset();
+            sender.sendMessage(ChatColor.GREEN + "Listener timings reset.");
+            return;
+        }
+
+        ListenerTimings listenerTimings = action.equals("global") ? listenerProfiler.getGlobalTimings() : match.getTimings().getListenerTimings();
+        if (listenerTimings.isEmpty()) {
+            sender.sendMessage(ChatColor.RED + "No listener timings recorded." + (listenerProfiler.isEnabled() ? "" : " Enable them with /" + cmd.getCommand() + " on"));
+            return;
+        }
+
+        List<Map.Entry<String, HandlerTimings>> handlers = new ArrayList<>();
+        listenerTimings.getListeners().forEach((listener, events) ->
+                events.forEach((event, timings) -> handlers.add(new AbstractMap.SimpleEntry<>(listener + " " + ChatColor.GRAY + event, timings))));
+        handlers.sort(Comparator.comparingLong((Map.Entry<String, HandlerTimings> entry) -> entry.getValue().getTotalNanos()).reversed());
+
+        sender.sendMessage(ChatColor.GREEN + "Slowest event handlers (1 in " + listenerProfiler.getSampleRate() + " calls timed):");
+        for (Map.Entry<String, HandlerTimings> entry : handlers.subList(0, Math.min(10, handlers.size()))) {
+            HandlerTimings timings = entry.getValue();
+            sender.sendMessage(ChatColor.GRAY + " - " + ChatColor.WHITE + entry.getKey() + ChatColor.WHITE + " " + timings.getInvocations() + "x " +
+                    ChatColor.GRAY + "total " + ChatColor.WHITE + formatNanos(timings.getTotalNanos()) +
+                    ChatColor.GRAY + " p99 " + ChatColor.WHITE + formatNanos(timings.getP99Nanos()));
+        }
+    }
+
+    @Command(aliases = {"matchtasks", "mtasks"}, desc = "View the scheduled tasks of a match", flags = "m:")
+    @CommandPermissions({"tgm.timings"})
+    public static void matchTasks(CommandContext cmd, CommandSender sender) throws CommandException {
+        TaskedModuleManager taskedModuleManager = getMatch(cmd, sender).getModule(TaskedModuleManager.class);
+        List<ScheduledTask> tasks = taskedModuleManager.getScheduledTasks();
+        tasks.sort(Comparator.comparingLong(ScheduledTask::getDeferrals).reversed());
+
+        sender.sendMessage(ChatColor.GREEN + "Scheduled tasks (" + tasks.size() + ", average tick " + formatNanos(taskedModuleManager.getAverageTickNanos()) + "):");
+        for (ScheduledTask task : tasks) {
+            sender.sendMessage(ChatColor.GRAY + " - " + ChatColor.WHITE + task.getName() +
+                    ChatColor.GRAY + " " + task.getPriority().name().toLowerCase() + " every " + task.getPeriod() + "t" +
+                    ChatColor.GRAY + " avg " + ChatColor.WHITE + formatNanos(task.getRuns() == 0 ? 0 : task.getTotalNanos() / task.getRuns()) +
+                    (task.getDeferrals() > 0 ? ChatColor.YELLOW + " deferred " + task.getDeferrals() + "x" : ""));
+        }
+        TimerWheel timerWheel = taskedModuleManager.getTimerWheel();
+        sender.sendMessage(ChatColor.GREEN + "Timeouts: " + ChatColor.WHITE + timerWheel.getSize() + ChatColor.GRAY + " scheduled, " +
+                ChatColor.WHITE + timerWheel.getExpired() + ChatColor.GRAY + " expired");
+    }
+
+    @Command(aliases = {"filtertimings", "ftimings"}, desc = "View how often the filters of a match are evaluated", usage = "[reset]", flags = "m:")
+    @CommandPermissions({"tgm.timings"})
+    public static void filterTimings(CommandContext cmd, CommandSender sender) throws CommandException {
+        FilterDispatcher dispatcher = getMatch(cmd, sender).getModule(FilterManagerModule.class).getDispatcher();
+        if (dispatcher == null || dispatcher.getRules().isEmpty()) {
+            sender.sendMessage(ChatColor.RED + "This match has no filters.");
+            return;
+        }
+        if (cmd.argsLength() > 0 && cmd.getString(0).equalsIgnoreCase("reset")) {
+            dispatcher.getRules().forEach(rule -> rule.getMetrics().reset());
+            sender.sendMessage(ChatColor.GREEN + "Filter metrics reset.");
+            return;
+        }
+
+        List<FilterRule> rules = new ArrayList<>(dispatcher.getRules());
+        rules.sort(Comparator.comparingLong((FilterRule rule) -> rule.getMetrics().getNanos()).reversed());
+        sender.sendMessage(ChatColor.GREEN + "Filters (" + rules.size() + "), slowest first:");
+        for (FilterRule rule : rules.subList(0, Math.min(10, rules.size()))) {
+            FilterMetrics metrics = rule.getMetrics();
+            sender.sendMessage(ChatColor.GRAY + " - " + ChatColor.WHITE + rule.getName() + " " + metrics.getEvaluations() + "x " +
+                    ChatColor.GREEN + metrics.getAllows() + " allowed " + ChatColor.RED + metrics.getDenies() + " denied " +
+                    ChatColor.GRAY + "total " + ChatColor.WHITE + formatNanos(metrics.getNanos()) +
+                    ChatColor.GRAY + " messages " + ChatColor.WHITE + metrics.getMessages() +
+                    (metrics.getThrottledMessages() > 0 ? ChatColor.YELLOW + " (" + metrics.getThrottledMessages() + " throttled)" : ""));
+        }
+    }
+
+    private static Match getMatch(CommandContext cmd, CommandSender sender) throws CommandException {
+        MatchManager matchManager = TGM.get().getMatchManager();
+        if (cmd.hasFlag('m')) {
+            Match match = matchManager.findMatch(cmd.getFlag('m'));
+            if (match == null) throw new CommandException("Unknown match \"" + cmd.getFlag('m') + "\"");
+            return match;
+        }
+        return sender instanceof Player ? matchManager.getMatch((Player) sender) : matchManager.getMatch();
+    }
+
+    private static String formatNanos(long nanos) {
+        return String.format("%.2fms", nanos / 1000000D);
+    }
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.md_5.bungee.api.ChatColor;
 import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchPostLoadEvent;
 import network.warzone.tgm.modules.chat.ChatConstant;
 import network.warzone.tgm.modules.chat.ChatModule;
@@ -105,7 +106,12 @@ public class JoinManager implements Listener {
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
         PlayerContext playerContext = TGM.get().getPlayerManager().getPlayerContext(event.getPlayer());
-        Bukkit.getPluginManager().callEvent(new MatchJoinEvent(playerContext));
+        Match match = TGM.get().getMatchManager().getMatch();
+
+        //players always join into the primary match, even if they logged out in an arena.
+        Match current = TGM.get().getMatchManager().getMatch(event.getPlayer().getWorld());
+        if (current != null && current != match) event.getPlayer().teleport(match.getWorld().getSpawnLocation());
+        Bukkit.getPluginManager().callEvent(new MatchJoinEvent(playerContext, match));
 
         Player p = playerContext.getPlayer();
         NickManager nickManager = TGM.get().getNickManager();
@@ -194,14 +200,14 @@ public class JoinManager implements Listener {
     public void onChat(AsyncPlayerChatEvent event) {
         event.setFormat("");
         if (event.isCancelled()) return;
-        event.setCancelled(TGM.get().getModule(ChatModule.class) == null);
+        event.setCancelled(TGM.get().getMatchManager().getMatch(event.getPlayer()).getModule(ChatModule.class) == null);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onCycle(MatchPostLoadEvent event) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (Player player : event.getMatch().getPlayers()) {
             PlayerContext playerContext = TGM.get().getPlayerManager().getPlayerContext(player);
-            Bukkit.getPluginManager().callEvent(new MatchJoinEvent(playerContext));
+            Bukkit.getPluginManager().callEvent(new MatchJoinEvent(playerContext, event.getMatch()));
         }
     }
 
@@ -2,6 +2,8 @@ package network.warzone.tgm.join;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import network.warzone.tgm.match.Match;
+import network.warzone.tgm.match.MatchEvent;
 import network.warzone.tgm.user.PlayerContext;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
@@ -9,18 +11,22 @@ import org.bukkit.event.HandlerList;
 /**
  * Called when a player enters a match.
  *
- * This happens in two cases:
+ * This happens in three cases:
  * 1. A player joins the server.
  * 2. The map cycles.
+ * 3. A player is moved into another match.
  */
 
 @AllArgsConstructor
-public class MatchJoinEvent extends Event {
+public class MatchJoinEvent extends Event implements MatchEvent {
     private static final HandlerList handlers = new HandlerList();
 
     @Getter
     PlayerContext playerContext;
 
+    @Getter
+    Match match;
+
     @Override
     public HandlerList getHandlers() {
         return handlers;
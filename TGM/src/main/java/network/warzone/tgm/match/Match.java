@@ -5,8 +5,12 @@ import lombok.Setter;
 import net.md_5.bungee.api.ChatColor;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.map.MapContainer;
+import network.warzone.tgm.profiling.LifecyclePhase;
+import network.warzone.tgm.profiling.MatchTimings;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 
@@ -22,6 +26,7 @@ public class Match {
     private final Set<MatchModule> modules = new HashSet<>();
     private final World world;
     private final MapContainer mapContainer;
+    private final MatchTimings timings;
     @Setter private MatchStatus matchStatus = MatchStatus.PRE;
 
     private long startedTime;
@@ -32,6 +37,7 @@ public class Match {
         this.matchManifest = matchManifest;
         this.world = world;
         this.mapContainer = mapContainer;
+        this.timings = new MatchTimings(this);
     }
 
     /**
@@ -46,12 +52,13 @@ public class Match {
          * Core managers initialize off of MatchLoadEvent
          * so we call it first.
          */
-        Bukkit.getPluginManager().callEvent(new MatchLoadEvent(this));
+        callTimedEvent(new MatchLoadEvent(this));
 
         //now load all the modules.
         int listenerCount = 0;
         for (ModuleLoadTime moduleLoadTime : ModuleLoadTime.values()) {
             for (MatchModule matchModule : getModules(moduleLoadTime)) {
+                long start = System.nanoTime();
                 try {
                     matchModule.load(this);
                 } catch (Exception e) {
@@ -64,18 +71,20 @@ public class Match {
                         e2.printStackTrace();
                     }
                 }
+                timings.record(LifecyclePhase.LOAD, matchModule.getClass().getSimpleName(), System.nanoTime() - start);
 
                 //automatically register modules that implement listener.
                 if (matchModule instanceof Listener) {
-                    TGM.registerEvents((Listener) matchModule);
+                    TGM.registerEvents((Listener) matchModule, this);
                     listenerCount++;
                 }
             }
         }
 
-        Bukkit.getLogger().info("Loaded " + modules.size() + " modules (" + listenerCount + " listeners)");
+        Bukkit.getLogger().info("Loaded " + modules.size() + " modules (" + listenerCount + " listeners) in " +
+                (timings.getTotal(LifecyclePhase.LOAD) / 1000000) + "ms");
 
-        Bukkit.getPluginManager().callEvent(new MatchPostLoadEvent(this));
+        callTimedEvent(new MatchPostLoadEvent(this));
     }
 
     /**
@@ -86,7 +95,9 @@ public class Match {
         startedTime = System.currentTimeMillis();
 
         for (MatchModule module : modules) {
+            long start = System.nanoTime();
             module.enable();
+            timings.record(LifecyclePhase.ENABLE, module.getClass().getSimpleName(), System.nanoTime() - start);
         }
     }
 
@@ -99,7 +110,9 @@ public class Match {
         finishedTime = System.currentTimeMillis();
 
         for (MatchModule module : modules) {
+            long start = System.nanoTime();
             module.disable();
+            timings.record(LifecyclePhase.DISABLE, module.getClass().getSimpleName(), System.nanoTime() - start);
         }
     }
 
@@ -113,10 +126,35 @@ public class Match {
                 HandlerList.unregisterAll((Listener) module);
             }
 
+            long start = System.nanoTime();
             module.unload();
+            timings.record(LifecyclePhase.UNLOAD, module.getClass().getSimpleName(), System.nanoTime() - start);
         }
     }
 
+    private void callTimedEvent(Event event) {
+        long start = System.nanoTime();
+        Bukkit.getPluginManager().callEvent(event);
+        timings.record(LifecyclePhase.EVENTS, event.getClass().getSimpleName(), System.nanoTime() - start);
+    }
+
+    /**
+     * @return the players currently in this match's world.
+     */
+    public List<Player> getPlayers() {
+        return world.getPlayers();
+    }
+
+    /**
+     * Sends a message to the players of this match only.
+     */
+    public void broadcastMessage(String message) {
+        for (Player player : getPlayers()) {
+            player.sendMessage(message);
+        }
+        Bukkit.getConsoleSender().sendMessage(message);
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends MatchModule> T getModule(Class<T> clazz) {
         for (MatchModule module : modules) {
@@ -0,0 +1,13 @@
+package network.warzone.tgm.match;
+
+/**
+ * Implemented by events that belong to a single match.
+ *
+ * Listeners registered through {@link MatchEventRouter} only
+ * receive these events when the match matches their own.
+ */
+public interface MatchEvent {
+
+    Match getMatch();
+
+}
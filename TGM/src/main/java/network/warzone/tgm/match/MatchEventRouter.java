@@ -0,0 +1,122 @@
+package network.warzone.tgm.match;
+
+import network.warzone.tgm.TGM;
+import network.warzone.tgm.modules.team.TeamChangeEvent;
+import network.warzone.tgm.player.event.*;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.hanging.HangingEvent;
+import org.bukkit.event.inventory.InventoryEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.event.vehicle.VehicleEvent;
+import org.bukkit.event.world.WorldEvent;
+import org.bukkit.plugin.EventExecutor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Registers listeners that belong to a match so that their
+ * handlers only receive events happening inside that match.
+ *
+ * Events are tied to a match through the world they happen in.
+ * Events in a world no match owns go to the primary match, and
+ * events without any world (server events) go to every match.
+ *
+ * Listeners that don't belong to a match are registered through
+ * here as well so that they can be profiled.
+ */
+public class MatchEventRouter {
+
+    private final MatchManager matchManager;
+
+    public MatchEventRouter(MatchManager matchManager) {
+        this.matchManager = matchManager;
+    }
+
+    /**
+     * @param match the match owning the listener, or null for a server wide listener.
+     */
+    public void registerEvents(Listener listener, Match match) {
+        for (Method method : getHandlerMethods(listener.getClass())) {
+            EventHandler eventHandler = method.getAnnotation(EventHandler.class);
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+
+            EventExecutor handler = matchManager.getListenerProfiler().wrap(EventExecutor.create(method, eventClass), listener.getClass(), eventClass, match);
+            EventExecutor executor = (l, event) -> {
+                if (eventClass.isInstance(event) && (match == null || isRoutedTo(match, event))) {
+                    handler.execute(l, event);
+                }
+            };
+
+            Bukkit.getPluginManager().registerEvent(eventClass, listener, eventHandler.priority(), executor, TGM.get(), eventHandler.ignoreCancelled());
+        }
+    }
+
+    public boolean isRoutedTo(Match match, Event event) {
+        if (matchManager.getMatchCount() < 2) return true;
+
+        Match owner = resolveMatch(event);
+        return owner == null || owner == match;
+    }
+
+    /**
+     * @return the match the event happened in, or null if the
+     * event isn't tied to any match.
+     */
+    public Match resolveMatch(Event event) {
+        if (event instanceof MatchEvent) return ((MatchEvent) event).getMatch();
+
+        World world = getWorld(event);
+        if (world == null) return null;
+
+        Match match = matchManager.getMatch(world);
+        return match != null ? match : matchManager.getMatch();
+    }
+
+    private static World getWorld(Event event) {
+        if (event instanceof PlayerEvent) return ((PlayerEvent) event).getPlayer().getWorld();
+        if (event instanceof EntityEvent) return ((EntityEvent) event).getEntity().getWorld();
+        if (event instanceof BlockEvent) return ((BlockEvent) event).getBlock().getWorld();
+        if (event instanceof HangingEvent) return ((HangingEvent) event).getEntity().getWorld();
+        if (event instanceof VehicleEvent) return ((VehicleEvent) event).getVehicle().getWorld();
+        if (event instanceof InventoryEvent) return ((InventoryEvent) event).getView().getPlayer().getWorld();
+        if (event instanceof WorldEvent) return ((WorldEvent) event).getWorld();
+
+        if (event instanceof TeamChangeEvent) return ((TeamChangeEvent) event).getPlayerContext().getPlayer().getWorld();
+        if (event instanceof PlayerJoinTeamAttemptEvent) return ((PlayerJoinTeamAttemptEvent) event).getPlayerContext().getPlayer().getWorld();
+        if (event instanceof PlayerXPEvent) return ((PlayerXPEvent) event).getPlayerContext().getPlayer().getWorld();
+        if (event instanceof PlayerLevelUpEvent) return ((PlayerLevelUpEvent) event).getPlayerContext().getPlayer().getWorld();
+        if (event instanceof TGMPlayerDeathEvent) return ((TGMPlayerDeathEvent) event).getVictim().getWorld();
+        if (event instanceof TGMPlayerRespawnEvent) return ((TGMPlayerRespawnEvent) event).getPlayer().getWorld();
+        return null;
+    }
+
+    /**
+     * Same lookup Bukkit does when registering a listener.
+     */
+    private static Set<Method> getHandlerMethods(Class<?> clazz) {
+        Set<Method> methods = new HashSet<>(Arrays.asList(clazz.getMethods()));
+        methods.addAll(Arrays.asList(clazz.getDeclaredMethods()));
+
+        Set<Method> handlers = new HashSet<>();
+        for (Method method : methods) {
+            if (method.getAnnotation(EventHandler.class) == null) continue;
+            if (method.isBridge() || method.isSynthetic()) continue;
+            if (method.getParameterTypes().length != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                TGM.get().getLogger().severe(clazz.getName() + " attempted to register an invalid EventHandler method signature \"" + method.toGenericString() + "\"");
+                continue;
+            }
+            method.setAccessible(true);
+            handlers.add(method);
+        }
+        return handlers;
+    }
+}
@@ -14,7 +14,7 @@ import org.bukkit.event.HandlerList;
  */
 
 @AllArgsConstructor
-public class MatchLoadEvent extends Event {
+public class MatchLoadEvent extends Event implements MatchEvent {
     private static final HandlerList handlers = new HandlerList();
     @Getter private Match match;
 
@@ -1,25 +1,34 @@
 package network.warzone.tgm.match;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import network.warzone.tgm.TGM;
+import network.warzone.tgm.join.MatchJoinEvent;
 import network.warzone.tgm.map.*;
+import network.warzone.tgm.modules.countdown.BossBarCountdown;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
+import network.warzone.tgm.profiling.ListenerProfiler;
+import network.warzone.tgm.profiling.MatchProfiler;
+import network.warzone.tgm.user.PlayerContext;
 import org.apache.commons.io.FileUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.WorldCreator;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Created by luke on 4/27/17.
+ *
+ * Hosts every match running on this server. The primary match follows
+ * the map rotation and receives players when they join the server.
+ * Additional matches (arenas) run side by side in their own worlds.
  */
 @Getter
 public class MatchManager {
@@ -28,6 +37,11 @@ public class MatchManager {
     private Match match = null;
     private int matchNumber = 0;
 
+    @Getter(AccessLevel.NONE) private final Map<UUID, Match> matches = new LinkedHashMap<>(); // keyed by world uid
+    private final MatchEventRouter eventRouter = new MatchEventRouter(this);
+    private final MatchProfiler profiler = new MatchProfiler();
+    private final ListenerProfiler listenerProfiler = new ListenerProfiler();
+
     @Setter private MapContainer forcedNextMap = null;
 
     public MatchManager(FileConfiguration fileConfiguration) {
@@ -38,12 +52,16 @@ public class MatchManager {
     }
 
     public void startMatch() {
+        startMatch(match);
+    }
+
+    public void startMatch(Match match) {
         match.enable();
     }
 
-    public void endMatch(MatchTeam winningTeam) {
+    public void endMatch(Match match, MatchTeam winningTeam) {
         List<MatchTeam> losers = new ArrayList<>();
-        for (MatchTeam matchTeam : TGM.get().getModule(TeamManagerModule.class).getTeams()) {
+        for (MatchTeam matchTeam : match.getModule(TeamManagerModule.class).getTeams()) {
             if (!matchTeam.isSpectator() && matchTeam != winningTeam) {
                 losers.add(matchTeam);
             }
@@ -63,6 +81,61 @@ public class MatchManager {
         }
         forcedNextMap = null;
 
+        replaceMatch(match, mapContainer);
+    }
+
+    /**
+     * Cycles the given match. The primary match moves on through
+     * the rotation, arenas replay their current map.
+     */
+    public void cycleMatch(Match match) {
+        if (match == this.match) {
+            cycleNextMatch();
+        } else {
+            replaceMatch(match, match.getMapContainer());
+        }
+    }
+
+    /**
+     * Starts an arena next to the primary match.
+     * No players are moved into it.
+     */
+    public Match createMatch(MapContainer mapContainer) {
+        return replaceMatch(null, mapContainer);
+    }
+
+    /**
+     * Closes an arena and sends its players back to the primary match.
+     */
+    public void closeMatch(Match match) {
+        if (match == this.match) throw new IllegalArgumentException("The primary match can't be closed");
+
+        match.unload();
+        matches.remove(match.getWorld().getUID());
+        profiler.complete(match);
+
+        for (Player player : match.getWorld().getPlayers()) {
+            movePlayer(TGM.get().getPlayerManager().getPlayerContext(player), this.match);
+        }
+        unloadWorld(match);
+    }
+
+    /**
+     * Moves a player out of their current match and into another one.
+     */
+    public void movePlayer(PlayerContext playerContext, Match target) {
+        Match current = getMatch(playerContext.getPlayer());
+        if (current != null && current != target) {
+            MatchTeam team = current.getModule(TeamManagerModule.class).getTeam(playerContext.getPlayer());
+            if (team != null) team.removePlayer(playerContext);
+            current.getModules(BossBarCountdown.class).forEach(countdown -> countdown.getBossBar().removePlayer(playerContext.getPlayer()));
+        }
+
+        playerContext.getPlayer().teleport(target.getWorld().getSpawnLocation());
+        Bukkit.getPluginManager().callEvent(new MatchJoinEvent(playerContext, target));
+    }
+
+    private Match replaceMatch(Match oldMatch, MapContainer mapContainer) {
         //generate next match's uuid
         UUID matchUuid = UUID.randomUUID();
 
@@ -95,18 +168,28 @@ public class MatchManager {
         }
 
         //unload the existing match modules before we move any players.
-        if (match != null) {
-            match.unload();
+        boolean primary = oldMatch == match;
+        if (oldMatch != null) {
+            oldMatch.unload();
+            matches.remove(oldMatch.getWorld().getUID());
+            profiler.complete(oldMatch);
         }
 
-        // Transport all players to the new world so we can unload the old one.
-        Bukkit.getOnlinePlayers().forEach(player ->
-                player.teleport(world.getSpawnLocation()));
+        // Transport the players of the old match to the new world so we can unload the old one.
+        // The primary match also picks up everyone who isn't in any match.
+        if (primary || oldMatch != null) {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                if (primary ? getMatch(player.getWorld()) == null : player.getWorld().equals(oldMatch.getWorld())) {
+                    player.teleport(world.getSpawnLocation());
+                }
+            }
+        }
 
         //create and load the match.
         Match createdMatch = new Match(matchUuid, matchManifest, world, mapContainer);
-        Match oldMatch = match;
-        match = createdMatch;
+        matches.put(world.getUID(), createdMatch);
+        profiler.track(createdMatch);
+        if (primary) match = createdMatch;
 
         createdMatch.load();
 
@@ -118,19 +201,24 @@ public class MatchManager {
             oldMatch.getWorld().getPlayers().forEach(player ->
                     player.teleport(world.getSpawnLocation()));
 
-            TGM.get().getLogger().info("Unloading match: " + oldMatch.getUuid().toString() + " (File: " + oldMatch.getWorld().getWorldFolder().getPath() + ")");
-
-            boolean save = TGM.get().getConfig().getBoolean("map.save-matches", false);
-            Bukkit.unloadWorld(oldMatch.getWorld(), save);
-            if (!save)
-                Bukkit.getScheduler().runTaskLaterAsynchronously(TGM.get(), () -> {
-                    try {
-                        FileUtils.deleteDirectory(oldMatch.getWorld().getWorldFolder());
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                }, 80L); // 4 seconds
+            unloadWorld(oldMatch);
         }
+        return createdMatch;
+    }
+
+    private void unloadWorld(Match oldMatch) {
+        TGM.get().getLogger().info("Unloading match: " + oldMatch.getUuid().toString() + " (File: " + oldMatch.getWorld().getWorldFolder().getPath() + ")");
+
+        boolean save = TGM.get().getConfig().getBoolean("map.save-matches", false);
+        Bukkit.unloadWorld(oldMatch.getWorld(), save);
+        if (!save)
+            Bukkit.getScheduler().runTaskLaterAsynchronously(TGM.get(), () -> {
+                try {
+                    FileUtils.deleteDirectory(oldMatch.getWorld().getWorldFolder());
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }, 80L); // 4 seconds
     }
 
     public MapContainer getNextMap() {
@@ -140,4 +228,51 @@ public class MatchManager {
             return mapRotation.getNext();
         }
     }
+
+    public MapContainer getNextMap(Match match) {
+        return match == this.match ? getNextMap() : match.getMapContainer();
+    }
+
+    /**
+     * @return the primary match, which follows the map rotation.
+     */
+    public Match getMatch() {
+        return match;
+    }
+
+    public Collection<Match> getMatches() {
+        return Collections.unmodifiableCollection(matches.values());
+    }
+
+    public int getMatchCount() {
+        return matches.size();
+    }
+
+    /**
+     * @return the match played in the given world, or null if the world doesn't belong to a match.
+     */
+    public Match getMatch(World world) {
+        return matches.get(world.getUID());
+    }
+
+    /**
+     * @return the match the player is in. Players outside of any match belong to the primary match.
+     */
+    public Match getMatch(Player player) {
+        Match match = getMatch(player.getWorld());
+        return match != null ? match : this.match;
+    }
+
+    /**
+     * Finds a match from command input, either by the start of its uuid or by its map name.
+     */
+    public Match findMatch(String input) {
+        for (Match match : matches.values()) {
+            if (match.getUuid().toString().startsWith(input.toLowerCase())) return match;
+        }
+        for (Match match : matches.values()) {
+            if (match.getMapContainer().getMapInfo().getName().toLowerCase().startsWith(input.toLowerCase())) return match;
+        }
+        return null;
+    }
 }
@@ -5,6 +5,7 @@ import network.warzone.tgm.modules.*;
 import network.warzone.tgm.modules.border.WorldBorderModule;
 import network.warzone.tgm.modules.chat.ChatModule;
 import network.warzone.tgm.modules.countdown.CountdownManagerModule;
+import network.warzone.tgm.modules.damage.CombatModule;
 import network.warzone.tgm.modules.damage.DamageControlModule;
 import network.warzone.tgm.modules.damage.FireworkDamageModule;
 import network.warzone.tgm.modules.death.DeathMessageModule;
@@ -18,6 +19,7 @@ import network.warzone.tgm.modules.knockback.KnockbackModule;
 import network.warzone.tgm.modules.launchpad.LaunchPadLoaderModule;
 import network.warzone.tgm.modules.points.PointsModule;
 import network.warzone.tgm.modules.portal.PortalLoaderModule;
+import network.warzone.tgm.modules.region.BlockEventRouterModule;
 import network.warzone.tgm.modules.region.RegionManagerModule;
 import network.warzone.tgm.modules.reports.ReportsModule;
 import network.warzone.tgm.modules.respawn.RespawnModule;
@@ -54,6 +56,7 @@ public abstract class MatchManifest {
 
         modules.add(new TeamJoinNotificationsModule());
         modules.add(new TeamManagerModule());
+        modules.add(new CombatModule());
         modules.add(new SpectatorModule());
         modules.add(new InventoryPreviewModule());
         modules.add(new SpawnPointHandlerModule());
@@ -65,6 +68,7 @@ public abstract class MatchManifest {
         modules.add(new MatchResultModule());
         modules.add(new ScoreboardManagerModule());
         modules.add(new RegionManagerModule());
+        modules.add(new BlockEventRouterModule());
         modules.add(new TaskedModuleManager());
         modules.add(new CountdownManagerModule());
         modules.add(new KitLoaderModule());
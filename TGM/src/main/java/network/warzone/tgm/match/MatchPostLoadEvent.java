@@ -10,7 +10,7 @@ import org.bukkit.event.HandlerList;
  */
 
 @AllArgsConstructor
-public class MatchPostLoadEvent extends Event {
+public class MatchPostLoadEvent extends Event implements MatchEvent {
     private static final HandlerList handlers = new HandlerList();
     @Getter private Match match;
 
@@ -17,7 +17,7 @@ import java.util.List;
  */
 
 @AllArgsConstructor
-public class MatchResultEvent extends Event {
+public class MatchResultEvent extends Event implements MatchEvent {
     private static final HandlerList handlers = new HandlerList();
     @Getter private Match match;
     @Getter private MatchTeam winningTeam;
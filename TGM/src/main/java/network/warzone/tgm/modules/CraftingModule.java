@@ -23,7 +23,7 @@ import java.util.*;
 public class CraftingModule extends MatchModule implements Listener {
 
     private List<Recipe> recipes = new ArrayList<>();
-    private List<Material> removedRecipes = new ArrayList<>();
+    private Set<Material> removedRecipes = EnumSet.noneOf(Material.class);
 
     @Override
     public void load(Match match) {
@@ -2,55 +2,181 @@ package network.warzone.tgm.modules;
 
 import com.google.gson.JsonObject;
 import lombok.Getter;
-import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.*;
-import network.warzone.tgm.modules.tasked.TaskedModule;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.modules.tasked.Timeout;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.util.InventoryUtil;
+import org.bukkit.Material;
+import org.bukkit.attribute.Attribute;
 import org.bukkit.block.Container;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.*;
+import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.bukkit.event.player.PlayerInteractEntityEvent;
-import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.player.*;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.potion.PotionEffect;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Created by Jorge on 10/17/2019
+ *
+ * Clones are only updated when something may have changed the inventory
+ * they mirror, and only the slots that differ are set. Changes are applied
+ * on the next tick, once the event that caused them went through. A
+ * reconciliation pass every second catches whatever the events miss and
+ * keeps potion timers running.
  */
 @ModuleData(load = ModuleLoadTime.LATE)
-public class InventoryPreviewModule extends MatchModule implements Listener, TaskedModule {
+public class InventoryPreviewModule extends MatchModule implements Listener {
 
+    private Match match;
     private SpectatorModule spectatorModule;
 
     private final Map<Inventory, Inventory> inventoryClones = new HashMap<>();
     private final Map<Player, Inventory> playersViewingInventoryClones = new HashMap<>();
+    private final Map<Inventory, PlayerStatus> playerStatuses = new HashMap<>(); // by real player inventory
+
+    private final Set<Inventory> dirty = new HashSet<>();
+    private TaskedModuleManager taskedModuleManager;
+    private Timeout flushTimeout;
+    private ScheduledTask reconcileTask;
 
     @Getter private boolean enabled = true;
 
     @Override
     public void load(Match match) {
         super.load(match);
+        this.match = match;
         JsonObject jsonObject = match.getMapContainer().getMapInfo().getJsonObject();
         if (jsonObject.has("inventoryPreview")) {
             this.enabled = !jsonObject.getAsJsonObject("inventoryPreview").has("enabled")|| jsonObject.getAsJsonObject("inventoryPreview").get("enabled").getAsBoolean();
         }
         this.spectatorModule = match.getModule(SpectatorModule.class);
+        this.taskedModuleManager = match.getModule(TaskedModuleManager.class);
+        this.reconcileTask = taskedModuleManager.schedule("InventoryPreviewModule reconcile", TaskPriority.LOW, 20, 20, this::reconcile);
     }
 
     @Override
-    public void tick() {
-        inventoryClones.keySet()
-                .forEach(this::updateInventory);
+    public void unload() {
+        reconcileTask.cancel();
+        if (flushTimeout != null) flushTimeout.cancel();
+        inventoryClones.clear();
+        playersViewingInventoryClones.clear();
+        playerStatuses.clear();
+        dirty.clear();
+    }
+
+    private void reconcile() {
+        if (inventoryClones.isEmpty()) return;
+        dirty.addAll(inventoryClones.keySet());
+        flush();
+    }
+
+    private void flush() {
+        for (Inventory real : dirty) {
+            updateInventory(real);
+        }
+        dirty.clear();
+    }
+
+    private void markDirty(Inventory real) {
+        if (real == null || !inventoryClones.containsKey(real) || !dirty.add(real)) return;
+        if (flushTimeout == null || !flushTimeout.isPending()) {
+            flushTimeout = taskedModuleManager.scheduleTimeout(1, this::flush);
+        }
+    }
+
+    private void markDirty(Entity entity) {
+        if (entity instanceof HumanEntity) markDirty(((HumanEntity) entity).getInventory());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        markDirty(event.getWhoClicked());
+        markDirty(event.getInventory());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        markDirty(event.getWhoClicked());
+        markDirty(event.getInventory());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryMove(InventoryMoveItemEvent event) {
+        markDirty(event.getSource());
+        markDirty(event.getDestination());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        markDirty(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onConsume(PlayerItemConsumeEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDamage(PlayerItemDamageEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onShootBow(EntityShootBowEvent event) {
+        markDirty(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDamage(EntityDamageEvent event) {
+        markDirty(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRegainHealth(EntityRegainHealthEvent event) {
+        markDirty(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFoodLevelChange(FoodLevelChangeEvent event) {
+        markDirty(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPotionEffect(EntityPotionEffectEvent event) {
+        markDirty(event.getEntity());
     }
 
     @EventHandler
@@ -95,7 +221,7 @@ public class InventoryPreviewModule extends MatchModule implements Listener, Tas
         if (!this.playersViewingInventoryClones.containsValue(event.getInventory())) {
             for (Map.Entry<Inventory, Inventory> entry : this.inventoryClones.entrySet()) {
                 if (entry.getValue() == event.getInventory()) {
-                    this.inventoryClones.remove(entry.getKey());
+                    forget(entry.getKey());
                     return;
                 }
             }
@@ -117,19 +243,80 @@ public class InventoryPreviewModule extends MatchModule implements Listener, Tas
             }
         }
         toRemove.forEach(this.playersViewingInventoryClones::remove);
+        forget(real);
+    }
+
+    private void forget(Inventory real) {
         this.inventoryClones.remove(real);
+        this.playerStatuses.remove(real);
+        this.dirty.remove(real);
     }
 
     private void updateInventory(Inventory real) {
-        if (!this.inventoryClones.containsKey(real)) return;
         Inventory clone = this.inventoryClones.get(real);
-        clone.clear();
+        if (clone == null) return;
         if (real instanceof PlayerInventory) {
             Player player = (Player) ((PlayerInventory) real).getHolder();
-            if (player != null)
-                InventoryUtil.setPlayerInventoryContents(player, clone);
+            if (player == null) return;
+            ItemStack[] layout = InventoryUtil.getPlayerInventoryLayout(player);
+            PlayerStatus status = this.playerStatuses.computeIfAbsent(real, inventory -> new PlayerStatus());
+            layout[7] = status.getHealthItem(player);
+            layout[8] = status.getPotionsItem(player);
+            setChangedItems(clone, layout);
         } else {
-            clone.setContents(real.getContents());
+            setChangedItems(clone, real.getContents());
+        }
+    }
+
+    private static void setChangedItems(Inventory clone, ItemStack[] contents) {
+        int size = Math.min(clone.getSize(), contents.length);
+        for (int i = 0; i < size; i++) {
+            ItemStack item = contents[i];
+            if (item != null && item.getType() == Material.AIR) item = null;
+            if (!Objects.equals(clone.getItem(i), item)) clone.setItem(i, item);
+        }
+    }
+
+    /**
+     * The health and potions items of a previewed player, rebuilt only
+     * when the values they show change.
+     */
+    private static class PlayerStatus {
+        private int health = -1, maxHealth, food;
+        private float saturation;
+        private ItemStack healthItem;
+
+        private String potions;
+        private ItemStack potionsItem;
+
+        ItemStack getHealthItem(Player player) {
+            int health = (int) player.getHealth();
+            int maxHealth = (int) player.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue();
+            int food = player.getFoodLevel();
+            float saturation = player.getSaturation();
+            if (healthItem == null || health != this.health || maxHealth != this.maxHealth || food != this.food || saturation != this.saturation) {
+                this.health = health;
+                this.maxHealth = maxHealth;
+                this.food = food;
+                this.saturation = saturation;
+                this.healthItem = InventoryUtil.getHealthItem(player);
+            }
+            return healthItem;
+        }
+
+        ItemStack getPotionsItem(Player player) {
+            Collection<PotionEffect> effects = player.getActivePotionEffects();
+            StringBuilder builder = new StringBuilder();
+            for (PotionEffect effect : effects) {
+                // the lore shows whole seconds.
+                builder.append(effect.getType().getName()).append(':').append(effect.getAmplifier()).append(':').append(effect.getDuration() / 20).append(';');
+            }
+            String potions = builder.toString();
+            if (potionsItem == null || !potions.equals(this.potions)) {
+                this.potions = potions;
+                this.potionsItem = InventoryUtil.getPotionsItem(effects);
+            }
+            return potionsItem;
         }
     }
 
@@ -138,7 +325,7 @@ public class InventoryPreviewModule extends MatchModule implements Listener, Tas
      * Respawning players should not be able to preview inventories.
      */
     public boolean isSpectating(Player player) {
-        MatchStatus matchStatus = TGM.get().getMatchManager().getMatch().getMatchStatus();
+        MatchStatus matchStatus = match.getMatchStatus();
         return matchStatus != MatchStatus.MID || spectatorModule.getSpectators().containsPlayer(player);
     }
 }
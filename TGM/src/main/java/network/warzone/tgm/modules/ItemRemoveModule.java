@@ -15,12 +15,12 @@ import org.bukkit.event.entity.ItemSpawnEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 
 public class ItemRemoveModule extends MatchModule implements Listener {
 
-    private final List<Material> removed = new ArrayList<>();
+    private final Set<Material> removed = EnumSet.noneOf(Material.class);
 
     private boolean removeAll = false;
 
@@ -1,22 +1,27 @@
 package network.warzone.tgm.modules;
 
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.modules.damage.CombatModule;
+import network.warzone.tgm.modules.damage.DamageInfo;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
 
 /**
  * Reverts 1.9's damage values to those of 1.8
  */
-public class LegacyDamageModule extends MatchModule implements Listener {
+public class LegacyDamageModule extends MatchModule {
 
-    @EventHandler(priority= EventPriority.HIGH) // Make sure this event is called before the knockback
-    public void onDamage(EntityDamageByEntityEvent event) {
-        if ((event.getDamager() instanceof Player)) {
-            Player player = (Player) event.getDamager();
-            switch (player.getInventory().getItemInMainHand().getType()) {
+    @Override
+    public void load(Match match) {
+        match.getModule(CombatModule.class).addStage(EventPriority.HIGH, this::onDamage); // Make sure this event is called before the knockback
+    }
+
+    private void onDamage(DamageInfo damageInfo) {
+        if ((damageInfo.getDamager() instanceof Player)) {
+            EntityDamageEvent event = damageInfo.getEvent();
+            switch (damageInfo.getWeapon().getType()) {
                 case DIAMOND_AXE:
                     event.setDamage(event.getDamage() - 6.0D + 3.0D);
                     break;
@@ -1,7 +1,7 @@
 package network.warzone.tgm.modules;
 
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 
 
@@ -20,9 +20,16 @@ import org.bukkit.ChatColor;
 
 public class MatchProgressNotifications extends MatchModule {
 
+    private Match match;
+
+    @Override
+    public void load(Match match) {
+        this.match = match;
+    }
+
     @Override
     public void enable() {
-        Bukkit.broadcastMessage(ChatColor.GREEN + "The match has started!");
+        match.broadcastMessage(ChatColor.GREEN + "The match has started!");
     }
 
 }
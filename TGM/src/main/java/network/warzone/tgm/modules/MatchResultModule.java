@@ -29,10 +29,10 @@ public class MatchResultModule extends MatchModule implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onMatchResult(MatchResultEvent event) {
-        MatchTeam spectators = TGM.get().getModule(TeamManagerModule.class).getSpectators();
+        MatchTeam spectators = match.getModule(TeamManagerModule.class).getSpectators();
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            int killstreak = TGM.get().getModule(KillstreakModule.class).getKillstreak(player.getUniqueId().toString());
+        for (Player player : match.getPlayers()) {
+            int killstreak = match.getModule(KillstreakModule.class).getKillstreak(player);
 
             if (killstreak >= 5) {
                 player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&cYour killstreak of &4" + killstreak + "&c ended."));
@@ -73,7 +73,7 @@ public class MatchResultModule extends MatchModule implements Listener {
             }
             if (event.getWinningTeam() != null && event.getWinningTeam().containsPlayer(player)) {
                 player.sendMessage(ChatColor.GRAY + "  Congratulations!");
-            }  else if (TGM.get().getModule(TeamManagerModule.class).getTeam(player) != null && TGM.get().getModule(TeamManagerModule.class).getTeam(player).isSpectator()) {
+            }  else if (match.getModule(TeamManagerModule.class).getTeam(player) != null && match.getModule(TeamManagerModule.class).getTeam(player).isSpectator()) {
                 player.sendMessage(ChatColor.GRAY + "  Play next game?");
             } else {
                 player.sendMessage(ChatColor.GRAY+ "  Better luck next time!");
@@ -1,8 +1,9 @@
 package network.warzone.tgm.modules;
 
-import network.warzone.tgm.TGM;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
-import org.bukkit.Bukkit;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
@@ -11,8 +12,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityRegainHealthEvent;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -23,49 +22,56 @@ import java.util.UUID;
  */
 public class RegenModule extends MatchModule implements Listener {
 
-    private Map<UUID, Long> healTimes = new HashMap<>();
+    private final Object2LongOpenHashMap<UUID> healCooldowns = new Object2LongOpenHashMap<>(); // tick each cooldown ends at
+    private TaskedModuleManager taskedModuleManager;
 
     private int frequency = 3; // How often, in seconds, a player should regenerate health
     private int amount = 1; // How many half-hearts the player should heal by, every seconds specified above
     private int exhaustion = 1; // How much exhaustion healing should give to the player
 
+    @Override
+    public void load(Match match) {
+        this.taskedModuleManager = match.getModule(TaskedModuleManager.class);
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onRegen(EntityRegainHealthEvent event) {
         if (event.getEntityType() != EntityType.PLAYER || event.getRegainReason() != EntityRegainHealthEvent.RegainReason.SATIATED) return;
         Player player = (Player) event.getEntity();
 
         event.setCancelled(true);
-        long currentTime = System.currentTimeMillis() / 1000;
 
-        if (currentTime - getLastHealTime(player) < frequency)
+        if (!healCooldowns.containsKey(player.getUniqueId())) {
+            // the first regen only starts the cooldown
+            startCooldown(player);
+            return;
+        }
+        if (taskedModuleManager.getCurrentTick() < healCooldowns.getLong(player.getUniqueId()))
             return;
 
         double maxHealth = player.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue();
 
         if (player.getHealth() < maxHealth) {
             player.setHealth(clamp(player.getHealth() + amount, 0.0, maxHealth));
-            healTimes.put(player.getUniqueId(), currentTime);
+            startCooldown(player);
         }
 
         final float previousExhaustion = player.getExhaustion();
         final float exhaustionToApply = (float) exhaustion;
 
-        Bukkit.getScheduler().runTaskLater(TGM.get(), () -> {
+        taskedModuleManager.scheduleTimeout(1, () -> {
             //This is because bukkit doesn't stop the exhaustion change when cancelling the event
             player.setExhaustion(previousExhaustion + exhaustionToApply);
-        }, 1L);
+        });
     }
 
     @Override
     public void unload() {
-        healTimes.clear();
+        healCooldowns.clear();
     }
 
-    private long getLastHealTime(Player player) {
-        if (!healTimes.containsKey(player.getUniqueId()))
-            healTimes.put(player.getUniqueId(), System.currentTimeMillis() / 1000);
-
-        return healTimes.get(player.getUniqueId());
+    private void startCooldown(Player player) {
+        healCooldowns.put(player.getUniqueId(), taskedModuleManager.getCurrentTick() + frequency * 20);
     }
 
     /**
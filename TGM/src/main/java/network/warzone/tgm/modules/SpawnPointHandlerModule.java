@@ -8,6 +8,7 @@ import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchManager;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.match.MatchStatus;
+import network.warzone.tgm.modules.kit.KitLoaderModule;
 import network.warzone.tgm.modules.kit.classes.GameClass;
 import network.warzone.tgm.modules.kit.classes.GameClassModule;
 import network.warzone.tgm.modules.team.MatchTeam;
@@ -28,19 +29,21 @@ public class SpawnPointHandlerModule extends MatchModule implements Listener {
     private TeamManagerModule teamManagerModule;
     private SpectatorModule spectatorModule;
     private GameClassModule gameClassModule;
+    private KitLoaderModule kitLoaderModule;
 
     @Override
     public void load(Match match) {
         this.match = match;
         this.teamManagerModule = match.getModule(TeamManagerModule.class);
         this.spectatorModule = match.getModule(SpectatorModule.class);
-        gameClassModule = TGM.get().getModule(GameClassModule.class);
+        gameClassModule = match.getModule(GameClassModule.class);
+        kitLoaderModule = match.getModule(KitLoaderModule.class);
     }
 
     @EventHandler
     public void onTeamChange(TeamChangeEvent event) {
         if (event.isCancelled()) return;
-        if (TGM.get().getMatchManager().getMatch().getMatchStatus() == MatchStatus.MID) {
+        if (match.getMatchStatus() == MatchStatus.MID) {
             spawnPlayer(event.getPlayerContext(), event.getTeam(), true, true);
         }
         //player is joining the server
@@ -99,7 +102,7 @@ public class SpawnPointHandlerModule extends MatchModule implements Listener {
                     spectatorModule.applySpectatorKit(playerContext);
                 }
                 if (reset) {
-                    matchTeam.getKits().forEach(kit -> kit.apply(playerContext.getPlayer(), matchTeam));
+                    kitLoaderModule.applyKits(playerContext.getPlayer(), matchTeam);
                     playerContext.getPlayer().updateInventory();
                 }
                 playerContext.getPlayer().setFireTicks(-20);  // Weird lava bug
@@ -108,7 +111,7 @@ public class SpawnPointHandlerModule extends MatchModule implements Listener {
 
     @Override
     public void enable() {
-        for (MatchTeam matchTeam : TGM.get().getModule(TeamManagerModule.class).getTeams()) {
+        for (MatchTeam matchTeam : match.getModule(TeamManagerModule.class).getTeams()) {
             if (!matchTeam.isSpectator()) {
                 for (PlayerContext player : matchTeam.getMembers()) {
                     spawnPlayer(player, matchTeam, true, true);
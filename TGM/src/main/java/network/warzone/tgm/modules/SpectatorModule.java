@@ -4,7 +4,12 @@ import lombok.Getter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.join.MatchJoinEvent;
 import network.warzone.tgm.match.*;
+import network.warzone.tgm.modules.damage.CombatModule;
+import network.warzone.tgm.modules.damage.DamageInfo;
 import network.warzone.tgm.modules.respawn.RespawnModule;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.modules.team.TeamManagerModule;
@@ -18,6 +23,7 @@ import org.bukkit.*;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
@@ -53,7 +59,7 @@ public class SpectatorModule extends MatchModule implements Listener {
 
     private final ItemStack leatherHelmet;
 
-    private int afkTimerRunnable;
+    private ScheduledTask afkTimerTask;
 
     private final Map<UUID, Long> lastMovement = new HashMap<>();
 
@@ -78,6 +84,8 @@ public class SpectatorModule extends MatchModule implements Listener {
         this.teamManagerModule = match.getModule(TeamManagerModule.class);
         this.respawnModule = match.getModule(RespawnModule.class);
         this.spectators = teamManagerModule.getSpectators();
+        match.getModule(CombatModule.class).addStage(EventPriority.NORMAL, this::onDamage);
+        match.getModule(CombatModule.class).addStage(EventPriority.NORMAL, this::onEntityDamageByEntity);
 
         /**
          * Only assign the menu actions once. No need to update these every second.
@@ -100,8 +108,8 @@ public class SpectatorModule extends MatchModule implements Listener {
          */
         updateMenu();
 
-        afkTimerRunnable = Bukkit.getScheduler().runTaskTimer(TGM.get(), () -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
+        afkTimerTask = match.getModule(TaskedModuleManager.class).schedule("SpectatorModule afk", TaskPriority.LOW, 10 * 20, 10 * 20, () -> {
+            for (Player player : match.getPlayers()) {
                 if (isSpectating(player) || !lastMovement.containsKey(player.getUniqueId())) continue;
                 long moved = lastMovement.get(player.getUniqueId());
                 if (moved == 0) continue;
@@ -110,7 +118,7 @@ public class SpectatorModule extends MatchModule implements Listener {
                     lastMovement.remove(player.getUniqueId());
                 }
             }
-        }, 10 * 20, 10 * 20).getTaskId();
+        });
     }
 
     public void applySpectatorKit(PlayerContext playerContext) {
@@ -191,7 +199,7 @@ public class SpectatorModule extends MatchModule implements Listener {
      *
      */
     public boolean isSpectating(Player player) {
-        MatchStatus matchStatus = TGM.get().getMatchManager().getMatch().getMatchStatus();
+        MatchStatus matchStatus = match.getMatchStatus();
         return matchStatus != MatchStatus.MID || spectators.containsPlayer(player) || respawnModule != null && respawnModule.isDead(player);
     }
 
@@ -216,10 +224,10 @@ public class SpectatorModule extends MatchModule implements Listener {
         }
     }
 
-    @EventHandler
-    public void onDamage(EntityDamageEvent event) {
-        if (event.getEntity() instanceof Player) {
-            Player player = (Player) event.getEntity();
+    private void onDamage(DamageInfo damageInfo) {
+        Player player = damageInfo.getHurtPlayer();
+        if (player != null) {
+            EntityDamageEvent event = damageInfo.getEvent();
 
             if (isSpectating(player)) {
                 event.setCancelled(true);
@@ -253,7 +261,7 @@ public class SpectatorModule extends MatchModule implements Listener {
         if (teamManagerModule.getTeam(event.getPlayer()).isSpectator()) {
             event.setCancelled(true);
         }
-        if (TGM.get().getMatchManager().getMatch().getMatchStatus() == MatchStatus.POST && event.getPlayer().getGameMode() == GameMode.SURVIVAL) {
+        if (match.getMatchStatus() == MatchStatus.POST && event.getPlayer().getGameMode() == GameMode.SURVIVAL) {
             event.setCancelled(false);
         }
     }
@@ -263,7 +271,7 @@ public class SpectatorModule extends MatchModule implements Listener {
         if (teamManagerModule.getTeam(event.getPlayer()).isSpectator()) {
             event.setCancelled(true);
         }
-        if (TGM.get().getMatchManager().getMatch().getMatchStatus() == MatchStatus.POST && event.getPlayer().getGameMode() == GameMode.SURVIVAL) {
+        if (match.getMatchStatus() == MatchStatus.POST && event.getPlayer().getGameMode() == GameMode.SURVIVAL) {
             event.setInstaBreak(true);
         }
     }
@@ -344,10 +352,9 @@ public class SpectatorModule extends MatchModule implements Listener {
         }
     }
 
-    @EventHandler
-    public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
-        if (event.getDamager() instanceof Player && isSpectating((Player) event.getDamager()))
-            event.setCancelled(true);
+    private void onEntityDamageByEntity(DamageInfo damageInfo) {
+        if (damageInfo.getDamager() instanceof Player && isSpectating((Player) damageInfo.getDamager()))
+            damageInfo.getEvent().setCancelled(true);
     }
 
     @EventHandler
@@ -428,7 +435,7 @@ public class SpectatorModule extends MatchModule implements Listener {
 
     @Override
     public void unload() {
-        Bukkit.getScheduler().cancelTask(afkTimerRunnable);
+        afkTimerTask.cancel();
         lastMovement.clear();
         teamSelectionMenu.disable();
     }
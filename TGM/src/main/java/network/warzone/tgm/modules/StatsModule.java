@@ -5,8 +5,16 @@ import lombok.Getter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.modules.death.DeathInfo;
+import network.warzone.tgm.modules.stats.MatchStats;
+import network.warzone.tgm.modules.stats.Stat;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.player.event.PlayerLevelUpEvent;
 import network.warzone.tgm.player.event.PlayerXPEvent;
+import network.warzone.tgm.player.event.TGMPlayerDeathEvent;
 import network.warzone.tgm.util.Levels;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -19,13 +27,19 @@ import org.bukkit.event.player.PlayerJoinEvent;
 
 /**
  * Created by Jorge on 10/6/2017.
+ *
+ * Also keeps the {@link MatchStats} of the match. Kills, deaths and
+ * killstreaks are recorded here first, so every other listener reads
+ * the same numbers.
  */
 @Getter
 public class StatsModule extends MatchModule implements Listener{
 
     private Match match;
 
-    private int xpBarTaskId;
+    private ScheduledTask xpBarTask;
+    private TeamManagerModule teamManagerModule;
+    private final MatchStats stats = new MatchStats();
 
     private boolean statsDisabled = false;
     private boolean notifyDisable = true;
@@ -34,6 +48,7 @@ public class StatsModule extends MatchModule implements Listener{
     @Override
     public void load(Match match) {
         this.match = match;
+        this.teamManagerModule = match.getModule(TeamManagerModule.class);
 
         if (match.getMapContainer().getMapInfo().getJsonObject().has("stats")) {
             JsonObject statsObj = (JsonObject) match.getMapContainer().getMapInfo().getJsonObject().get("stats");
@@ -41,13 +56,13 @@ public class StatsModule extends MatchModule implements Listener{
             if (statsObj.has("notifydisable")) notifyDisable = statsObj.get("notifydisable").getAsBoolean();
             if (statsObj.has("showlevel")) showLevel = statsObj.get("showlevel").getAsBoolean();
         }
-        if (showLevel) xpBarTaskId = Bukkit.getScheduler().runTaskTimer(TGM.get(), () -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
+        if (showLevel) xpBarTask = match.getModule(TaskedModuleManager.class).schedule("StatsModule xp bar", TaskPriority.LOW, 2, 2, () -> {
+            for (Player player : match.getPlayers()) {
                 player.setLevel(TGM.get().getPlayerManager().getPlayerContext(player).getUserProfile().getLevel());
                 player.setExp((float) Levels.getLevelProgress(player) / 100);
             }
-        }, 2, 2).getTaskId();
-        if (statsDisabled && notifyDisable) Bukkit.getOnlinePlayers().forEach(this::notifyDisable);
+        });
+        if (statsDisabled && notifyDisable) match.getPlayers().forEach(this::notifyDisable);
     }
 
     private void notifyDisable(Player player) {
@@ -62,11 +77,34 @@ public class StatsModule extends MatchModule implements Listener{
     @Override
     public void unload() {
         this.match = null;
-        if (isShowLevel()) Bukkit.getScheduler().cancelTask(xpBarTaskId);
+        if (xpBarTask != null) xpBarTask.cancel();
+        stats.clear();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onDeath(TGMPlayerDeathEvent event) {
+        DeathInfo deathInfo = event.getDeathInfo();
+        stats.add(event.getVictim(), deathInfo.playerTeam, Stat.DEATHS, 1);
+
+        Player killer = event.getKiller();
+        if (killer == null || deathInfo.killerTeam == null || deathInfo.killerTeam.isSpectator()) return;
+        stats.add(killer, deathInfo.killerTeam, Stat.KILLS, 1);
+        int killstreak = stats.add(killer, deathInfo.killerTeam, Stat.KILLSTREAK, 1);
+        if (killstreak > stats.get(killer, Stat.BEST_KILLSTREAK)) stats.set(killer, deathInfo.killerTeam, Stat.BEST_KILLSTREAK, killstreak);
+    }
+
+    /**
+     * The killstreak of the victim ends last, so other listeners can still see it.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeathEnd(TGMPlayerDeathEvent event) {
+        stats.set(event.getVictim(), event.getDeathInfo().playerTeam, Stat.KILLSTREAK, 0);
     }
 
     @EventHandler
     public void onPlayerXP(PlayerXPEvent event) {
+        Player player = event.getPlayerContext().getPlayer();
+        stats.add(player, teamManagerModule.getTeam(player), Stat.XP, event.getAmount());
         if (isStatsDisabled()) return;
         if (Levels.calculateLevel(event.getFromXP()) < Levels.calculateLevel(event.getToXP())){
             Bukkit.getPluginManager().callEvent(new PlayerLevelUpEvent(event.getPlayerContext(), event.getPlayerContext().getUserProfile().getLevel() - 1, event.getPlayerContext().getUserProfile().getLevel()));
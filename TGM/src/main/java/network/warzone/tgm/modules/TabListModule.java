@@ -5,69 +5,134 @@ import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.match.MatchStatus;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
+import network.warzone.tgm.modules.team.TeamUpdateEvent;
 import network.warzone.tgm.modules.time.TimeModule;
 import network.warzone.tgm.util.Strings;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the tab list header and footer up to date.
+ *
+ * Both are only rebuilt and sent when the time shown in the header or
+ * the team counts shown in the footer change.
+ */
 public class TabListModule extends MatchModule implements Listener {
-    @Getter protected int runnableId = -1;
+    @Getter protected ScheduledTask task;
 
+    private Match match;
     @Getter private TeamManagerModule teamManagerModule;
+    private TimeModule timeModule;
+
+    private String headerPrefix; // before the time
+    private String headerSuffix; // after the time
+    private int lastSeconds = Integer.MIN_VALUE;
+    private MatchStatus lastStatus;
+    private int[] lastCounts = new int[0];
+    private boolean teamsUpdated = false;
+
+    private String header = "";
+    private String footer = "";
 
     @Override
     public void load(Match match) {
+        this.match = match;
         teamManagerModule = match.getModule(TeamManagerModule.class);
+        timeModule = match.getModule(TimeModule.class);
+
+        String name = TGM.get().getConfig().getString("server.tablist-name");
+        headerPrefix = ChatColor.WHITE + ChatColor.BOLD.toString() + match.getMapContainer().getMapInfo().getGametype().toString() +
+                ChatColor.DARK_GRAY + " - ";
+        headerSuffix = ChatColor.DARK_GRAY + " - " + ChatColor.WHITE + ChatColor.BOLD.toString() + ChatColor.translateAlternateColorCodes('&', name == null ? "&f&lWARZONE" : name);
 
         refreshAllTabs();
 
-        runnableId = Bukkit.getScheduler().scheduleSyncRepeatingTask(TGM.get(), this::refreshAllTabs, 10L, 10L);
+        task = match.getModule(TaskedModuleManager.class).schedule("TabListModule", TaskPriority.LOW, 10, 10, this::refreshAllTabs);
     }
 
     @Override
     public void unload() {
-        Bukkit.getScheduler().cancelTask(runnableId);
+        task.cancel();
     }
 
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
-        refreshTab(event.getPlayer());
+        refresh();
+        event.getPlayer().setPlayerListHeaderFooter(header, footer);
     }
 
-    private void refreshTab(Player player) {
-        MatchStatus matchStatus = TGM.get().getMatchManager().getMatch().getMatchStatus();
+    @EventHandler
+    public void onTeamUpdate(TeamUpdateEvent event) {
+        teamsUpdated = true;
+    }
 
-        ChatColor timeColor = ChatColor.GREEN;
-        if (matchStatus == MatchStatus.PRE) {
-            timeColor = ChatColor.GOLD;
-        } else if (matchStatus == MatchStatus.POST) {
-            timeColor = ChatColor.RED;
-        }
+    /**
+     * @return true if the header or footer changed.
+     */
+    private boolean refresh() {
+        boolean changed = false;
 
-        String header = ChatColor.WHITE + ChatColor.BOLD.toString() + TGM.get().getMatchManager().getMatch().getMapContainer().getMapInfo().getGametype().toString() +
-                        ChatColor.DARK_GRAY + " - " + timeColor + Strings.formatTime(TGM.get().getMatchManager().getMatch().getModule(TimeModule.class).getTimeElapsed()) +
-                        ChatColor.DARK_GRAY + " - " + ChatColor.WHITE + ChatColor.BOLD.toString() + ChatColor.translateAlternateColorCodes('&', TGM.get().getConfig().getString("server.tablist-name") == null ? "&f&lWARZONE" : TGM.get().getConfig().getString("server.tablist-name"));
+        MatchStatus matchStatus = match.getMatchStatus();
+        int seconds = (int) Math.floor(timeModule.getTimeElapsed());
+        if (seconds != lastSeconds || matchStatus != lastStatus) {
+            lastSeconds = seconds;
+            lastStatus = matchStatus;
 
-        String footer = "";
-        for (MatchTeam matchTeam : teamManagerModule.getTeams()) {
-            if (matchTeam.isSpectator()) continue;
-            footer += matchTeam.getColor() + matchTeam.getAlias() + ": " + ChatColor.WHITE + matchTeam.getMembers().size() + ChatColor.DARK_GRAY + "/" + ChatColor.GRAY + matchTeam.getMax();
-            footer += ChatColor.DARK_GRAY + " - ";
+            ChatColor timeColor = ChatColor.GREEN;
+            if (matchStatus == MatchStatus.PRE) {
+                timeColor = ChatColor.GOLD;
+            } else if (matchStatus == MatchStatus.POST) {
+                timeColor = ChatColor.RED;
+            }
+
+            String header = headerPrefix + timeColor + Strings.formatTime(timeModule.getTimeElapsed()) + headerSuffix;
+            if (!header.equals(this.header)) {
+                this.header = header;
+                changed = true;
+            }
+        }
+
+        List<MatchTeam> teams = teamManagerModule.getTeams();
+        int[] counts = new int[teams.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = teams.get(i).getMembers().size();
         }
-        footer += ChatColor.AQUA + "Spectators: " + ChatColor.WHITE + TGM.get().getModule(TeamManagerModule.class).getSpectators().getMembers().size();
+        if (teamsUpdated || !Arrays.equals(counts, lastCounts)) {
+            teamsUpdated = false;
+            lastCounts = counts;
 
+            StringBuilder footer = new StringBuilder();
+            for (MatchTeam matchTeam : teams) {
+                if (matchTeam.isSpectator()) continue;
+                footer.append(matchTeam.getColor()).append(matchTeam.getAlias()).append(": ").append(ChatColor.WHITE).append(matchTeam.getMembers().size()).append(ChatColor.DARK_GRAY).append("/").append(ChatColor.GRAY).append(matchTeam.getMax());
+                footer.append(ChatColor.DARK_GRAY).append(" - ");
+            }
+            footer.append(ChatColor.AQUA).append("Spectators: ").append(ChatColor.WHITE).append(teamManagerModule.getSpectators().getMembers().size());
 
-        player.setPlayerListHeaderFooter(header, footer);
+            if (!footer.toString().equals(this.footer)) {
+                this.footer = footer.toString();
+                changed = true;
+            }
+        }
+
+        return changed;
     }
+
     private void refreshAllTabs() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            refreshTab(player);
+        if (!refresh()) return;
+        for (Player player : match.getPlayers()) {
+            player.setPlayerListHeaderFooter(header, footer);
         }
     }
 }
@@ -12,6 +12,9 @@ import network.warzone.tgm.modules.respawn.RespawnRule;
 import network.warzone.tgm.modules.scoreboard.ScoreboardInitEvent;
 import network.warzone.tgm.modules.scoreboard.ScoreboardManagerModule;
 import network.warzone.tgm.modules.scoreboard.SimpleScoreboard;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.modules.team.TeamManagerModule;
@@ -19,7 +22,6 @@ import network.warzone.tgm.modules.time.TimeModule;
 import network.warzone.tgm.player.event.PlayerJoinTeamAttemptEvent;
 import network.warzone.tgm.player.event.TGMPlayerDeathEvent;
 import network.warzone.tgm.user.PlayerContext;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -42,7 +44,7 @@ public class BlitzModule extends MatchModule implements Listener {
 
     @Getter private final HashMap<MatchTeam, Integer> teamScoreboardLines = new HashMap<>();
 
-    private int livesDisplayTaskId;
+    private ScheduledTask livesDisplayTask;
 
     private TeamManagerModule teamManagerModule;
 
@@ -57,7 +59,7 @@ public class BlitzModule extends MatchModule implements Listener {
     @Override
     public void load(Match match) {
         this.match = match;
-        this.teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+        this.teamManagerModule = match.getModule(TeamManagerModule.class);
         JsonObject mapInfo = match.getMapContainer().getMapInfo().getJsonObject();
 
         if (mapInfo.has("blitz")) {
@@ -79,9 +81,9 @@ public class BlitzModule extends MatchModule implements Listener {
             }
         }
 
-        TGM.get().getModule(TimeModule.class).setTimeLimitService(this::getBiggestTeam);
-        TGM.get().getModule(RespawnModule.class).setDefaultRule(respawnRule);
-        TGM.get().getModule(RespawnModule.class).addRespawnService(this::isAlive);
+        match.getModule(TimeModule.class).setTimeLimitService(this::getBiggestTeam);
+        match.getModule(RespawnModule.class).setDefaultRule(respawnRule);
+        match.getModule(RespawnModule.class).addRespawnService(this::isAlive);
     }
 
     private MatchTeam getBiggestTeam() {
@@ -114,12 +116,12 @@ public class BlitzModule extends MatchModule implements Listener {
                 showLives(player.getPlayer());
             }
         }
-        livesDisplayTaskId = Bukkit.getScheduler().runTaskTimer(TGM.get(), () -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
+        livesDisplayTask = match.getModule(TaskedModuleManager.class).schedule("BlitzModule lives", TaskPriority.LOW, 2, 2, () -> {
+            for (Player player : match.getPlayers()) {
                 if (teamManagerModule.getTeam(player).isSpectator()) return;
                 player.sendActionBar(ChatColor.translateAlternateColorCodes('&', actionbar.replaceAll("%lives%", "" + getLives(player)).replaceAll("%player%", player.getName())));
             }
-        }, 2L, 2L).getTaskId();
+        });
     }
 
     @EventHandler
@@ -151,11 +153,10 @@ public class BlitzModule extends MatchModule implements Listener {
 
     public void updateScoreboardTeamLine(MatchTeam matchTeam, int size) {
         if (!teamScoreboardLines.containsKey(matchTeam)) return;
-        for (SimpleScoreboard simpleScoreboard : TGM.get().getModule(ScoreboardManagerModule.class).getScoreboards().values()) {
+        for (SimpleScoreboard simpleScoreboard : match.getModule(ScoreboardManagerModule.class).getViews()) {
             int line = teamScoreboardLines.get(matchTeam);
             simpleScoreboard.remove(line);
             simpleScoreboard.add(getTeamScoreLine(matchTeam, size), line);
-            simpleScoreboard.update();
         }
     }
 
@@ -184,7 +185,7 @@ public class BlitzModule extends MatchModule implements Listener {
             MatchTeam team = teamManagerModule.getTeam(player);
             updateScoreboardTeamLine(team, getAlivePlayers(team).size());
 
-            Bukkit.broadcastMessage(team.getColor() + player.getName() + ChatColor.RED + " has been eliminated!");
+            match.broadcastMessage(team.getColor() + player.getName() + ChatColor.RED + " has been eliminated!");
             player.sendTitle("", ChatColor.RED + "You have been eliminated.", 10, 20, 10);
 
         } else {
@@ -199,7 +200,7 @@ public class BlitzModule extends MatchModule implements Listener {
             MatchTeam winnerTeam = teamManagerModule.getTeams().stream().filter(matchTeam -> !matchTeam.isSpectator()).filter(matchTeam -> getAlivePlayers(matchTeam).size() > 0).findFirst()
                     .orElseGet(() -> teamManagerModule.getTeams().get(1));
 
-            TGM.get().getMatchManager().endMatch(winnerTeam);
+            TGM.get().getMatchManager().endMatch(match, winnerTeam);
         }
     }
 
@@ -217,13 +218,13 @@ public class BlitzModule extends MatchModule implements Listener {
         if ((teamManagerModule.getTeam(event.getPlayer()) != null && teamManagerModule.getTeam(event.getPlayer()).isSpectator())) return;
         updateScoreboardTeamLine(teamManagerModule.getTeam(event.getPlayer()), getAlivePlayers(teamManagerModule.getTeam(event.getPlayer())).size() - 1);
 
-        if (!TGM.get().getMatchManager().getMatch().getMatchStatus().equals(MatchStatus.MID)) return;
+        if (!match.getMatchStatus().equals(MatchStatus.MID)) return;
 
         if (lastTeamAlive()) {
             MatchTeam winnerTeam = teamManagerModule.getTeams().stream().filter(matchTeam -> !matchTeam.isSpectator()).filter(matchTeam -> getAlivePlayers(matchTeam).size() > 0).findFirst()
                     .orElseGet(() -> teamManagerModule.getTeams().get(1));
 
-            TGM.get().getMatchManager().endMatch(winnerTeam);
+            TGM.get().getMatchManager().endMatch(match, winnerTeam);
         }
     }
 
@@ -238,7 +239,7 @@ public class BlitzModule extends MatchModule implements Listener {
 
     @Override
     public void unload() {
-        Bukkit.getScheduler().cancelTask(livesDisplayTaskId);
+        if (livesDisplayTask != null) livesDisplayTask.cancel();
 
         teamLives.clear();
         playerLives.clear();
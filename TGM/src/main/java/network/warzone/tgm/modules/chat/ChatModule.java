@@ -32,6 +32,7 @@ public class ChatModule extends MatchModule implements Listener {
 
     private TeamManagerModule teamManagerModule;
     private TimeModule timeModule;
+    private StatsModule statsModule;
     private final List<Chat> chatLog = new ArrayList<>();
     private static final Map<String, ChatChannel> channels = new HashMap<>();
 
@@ -39,6 +40,7 @@ public class ChatModule extends MatchModule implements Listener {
     public void load(Match match) {
         teamManagerModule = match.getModule(TeamManagerModule.class);
         timeModule = match.getModule(TimeModule.class);
+        statsModule = match.getModule(StatsModule.class);
     }
 
     public static Map<String, ChatChannel> getChannels() {
@@ -88,7 +90,7 @@ public class ChatModule extends MatchModule implements Listener {
         ChatChannel channel = channels.get(event.getPlayer().getUniqueId().toString());
 
         if(channel == ChatChannel.TEAM) {
-            TGM.get().getModule(ChatModule.class).sendTeamChat(playerContext, event.getMessage());
+            sendTeamChat(playerContext, event.getMessage());
             event.setCancelled(true);
             return;
         }
@@ -107,7 +109,7 @@ public class ChatModule extends MatchModule implements Listener {
             UserProfile userProfile = playerContext.getUserProfile();
             String prefix = userProfile.getPrefix() != null ? ChatColor.translateAlternateColorCodes('&', userProfile.getPrefix().trim()) + " " : "";
             StringBuilder format = new StringBuilder();
-            if (!TGM.get().getModule(StatsModule.class).isStatsDisabled()) format.append(playerContext.getLevelString()).append(" ");
+            if (!statsModule.isStatsDisabled()) format.append(playerContext.getLevelString()).append(" ");
             format.append(prefix)
                     .append(matchTeam.getColor())
                     .append(event.getPlayer().getName());
@@ -1,20 +1,21 @@
 package network.warzone.tgm.modules.controlpoint;
 
-import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import lombok.Getter;
 import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.modules.SpectatorModule;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.region.RegionSave;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.modules.team.TeamManagerModule;
-import network.warzone.tgm.util.Blocks;
-import network.warzone.tgm.util.ColorConverter;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
-import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
@@ -24,7 +25,7 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 
 import java.util.HashMap;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * Not a module! Other modules should initialize these and keep track of them.
@@ -38,15 +39,17 @@ public class ControlPoint implements Listener {
     public static final String SYMBOL_CP_INCOMPLETE = "\u29be";     // ⦾
     public static final String SYMBOL_CP_COMPLETE = "\u29bf";       // ⦿
 
-    public static final long TICK_RATE = 10;
+    public static final int TICK_RATE = 10;
 
+    private final Match match;
     private final ControlPointDefinition definition;
 
     private final Region region;
     private final RegionSave regionSave;
     private final ControlPointService controlPointService;
 
-    private final Set<Player> playersOnPoint = Sets.newHashSet();
+    private final Map<Player, MatchTeam> playersOnPoint = new HashMap<>(); // the team each player counts for
+    private final Object2IntOpenHashMap<MatchTeam> holding = new Object2IntOpenHashMap<>(); // players on the point by team
 
     private MatchTeam controller = null;
 
@@ -55,9 +58,12 @@ public class ControlPoint implements Listener {
 
     private boolean initialCapture = true;
 
-    private int runnableId = -1;
+    private ScheduledTask task;
+    private TeamManagerModule teamManagerModule;
+    private ControlPointVisual visual;
 
-    public ControlPoint(ControlPointDefinition controlPointDefinition, Region region, ControlPointService controlPointService) {
+    public ControlPoint(Match match, ControlPointDefinition controlPointDefinition, Region region, ControlPointService controlPointService) {
+        this.match = match;
         this.definition = controlPointDefinition;
         this.region = region;
         this.controlPointService = controlPointService;
@@ -70,15 +76,25 @@ public class ControlPoint implements Listener {
     }
 
     private void handlePlayerMove(Player player, Location to) {
-        if(TGM.get().getModule(SpectatorModule.class).isSpectating(player)) return;
+        if(match.getModule(SpectatorModule.class).isSpectating(player)) return;
 
         if (!player.isDead() && region.contains(to)) {
-            playersOnPoint.add(player);
+            if (playersOnPoint.containsKey(player)) return;
+            MatchTeam matchTeam = teamManagerModule.getTeam(player);
+            if (matchTeam == null || matchTeam.isSpectator()) return;
+
+            playersOnPoint.put(player, matchTeam);
+            holding.addTo(matchTeam, 1);
         } else {
-            playersOnPoint.remove(player);
+            removePlayer(player);
         }
     }
 
+    private void removePlayer(Player player) {
+        MatchTeam matchTeam = playersOnPoint.remove(player);
+        if (matchTeam != null && holding.addTo(matchTeam, -1) == 1) holding.removeInt(matchTeam);
+    }
+
     @EventHandler
     public void onPlayerTeleport(PlayerTeleportEvent event) {
         handlePlayerMove(event.getPlayer(), event.getTo());
@@ -92,55 +108,42 @@ public class ControlPoint implements Listener {
     @EventHandler
     public void onTeamChange(TeamChangeEvent event) {
         if (event.isCancelled()) return;
-        this.playersOnPoint.remove(event.getPlayerContext().getPlayer());
+        removePlayer(event.getPlayerContext().getPlayer());
     }
 
     @EventHandler
     public void onQuit(PlayerQuitEvent event) {
-        this.playersOnPoint.remove(event.getPlayer());
+        removePlayer(event.getPlayer());
     }
 
     public void enable() {
-        HashMap<MatchTeam, Integer> holding = new HashMap<>();
-
-        runnableId = Bukkit.getScheduler().runTaskTimer(TGM.get(), () -> {
-            holding.clear();
-
-            for (MatchTeam matchTeam : TGM.get().getModule(TeamManagerModule.class).getTeams()) {
-                if (matchTeam.isSpectator()) continue;
-
-                for (Player player : playersOnPoint) {
-                    if (matchTeam.containsPlayer(player)) {
-                        holding.put(matchTeam, holding.getOrDefault(matchTeam, 0) + 1);
-                    }
-                }
-            }
+        teamManagerModule = match.getModule(TeamManagerModule.class);
+        visual = new ControlPointVisual(region);
 
+        task = match.getModule(TaskedModuleManager.class).schedule("ControlPoint " + definition.getName(), TaskPriority.CRITICAL, TICK_RATE, TICK_RATE, () -> {
             MatchTeam most = null;
             int mostCount = 0;
-            for (MatchTeam matchTeam : holding.keySet()) {
-                if (most == null) {
-                    most = matchTeam;
-                } else {
-                    if (holding.get(matchTeam).equals(holding.get(most))) {
-                        mostCount++;
-                    } else if (holding.get(matchTeam) > holding.get(most)) {
-                        most = matchTeam;
-                        mostCount = 0;
-                    }
+            boolean tied = false;
+            for (Object2IntMap.Entry<MatchTeam> entry : holding.object2IntEntrySet()) {
+                if (entry.getIntValue() > mostCount) {
+                    most = entry.getKey();
+                    mostCount = entry.getIntValue();
+                    tied = false;
+                } else if (entry.getIntValue() == mostCount) {
+                    tied = true;
                 }
             }
 
-            if (most != null && mostCount == 0) {
+            if (most != null && !tied) {
                 handleCap(most);
             } else {
                 if (controller != null) {
                     controlPointService.holding(controller);
                 }
             }
-        }, TICK_RATE, TICK_RATE).getTaskId();
+        });
 
-        TGM.registerEvents(this);
+        TGM.registerEvents(this, match);
     }
 
     private void handleCap(MatchTeam matchTeam) {
@@ -192,26 +195,15 @@ public class ControlPoint implements Listener {
     private void renderBlocks(MatchTeam matchTeam, boolean isInitial) {
         ChatColor color1 = progressingTowardsTeam.getColor();
         ChatColor color2 = controller != null && matchTeam == controller ? controller.getColor() : (isInitial ? ChatColor.RESET : ChatColor.WHITE);
-        Location center = region.getCenter();
-        double x = center.getX();
-        double z = center.getZ();
-        double percent = Math.toRadians(getPercent() * 3.6);
-        for (Block block : region.getBlocks()) {
-            if (!Blocks.isVisualMaterial(block.getType())) continue;
-            double dx = block.getX() - x;
-            double dz = block.getZ() - z;
-            double angle = Math.atan2(dz, dx);
-            if (angle < 0) angle += 2 * Math.PI;
-            ChatColor color = angle < percent ? color1 : color2;
-            if (color != ChatColor.RESET) block.setType(ColorConverter.convertChatColorToColoredBlock(block.getType(), color));
-        }
+        visual.render(Math.toRadians(getPercent() * 3.6), color1, color2);
     }
 
     public void unload() {
-        Bukkit.getScheduler().cancelTask(runnableId);
+        if (task != null) task.cancel();
         HandlerList.unregisterAll(this);
 
         playersOnPoint.clear();
+        holding.clear();
         regionSave.clear();
     }
 }
\ No newline at end of file
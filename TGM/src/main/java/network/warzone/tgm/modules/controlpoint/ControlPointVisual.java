@@ -0,0 +1,98 @@
+package network.warzone.tgm.modules.controlpoint;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import network.warzone.tgm.modules.region.Region;
+import network.warzone.tgm.util.Blocks;
+import network.warzone.tgm.util.ColorConverter;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The coloured blocks showing the capture progress of a control point.
+ *
+ * Blocks are sorted by their angle around the center of the point once, so a
+ * percentage covers a prefix of them. Only the blocks whose material changes
+ * are set, one chunk after the other. Blocks that are no longer a visual
+ * material are left alone.
+ */
+class ControlPointVisual {
+
+    private final Block[] blocks; // by angle
+    private final double[] angles;
+    private final Material[] materials; // material each block was last seen with
+    private final int[] chunkOrder; // block indices grouped by chunk
+
+    ControlPointVisual(Region region) {
+        Location center = region.getCenter();
+        double x = center.getX();
+        double z = center.getZ();
+
+        List<Block> visual = new ArrayList<>();
+        for (Block block : region.getBlocks()) {
+            if (Blocks.isVisualMaterial(block.getType())) visual.add(block);
+        }
+        visual.sort(Comparator.comparingDouble(block -> angle(block, x, z)));
+
+        int size = visual.size();
+        this.blocks = visual.toArray(new Block[0]);
+        this.angles = new double[size];
+        this.materials = new Material[size];
+        this.chunkOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            angles[i] = angle(blocks[i], x, z);
+            materials[i] = blocks[i].getType();
+            chunkOrder[i] = i;
+        }
+        IntArrays.quickSort(chunkOrder, (a, b) -> {
+            int compare = Integer.compare(blocks[a].getX() >> 4, blocks[b].getX() >> 4);
+            if (compare == 0) compare = Integer.compare(blocks[a].getZ() >> 4, blocks[b].getZ() >> 4);
+            return compare != 0 ? compare : Integer.compare(a, b);
+        });
+    }
+
+    private static double angle(Block block, double x, double z) {
+        double angle = Math.atan2(block.getZ() - z, block.getX() - x);
+        if (angle < 0) angle += 2 * Math.PI;
+        return angle;
+    }
+
+    /**
+     * Colours the blocks within the angle with one colour and the rest with the other.
+     * Blocks that would get {@link ChatColor#RESET} are left as they are.
+     */
+    void render(double angle, ChatColor progress, ChatColor rest) {
+        int split = 0;
+        int high = angles.length;
+        while (split < high) {
+            int mid = (split + high) >>> 1;
+            if (angles[mid] < angle) {
+                split = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int i : chunkOrder) {
+            ChatColor color = i < split ? progress : rest;
+            if (color == ChatColor.RESET) continue;
+
+            // the block may have been broken or replaced since the last render.
+            Material current = blocks[i].getType();
+            if (current != materials[i]) {
+                if (!Blocks.isVisualMaterial(current)) continue;
+                materials[i] = current;
+            }
+
+            Material material = ColorConverter.convertChatColorToColoredBlock(current, color);
+            if (material == current) continue;
+            blocks[i].setType(material);
+            materials[i] = material;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Setter;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.match.ModuleData;
 import network.warzone.tgm.match.ModuleLoadTime;
+import network.warzone.tgm.modules.tasked.TaskPriority;
 import network.warzone.tgm.modules.tasked.TaskedModule;
 
 @ModuleData(load = ModuleLoadTime.LATER)
@@ -43,6 +44,11 @@ public abstract class Countdown extends MatchModule implements TaskedModule {
         }
     }
 
+    @Override
+    public TaskPriority getTaskPriority() {
+        return TaskPriority.CRITICAL;
+    }
+
     public int getTimeLeftSeconds() {
         return (int) timeLeft / 20;
     }
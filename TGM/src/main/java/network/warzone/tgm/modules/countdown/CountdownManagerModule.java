@@ -88,7 +88,8 @@ public class CountdownManagerModule extends MatchModule {
 
     public void addCountdown(String id, CustomCountdown countdown) {
         this.customCountdowns.put(id, countdown);
-        TGM.registerEvents(countdown);
+        countdown.load(match);
+        TGM.registerEvents(countdown, match);
         this.match.getModules().add(countdown);
         this.taskedModuleManager.addTaskedModule(countdown);
     }
@@ -1,6 +1,7 @@
 package network.warzone.tgm.modules.countdown;
 
 import lombok.Getter;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.user.PlayerContext;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 @Getter
 public class CustomCountdown extends BossBarCountdown {
 
+    private Match match;
     private int time; // seconds
     private String title;
     private BarColor color;
@@ -48,6 +50,11 @@ public class CustomCountdown extends BossBarCountdown {
         this(time, title, BarColor.PURPLE, BarStyle.SOLID, true, false, Collections.emptyList(), Collections.emptyList());
     }
 
+    @Override
+    public void load(Match match) {
+        this.match = match;
+    }
+
     public void start() {
         this.start(this.time);
     }
@@ -111,7 +118,7 @@ public class CustomCountdown extends BossBarCountdown {
 
 
     private List<Player> getPlayers() {
-        if (this.teams == null || this.teams.isEmpty()) return new ArrayList<>(Bukkit.getOnlinePlayers());
+        if (this.teams == null || this.teams.isEmpty()) return new ArrayList<>(match.getPlayers());
         else return this.teams.stream().flatMap(team -> team.getMembers().stream()).map(PlayerContext::getPlayer).collect(Collectors.toList());
     }
 
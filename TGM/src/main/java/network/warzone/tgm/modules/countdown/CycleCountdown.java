@@ -12,13 +12,15 @@ import org.bukkit.boss.BossBar;
 public class CycleCountdown extends BossBarCountdown {
     public static int START_TIME = 20;
 
+    private Match match;
+
     public CycleCountdown() {
         this.bossBar = initBossBar();
     }
 
     @Override
     public void load(Match match) {
-
+        this.match = match;
     }
 
     @Override
@@ -45,7 +47,7 @@ public class CycleCountdown extends BossBarCountdown {
         getBossBar().setProgress((getTimeMax() - getTimeLeft()) / getTimeMax());
 
         if (getTimeLeft() % 20 == 0) {
-            getBossBar().setTitle(ChatColor.DARK_AQUA + "Cycling to " + ChatColor.AQUA + TGM.get().getMatchManager().getNextMap().getMapInfo().getName()
+            getBossBar().setTitle(ChatColor.DARK_AQUA + "Cycling to " + ChatColor.AQUA + TGM.get().getMatchManager().getNextMap(match).getMapInfo().getName()
                     + ChatColor.DARK_AQUA + " in " + ChatColor.DARK_RED + getTimeLeftSeconds()
                     + ChatColor.DARK_AQUA + " second" + (getTimeLeftSeconds() > 1 ? "s" : ""));
             BossBarUtil.displayForOldVersions(getBossBar());
@@ -56,7 +58,7 @@ public class CycleCountdown extends BossBarCountdown {
     protected void onFinish() {
         getBossBar().setVisible(false);
 
-        TGM.get().getMatchManager().cycleNextMatch();
+        TGM.get().getMatchManager().cycleMatch(match);
     }
 
     @Override
@@ -17,6 +17,7 @@ public class StartCountdown extends BossBarCountdown {
     public static final int START_TIME = 20;
     public static final int REQUIRED_PLAYERS = 2;
 
+    private Match match;
     @Getter private TeamManagerModule teamManagerModule;
 
     public StartCountdown() {
@@ -25,6 +26,7 @@ public class StartCountdown extends BossBarCountdown {
 
     @Override
     public void load(Match match) {
+        this.match = match;
         teamManagerModule = match.getModule(TeamManagerModule.class);
         start(START_TIME);
     }
@@ -66,9 +68,9 @@ public class StartCountdown extends BossBarCountdown {
                     ChatColor.GREEN + " second" + (getTimeLeftSeconds() > 1 ? "s" : ""));
             BossBarUtil.displayForOldVersions(getBossBar());
             if (getTimeLeftSeconds() <= 3) {
-                Bukkit.getOnlinePlayers().forEach(player -> {
+                match.getPlayers().forEach(player -> {
                     player.playSound(player.getLocation().clone().add(0.0, 100.0, 0.0), Sound.BLOCK_NOTE_BLOCK_PLING, 1000, 1);
-                    if (!TGM.get().getModule(TeamManagerModule.class).getSpectators().containsPlayer(player)) {
+                    if (!teamManagerModule.getSpectators().containsPlayer(player)) {
                         player.sendTitle(ChatColor.YELLOW.toString() + getTimeLeftSeconds(), "", 0, 5, 15);
                     }
                 });
@@ -79,11 +81,11 @@ public class StartCountdown extends BossBarCountdown {
     @Override
     protected void onFinish() {
         getBossBar().setVisible(false);
-        TGM.get().getMatchManager().startMatch();
+        TGM.get().getMatchManager().startMatch(match);
 
-        Bukkit.getOnlinePlayers().forEach(player -> {
+        match.getPlayers().forEach(player -> {
             player.playSound(player.getLocation().clone().add(0.0, 100.0, 0.0), Sound.BLOCK_NOTE_BLOCK_PLING, 1000f, 2f);
-            if (!TGM.get().getModule(TeamManagerModule.class).getSpectators().containsPlayer(player)) {
+            if (!teamManagerModule.getSpectators().containsPlayer(player)) {
                 player.sendTitle(ChatColor.GREEN + "GO!", "", 0, 5, 15);
             }
         });
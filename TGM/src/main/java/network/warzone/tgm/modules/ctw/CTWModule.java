@@ -65,7 +65,7 @@ public class CTWModule extends MatchModule implements Listener {
             String woolColor = Strings.getTechnicalName(woolObject.get("woolcolor").getAsString()); //TODO 1.13 Temp fix
             ChatColor color = ChatColor.valueOf(Strings.getTechnicalName(woolObject.get("color").getAsString()));
             for (MatchTeam matchTeam : teams) {
-                wools.add(new WoolObjective(name, Material.valueOf(woolColor.toUpperCase() + "_WOOL"), matchTeam, region, color));
+                wools.add(new WoolObjective(match, name, Material.valueOf(woolColor.toUpperCase() + "_WOOL"), matchTeam, region, color));
             }
 
             teams.clear();
@@ -79,7 +79,7 @@ public class CTWModule extends MatchModule implements Listener {
                     if (firstTouch) {
                         updateOnScoreboard(woolObjective);
 
-                        Bukkit.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE +
+                        match.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE +
                                 " picked up " + woolObjective.getColor() + ChatColor.BOLD.toString() + woolObjective.getName());
 
                         for (MatchTeam otherTeam : teamManagerModule.getTeams()) {
@@ -98,7 +98,7 @@ public class CTWModule extends MatchModule implements Listener {
                 public void place(Player player, MatchTeam matchTeam, Block block) {
                     updateOnScoreboard(woolObjective);
 
-                    Bukkit.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE +
+                    match.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE +
                             " placed " + woolObjective.getColor() + ChatColor.BOLD.toString() + woolObjective.getName());
 
                     for (MatchTeam otherTeam : teamManagerModule.getTeams()) {
@@ -114,7 +114,7 @@ public class CTWModule extends MatchModule implements Listener {
                     playFireworkEffect(matchTeam.getColor(), block.getLocation());
 
                     if (getIncompleteWools(matchTeam).isEmpty()) {
-                        TGM.get().getMatchManager().endMatch(matchTeam);
+                        TGM.get().getMatchManager().endMatch(match, matchTeam);
                     }
                 }
 
@@ -122,14 +122,14 @@ public class CTWModule extends MatchModule implements Listener {
                  public void drop(Player player, MatchTeam matchTeam, boolean broadcast) {
                     updateOnScoreboard(woolObjective);
 
-                     if (broadcast) Bukkit.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE +
+                     if (broadcast) match.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE +
                              " dropped " + woolObjective.getColor() + ChatColor.BOLD.toString() + woolObjective.getName());
                  }
 
             });
         }
 
-        ItemRemoveModule module = TGM.get().getModule(ItemRemoveModule.class);
+        ItemRemoveModule module = match.getModule(ItemRemoveModule.class);
 
         //load wools
         for (WoolObjective woolObjective : this.wools) {
@@ -138,7 +138,7 @@ public class CTWModule extends MatchModule implements Listener {
         }
 
         if (this.wools.size() > 6) this.compactLayout = true;
-        TGM.get().getModule(TimeModule.class).setTimeLimitService(this::getWinningTeam);
+        match.getModule(TimeModule.class).setTimeLimitService(this::getWinningTeam);
     }
 
     private MatchTeam getWinningTeam() {
@@ -254,9 +254,8 @@ public class CTWModule extends MatchModule implements Listener {
         for (MatchTeam matchTeam : teams) {
             if (event.getMatchTeam() == matchTeam) {
                 int i = this.teamScoreboardLines.get(matchTeam.getId());
-                for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getScoreboards().values()) {
+                for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getViews()) {
                     simpleScoreboard.add(getTeamScoreboardString(matchTeam), i);
-                    simpleScoreboard.update();
                 }
             }
         }
@@ -265,17 +264,15 @@ public class CTWModule extends MatchModule implements Listener {
     private void updateOnScoreboard(WoolObjective woolObjective) {
         if (!this.compactLayout) {
             for (int i : this.woolScoreboardLines.get(woolObjective)) {
-                for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getScoreboards().values()) {
+                for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getViews()) {
                     simpleScoreboard.add(getScoreboardString(woolObjective), i);
-                    simpleScoreboard.update();
                 }
             }
         } else {
             List<WoolObjective> woolObjectives = getTeamWoolObjectives(woolObjective.getOwner());
             for (int i : this.woolScoreboardLines.get(woolObjective)) {
-                for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getScoreboards().values()) {
+                for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getViews()) {
                     simpleScoreboard.add(getScoreboardString(woolObjectives), i);
-                    simpleScoreboard.update();
                 }
             }
         }
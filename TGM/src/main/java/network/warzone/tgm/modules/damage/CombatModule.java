@@ -0,0 +1,119 @@
+package network.warzone.tgm.modules.damage;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import network.warzone.tgm.match.Match;
+import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.match.ModuleData;
+import network.warzone.tgm.match.ModuleLoadTime;
+import network.warzone.tgm.modules.team.TeamManagerModule;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Runs every damage handler of the match as a stage over a single {@link DamageInfo}.
+ *
+ * The attacker, shooter, teams and weapon are resolved once per event instead
+ * of once per handler. Stages keep the event priority they were registered
+ * with and run in registration order within it, which is the order their
+ * modules load in, so they run in the same order their listeners used to.
+ */
+@ModuleData(load = ModuleLoadTime.EARLIEST)
+public class CombatModule extends MatchModule implements Listener {
+
+    private final EnumMap<EventPriority, List<CombatStage>> stages = new EnumMap<>(EventPriority.class);
+    private TeamManagerModule teamManagerModule;
+
+    private DamageInfo current; // damage info of the event being processed
+    @Getter private long events = 0;
+    private long nanos = 0;
+
+    public CombatModule() {
+        for (EventPriority priority : EventPriority.values()) {
+            if (priority != EventPriority.MONITOR) stages.put(priority, new ArrayList<>());
+        }
+    }
+
+    @Override
+    public void load(Match match) {
+        this.teamManagerModule = match.getModule(TeamManagerModule.class);
+    }
+
+    /**
+     * Stages can't change the outcome at {@link EventPriority#MONITOR}, use a listener instead.
+     */
+    public void addStage(EventPriority priority, CombatStage stage) {
+        stages.get(priority).add(stage);
+    }
+
+    public void removeStage(CombatStage stage) {
+        for (List<CombatStage> list : stages.values()) {
+            list.remove(stage);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onDamageLowest(EntityDamageEvent event) {
+        events++;
+        run(EventPriority.LOWEST, event);
+    }
+
+    @EventHandler(priority = EventPriority.LOW)
+    public void onDamageLow(EntityDamageEvent event) {
+        run(EventPriority.LOW, event);
+    }
+
+    @EventHandler(priority = EventPriority.NORMAL)
+    public void onDamageNormal(EntityDamageEvent event) {
+        run(EventPriority.NORMAL, event);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onDamageHigh(EntityDamageEvent event) {
+        run(EventPriority.HIGH, event);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onDamageHighest(EntityDamageEvent event) {
+        run(EventPriority.HIGHEST, event);
+    }
+
+    private void run(EventPriority priority, EntityDamageEvent event) {
+        List<CombatStage> list = stages.get(priority);
+        if (list.isEmpty()) return;
+
+        long start = System.nanoTime();
+        // a stage may cause another damage event, which replaces the current info.
+        DamageInfo damageInfo = current;
+        if (damageInfo == null || damageInfo.event != event) {
+            damageInfo = new DamageInfo(event, teamManagerModule);
+            current = damageInfo;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            list.get(i).process(damageInfo);
+        }
+        nanos += System.nanoTime() - start;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("events", events);
+        json.addProperty("nanos", nanos);
+        json.addProperty("averageNanos", events == 0 ? 0 : nanos / events);
+        return json;
+    }
+
+    @Override
+    public void unload() {
+        for (List<CombatStage> list : stages.values()) {
+            list.clear();
+        }
+        current = null;
+    }
+}
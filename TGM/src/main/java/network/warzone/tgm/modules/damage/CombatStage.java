@@ -0,0 +1,8 @@
+package network.warzone.tgm.modules.damage;
+
+/**
+ * A step of the {@link CombatModule} pipeline, run for every damage event of the match.
+ */
+public interface CombatStage {
+    void process(DamageInfo damageInfo);
+}
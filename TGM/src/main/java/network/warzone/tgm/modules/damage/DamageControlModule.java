@@ -5,9 +5,7 @@ import com.google.gson.JsonObject;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.util.Strings;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
 
 import java.util.HashMap;
@@ -15,7 +13,7 @@ import java.util.Map;
 
 import static org.bukkit.event.entity.EntityDamageEvent.DamageCause;
 
-public class DamageControlModule extends MatchModule implements Listener {
+public class DamageControlModule extends MatchModule {
 
     private HashMap<DamageCause, Boolean> enabled = new HashMap<>();
 
@@ -31,10 +29,11 @@ public class DamageControlModule extends MatchModule implements Listener {
                 enabled.put(cause, entry.getValue().getAsBoolean());
             }
         }
+        if (!enabled.isEmpty()) match.getModule(CombatModule.class).addStage(EventPriority.LOW, this::onDamage);
     }
 
-    @EventHandler(priority = EventPriority.LOW)
-    public void onDamage(EntityDamageEvent event) {
+    private void onDamage(DamageInfo damageInfo) {
+        EntityDamageEvent event = damageInfo.getEvent();
         if (!this.enabled.getOrDefault(event.getCause(), true)) {
             event.setCancelled(true);
             event.setDamage(0);
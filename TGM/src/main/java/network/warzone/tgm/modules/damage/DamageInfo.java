@@ -1,15 +1,25 @@
 package network.warzone.tgm.modules.damage;
 
+import network.warzone.tgm.modules.team.MatchTeam;
+import network.warzone.tgm.modules.team.TeamManagerModule;
 import org.bukkit.entity.*;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.ItemStack;
 
 /**
  * Created by luke on 12/13/15.
+ *
+ * Everything the combat stages need to know about a damage event. It is
+ * resolved once per event by the {@link CombatModule}, teams and the weapon
+ * are only looked up the first time they are asked for.
  */
 public class DamageInfo {
 
     EntityDamageEvent event;
+    private final TeamManagerModule teamManagerModule;
+
+    private Entity damager = null;
 
     private LivingEntity hurtEntity = null;
     private LivingEntity damagerEntity = null;
@@ -22,8 +32,14 @@ public class DamageInfo {
     private Projectile projectile;
     private TNTPrimed tnt;
 
-    public DamageInfo(EntityDamageEvent event) {
+    private MatchTeam hurtTeam, damagerTeam;
+    private boolean hurtTeamResolved = false, damagerTeamResolved = false;
+    private ItemStack weapon;
+
+    public DamageInfo(EntityDamageEvent event, TeamManagerModule teamManagerModule) {
         this.event = event;
+        this.teamManagerModule = teamManagerModule;
+        if (event instanceof EntityDamageByEntityEvent) this.damager = ((EntityDamageByEntityEvent) event).getDamager();
 
         if (!(event.getEntity() instanceof LivingEntity)) {
             this.hurtNonLivingEntity = event.getEntity();
@@ -36,7 +52,7 @@ public class DamageInfo {
         }
 
         if (event instanceof EntityDamageByEntityEvent) {
-            Entity e = ((EntityDamageByEntityEvent) event).getDamager();
+            Entity e = damager;
             if (e instanceof LivingEntity) {
                 this.damagerEntity = (LivingEntity) e;
 
@@ -63,6 +79,17 @@ public class DamageInfo {
         }
     }
 
+    public EntityDamageEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * @return the entity that directly caused the damage, null if the event isn't caused by an entity
+     */
+    public Entity getDamager() {
+        return damager;
+    }
+
     public LivingEntity getHurtEntity() {
         return hurtEntity;
     }
@@ -90,4 +117,41 @@ public class DamageInfo {
     public TNTPrimed getTnt() {
         return tnt;
     }
+
+    public MatchTeam getHurtTeam() {
+        if (!hurtTeamResolved) {
+            hurtTeam = hurtPlayer == null ? null : teamManagerModule.getTeam(hurtPlayer);
+            hurtTeamResolved = true;
+        }
+        return hurtTeam;
+    }
+
+    /**
+     * @return the team of the attacking player, or of the player who shot the projectile
+     */
+    public MatchTeam getDamagerTeam() {
+        if (!damagerTeamResolved) {
+            damagerTeam = damagerPlayer == null ? null : teamManagerModule.getTeam(damagerPlayer);
+            damagerTeamResolved = true;
+        }
+        return damagerTeam;
+    }
+
+    /**
+     * @return the item in the main hand of the attacking player, or of the player who shot the projectile
+     */
+    public ItemStack getWeapon() {
+        if (weapon == null) {
+            Player attacker = damagerPlayer != null ? damagerPlayer : damager instanceof Player ? (Player) damager : null;
+            if (attacker != null) weapon = attacker.getInventory().getItemInMainHand();
+        }
+        return weapon;
+    }
+
+    /**
+     * Evaluated when called, the damage may still be changed by later stages.
+     */
+    public boolean isLethal() {
+        return hurtPlayer != null && hurtPlayer.getHealth() - event.getFinalDamage() <= 0;
+    }
 }
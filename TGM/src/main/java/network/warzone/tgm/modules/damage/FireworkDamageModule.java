@@ -1,19 +1,21 @@
 package network.warzone.tgm.modules.damage;
 
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import org.bukkit.entity.Firework;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 
-public class FireworkDamageModule extends MatchModule implements Listener {
+public class FireworkDamageModule extends MatchModule {
 
-    @EventHandler(priority= EventPriority.LOWEST)
-    public void onDamage(EntityDamageByEntityEvent event) {
-        if (event.getDamager() instanceof Firework) {
-            event.setCancelled(true);
-            event.setDamage(0);
+    @Override
+    public void load(Match match) {
+        match.getModule(CombatModule.class).addStage(EventPriority.LOWEST, this::onDamage);
+    }
+
+    private void onDamage(DamageInfo damageInfo) {
+        if (damageInfo.getDamager() instanceof Firework) {
+            damageInfo.getEvent().setCancelled(true);
+            damageInfo.getEvent().setDamage(0);
         }
     }
 }
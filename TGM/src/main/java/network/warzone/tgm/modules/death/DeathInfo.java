@@ -1,6 +1,7 @@
 package network.warzone.tgm.modules.death;
 
 import lombok.ToString;
+import network.warzone.tgm.modules.tasked.Timeout;
 import network.warzone.tgm.modules.team.MatchTeam;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -19,4 +20,5 @@ public class DeathInfo {
     public MatchTeam playerTeam, killerTeam;
     public Location playerLocation, killerLocation;
     public long stampKill;
+    @ToString.Exclude public Timeout killExpiry; // forgets the killer 30 seconds after their last hit
 }
@@ -55,7 +55,10 @@ public class DeathMessageModule extends MatchModule implements Listener {
 
     public static void broadcastDeathMessage(Player dead, Player killer, String message, Object... args) {
         message = ColorConverter.format(String.format(message, args));
-        Bukkit.broadcastMessage(message);
+        for (Player player : dead.getWorld().getPlayers()) {
+            player.sendMessage(message);
+        }
+        Bukkit.getConsoleSender().sendMessage(message);
     }
 
 
@@ -3,6 +3,9 @@ package network.warzone.tgm.modules.death;
 import lombok.NoArgsConstructor;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.modules.damage.CombatModule;
+import network.warzone.tgm.modules.damage.DamageInfo;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.player.event.TGMPlayerDeathEvent;
@@ -13,8 +16,8 @@ import org.bukkit.GameRule;
 import org.bukkit.Material;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
@@ -33,10 +36,13 @@ public class DeathModule extends MatchModule implements Listener {
     private HashMap<UUID, DeathInfo> players = new HashMap<>();
     private HashMap<UUID, Boolean> dead = new HashMap<>();
     private TeamManagerModule teamManagerModule;
+    private TaskedModuleManager taskedModuleManager;
 
     public void load(Match match) {
         this.match = match;
         teamManagerModule = match.getModule(TeamManagerModule.class);
+        taskedModuleManager = match.getModule(TaskedModuleManager.class);
+        match.getModule(CombatModule.class).addStage(EventPriority.NORMAL, this::onEntityDamage);
     }
 
     public void unload() {
@@ -54,57 +60,52 @@ public class DeathModule extends MatchModule implements Listener {
         notDead(event.getPlayerContext().getPlayer());
     }
 
-    @EventHandler
-    public void onEntityDamage(EntityDamageEvent event) {
-        if (event.getEntity() instanceof Player) {
-            if (this.dead.containsKey(event.getEntity().getUniqueId())) {
+    private void onEntityDamage(DamageInfo damageInfo) {
+        EntityDamageEvent event = damageInfo.getEvent();
+        Player p = damageInfo.getHurtPlayer();
+        if (p != null) {
+            if (this.dead.containsKey(p.getUniqueId())) {
                 event.setCancelled(true);
                 return;
             }
-            Player p = (Player) event.getEntity();
-            DeathInfo deathInfo = getPlayer((Player) event.getEntity());
+            DeathInfo deathInfo = getPlayer(p);
 
             deathInfo.playerName = deathInfo.player.getName();
-            deathInfo.playerTeam = teamManagerModule.getTeam(deathInfo.player);
+            deathInfo.playerTeam = damageInfo.getHurtTeam();
             deathInfo.playerLocation = deathInfo.player.getLocation();
             deathInfo.cause = event.getCause();
 
-            if (event instanceof EntityDamageByEntityEvent) {
-                EntityDamageByEntityEvent byEntityEvent = (EntityDamageByEntityEvent) event;
-                Player damager = null;
-
-                if (byEntityEvent.getDamager() instanceof Player) damager = (Player) byEntityEvent.getDamager();
-                else if (byEntityEvent.getDamager() instanceof Projectile) {
-                    Projectile projectile = (Projectile) byEntityEvent.getDamager();
-                    if (projectile.getShooter() instanceof Player) damager = (Player) projectile.getShooter();
-                }
-
-                if (damager != null && teamManagerModule.getTeam(damager).isSpectator()) return;
+            if (damageInfo.getDamager() != null) {
+                Player damager = damageInfo.getDamagerPlayer();
+                if (damager != null && damageInfo.getDamagerTeam().isSpectator()) return;
 
                 deathInfo.killer = damager;
-                deathInfo.item = determineItemFromDamager(byEntityEvent.getDamager(), damager);
+                deathInfo.item = determineItemFromDamager(damageInfo.getDamager(), damageInfo);
 
                 deathInfo.killerName = damager == null ? null : damager.getName();
                 deathInfo.stampKill = damager == null ? -1 : System.currentTimeMillis();
-                deathInfo.killerTeam = damager == null ? null : teamManagerModule.getTeam(damager);
+                deathInfo.killerTeam = damageInfo.getDamagerTeam();
                 deathInfo.killerLocation = damager == null ? null : damager.getLocation();
+
+                if (deathInfo.killExpiry != null) deathInfo.killExpiry.cancel();
+                deathInfo.killExpiry = damager == null ? null : taskedModuleManager.scheduleTimeout(30 * 20, () -> deathInfo.killer = null);
             }
 
-            if (p.getHealth() - event.getFinalDamage() <= 0 || event.getCause().equals(EntityDamageEvent.DamageCause.VOID)) {
+            if (damageInfo.isLethal() || event.getCause().equals(EntityDamageEvent.DamageCause.VOID)) {
                 event.setDamage(0);
                 onDeath(p, deathInfo);
             }
         }
     }
 
-    private static ItemStack determineItemFromDamager(Entity e, Player p) {
+    private static ItemStack determineItemFromDamager(Entity e, DamageInfo damageInfo) {
         if (e instanceof Arrow) {
             return ItemFactory.createItem(Material.BOW);
         } else if (e instanceof Trident) {
             return ItemFactory.createItem(Material.TRIDENT);
-        } else if (p == null) {
+        } else if (damageInfo.getDamagerPlayer() == null) {
             return ItemFactory.createItem(Material.AIR);
-        } else return p.getInventory().getItemInMainHand();
+        } else return damageInfo.getWeapon();
     }
 
     public DeathInfo getPlayer(Player player) {
@@ -117,7 +118,6 @@ public class DeathModule extends MatchModule implements Listener {
     }
 
     private void onDeath(Player player, DeathInfo deathInfo) {
-        if (deathInfo.stampKill > 0 && System.currentTimeMillis() - deathInfo.stampKill >= 1000 * 30) deathInfo.killer = null;
         setDead(player);
         Bukkit.getPluginManager().callEvent(new TGMPlayerDeathEvent(
                 deathInfo.player,
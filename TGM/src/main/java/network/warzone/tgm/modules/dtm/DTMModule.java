@@ -6,6 +6,7 @@ import lombok.Getter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.modules.StatsModule;
 import network.warzone.tgm.modules.monument.Monument;
 import network.warzone.tgm.modules.monument.MonumentService;
 import network.warzone.tgm.modules.region.Region;
@@ -13,6 +14,7 @@ import network.warzone.tgm.modules.region.RegionManagerModule;
 import network.warzone.tgm.modules.scoreboard.ScoreboardInitEvent;
 import network.warzone.tgm.modules.scoreboard.ScoreboardManagerModule;
 import network.warzone.tgm.modules.scoreboard.SimpleScoreboard;
+import network.warzone.tgm.modules.stats.Stat;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.modules.team.TeamUpdateEvent;
@@ -57,10 +59,10 @@ public class DTMModule extends MatchModule implements Listener {
             String name = monumentJson.get("name").getAsString();
             Region region = match.getModule(RegionManagerModule.class).getRegion(match, monumentJson.get("region"));
             List<MatchTeam> teams = match.getModule(TeamManagerModule.class).getTeams(monumentJson.get("teams").getAsJsonArray());
-            List<Material> materials = Parser.getMaterialsFromElement(monumentJson.get("materials"));
+            Set<Material> materials = Parser.getMaterialsFromElement(monumentJson.get("materials"));
             int health = monumentJson.get("health").getAsInt();
 
-            this.monuments.add(new Monument(name, teams, region, materials, health, health));
+            this.monuments.add(new Monument(match, name, teams, region, materials, health, health));
         }
 
 
@@ -75,7 +77,7 @@ public class DTMModule extends MatchModule implements Listener {
                     block.setType(Material.AIR);
 
                     MatchTeam matchTeam = teamManagerModule.getTeam(player);
-                    Bukkit.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE + " damaged " + monument.getOwners().get(0).getColor() + ChatColor.BOLD + unformattedName);
+                    match.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE + " damaged " + monument.getOwners().get(0).getColor() + ChatColor.BOLD + unformattedName);
                     playFireworkEffect(matchTeam.getColor(), block.getLocation());
 
 
@@ -88,7 +90,8 @@ public class DTMModule extends MatchModule implements Listener {
                         playerContext.getPlayer().playSound(monument.getRegion().getCenter(), Sound.ENTITY_IRON_GOLEM_ATTACK, SoundCategory.MASTER, 1000, 1);
                     }
 
-                    if (TGM.get().getApiManager().isStatsDisabled()) return;
+                    match.getModule(StatsModule.class).getStats().add(player, teamManagerModule.getTeam(player), Stat.OBJECTIVES, 1);
+                    if (TGM.get().getApiManager().isStatsDisabled(match)) return;
 
                     PlayerContext playerContext = TGM.get().getPlayerManager().getPlayerContext(player);
                     playerContext.getUserProfile().addWoolDestroy();
@@ -103,17 +106,18 @@ public class DTMModule extends MatchModule implements Listener {
                     block.setType(Material.AIR);
 
                     MatchTeam matchTeam = teamManagerModule.getTeam(player);
-                    Bukkit.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE + " destroyed " + monument.getOwners().get(0).getColor() + ChatColor.BOLD + unformattedName);
+                    match.broadcastMessage(matchTeam.getColor() + player.getName() + ChatColor.WHITE + " destroyed " + monument.getOwners().get(0).getColor() + ChatColor.BOLD + unformattedName);
                     playFireworkEffect(matchTeam.getColor(), block.getLocation());
 
                     for (MatchTeam owner : monument.getOwners()) {
                         if (getAliveMonuments(owner).isEmpty()) {
-                            TGM.get().getMatchManager().endMatch(matchTeam);
+                            TGM.get().getMatchManager().endMatch(match, matchTeam);
                             break;
                         }
                     }
 
-                    if (TGM.get().getApiManager().isStatsDisabled()) return;
+                    match.getModule(StatsModule.class).getStats().add(player, matchTeam, Stat.OBJECTIVES, 1);
+                    if (TGM.get().getApiManager().isStatsDisabled(match)) return;
                     PlayerContext playerContext = TGM.get().getPlayerManager().getPlayerContext(player);
                     playerContext.getUserProfile().addWoolDestroy();
                     Bukkit.getPluginManager().callEvent(new PlayerXPEvent(playerContext, UserProfile.XP_PER_WOOL_BREAK, playerContext.getUserProfile().getXP() - UserProfile.XP_PER_WOOL_BREAK, playerContext.getUserProfile().getXP()));
@@ -126,7 +130,7 @@ public class DTMModule extends MatchModule implements Listener {
         for (Monument monument : this.monuments) {
             monument.load();
         }
-        TGM.get().getModule(TimeModule.class).setTimeLimitService(this::getHighestHealthTeam);
+        match.getModule(TimeModule.class).setTimeLimitService(this::getHighestHealthTeam);
     }
 
     private void playFireworkEffect(ChatColor color, Location location) {
@@ -147,7 +151,7 @@ public class DTMModule extends MatchModule implements Listener {
 
     @EventHandler
     public void onScoreboardInit(ScoreboardInitEvent event) {
-        List<MatchTeam> teams = TGM.get().getModule(TeamManagerModule.class).getTeams();
+        List<MatchTeam> teams = teamManagerModule.getTeams();
 
         int spaceCount = 1;
         int i = 2;
@@ -185,10 +189,9 @@ public class DTMModule extends MatchModule implements Listener {
             if (event.getMatchTeam() == matchTeam) {
                 int i = this.teamScoreboardLines.get(matchTeam.getId());
 
-                for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getScoreboards().values()) {
+                for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getViews()) {
                     simpleScoreboard.remove(i);
                     simpleScoreboard.add(getTeamScoreboardString(matchTeam), i);
-                    simpleScoreboard.update();
                 }
             }
         }
@@ -196,10 +199,9 @@ public class DTMModule extends MatchModule implements Listener {
 
     private void updateOnScoreboard(Monument monument) {
         for (int i : this.monumentScoreboardLines.get(monument)) {
-            for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getScoreboards().values()) {
+            for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getViews()) {
                 simpleScoreboard.remove(i);
                 simpleScoreboard.add(getScoreboardString(monument), i);
-                simpleScoreboard.update();
             }
         }
     }
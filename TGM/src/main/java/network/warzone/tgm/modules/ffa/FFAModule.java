@@ -1,15 +1,19 @@
 package network.warzone.tgm.modules.ffa;
 
 import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import lombok.Getter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.match.MatchStatus;
+import network.warzone.tgm.modules.StatsModule;
 import network.warzone.tgm.modules.respawn.RespawnModule;
 import network.warzone.tgm.modules.scoreboard.ScoreboardInitEvent;
 import network.warzone.tgm.modules.scoreboard.ScoreboardManagerModule;
 import network.warzone.tgm.modules.scoreboard.SimpleScoreboard;
+import network.warzone.tgm.modules.stats.MatchStats;
+import network.warzone.tgm.modules.stats.Stat;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.modules.team.TeamManagerModule;
@@ -25,7 +29,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.scoreboard.Team;
 
@@ -40,7 +43,8 @@ public class FFAModule extends MatchModule implements Listener {
     private Match match;
     private TeamManagerModule teamManagerModule;
     private ScoreboardManagerModule scoreboardManagerModule;
-    @Getter private Map<String, Integer> scores = new HashMap<>();
+    private MatchStats stats;
+    private final BitSet scored = new BitSet(); // stats indexes of the players on the scoreboard
 
     private int killLimit = 25; // Default: 25 kills
 
@@ -52,13 +56,14 @@ public class FFAModule extends MatchModule implements Listener {
 
     @Getter private boolean blitzMode;
     private int lives;
-    private Map<String, Integer> playerLives = new HashMap<>(); // Username, lives
+    private final BitSet living = new BitSet(); // stats indexes of the players with lives
 
     @Override
     public void load(Match match) {
         this.match = match;
-        this.teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
-        this.scoreboardManagerModule = TGM.get().getModule(ScoreboardManagerModule.class);
+        this.teamManagerModule = match.getModule(TeamManagerModule.class);
+        this.scoreboardManagerModule = match.getModule(ScoreboardManagerModule.class);
+        this.stats = match.getModule(StatsModule.class).getStats();
         this.playersTeam = this.teamManagerModule.getTeams().get(1);
         if (match.getMapContainer().getMapInfo().getJsonObject().has("ffa")) {
             JsonObject ffaObj = match.getMapContainer().getMapInfo().getJsonObject().get("ffa").getAsJsonObject();
@@ -79,30 +84,33 @@ public class FFAModule extends MatchModule implements Listener {
         TimeModule timeModule = match.getModule(TimeModule.class);
         timeModule.setTimeLimit(10*60);
         timeModule.setTimeLimitService(this::getWinner);
-        if (this.blitzMode) TGM.get().getModule(RespawnModule.class).addRespawnService(this::isAlive);
+        if (this.blitzMode) match.getModule(RespawnModule.class).addRespawnService(this::isAlive);
     }
 
     @Override
     public void unload() {
-        this.scores.clear();
+        this.scored.clear();
         this.playerScoreboardLines.clear();
-        this.playerLives.clear();
+        this.living.clear();
     }
 
     @Override
     public void enable() {
         this.playersTeam.setFriendlyFire(true);
         for (PlayerContext playerContext : this.playersTeam.getMembers()) {
-            Player player = playerContext.getPlayer();
-            this.scores.put(player.getName(), 0);
+            this.scored.set(this.stats.index(playerContext.getPlayer()));
         }
-        TGM.get().getPlayerManager().getPlayers().forEach(this::allowFriendlyFire);
+        allowFriendlyFire();
     }
 
-    private void allowFriendlyFire(PlayerContext context) throws NullPointerException {
-        Team team = scoreboardManagerModule.getScoreboard(context.getPlayer()).getScoreboard().getTeam(this.playersTeam.getId());
-        Objects.requireNonNull(team);
-        team.setAllowFriendlyFire(true);
+    /**
+     * Views created from now on pick friendly fire up from the team itself.
+     */
+    private void allowFriendlyFire() {
+        for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getViews()) {
+            Team team = simpleScoreboard.getScoreboard().getTeam(this.playersTeam.getId());
+            if (team != null) team.setAllowFriendlyFire(true);
+        }
     }
 
 
@@ -119,14 +127,16 @@ public class FFAModule extends MatchModule implements Listener {
         if (event.isCancelled()) return;
         if (event.getTeam().isSpectator()) {
             if (this.blitzMode && match.getMatchStatus().equals(MatchStatus.MID) && hasWinner()) {
-                TGM.get().getMatchManager().endMatch(forceWinner(getAlivePlayers().get(0).getPlayer()));
+                TGM.get().getMatchManager().endMatch(match, forceWinner(getAlivePlayers().get(0).getPlayer()));
             }
         } else {
             if (this.blitzMode && event.getTeam().equals(this.playersTeam)) {
-                this.playerLives.put(event.getPlayerContext().getPlayer().getName(), this.lives);
+                Player player = event.getPlayerContext().getPlayer();
+                this.stats.set(player, this.playersTeam, Stat.LIVES, this.lives);
+                this.living.set(this.stats.index(player));
             }
             else {
-                this.scores.put(event.getPlayerContext().getPlayer().getName(), this.scores.getOrDefault(event.getPlayerContext().getPlayer().getName(), 0));
+                this.scored.set(this.stats.index(event.getPlayerContext().getPlayer()));
             }
         }
         refreshScoreboards();
@@ -136,7 +146,7 @@ public class FFAModule extends MatchModule implements Listener {
     public void onQuit(PlayerQuitEvent event) {
         if (this.blitzMode) {
             removeLives(event.getPlayer());
-            if (this.match.getMatchStatus().equals(MatchStatus.MID) && hasWinner()) TGM.get().getMatchManager().endMatch(forceWinner(getAlivePlayers().get(0).getPlayer()));
+            if (this.match.getMatchStatus().equals(MatchStatus.MID) && hasWinner()) TGM.get().getMatchManager().endMatch(match, forceWinner(getAlivePlayers().get(0).getPlayer()));
             refreshScoreboards();
         }
     }
@@ -146,26 +156,21 @@ public class FFAModule extends MatchModule implements Listener {
         refreshScoreboard(event.getSimpleScoreboard());
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onJoin(PlayerJoinEvent event) {
-        allowFriendlyFire(TGM.get().getPlayerManager().getPlayerContext(event.getPlayer()));
-    }
-
     @EventHandler(priority = EventPriority.LOW)
     public void onDeath(TGMPlayerDeathEvent event) {
         if (this.blitzMode) {
             removeLife(event.getVictim());
             if (!isAlive(event.getVictim())) {
                 MatchTeam team = this.teamManagerModule.getTeam(event.getVictim());
-                Bukkit.broadcastMessage(team.getColor() + event.getVictim().getName() + ChatColor.RED + " has been eliminated!");
+                match.broadcastMessage(team.getColor() + event.getVictim().getName() + ChatColor.RED + " has been eliminated!");
                 event.getVictim().sendTitle("", ChatColor.RED + "You have been eliminated.", 10, 20, 10);
             }
         } else {
             if (event.getKiller() != null) {
-                addPoint(event.getKiller());
+                this.scored.set(this.stats.index(event.getKiller())); // StatsModule counted the kill
                 if (hasWinner()) {
                     MatchTeam winner = getWinner();
-                    TGM.get().getMatchManager().endMatch(winner);
+                    TGM.get().getMatchManager().endMatch(match, winner);
                     winner.getMembers().forEach(playerContext -> playerContext.getPlayer().setAllowFlight(true));
                 }
             }
@@ -176,7 +181,7 @@ public class FFAModule extends MatchModule implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onDeathHigh(TGMPlayerDeathEvent event) {
         if (this.blitzMode && this.match.getMatchStatus().equals(MatchStatus.MID) && hasWinner())
-            TGM.get().getMatchManager().endMatch(forceWinner(getAlivePlayers().get(0).getPlayer()));
+            TGM.get().getMatchManager().endMatch(match, forceWinner(getAlivePlayers().get(0).getPlayer()));
     }
 
     @EventHandler
@@ -190,7 +195,7 @@ public class FFAModule extends MatchModule implements Listener {
 
     private void refreshScoreboards() {
         setPlayerScoreboardLines();
-        for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getScoreboards().values()) {
+        for (SimpleScoreboard simpleScoreboard : this.scoreboardManagerModule.getViews()) {
             refreshScoreboard(simpleScoreboard);
         }
     }
@@ -202,36 +207,33 @@ public class FFAModule extends MatchModule implements Listener {
             simpleScoreboard.add(this.playerScoreboardLines.get(i), i);
             if (i > line) line = i;
         }
-        simpleScoreboard.update();
     }
 
     private void setPlayerScoreboardLines() {
         this.playerScoreboardLines.clear();
         List<String> lines = new ArrayList<>();
 
-        List<Map.Entry<String, Integer>> a;
-        if (this.blitzMode) a = new ArrayList<>(this.playerLives.entrySet());
-        else a = new ArrayList<>(this.scores.entrySet());
-        a.sort(Comparator.comparing(Map.Entry::getValue));
-        Iterator<Map.Entry<String, Integer>> iterator = a.iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<String, Integer> entry = iterator.next();
-            String player = entry.getKey();
-            int score = entry.getValue();
+        Stat stat = this.blitzMode ? Stat.LIVES : Stat.KILLS;
+        int[] a = (this.blitzMode ? this.living : this.scored).stream().toArray();
+        IntArrays.quickSort(a, (x, y) -> Integer.compare(this.stats.get(x, stat), this.stats.get(y, stat)));
+        for (int j = 0; j < a.length; j++) {
+            String player = this.stats.getName(a[j]);
+            int score = this.stats.get(a[j], stat);
+            boolean last = j == a.length - 1;
 
             if (lines.size() > 12) {
                 lines.remove(0);
             }
 
             if (this.blitzMode) {
-                if (!iterator.hasNext()) {
+                if (last) {
                     lines.add(ChatColor.YELLOW + player + ChatColor.GRAY + ": " + ChatColor.WHITE + score);
                 } else {
                     lines.add(this.playersTeam.getColor() + player + "" + ChatColor.GRAY + ": " + ChatColor.WHITE + score);
                 }
             }
             else {
-                if (!iterator.hasNext()) {
+                if (last) {
                     lines.add(ChatColor.YELLOW + player + ChatColor.GRAY + ": " + ChatColor.RESET + score);
                 } else {
                     lines.add(this.playersTeam.getColor() + player + ChatColor.GRAY + ": " + ChatColor.RESET + score);
@@ -245,20 +247,9 @@ public class FFAModule extends MatchModule implements Listener {
         }
     }
 
-    private void addPoint(Player player) {
-        this.scores.put(player.getName(), getScore(player) + 1);
-    }
-
-    private int getScore(Player player) {
-        return getScore(player.getName());
-    }
-
-    private int getScore(String player) {
-        return this.scores.getOrDefault(player, 0);
-    }
-
     private int getLives(Player player) {
-        return this.playerLives.getOrDefault(player.getName(), this.lives);
+        int index = this.stats.getIndex(player.getUniqueId());
+        return index >= 0 && this.living.get(index) ? this.stats.get(index, Stat.LIVES) : this.lives;
     }
 
     private boolean isAlive(Player player) {
@@ -266,11 +257,13 @@ public class FFAModule extends MatchModule implements Listener {
     }
 
     private void removeLife(Player player) {
-        this.playerLives.put(player.getName(), getLives(player) - 1);
+        this.stats.set(player, this.playersTeam, Stat.LIVES, getLives(player) - 1);
+        this.living.set(this.stats.index(player));
     }
 
     private void removeLives(Player player) {
-        this.playerLives.remove(player.getName());
+        int index = this.stats.getIndex(player.getUniqueId());
+        if (index >= 0) this.living.clear(index);
     }
 
     private List<PlayerContext> getAlivePlayers() {
@@ -281,8 +274,8 @@ public class FFAModule extends MatchModule implements Listener {
         if (this.blitzMode) {
             return getAlivePlayers().size() == 1;
         } else {
-            for (int i : this.scores.values()) {
-                if (i >= this.killLimit) {
+            for (int i = this.scored.nextSetBit(0); i >= 0; i = this.scored.nextSetBit(i + 1)) {
+                if (this.stats.get(i, Stat.KILLS) >= this.killLimit) {
                     return true;
                 }
             }
@@ -293,10 +286,10 @@ public class FFAModule extends MatchModule implements Listener {
     private MatchTeam getWinner() {
         String player = null;
         int highest = 0;
-        for (String name : this.scores.keySet()) {
-            if (this.scores.get(name) > highest) {
-                player = name;
-                highest = this.scores.get(name);
+        for (int i = this.scored.nextSetBit(0); i >= 0; i = this.scored.nextSetBit(i + 1)) {
+            if (this.stats.get(i, Stat.KILLS) > highest) {
+                player = this.stats.getName(i);
+                highest = this.stats.get(i, Stat.KILLS);
             }
         }
         return setupTeam(player);
@@ -309,11 +302,10 @@ public class FFAModule extends MatchModule implements Listener {
     private MatchTeam setupTeam(String player) {
         if (this.teamManagerModule.getTeamByAlias("winner") == null) {
             this.teamManagerModule.addTeam(new MatchTeam("winner", player, ChatColor.YELLOW, GameMode.SURVIVAL, false, 0, 1, true));
-            TGM.get().getPlayerManager().getPlayers().forEach(playerContext ->
+            this.scoreboardManagerModule.getViews().forEach(simpleScoreboard ->
                 this.scoreboardManagerModule.registerScoreboardTeam(
-                        this.scoreboardManagerModule.getScoreboard(playerContext.getPlayer()),
-                        this.teamManagerModule.getTeamByAlias("winner"),
-                        playerContext
+                        simpleScoreboard,
+                        this.teamManagerModule.getTeamByAlias("winner")
                 )
             );
         }
@@ -328,9 +320,7 @@ public class FFAModule extends MatchModule implements Listener {
                 oldTeam.removePlayer(playerContext);
             }
             winnerTeam.addPlayer(playerContext);
-            for (PlayerContext context : TGM.get().getPlayerManager().getPlayers()) {
-                SimpleScoreboard simpleScoreboard = scoreboardManagerModule.getScoreboard(context.getPlayer());
-
+            for (SimpleScoreboard simpleScoreboard : scoreboardManagerModule.getViews()) {
                 if (oldTeam != null) {
                     Team old = simpleScoreboard.getScoreboard().getTeam(oldTeam.getId());
                     if (old != null) old.removeEntry(playerContext.getPlayer().getName());
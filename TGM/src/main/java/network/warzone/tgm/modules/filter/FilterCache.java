@@ -0,0 +1,69 @@
+package network.warzone.tgm.modules.filter;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import lombok.Getter;
+
+/**
+ * Remembers which rules of a rule list match at a block position for each team.
+ *
+ * Every team has its own map keyed by the packed block position. A map is
+ * cleared once it grows past the maximum size instead of evicting entries
+ * one by one.
+ */
+public class FilterCache {
+
+    private final Long2ObjectOpenHashMap<int[]>[] teams;
+    private final int maxSize;
+
+    @Getter private long hits = 0;
+    @Getter private long misses = 0;
+
+    /**
+     * @param teamCount the amount of teams in the match, an extra map is kept for players without one
+     */
+    @SuppressWarnings("unchecked")
+    public FilterCache(int teamCount, int maxSize) {
+        this.teams = new Long2ObjectOpenHashMap[teamCount + 1];
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | ((long) y & 0xFFF);
+    }
+
+    /**
+     * @return the indexes of the matching rules, or null if they haven't been cached yet.
+     */
+    public int[] get(int team, long position) {
+        Long2ObjectOpenHashMap<int[]> map = teams[team + 1];
+        int[] matching = map == null ? null : map.get(position);
+        if (matching == null) misses++;
+        else hits++;
+        return matching;
+    }
+
+    public void put(int team, long position, int[] matching) {
+        Long2ObjectOpenHashMap<int[]> map = teams[team + 1];
+        if (map == null) {
+            map = new Long2ObjectOpenHashMap<>();
+            teams[team + 1] = map;
+        } else if (map.size() >= maxSize) {
+            map.clear();
+        }
+        map.put(position, matching);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Long2ObjectOpenHashMap<int[]> map : teams) {
+            if (map != null) size += map.size();
+        }
+        return size;
+    }
+
+    public void invalidate() {
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = null;
+        }
+    }
+}
@@ -0,0 +1,572 @@
+package network.warzone.tgm.modules.filter;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.MatchResultEvent;
+import network.warzone.tgm.modules.filter.evaluate.FilterEvaluator;
+import network.warzone.tgm.modules.region.CuboidRegion;
+import network.warzone.tgm.modules.region.Region;
+import network.warzone.tgm.modules.team.MatchTeam;
+import network.warzone.tgm.modules.team.TeamManagerModule;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ItemFrame;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.EntityShootBowEvent;
+import org.bukkit.event.hanging.HangingBreakEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerShearEntityEvent;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Every filter of a match compiled into a single listener.
+ *
+ * Filters are turned into {@link FilterRule}s grouped by the events they
+ * handle and kept in the order they were declared in, so rules are applied
+ * in the same order their listeners used to be called in. Regions shared by
+ * several filters are only tested once per location and rules of other teams
+ * are skipped before any region is looked at. Like the filter listeners, a
+ * rule is applied once for every one of its regions that matches.
+ *
+ * Which rules match at a block is cached per team, the rules themselves are
+ * still evaluated every time. Players moving within a block reuse what was
+ * found when they entered it, only regions that don't cover the block as a
+ * whole are tested again. Caches are dropped when the match ends.
+ *
+ * Region tests are timed for one in {@link #SAMPLE_RATE} locations and
+ * scaled up, evaluations are always timed.
+ *
+ * Deny messages are sent at most once per message-cooldown to each
+ * receiver for every rule, skipped messages are counted in the metrics.
+ */
+@Getter
+public class FilterDispatcher implements Listener {
+
+    private final TeamManagerModule teamManagerModule;
+
+    private final List<Region> regions = new ArrayList<>();
+    private final Map<Region, Integer> regionIndexes = new IdentityHashMap<>();
+    private final Map<MatchTeam, Integer> teamIndexes = new IdentityHashMap<>();
+    private final List<FilterRule> rules = new ArrayList<>(); // every rule, in declaration order
+
+    private final List<FilterRule> buildRules = new ArrayList<>();
+    private final List<FilterRule> moveRules = new ArrayList<>(); // enter and leave filters
+    private final Set<FilterRule> leaveRules = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<FilterRule> bowRules = new ArrayList<>();
+    private final List<FilterRule> shearRules = new ArrayList<>();
+    private final List<FilterRule> explodeRules = new ArrayList<>();
+    private final List<FilterRule> blockPlaceRules = new ArrayList<>();
+    private final List<FilterRule> blockBreakRules = new ArrayList<>();
+
+    private static final int[] NONE = new int[0];
+    private static final int OUTSIDE = 0, INSIDE = 1, PARTIAL = 2; // how a region covers a block
+    private static final int SAMPLE_RATE = 8;
+
+    private final FilterCache buildCache;
+    private final FilterCache pistonCache;
+    private final FilterCache explodeCache;
+    private final FilterCache blockPlaceCache;
+    private final FilterCache blockBreakCache;
+    private final Map<Player, Standing> standing = new HashMap<>();
+    private final long messageCooldown;
+
+    // region results for the location being tested, valid while their stamp matches.
+    private long[] stamps = new long[0];
+    private boolean[] hits = new boolean[0];
+    private long stamp = 0;
+    private Location location;
+    private boolean sampled; // whether region tests at the location are timed
+
+    public FilterDispatcher(TeamManagerModule teamManagerModule) {
+        this(teamManagerModule, TGM.get().getConfig().getInt("filters.cache-size", 4096), TGM.get().getConfig().getLong("filters.message-cooldown", 1000));
+    }
+
+    public FilterDispatcher(TeamManagerModule teamManagerModule, int cacheSize, long messageCooldown) {
+        this.teamManagerModule = teamManagerModule;
+        List<MatchTeam> teams = teamManagerModule.getTeams();
+        for (int i = 0; i < teams.size(); i++) {
+            teamIndexes.put(teams.get(i), i);
+        }
+
+        this.messageCooldown = messageCooldown;
+        this.buildCache = new FilterCache(teams.size(), cacheSize);
+        this.pistonCache = new FilterCache(0, cacheSize);
+        this.explodeCache = new FilterCache(0, cacheSize);
+        this.blockPlaceCache = new FilterCache(teams.size(), cacheSize);
+        this.blockBreakCache = new FilterCache(teams.size(), cacheSize);
+    }
+
+    /**
+     * @param type the type of the filter, used to name the rule
+     * @param teams the teams the filter applies to, or null if it applies to everyone
+     * @param blocks the materials the filter is limited to, may be null
+     */
+    public FilterRule compile(String type, List<MatchTeam> teams, List<Region> regions, FilterEvaluator evaluator, String message, List<Material> blocks, boolean inverted) {
+        int[] regionIds = new int[regions.size()];
+        for (int i = 0; i < regions.size(); i++) {
+            Region region = regions.get(i);
+            Integer index = regionIndexes.get(region);
+            if (index == null) {
+                index = this.regions.size();
+                this.regions.add(region);
+                regionIndexes.put(region, index);
+            }
+            regionIds[i] = index;
+        }
+        stamps = new long[this.regions.size()];
+        hits = new boolean[this.regions.size()];
+
+        BitSet teamMask = null;
+        if (teams != null) {
+            teamMask = new BitSet(teamIndexes.size());
+            for (MatchTeam team : teams) {
+                Integer index = teamIndexes.get(team);
+                if (index != null) teamMask.set(index);
+            }
+        }
+
+        Set<Material> materials = blocks == null || blocks.isEmpty() ? Collections.emptySet() : EnumSet.copyOf(blocks);
+        FilterRule rule = new FilterRule(type + " #" + (rules.size() + 1), regionIds, inverted, teamMask, evaluator, message, materials);
+        rules.add(rule);
+        return rule;
+    }
+
+    @EventHandler
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (buildRules.isEmpty() || event.isCancelled()) return;
+        int team = getTeam(event.getPlayer());
+        apply(event, event.getPlayer(), buildRules, matching(buildRules, buildCache, event.getBlockPlaced(), team), true);
+    }
+
+    @EventHandler
+    public void onBlockBreak(BlockBreakEvent event) {
+        if (buildRules.isEmpty() || event.isCancelled()) return;
+        int team = getTeam(event.getPlayer());
+        apply(event, event.getPlayer(), buildRules, matching(buildRules, buildCache, event.getBlock(), team), true);
+    }
+
+    @EventHandler
+    public void onPlayerClickItemFrame(PlayerInteractEntityEvent event) {
+        if (!buildRules.isEmpty() && event.getRightClicked() instanceof ItemFrame) {
+            apply(event, event.getPlayer(), event.getRightClicked().getLocation(), getTeam(event.getPlayer()), buildRules, true);
+        }
+    }
+
+    @EventHandler
+    public void onHangingDamage(EntityDamageByEntityEvent event) {
+        if (!(event.getEntity() instanceof ItemFrame) || buildRules.isEmpty()) return;
+        if (event.getDamager() instanceof Player) {
+            Player player = (Player) event.getDamager();
+            apply(event, player, player.getLocation(), getTeam(player), buildRules, true);
+        } else {
+            // item frames can't be broken by anything else inside of build filters.
+            cancelIfAnyMatches(event, event.getEntity().getLocation(), buildRules);
+        }
+    }
+
+    @EventHandler
+    public void onHangingBreak(HangingBreakEvent event) {
+        cancelIfAnyMatches(event, event.getEntity().getLocation(), buildRules);
+    }
+
+    @EventHandler
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        BlockFace direction = event.getDirection();
+        onPistonMove(event, event.getBlock(), event.getBlocks(), direction);
+    }
+
+    @EventHandler
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        BlockFace direction = event.getDirection().getOppositeFace();
+        onPistonMove(event, event.getBlock(), event.getBlocks(), direction);
+    }
+
+    private void onPistonMove(Cancellable event, Block piston, List<Block> blocks, BlockFace direction) {
+        if (event.isCancelled() || buildRules.isEmpty()) return;
+        if (denies(buildRules, pistonCache, piston.getRelative(direction))) {
+            event.setCancelled(true);
+            return;
+        }
+        for (Block block : blocks) {
+            if (denies(buildRules, pistonCache, block.getRelative(direction))) {
+                event.setCancelled(true);
+                return;
+            }
+        }
+    }
+
+    @EventHandler
+    public void onMove(PlayerMoveEvent event) {
+        if (moveRules.isEmpty()) return;
+        Player player = event.getPlayer();
+        int team = getTeam(player);
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        long block = FilterCache.pack(to.getBlockX(), to.getBlockY(), to.getBlockZ());
+
+        Standing current = standing.get(player);
+        if (current != null && current.team == team && current.block == block &&
+                FilterCache.pack(from.getBlockX(), from.getBlockY(), from.getBlockZ()) == block) {
+            // within the block only the regions which partly cover it can change.
+            at(to);
+            for (int i = 0; i < current.rules.length; i++) {
+                FilterRule rule = moveRules.get(current.rules[i]);
+                int[] partial = current.partial[i];
+                int times = current.counts[i] + (leaveRules.contains(rule) ? crossings(rule, partial, from, to) : count(rule, partial));
+                for (int j = 0; j < times; j++) {
+                    apply(event, player, rule, evaluate(rule, player));
+                }
+            }
+            return;
+        }
+
+        at(to);
+        for (FilterRule rule : moveRules) {
+            if (!rule.appliesTo(team)) continue;
+            int times = leaveRules.contains(rule) ? crossings(rule, rule.getRegions(), from, to) : count(rule);
+            for (int i = 0; i < times; i++) {
+                apply(event, player, rule, evaluate(rule, player));
+            }
+        }
+        standing.put(player, standing(to, block, team));
+    }
+
+    @EventHandler
+    public void onShootBow(EntityShootBowEvent event) {
+        // bow filters apply to every entity, regardless of their team.
+        apply(event, event.getEntity(), event.getEntity().getLocation(), -1, bowRules, false);
+    }
+
+    @EventHandler
+    public void onShear(PlayerShearEntityEvent event) {
+        if (shearRules.isEmpty()) return;
+        apply(event, event.getPlayer(), event.getPlayer().getLocation(), getTeam(event.getPlayer()), shearRules, false);
+    }
+
+    @EventHandler
+    public void onEntityExplode(EntityExplodeEvent event) {
+        if (explodeRules.isEmpty()) return;
+        event.blockList().removeIf(block -> denies(explodeRules, explodeCache, block));
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onFilteredBlockPlace(BlockPlaceEvent event) {
+        applyBlocks(event, event.getPlayer(), event.getBlockPlaced(), blockPlaceRules, blockPlaceCache);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onFilteredBlockBreak(BlockBreakEvent event) {
+        applyBlocks(event, event.getPlayer(), event.getBlock(), blockBreakRules, blockBreakCache);
+    }
+
+    @EventHandler
+    public void onMatchResult(MatchResultEvent event) {
+        invalidate();
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        standing.remove(event.getPlayer());
+        for (FilterRule rule : rules) {
+            rule.getLastMessages().removeLong(event.getPlayer().getUniqueId());
+        }
+    }
+
+    public void invalidate() {
+        buildCache.invalidate();
+        pistonCache.invalidate();
+        explodeCache.invalidate();
+        blockPlaceCache.invalidate();
+        blockBreakCache.invalidate();
+        standing.clear();
+    }
+
+    /**
+     * Applies the result of every matching rule in order. Rules which
+     * ignore cancelled events are skipped once the event is cancelled.
+     */
+    private void apply(Cancellable event, Entity entity, Location location, int team, List<FilterRule> rules, boolean ignoreCancelled) {
+        if (rules.isEmpty()) return;
+        at(location);
+        for (FilterRule rule : rules) {
+            if (ignoreCancelled && event.isCancelled()) return;
+            if (!rule.appliesTo(team)) continue;
+            int times = count(rule);
+            for (int i = 0; i < times; i++) {
+                apply(event, entity, rule, evaluate(rule, entity));
+            }
+        }
+    }
+
+    /**
+     * @param matching rule indexes, repeated once for each matching region
+     */
+    private void apply(Cancellable event, Entity entity, List<FilterRule> rules, int[] matching, boolean ignoreCancelled) {
+        int previous = -1;
+        for (int index : matching) {
+            // a listener only skipped cancelled events before looking at its regions.
+            if (ignoreCancelled && index != previous && event.isCancelled()) return;
+            previous = index;
+            FilterRule rule = rules.get(index);
+            apply(event, entity, rule, evaluate(rule, entity));
+        }
+    }
+
+    private void apply(Cancellable event, Entity entity, FilterRule rule, FilterResult result) {
+        if (result == FilterResult.DENY) {
+            event.setCancelled(true);
+            message(entity, rule);
+        } else if (result == FilterResult.ALLOW) {
+            event.setCancelled(false);
+        }
+    }
+
+    private void applyBlocks(Cancellable event, Player player, Block block, List<FilterRule> rules, FilterCache cache) {
+        if (rules.isEmpty()) return;
+        int previous = -1;
+        for (int index : matching(rules, cache, block, getTeam(player))) {
+            if (index != previous && event.isCancelled()) return;
+            previous = index;
+            FilterRule rule = rules.get(index);
+            if (!rule.allows(evaluate(rule, player), block.getType())) {
+                event.setCancelled(true);
+                message(player, rule);
+            }
+        }
+    }
+
+    /**
+     * @return the indexes of the rules of the team which match at the block,
+     *         repeated once for each of their regions that matches.
+     */
+    private int[] matching(List<FilterRule> rules, FilterCache cache, Block block, int team) {
+        long position = FilterCache.pack(block.getX(), block.getY(), block.getZ());
+        int[] matching = cache.get(team, position);
+        if (matching == null) {
+            at(block.getLocation());
+            IntArrayList found = new IntArrayList();
+            for (int i = 0; i < rules.size(); i++) {
+                FilterRule rule = rules.get(i);
+                if (rule.appliesTo(team)) add(found, i, count(rule));
+            }
+            matching = found.isEmpty() ? NONE : found.toIntArray();
+            cache.put(team, position, matching);
+        }
+        return matching;
+    }
+
+    private static void add(IntArrayList list, int index, int times) {
+        for (int i = 0; i < times; i++) {
+            list.add(index);
+        }
+    }
+
+    /**
+     * Sorts the regions of the move rules by how they cover the block at the location.
+     * Regions covering all of it count towards the enter rules, regions covering part
+     * of it are left to be tested at every move.
+     */
+    private Standing standing(Location location, long block, int team) {
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        IntArrayList rules = new IntArrayList();
+        IntArrayList counts = new IntArrayList();
+        List<int[]> partial = new ArrayList<>();
+        IntArrayList found = new IntArrayList();
+        for (int i = 0; i < moveRules.size(); i++) {
+            FilterRule rule = moveRules.get(i);
+            if (!rule.appliesTo(team)) continue;
+            // no region covering all of the block is crossed within it.
+            boolean leave = leaveRules.contains(rule);
+            int count = 0;
+            found.clear();
+            for (int region : rule.getRegions()) {
+                int cover = cover(regions.get(region), x, y, z);
+                if (cover == PARTIAL) found.add(region);
+                else if (!leave && (cover == INSIDE) != rule.isInverted()) count++;
+            }
+            if (count > 0 || !found.isEmpty()) {
+                rules.add(i);
+                counts.add(count);
+                partial.add(found.isEmpty() ? NONE : found.toIntArray());
+            }
+        }
+        return new Standing(block, team, rules.toIntArray(), counts.toIntArray(), partial.toArray(new int[0][]));
+    }
+
+    /**
+     * @return whether the region contains all, none or only part of the block.
+     *         Regions other than cuboids are always tested exactly.
+     */
+    private static int cover(Region region, int x, int y, int z) {
+        if (!(region instanceof CuboidRegion)) return PARTIAL;
+        CuboidRegion cuboid = (CuboidRegion) region;
+        if (outside(cuboid.getMinX(), cuboid.getMaxX(), x) || outside(cuboid.getMinY(), cuboid.getMaxY(), y) || outside(cuboid.getMinZ(), cuboid.getMaxZ(), z)) {
+            return OUTSIDE;
+        }
+        if (inside(cuboid.getMinX(), cuboid.getMaxX(), x) && inside(cuboid.getMinY(), cuboid.getMaxY(), y) && inside(cuboid.getMinZ(), cuboid.getMaxZ(), z)) {
+            return INSIDE;
+        }
+        return PARTIAL;
+    }
+
+    // a block spans [block, block + 1) on each axis, cuboids include both of their faces.
+    private static boolean inside(double min, double max, int block) {
+        return min <= block && block + 1 <= max;
+    }
+
+    private static boolean outside(double min, double max, int block) {
+        return block + 1 <= min || block > max;
+    }
+
+    /**
+     * @return true if any rule at the block denies, regardless of teams.
+     */
+    private boolean denies(List<FilterRule> rules, FilterCache cache, Block block) {
+        long position = FilterCache.pack(block.getX(), block.getY(), block.getZ());
+        int[] matching = cache.get(-1, position);
+        if (matching == null) {
+            at(block.getLocation());
+            int[] found = new int[rules.size()];
+            int count = 0;
+            for (int i = 0; i < rules.size(); i++) {
+                if (matches(rules.get(i))) found[count++] = i;
+            }
+            matching = count == 0 ? NONE : Arrays.copyOf(found, count);
+            cache.put(-1, position, matching);
+        }
+        for (int index : matching) {
+            if (evaluate(rules.get(index), null) == FilterResult.DENY) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the event was cancelled
+     */
+    private boolean cancelIfAnyMatches(Cancellable event, Location location, List<FilterRule> rules) {
+        if (event.isCancelled() || rules.isEmpty()) return event.isCancelled();
+        at(location);
+        for (FilterRule rule : rules) {
+            if (matches(rule)) {
+                event.setCancelled(true);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param entity the entity the rule is evaluated for, or null
+     */
+    private FilterResult evaluate(FilterRule rule, Entity entity) {
+        long start = System.nanoTime();
+        FilterResult result = entity == null ? rule.getEvaluator().evaluate() : rule.getEvaluator().evaluate(entity);
+        rule.getMetrics().time(System.nanoTime() - start);
+        rule.getMetrics().record(result);
+        return result;
+    }
+
+    private void message(Entity receiver, FilterRule rule) {
+        if (rule.getMessage() == null) return;
+        if (rule.tryMessage(receiver.getUniqueId(), System.currentTimeMillis(), messageCooldown)) {
+            receiver.sendMessage(rule.getMessage());
+        }
+    }
+
+    private int getTeam(Player player) {
+        MatchTeam team = teamManagerModule.getTeam(player);
+        if (team == null) return -1;
+        return teamIndexes.getOrDefault(team, -1);
+    }
+
+    private void at(Location location) {
+        this.location = location;
+        this.stamp++;
+        this.sampled = ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+    }
+
+    private boolean contains(int region) {
+        if (stamps[region] != stamp) {
+            stamps[region] = stamp;
+            hits[region] = regions.get(region).contains(location);
+        }
+        return hits[region];
+    }
+
+    private boolean matches(FilterRule rule) {
+        long start = sampled ? System.nanoTime() : 0;
+        boolean matches = false;
+        for (int region : rule.getRegions()) {
+            if (contains(region) != rule.isInverted()) {
+                matches = true;
+                break;
+            }
+        }
+        if (sampled) rule.getMetrics().time((System.nanoTime() - start) * SAMPLE_RATE);
+        return matches;
+    }
+
+    /**
+     * @return how many regions of the rule match at the location.
+     */
+    private int count(FilterRule rule) {
+        return count(rule, rule.getRegions());
+    }
+
+    private int count(FilterRule rule, int[] regions) {
+        long start = sampled ? System.nanoTime() : 0;
+        int count = 0;
+        for (int region : regions) {
+            if (contains(region) != rule.isInverted()) count++;
+        }
+        if (sampled) rule.getMetrics().time((System.nanoTime() - start) * SAMPLE_RATE);
+        return count;
+    }
+
+    /**
+     * @return how many of the regions of the rule the player moved into.
+     */
+    private int crossings(FilterRule rule, int[] regions, Location from, Location to) {
+        long start = sampled ? System.nanoTime() : 0;
+        int crossings = 0;
+        for (int id : regions) {
+            Region region = this.regions.get(id);
+            if (region.contains(from) == rule.isInverted() && region.contains(to) != rule.isInverted()) crossings++;
+        }
+        if (sampled) rule.getMetrics().time((System.nanoTime() - start) * SAMPLE_RATE);
+        return crossings;
+    }
+
+    /**
+     * The move rules of a team at the block a player stands in.
+     */
+    @AllArgsConstructor
+    private static class Standing {
+        private final long block;
+        private final int team;
+        private final int[] rules; // indexes of the move rules with regions covering the block
+        private final int[] counts; // enter regions of each rule matching in all of the block
+        private final int[][] partial; // regions of each rule covering part of the block
+    }
+}
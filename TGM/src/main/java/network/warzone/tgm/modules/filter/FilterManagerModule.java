@@ -2,6 +2,7 @@ package network.warzone.tgm.modules.filter;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import lombok.Getter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
@@ -9,8 +10,8 @@ import network.warzone.tgm.modules.filter.evaluate.AllowFilterEvaluator;
 import network.warzone.tgm.modules.filter.evaluate.DenyFilterEvaluator;
 import network.warzone.tgm.modules.filter.evaluate.FilterEvaluator;
 import network.warzone.tgm.modules.filter.type.*;
+import network.warzone.tgm.modules.team.TeamManagerModule;
 import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,7 +19,8 @@ import java.util.List;
 public class FilterManagerModule extends MatchModule {
 
     private List<FilterType> filterTypes = new ArrayList<>();
-    
+    @Getter private FilterDispatcher dispatcher;
+
     private Match match;
     
     @Override
@@ -31,23 +33,22 @@ public class FilterManagerModule extends MatchModule {
         if (match.getMapContainer().getMapInfo().getJsonObject().has("filters")) {
             for (JsonElement filterElement : match.getMapContainer().getMapInfo().getJsonObject().getAsJsonArray("filters")) {
                 JsonObject filterJson = filterElement.getAsJsonObject();
-                for (FilterType filterType : initFilter(match, filterJson)) {
-                    filterTypes.add(filterType);
-                    if (filterType instanceof Listener) {
-                        TGM.registerEvents((Listener) filterType);
-                    }
-                }
+                filterTypes.addAll(initFilter(match, filterJson));
             }
         }
+        if (filterTypes.isEmpty()) return;
+
+        dispatcher = new FilterDispatcher(match.getModule(TeamManagerModule.class));
+        for (FilterType filterType : filterTypes) {
+            filterType.compile(dispatcher);
+        }
+        TGM.registerEvents(dispatcher, match);
     }
 
     @Override
     public void disable() {
-        for (FilterType filterType : filterTypes) {
-            if (filterType instanceof Listener) {
-                HandlerList.unregisterAll((Listener) filterType);
-            }
-        }
+        if (dispatcher != null) HandlerList.unregisterAll(dispatcher);
+        dispatcher = null;
         filterTypes.clear();
     }
 
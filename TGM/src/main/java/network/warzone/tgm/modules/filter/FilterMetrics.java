@@ -0,0 +1,47 @@
+package network.warzone.tgm.modules.filter;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+
+/**
+ * How often a filter rule was evaluated, what it decided and how long that took.
+ */
+@Getter
+public class FilterMetrics {
+    private long evaluations = 0;
+    private long allows = 0;
+    private long denies = 0;
+    private long nanos = 0; // sampled region tests and evaluations
+    private long messages = 0;
+    private long throttledMessages = 0;
+
+    void record(FilterResult result) {
+        evaluations++;
+        if (result == FilterResult.ALLOW) allows++;
+        else if (result == FilterResult.DENY) denies++;
+    }
+
+    void time(long nanos) {
+        this.nanos += nanos;
+    }
+
+    void message(boolean sent) {
+        if (sent) messages++;
+        else throttledMessages++;
+    }
+
+    public void reset() {
+        evaluations = allows = denies = nanos = messages = throttledMessages = 0;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("evaluations", evaluations);
+        json.addProperty("allows", allows);
+        json.addProperty("denies", denies);
+        json.addProperty("nanos", nanos);
+        json.addProperty("messages", messages);
+        json.addProperty("throttledMessages", throttledMessages);
+        return json;
+    }
+}
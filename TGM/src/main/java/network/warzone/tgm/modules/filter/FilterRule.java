@@ -0,0 +1,53 @@
+package network.warzone.tgm.modules.filter;
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import network.warzone.tgm.modules.filter.evaluate.FilterEvaluator;
+import org.bukkit.Material;
+
+import java.util.BitSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A filter entry compiled by the {@link FilterDispatcher}.
+ */
+@RequiredArgsConstructor @Getter
+public class FilterRule {
+    private final String name;
+    private final int[] regions; // indexes into the region table of the dispatcher
+    private final boolean inverted;
+    private final BitSet teams; // null when the filter applies to everyone
+    private final FilterEvaluator evaluator;
+    private final String message;
+    private final Set<Material> blocks;
+
+    private final FilterMetrics metrics = new FilterMetrics();
+    private final Object2LongOpenHashMap<UUID> lastMessages = new Object2LongOpenHashMap<>();
+
+    public boolean appliesTo(int team) {
+        return teams == null || (team >= 0 && teams.get(team));
+    }
+
+    /**
+     * @return true if the filter allows the material, based on its block list.
+     */
+    public boolean allows(FilterResult result, Material material) {
+        if (blocks.isEmpty()) return result == FilterResult.ALLOW;
+        return (result == FilterResult.ALLOW) == blocks.contains(material);
+    }
+
+    /**
+     * @return true if the message may be sent to the receiver again.
+     */
+    boolean tryMessage(UUID receiver, long now, long cooldown) {
+        if (cooldown > 0 && now - lastMessages.getOrDefault(receiver, Long.MIN_VALUE / 2) < cooldown) {
+            metrics.message(false);
+            return false;
+        }
+        lastMessages.put(receiver, now);
+        metrics.message(true);
+        return true;
+    }
+}
@@ -5,16 +5,11 @@ import com.google.gson.JsonObject;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import network.warzone.tgm.match.Match;
+import network.warzone.tgm.modules.filter.FilterDispatcher;
 import network.warzone.tgm.modules.filter.FilterManagerModule;
-import network.warzone.tgm.modules.filter.FilterResult;
 import network.warzone.tgm.modules.filter.evaluate.FilterEvaluator;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.region.RegionManagerModule;
-import org.bukkit.Location;
-import org.bukkit.block.Block;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityExplodeEvent;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,33 +18,14 @@ import java.util.List;
  * Created by Jorge on 9/9/2017.
  */
 @AllArgsConstructor @Getter
-public class BlockExplodeFilterType implements FilterType, Listener {
+public class BlockExplodeFilterType implements FilterType {
     private final List<Region> regions;
     private final FilterEvaluator evaluator;
     private final boolean inverted;
 
-    @EventHandler
-    public void onEntityExplode(EntityExplodeEvent event) {
-        List<Block> cancelledBlocks = new ArrayList<>();
-        for (Block block : event.blockList()) {
-            for (Region region : regions) {
-                FilterResult filterResult = evaluator.evaluate();
-                if (filterResult == FilterResult.DENY) {
-                    if (contains(region, block.getLocation())){
-                        if (!cancelledBlocks.contains(block)) cancelledBlocks.add(block);
-                    }
-                }
-            }
-        }
-
-        for (Block block : cancelledBlocks){
-            event.blockList().remove(block);
-        }
-    }
-
-    private boolean contains(Region region, Location location) {
-        if (!inverted) return region.contains(location);
-        else return !region.contains(location);
+    @Override
+    public void compile(FilterDispatcher dispatcher) {
+        dispatcher.getExplodeRules().add(dispatcher.compile("block-explode", null, regions, evaluator, null, null, inverted));
     }
 
     public static BlockExplodeFilterType parse(Match match, JsonObject jsonObject) {
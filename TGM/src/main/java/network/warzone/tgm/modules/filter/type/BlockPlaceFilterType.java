@@ -6,8 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.md_5.bungee.api.ChatColor;
 import network.warzone.tgm.match.Match;
+import network.warzone.tgm.modules.filter.FilterDispatcher;
 import network.warzone.tgm.modules.filter.FilterManagerModule;
-import network.warzone.tgm.modules.filter.FilterResult;
 import network.warzone.tgm.modules.filter.evaluate.FilterEvaluator;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.region.RegionManagerModule;
@@ -15,12 +15,7 @@ import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.util.Parser;
 import network.warzone.tgm.util.Strings;
-import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockPlaceEvent;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,7 +24,7 @@ import java.util.List;
  * Created by Jorge on 10/02/2019
  */
 @AllArgsConstructor @Getter
-public class BlockPlaceFilterType implements FilterType, Listener {
+public class BlockPlaceFilterType implements FilterType {
 
     private final List<MatchTeam> teams;
     private final List<Region> regions;
@@ -38,38 +33,9 @@ public class BlockPlaceFilterType implements FilterType, Listener {
     private final List<Material> blocks;
     private final boolean inverted;
 
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
-    public void onBlockPlaceEvent(BlockPlaceEvent event) {
-        for (Region region : regions) {
-            if (contains(region, event.getBlockPlaced().getLocation())) {
-                for (MatchTeam matchTeam : teams) {
-                    if (matchTeam.containsPlayer(event.getPlayer())) {
-                        FilterResult filterResult = evaluator.evaluate(event.getPlayer());
-                        if (!canPlace(event, filterResult)) {
-                            event.setCancelled(true);
-                            if (message != null) event.getPlayer().sendMessage(message);
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-    }
-
-    private boolean contains(Region region, Location location) {
-        if (!inverted) return region.contains(location);
-        else return !region.contains(location);
-    }
-
-
-    private boolean canPlace(BlockPlaceEvent event, FilterResult filterResult) {
-        if (filterResult == FilterResult.ALLOW) {
-            if (blocks == null || blocks.isEmpty()) return true;
-            return blocks.contains(event.getBlockPlaced().getType());
-        } else {
-            if (blocks == null || blocks.isEmpty()) return false;
-            return !blocks.contains(event.getBlockPlaced().getType());
-        }
+    @Override
+    public void compile(FilterDispatcher dispatcher) {
+        dispatcher.getBlockPlaceRules().add(dispatcher.compile("block-place", teams, regions, evaluator, message, blocks, inverted));
     }
 
     public static BlockPlaceFilterType parse(Match match, JsonObject jsonObject) {
@@ -6,52 +6,29 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.md_5.bungee.api.ChatColor;
 import network.warzone.tgm.match.Match;
+import network.warzone.tgm.modules.filter.FilterDispatcher;
 import network.warzone.tgm.modules.filter.FilterManagerModule;
-import network.warzone.tgm.modules.filter.FilterResult;
 import network.warzone.tgm.modules.filter.evaluate.FilterEvaluator;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.region.RegionManagerModule;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.util.Parser;
-import org.bukkit.Location;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerMoveEvent;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @AllArgsConstructor @Getter
-public class EnterFilterType implements FilterType, Listener {
+public class EnterFilterType implements FilterType {
     private final List<MatchTeam> teams;
     private final List<Region> regions;
     private final FilterEvaluator evaluator;
     private final String message;
     private final boolean inverted;
 
-    @EventHandler
-    public void onMove(PlayerMoveEvent event) {
-        for (Region region : regions) {
-            if (contains(region, event.getTo())) {
-                for (MatchTeam matchTeam : teams) {
-                    if (matchTeam.containsPlayer(event.getPlayer())) {
-                        FilterResult filterResult = evaluator.evaluate(event.getPlayer());
-                        if (filterResult == FilterResult.DENY) {
-                            event.setCancelled(true);
-                            if (message != null) event.getPlayer().sendMessage(message);
-                        } else if (filterResult == FilterResult.ALLOW) {
-                            event.setCancelled(false);
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    private boolean contains(Region region, Location location) {
-        if (!inverted) return region.contains(location);
-        else return !region.contains(location);
+    @Override
+    public void compile(FilterDispatcher dispatcher) {
+        dispatcher.getMoveRules().add(dispatcher.compile("enter", teams, regions, evaluator, message, null, inverted));
     }
 
     public static EnterFilterType parse(Match match, JsonObject jsonObject) {
@@ -1,4 +1,11 @@
 package network.warzone.tgm.modules.filter.type;
 
+import network.warzone.tgm.modules.filter.FilterDispatcher;
+
 public interface FilterType {
+
+    /**
+     * Adds the rules of this filter to the dispatcher of the match.
+     */
+    void compile(FilterDispatcher dispatcher);
 }
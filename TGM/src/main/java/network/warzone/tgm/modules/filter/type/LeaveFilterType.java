@@ -6,24 +6,21 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.md_5.bungee.api.ChatColor;
 import network.warzone.tgm.match.Match;
+import network.warzone.tgm.modules.filter.FilterDispatcher;
 import network.warzone.tgm.modules.filter.FilterManagerModule;
-import network.warzone.tgm.modules.filter.FilterResult;
+import network.warzone.tgm.modules.filter.FilterRule;
 import network.warzone.tgm.modules.filter.evaluate.FilterEvaluator;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.region.RegionManagerModule;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.util.Parser;
-import org.bukkit.Location;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerMoveEvent;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @AllArgsConstructor @Getter
-public class LeaveFilterType implements FilterType, Listener {
+public class LeaveFilterType implements FilterType {
 
     private final List<MatchTeam> teams;
     private final List<Region> regions;
@@ -31,29 +28,11 @@ public class LeaveFilterType implements FilterType, Listener {
     private final String message;
     private final boolean inverted;
 
-    @EventHandler
-    public void onMove(PlayerMoveEvent event) {
-        if (event.getFrom().getX() == event.getTo().getX() && event.getFrom().getY() == event.getTo().getY() && event.getFrom().getZ() == event.getTo().getZ()) return;
-        for (Region region : regions) {
-            if (!contains(region, event.getFrom()) && contains(region, event.getTo())) {
-                for (MatchTeam matchTeam : teams) {
-                    if (matchTeam.containsPlayer(event.getPlayer())) {
-                        FilterResult filterResult = evaluator.evaluate(event.getPlayer());
-                        if (filterResult == FilterResult.DENY) {
-                            event.setCancelled(true);
-                            if (message != null) event.getPlayer().sendMessage(message);
-                        } else if (filterResult == FilterResult.ALLOW) {
-                            event.setCancelled(false);
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    private boolean contains(Region region, Location location) {
-        if (!inverted) return region.contains(location);
-        else return !region.contains(location);
+    @Override
+    public void compile(FilterDispatcher dispatcher) {
+        FilterRule rule = dispatcher.compile("leave", teams, regions, evaluator, message, null, inverted);
+        dispatcher.getMoveRules().add(rule);
+        dispatcher.getLeaveRules().add(rule);
     }
 
     public static LeaveFilterType parse(Match match, JsonObject jsonObject) {
@@ -6,18 +6,14 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.md_5.bungee.api.ChatColor;
 import network.warzone.tgm.match.Match;
+import network.warzone.tgm.modules.filter.FilterDispatcher;
 import network.warzone.tgm.modules.filter.FilterManagerModule;
-import network.warzone.tgm.modules.filter.FilterResult;
 import network.warzone.tgm.modules.filter.evaluate.FilterEvaluator;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.region.RegionManagerModule;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.util.Parser;
-import org.bukkit.Location;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerShearEntityEvent;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,7 +23,7 @@ import java.util.List;
  */
 
 @AllArgsConstructor @Getter
-public class UseShearFilterType implements FilterType, Listener {
+public class UseShearFilterType implements FilterType {
 
     private final List<MatchTeam> teams;
     private final List<Region> regions;
@@ -35,28 +31,9 @@ public class UseShearFilterType implements FilterType, Listener {
     private final String message;
     private final  boolean inverted;
 
-    @EventHandler
-    public void onShear(PlayerShearEntityEvent e) {
-        for (Region region : regions) {
-            if (contains(region, e.getPlayer().getLocation())) {
-                for (MatchTeam matchTeam : teams) {
-                    if (matchTeam.containsPlayer(e.getPlayer())) {
-                        FilterResult filterResult = evaluator.evaluate(e.getPlayer());
-                        if (filterResult == FilterResult.DENY) {
-                            e.setCancelled(true);
-                            if (message != null) e.getPlayer().sendMessage(message);
-                        } else if (filterResult == FilterResult.ALLOW) {
-                            e.setCancelled(false);
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    private boolean contains(Region region, Location location) {
-        if (!inverted) return region.contains(location);
-        else return !region.contains(location);
+    @Override
+    public void compile(FilterDispatcher dispatcher) {
+        dispatcher.getShearRules().add(dispatcher.compile("use-shear", teams, regions, evaluator, message, null, inverted));
     }
 
     public static UseShearFilterType parse(Match match, JsonObject jsonObject) {
@@ -1,12 +1,16 @@
 package network.warzone.tgm.modules.generator;
 
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.Location;
 import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 
+import java.util.UUID;
+
 @Getter
 public class Generator {
     private String id;
@@ -22,6 +26,10 @@ public class Generator {
     private int runningTime = 0;
     private GeneratorTimeHandle generatorTimeHandle;
 
+    // items spawned by this generator which are still on the ground, with their amount
+    private final Object2IntOpenHashMap<UUID> spawnedItems = new Object2IntOpenHashMap<>();
+    private int itemAmount = 0;
+
     public Generator(String id, ItemStack item, Location location, int limit, int range, int interval, GeneratorHologram generatorHologram, GeneratorUpgrader generatorUpgrader) {
         this.id = id;
         this.item = item;
@@ -61,27 +69,60 @@ public class Generator {
         }
     }
 
-    void tick() {
+    /**
+     * @return the item spawned during this tick, if any
+     */
+    Item tick() {
+        Item spawned = null;
         if (currentInterval > 0) {
             currentInterval--;
             runningTime++;
         } else {
-            perform();
+            spawned = perform();
             resetTimer();
         }
         if (generatorHologram != null) generatorTimeHandle.process();
+        return spawned;
     }
 
     void resetTimer() {
         currentInterval = interval;
     }
 
-    private void perform() {
-        if (range >= 0 && location.getWorld().getNearbyPlayers(location, range).size() == 0) return;
-        if (limit > 0) {
-            int nearbySimilarItems = location.getWorld().getNearbyEntitiesByType(Item.class, location, 2, (theEntity) -> theEntity.getItemStack().getType() == item.getType()).stream().mapToInt((itemEntity) -> itemEntity.getItemStack().getAmount()).sum();
-            if (nearbySimilarItems >= limit) return;
+    private Item perform() {
+        if (range >= 0 && !hasPlayerInRange()) return null;
+        if (limit > 0 && itemAmount >= limit) return null;
+        Item spawned = location.getWorld().dropItemNaturally(location, item);
+        spawned.setVelocity(new Vector(0, 0, 0));
+        setItemAmount(spawned.getUniqueId(), spawned.getItemStack().getAmount());
+        return spawned;
+    }
+
+    private boolean hasPlayerInRange() {
+        double x = location.getX(), y = location.getY(), z = location.getZ();
+        for (Player player : location.getWorld().getPlayers()) {
+            Location playerLocation = player.getLocation();
+            if (Math.abs(playerLocation.getX() - x) <= range &&
+                    Math.abs(playerLocation.getY() - y) <= range &&
+                    Math.abs(playerLocation.getZ() - z) <= range) return true;
         }
-        location.getWorld().dropItemNaturally(location, item).setVelocity(new Vector(0, 0, 0));
+        return false;
+    }
+
+    int getAmount(UUID uuid) {
+        return spawnedItems.getInt(uuid);
+    }
+
+    /**
+     * Updates the amount of a spawned item, an amount of 0 stops tracking it.
+     */
+    void setItemAmount(UUID uuid, int amount) {
+        int previous = amount > 0 ? spawnedItems.put(uuid, amount) : spawnedItems.removeInt(uuid);
+        itemAmount += amount - previous;
+    }
+
+    void clearItems() {
+        spawnedItems.clear();
+        itemAmount = 0;
     }
 }
@@ -9,6 +9,8 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.ArmorStand;
 
+import java.util.Objects;
+
 @Getter
 public class GeneratorHologram {
     private TimeDisplay timeDisplay;
@@ -16,6 +18,12 @@ public class GeneratorHologram {
     private Location location;
     private ArmorStand holoAnchor;
 
+    // what is currently displayed, so the name is only sent when it changes
+    private String displayedBase;
+    private Material displayedMaterial;
+    private int displayedTime = -1;
+    private int displayedLevel = -1;
+
     public GeneratorHologram(String baseContent, TimeDisplay timeDisplay, Location location) {
         this.baseContent = baseContent;
         this.timeDisplay = timeDisplay;
@@ -47,6 +55,12 @@ public class GeneratorHologram {
             parsed = remainingTicks / 20;
             timeSpan = "second" + (parsed == 1 ? "" : "s");
         }
+        if (Objects.equals(baseContent, displayedBase) && material == displayedMaterial && parsed == displayedTime && generatorLevel == displayedLevel) return;
+        displayedBase = baseContent;
+        displayedMaterial = material;
+        displayedTime = parsed;
+        displayedLevel = generatorLevel;
+
         String formatted = baseContent
             .replace("%material%",
                     Strings.capitalizeString(material.name().toLowerCase().replace("_", " ")))
@@ -1,5 +1,6 @@
 package network.warzone.tgm.modules.generator;
 
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import network.warzone.tgm.match.Match;
@@ -9,16 +10,32 @@ import network.warzone.tgm.parser.item.ItemDeserializer;
 import network.warzone.tgm.util.Parser;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Created by yikes on 10/12/19.
+ *
+ * Every generator keeps count of the items it spawned that are still on the
+ * ground, so its limit is checked without looking up nearby entities. The
+ * counts follow pickups, merges and item removals.
  */
-public class GeneratorModule extends MatchModule implements TaskedModule {
+public class GeneratorModule extends MatchModule implements TaskedModule, Listener {
     private List<Generator> generators = new ArrayList<>();
+    private final Map<UUID, Generator> itemOwners = new HashMap<>(); // spawned item -> generator
     private boolean matchStarted = false;
 
     public static boolean hasGenerators(JsonObject mapJson) {
@@ -43,7 +60,54 @@ public class GeneratorModule extends MatchModule implements TaskedModule {
     @Override
     public void tick() {
         if (!matchStarted) return;
-        for (Generator generator : generators) generator.tick();
+        for (Generator generator : generators) {
+            Item spawned = generator.tick();
+            if (spawned != null) itemOwners.put(spawned.getUniqueId(), generator);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        setItemAmount(event.getItem().getUniqueId(), event.getRemaining());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHopperPickup(InventoryPickupItemEvent event) {
+        setItemAmount(event.getItem().getUniqueId(), 0);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMerge(ItemMergeEvent event) {
+        UUID source = event.getEntity().getUniqueId();
+        UUID target = event.getTarget().getUniqueId();
+        Generator sourceOwner = itemOwners.get(source);
+        Generator targetOwner = itemOwners.get(target);
+        if (sourceOwner == null && targetOwner == null) return;
+
+        int merged = event.getEntity().getItemStack().getAmount();
+        setItemAmount(source, 0);
+        if (targetOwner != null) {
+            targetOwner.setItemAmount(target, targetOwner.getAmount(target) + merged);
+        } else {
+            // the stack the spawned item merged into takes its place.
+            itemOwners.put(target, sourceOwner);
+            sourceOwner.setItemAmount(target, event.getTarget().getItemStack().getAmount() + merged);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDespawn(ItemDespawnEvent event) {
+        setItemAmount(event.getEntity().getUniqueId(), 0);
+    }
+
+    @EventHandler
+    public void onRemove(EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof Item) setItemAmount(event.getEntity().getUniqueId(), 0);
+    }
+
+    private void setItemAmount(UUID item, int amount) {
+        Generator owner = amount > 0 ? itemOwners.get(item) : itemOwners.remove(item);
+        if (owner != null) owner.setItemAmount(item, amount);
     }
 
     private static Generator deserializeGenerator(World matchWorld, JsonObject generatorObject) {
@@ -78,8 +142,10 @@ public class GeneratorModule extends MatchModule implements TaskedModule {
     public void disable() {
         for (Generator generator : generators) {
             generator.getGeneratorUpgrader().unload();
+            generator.clearItems();
         }
         matchStarted = false;
+        itemOwners.clear();
         generators = null;
     }
 
@@ -2,6 +2,8 @@ package network.warzone.tgm.modules.generator;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 
 public class GeneratorUpgrader {
     @Setter protected Generator hostGenerator;
@@ -11,6 +13,16 @@ public class GeneratorUpgrader {
         return broadcast.replace("%level%", Integer.toString(generatorLevel));
     }
 
+    /**
+     * Broadcasts to the players in the generator's match only.
+     */
+    protected void broadcast(String message) {
+        for (Player player : hostGenerator.getLocation().getWorld().getPlayers()) {
+            player.sendMessage(message);
+        }
+        Bukkit.getConsoleSender().sendMessage(message);
+    }
+
     void enable() {}
     void unload() {}
 }
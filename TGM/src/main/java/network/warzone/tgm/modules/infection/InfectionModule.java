@@ -76,16 +76,16 @@ public class InfectionModule extends MatchModule implements Listener, TimeSubscr
         this.match = match;
         this.humans = teamManager.getTeamById("humans");
         this.infected = teamManager.getTeamById("infected");
-        TimeModule time = TGM.get().getModule(TimeModule.class);
+        TimeModule time = match.getModule(TimeModule.class);
         time.setTimeLimitService(this::getWinningTeam);
         time.getTimeSubscribers().add(this);
         time.setTimeLimit(length * 60);
         time.setTimeLimited(true);
         this.timeScoreboardValue = length + ":00";
-        this.scoreboardManagerController = TGM.get().getModule(ScoreboardManagerModule.class);
-        TGM.get().getModule(RespawnModule.class).setDefaultRule(defaultRespawnRule);
-        TGM.get().getModule(DeathMessageModule.class).getDeathMessages().clear();
-        TGM.get().getModule(DeathMessageModule.class).setDefaultDeathMessage(
+        this.scoreboardManagerController = match.getModule(ScoreboardManagerModule.class);
+        match.getModule(RespawnModule.class).setDefaultRule(defaultRespawnRule);
+        match.getModule(DeathMessageModule.class).getDeathMessages().clear();
+        match.getModule(DeathMessageModule.class).setDefaultDeathMessage(
                 (d) -> {
                     if (d.killer != null) {
                         if (d.killerTeam != humans)
@@ -141,7 +141,7 @@ public class InfectionModule extends MatchModule implements Listener, TimeSubscr
         int diff = (length * 60) - elapsed;
         if (diff < 0) diff = 0;
         timeScoreboardValue = ChatColor.WHITE + "Time left: " + ChatColor.AQUA + Strings.formatTime(diff);
-        for (SimpleScoreboard simpleScoreboard : scoreboardManagerController.getScoreboards().values()) refreshOnlyDynamicScoreboard(simpleScoreboard);
+        for (SimpleScoreboard simpleScoreboard : scoreboardManagerController.getViews()) refreshOnlyDynamicScoreboard(simpleScoreboard);
     }
 
     @Override
@@ -166,7 +166,6 @@ public class InfectionModule extends MatchModule implements Listener, TimeSubscr
         teamAliveScoreboardLines.forEach((id, i) -> board.add(
                 "  " + ChatColor.YELLOW + teamManager.getTeamById(id).getMembers().size() + ChatColor.WHITE + " alive", i));
         board.add(timeScoreboardValue, timeScoreboardLine);
-        board.update();
     }
 
     @EventHandler
@@ -232,7 +231,7 @@ public class InfectionModule extends MatchModule implements Listener, TimeSubscr
     }
 
     public void broadcastMessage(String msg) {
-        Bukkit.getOnlinePlayers().forEach(player -> player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg)));
+        match.getPlayers().forEach(player -> player.sendMessage(ChatColor.translateAlternateColorCodes('&', msg)));
     }
 
     @EventHandler
@@ -244,10 +243,10 @@ public class InfectionModule extends MatchModule implements Listener, TimeSubscr
     public void onTeamChange(TeamChangeEvent event) {
         if (event.isCancelled()) return;
         if (defaultScoreboardLoaded) {
-            for (SimpleScoreboard simpleScoreboard : scoreboardManagerController.getScoreboards().values()) refreshOnlyDynamicScoreboard(simpleScoreboard);
+            for (SimpleScoreboard simpleScoreboard : scoreboardManagerController.getViews()) refreshOnlyDynamicScoreboard(simpleScoreboard);
         }
         if (teamManager.getTeamById("humans").getMembers().size() == 0 && match.getMatchStatus().equals(MatchStatus.MID)) {
-            TGM.get().getMatchManager().endMatch(teamManager.getTeamById("infected"));
+            TGM.get().getMatchManager().endMatch(match, teamManager.getTeamById("infected"));
         }
         event.getPlayerContext().getPlayer().setGameMode(GameMode.ADVENTURE);
 
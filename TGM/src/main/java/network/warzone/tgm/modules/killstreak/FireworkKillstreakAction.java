@@ -13,6 +13,6 @@ class FireworkKillstreakAction implements KillstreakAction {
     private int power;
     @Override
     public void apply(Player killer) {
-        FireworkUtil.spawnFirework(killer.getLocation().clone().add(locationOffset), fireworkEffect, power);
+        FireworkUtil.spawnFirework(killer.getLocation().clone().add(locationOffset.getX(), locationOffset.getY(), locationOffset.getZ()), fireworkEffect, power);
     }
 }
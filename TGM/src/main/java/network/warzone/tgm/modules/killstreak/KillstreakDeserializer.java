@@ -1,8 +1,6 @@
 package network.warzone.tgm.modules.killstreak;
 
 import com.google.gson.*;
-import network.warzone.tgm.TGM;
-import network.warzone.tgm.match.Match;
 import network.warzone.tgm.parser.effect.EffectDeserializer;
 import network.warzone.tgm.parser.item.ItemDeserializer;
 import network.warzone.tgm.util.Parser;
@@ -28,7 +26,6 @@ public class KillstreakDeserializer implements JsonDeserializer<Killstreak> {
     @Override
     public Killstreak deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
         assert json.isJsonObject();
-        Match match = TGM.get().getMatchManager().getMatch();
         Killstreak killstreak = new Killstreak();
         List<KillstreakAction> killstreakActions = new ArrayList<>();
 
@@ -69,7 +66,7 @@ public class KillstreakDeserializer implements JsonDeserializer<Killstreak> {
                         }
                     }
                     int fireworkLifetime = fireworkObj.has("lifetime") ? fireworkObj.get("lifetime").getAsInt() : 0;
-                    Location locationOffset = fireworkObj.has("locationOffset") ? Parser.convertLocation(match.getWorld(), fireworkObj.get("locationOffset")) : new Location(match.getWorld(), 0.0, 0.0, 0.0);
+                    Location locationOffset = fireworkObj.has("locationOffset") ? Parser.convertLocation(null, fireworkObj.get("locationOffset")) : new Location(null, 0.0, 0.0, 0.0);
                     killstreakActions.add(new FireworkKillstreakAction(locationOffset, FireworkEffect.builder().with(FireworkEffect.Type.valueOf(fireworkType)).trail(shouldTrail).flicker(shouldFlicker).withColor(fireworkColors).withFade(fadeColors).build(), fireworkLifetime));
                 }
             }
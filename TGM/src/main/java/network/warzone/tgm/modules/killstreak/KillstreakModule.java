@@ -4,12 +4,17 @@ import lombok.Getter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.modules.StatsModule;
 import network.warzone.tgm.modules.death.DeathInfo;
 import network.warzone.tgm.modules.death.DeathModule;
+import network.warzone.tgm.modules.stats.MatchStats;
+import network.warzone.tgm.modules.stats.Stat;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
+import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.player.event.TGMPlayerDeathEvent;
 import network.warzone.tgm.util.ColorConverter;
 import org.bukkit.*;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -27,13 +32,14 @@ public class KillstreakModule extends MatchModule implements Listener {
 
     private DeathModule deathModule;
 
-    private final Map<String, Integer> players = new HashMap<>(); // String is player's uuid
+    private MatchStats stats;
     private final Set<Killstreak> killstreaks = new HashSet<>();
 
     @Override
     public void load(Match match) {
         this.match = match;
         deathModule = match.getModule(DeathModule.class);
+        stats = match.getModule(StatsModule.class).getStats();
         this.addDefaults();
         if (match.getMapContainer().getMapInfo().getJsonObject().has("killstreaks")) {
             Killstreak[] parsedKillstreaks = TGM.get().getGson().fromJson(match.getMapContainer().getMapInfo().getJsonObject().getAsJsonArray("killstreaks"), Killstreak[].class);
@@ -41,43 +47,37 @@ public class KillstreakModule extends MatchModule implements Listener {
         }
     }
 
-    @EventHandler(priority = EventPriority.LOWEST) // DeathMessageModule sets killer to null so this has to be first
+    @EventHandler(priority = EventPriority.LOW) // after StatsModule counted the kill, DeathMessageModule sets killer to null later on
     public void onKill(TGMPlayerDeathEvent event) {
         DeathInfo deathInfo = deathModule.getPlayer(event.getVictim());
+        int killedStreak = stats.get(deathInfo.player, Stat.KILLSTREAK); // only reset once the event is done
 
         if (deathInfo.killer == null) {
-            if (players.getOrDefault(deathInfo.player.getUniqueId().toString(), 0) >= 5) {
-                Bukkit.broadcastMessage(ColorConverter.filterString(
+            if (killedStreak >= 5) {
+                match.broadcastMessage(ColorConverter.filterString(
                         deathInfo.playerTeam.getColor().toString() + deathInfo.playerName + "&7" + (deathInfo.playerName.endsWith("s") ? "'" : "'s") +
-                                " kill streak of &c&l" + players.get(deathInfo.player.getUniqueId().toString()) + "&r&7 was shutdown"
+                                " kill streak of &c&l" + killedStreak + "&r&7 was shutdown"
                 ));
             }
-
-            players.put(deathInfo.player.getUniqueId().toString(), 0);
             return;
         }
 
         if (deathInfo.killerTeam.isSpectator()) return; // Stupid spectators
 
-        String killerUuid = deathInfo.killer.getUniqueId().toString();
-        String killedUuid = deathInfo.player.getUniqueId().toString();
-
-        players.put(killerUuid, players.getOrDefault(killerUuid, 0) + 1);
+        int killerStreak = stats.get(deathInfo.killer, Stat.KILLSTREAK);
 
-        if (players.get(killedUuid) != null && players.get(killedUuid) >= 5) {
-            Bukkit.broadcastMessage(ColorConverter.filterString(
+        if (killedStreak >= 5) {
+            match.broadcastMessage(ColorConverter.filterString(
                     deathInfo.killerTeam.getColor().toString() + deathInfo.killerName + " &7shutdown " +
-                            deathInfo.playerTeam.getColor().toString() + deathInfo.playerName + "&7" + (deathInfo.playerName.endsWith("s") ? "'" : "'s") + " kill streak of &c&l" + players.get(killedUuid)
+                            deathInfo.playerTeam.getColor().toString() + deathInfo.playerName + "&7" + (deathInfo.playerName.endsWith("s") ? "'" : "'s") + " kill streak of &c&l" + killedStreak
             ));
 
         }
 
-        players.put(killedUuid, 0);
-
         killstreaks.forEach(killstreak -> {
-            if (!killstreak.isRepeat() && players.get(killerUuid) == killstreak.getCount() || killstreak.isRepeat() && players.get(killerUuid) % killstreak.getCount() == 0) {
+            if (!killstreak.isRepeat() && killerStreak == killstreak.getCount() || killstreak.isRepeat() && killerStreak % killstreak.getCount() == 0) {
                 if (killstreak.getMessage() != null && !killstreak.getMessage().isEmpty())
-                    Bukkit.broadcastMessage(ColorConverter.filterString(killstreak.getMessage())
+                    match.broadcastMessage(ColorConverter.filterString(killstreak.getMessage())
                             .replace("%killername%", deathInfo.killerName)
                             .replace("%killercolor%", deathInfo.killerTeam.getColor().toString())
                             .replace("%killedname%", deathInfo.playerName)
@@ -96,28 +96,29 @@ public class KillstreakModule extends MatchModule implements Listener {
         });
     }
 
-    public int getKillstreak(String uuid) {
-        return players.getOrDefault(uuid, 0);
+    public int getKillstreak(Player player) {
+        return stats.get(player, Stat.KILLSTREAK);
     }
 
     public void unload() {
-        players.clear();
         killstreaks.clear();
     }
 
     @EventHandler
     public void onTeamChange(TeamChangeEvent event) {
         if (event.isCancelled()) return;
-        if (players.containsKey(event.getPlayerContext().getPlayer().getUniqueId().toString()) && players.get(event.getPlayerContext().getPlayer().getUniqueId().toString()) >= 5) {
-            int streakValue = players.get(event.getPlayerContext().getPlayer().getUniqueId().toString());
-            event.getPlayerContext().getPlayer().sendMessage(ColorConverter.filterString("&7You have lost your kill streak of &c&l") + streakValue + ColorConverter.filterString(" &7for switching teams."));
-            players.remove(event.getPlayerContext().getPlayer().getUniqueId().toString());
+        Player player = event.getPlayerContext().getPlayer();
+        int streakValue = stats.get(player, Stat.KILLSTREAK);
+        if (streakValue >= 5) {
+            player.sendMessage(ColorConverter.filterString("&7You have lost your kill streak of &c&l") + streakValue + ColorConverter.filterString(" &7for switching teams."));
         }
+        if (streakValue > 0) stats.set(player, event.getOldTeam(), Stat.KILLSTREAK, 0);
     }
 
     @EventHandler
     public void onQuit(PlayerQuitEvent event) {
-        players.remove(event.getPlayer().getUniqueId().toString());
+        Player player = event.getPlayer();
+        if (getKillstreak(player) > 0) stats.set(player, match.getModule(TeamManagerModule.class).getTeam(player), Stat.KILLSTREAK, 0);
     }
 
     private void addDefaults() {
@@ -1,6 +1,5 @@
 package network.warzone.tgm.modules.killstreak;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 
@@ -22,7 +21,8 @@ class SoundKillstreakAction implements KillstreakAction {
     @Override
     public void apply(Player killer) {
         if (soundTarget == SoundTarget.EVERYONE) {
-            for (Player p : Bukkit.getOnlinePlayers()) {
+            if (killer == null) return;
+            for (Player p : killer.getWorld().getPlayers()) {
                 p.playSound(p.getLocation().clone().add(0.0, 100.0, 0.0), sound, volume, pitch);
             }
         } else {
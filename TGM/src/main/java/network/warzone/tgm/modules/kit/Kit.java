@@ -1,11 +1,14 @@
 package network.warzone.tgm.modules.kit;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import network.warzone.tgm.modules.team.MatchTeam;
 import org.bukkit.entity.Player;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @AllArgsConstructor @Getter
 public class Kit {
@@ -14,9 +17,21 @@ public class Kit {
     private final String description;
     private final List<KitNode> nodes;
 
+    @Getter(AccessLevel.NONE)
+    private final Map<MatchTeam, KitTemplate> templates = new HashMap<>();
+
+    /**
+     * Compiles the kit for the team ahead of its first use.
+     */
+    public void compile(MatchTeam matchTeam) {
+        getTemplate(matchTeam);
+    }
+
     public void apply(Player player, MatchTeam matchTeam) {
-        for (KitNode kitNode : nodes) {
-            kitNode.apply(player, matchTeam);
-        }
+        getTemplate(matchTeam).apply(player);
+    }
+
+    private KitTemplate getTemplate(MatchTeam matchTeam) {
+        return templates.computeIfAbsent(matchTeam, team -> new KitTemplate(nodes, team));
     }
 }
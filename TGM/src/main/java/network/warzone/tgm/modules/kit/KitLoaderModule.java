@@ -3,12 +3,14 @@ package network.warzone.tgm.modules.kit;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import lombok.Getter;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.modules.kit.parser.EffectKitNodeParser;
 import network.warzone.tgm.modules.kit.parser.ItemKitNodeParser;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
+import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +24,9 @@ public class KitLoaderModule extends MatchModule {
     private ItemKitNodeParser itemParser;
     private EffectKitNodeParser effectParser;
 
+    @Getter private long applications = 0;
+    private long nanos = 0;
+
     public KitLoaderModule() {
         itemParser = new ItemKitNodeParser();
         effectParser = new EffectKitNodeParser();
@@ -89,10 +94,30 @@ public class KitLoaderModule extends MatchModule {
                 Kit kit = new Kit(name, description, nodes);
 
                 for (MatchTeam matchTeam : teams) {
+                    kit.compile(matchTeam);
                     matchTeam.addKit(kit);
                 }
 
             }
         }
     }
+
+    /**
+     * Applies every kit of the team, timing it for the match profiler.
+     */
+    public void applyKits(Player player, MatchTeam matchTeam) {
+        long start = System.nanoTime();
+        for (Kit kit : matchTeam.getKits()) {
+            kit.apply(player, matchTeam);
+        }
+        nanos += System.nanoTime() - start;
+        applications++;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("applications", applications);
+        json.addProperty("averageNanos", applications == 0 ? 0 : nanos / applications);
+        return json;
+    }
 }
@@ -0,0 +1,94 @@
+package network.warzone.tgm.modules.kit;
+
+import network.warzone.tgm.modules.kit.types.EffectKitNode;
+import network.warzone.tgm.modules.kit.types.ItemKitNode;
+import network.warzone.tgm.modules.team.MatchTeam;
+import network.warzone.tgm.util.ColorConverter;
+import network.warzone.tgm.util.Materials;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+import org.bukkit.potion.PotionEffect;
+
+import java.util.*;
+
+/**
+ * A kit compiled for one team.
+ *
+ * Items are laid out by inventory slot and leather armor is already dyed in the
+ * team colour, so applying the kit writes the storage contents and the armor in
+ * one call each instead of setting and recolouring every item.
+ */
+class KitTemplate {
+
+    private static final int STORAGE_SIZE = 36;
+
+    private final ItemStack[] contents = new ItemStack[STORAGE_SIZE];
+    private final ItemStack[] armor = new ItemStack[4]; // boots, leggings, chestplate, helmet
+    private ItemStack offHand;
+    private final Map<Integer, ItemStack> extra = new LinkedHashMap<>(); // slots outside the storage contents
+    private final List<PotionEffect> effects = new ArrayList<>();
+
+    private boolean hasContents = false;
+    private boolean hasArmor = false;
+
+    KitTemplate(List<KitNode> nodes, MatchTeam matchTeam) {
+        for (KitNode kitNode : nodes) {
+            if (kitNode instanceof ItemKitNode) {
+                add((ItemKitNode) kitNode, matchTeam);
+            } else if (kitNode instanceof EffectKitNode) {
+                effects.add(((EffectKitNode) kitNode).getPotionEffect());
+            }
+        }
+    }
+
+    private void add(ItemKitNode node, MatchTeam matchTeam) {
+        int slot = node.getSlot();
+        ItemStack itemStack = node.getItemStack();
+
+        // Set leather armor in armor slots to team color if not set initially
+        if (slot >= 100 && !node.isHasColor() && Materials.isLeatherArmor(itemStack.getType())) {
+            itemStack = itemStack.clone();
+            LeatherArmorMeta leatherArmorMeta = (LeatherArmorMeta) itemStack.getItemMeta();
+            leatherArmorMeta.setColor(ColorConverter.getColor(matchTeam.getColor()));
+            itemStack.setItemMeta(leatherArmorMeta);
+        }
+
+        if (slot >= 100 && slot <= 103) {
+            armor[slot - 100] = itemStack;
+            hasArmor = true;
+        } else if (slot == -106) {
+            offHand = itemStack;
+        } else if (slot >= 0 && slot < STORAGE_SIZE) {
+            contents[slot] = itemStack;
+            hasContents = true;
+        } else {
+            extra.put(slot, itemStack);
+        }
+    }
+
+    /**
+     * Slots the kit doesn't set keep their item.
+     */
+    void apply(Player player) {
+        PlayerInventory inventory = player.getInventory();
+        if (hasContents) inventory.setStorageContents(merge(inventory.getStorageContents(), contents));
+        if (hasArmor) inventory.setArmorContents(merge(inventory.getArmorContents(), armor));
+        if (offHand != null) inventory.setItemInOffHand(offHand);
+        for (Map.Entry<Integer, ItemStack> entry : extra.entrySet()) {
+            inventory.setItem(entry.getKey(), entry.getValue());
+        }
+
+        for (PotionEffect potionEffect : effects) {
+            player.addPotionEffect(potionEffect, true);
+        }
+    }
+
+    private static ItemStack[] merge(ItemStack[] current, ItemStack[] template) {
+        for (int i = 0; i < template.length && i < current.length; i++) {
+            if (template[i] != null) current[i] = template[i];
+        }
+        return current;
+    }
+}
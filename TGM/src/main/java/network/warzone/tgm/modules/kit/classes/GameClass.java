@@ -1,6 +1,5 @@
 package network.warzone.tgm.modules.kit.classes;
 
-import network.warzone.tgm.TGM;
 import network.warzone.tgm.modules.ItemRemoveModule;
 import network.warzone.tgm.modules.kit.classes.abilities.Ability;
 import network.warzone.tgm.util.ArmorType;
@@ -23,10 +22,16 @@ public abstract class GameClass {
     }
 
     public void setItem(int slot, ItemStack itemStack) {
-        TGM.get().getModule(ItemRemoveModule.class).add(itemStack.getType());
         this.items.put(slot, itemStack);
     }
 
+    /**
+     * Registers the class items with the match's item remove module.
+     */
+    void registerItems(ItemRemoveModule itemRemoveModule) {
+        for (ItemStack itemStack : this.items.values()) itemRemoveModule.add(itemStack.getType());
+    }
+
     /**
      * Applies items and effects
      */
@@ -101,7 +106,7 @@ public abstract class GameClass {
         UUID playerUUID = p.getUniqueId();
         for (Ability ability : abilities) {
             ability.getRegisteredPlayers().remove(playerUUID);
-            ability.getCooldowns().remove(playerUUID);
+            ability.removeCooldown(p);
         }
     }
 }
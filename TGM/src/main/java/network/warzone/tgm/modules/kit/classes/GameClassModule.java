@@ -3,11 +3,14 @@ package network.warzone.tgm.modules.kit.classes;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import lombok.Getter;
-import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.match.ModuleData;
 import network.warzone.tgm.match.ModuleLoadTime;
+import network.warzone.tgm.modules.ItemRemoveModule;
+import network.warzone.tgm.modules.damage.CombatModule;
+import network.warzone.tgm.modules.damage.CombatStage;
+import network.warzone.tgm.modules.damage.DamageInfo;
 import network.warzone.tgm.modules.kit.classes.abilities.*;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
@@ -19,7 +22,12 @@ import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerInteractAtEntityEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
@@ -95,6 +103,8 @@ public class GameClassModule extends MatchModule implements Listener {
     @Getter private HashMap<UUID, String> classSwitches = new HashMap<>();
     private AbilityManager abilityManager;
     private TeamManagerModule teamManagerModule;
+    private CombatModule combatModule;
+    private final CombatStage damageStage = this::onAbilityDamage;
     @Getter private Set<GameClass> gameClassSet = new HashSet<>();
 
     // cache this for checking class violators
@@ -102,7 +112,7 @@ public class GameClassModule extends MatchModule implements Listener {
 
     @Override
     public void load(Match match) {
-        teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+        teamManagerModule = match.getModule(TeamManagerModule.class);
         boolean usingAllClasses = match.getMapContainer().getMapInfo().getJsonObject().get("classes").isJsonPrimitive() && match.getMapContainer().getMapInfo().getJsonObject().get("classes").getAsJsonPrimitive().isBoolean();
         List<String> usingClasses = new ArrayList<>();
         if (usingAllClasses) usingClasses = Arrays.stream(GameClassStore.values()).map(Enum::name).collect(Collectors.toList());
@@ -111,19 +121,22 @@ public class GameClassModule extends MatchModule implements Listener {
 
         defaultClass = usingClasses.get(0);
 
-        abilityManager = new AbilityManager(GameClassStore.abilityClassUsages(usingClasses));
+        abilityManager = new AbilityManager(match, GameClassStore.abilityClassUsages(usingClasses));
+        combatModule = match.getModule(CombatModule.class);
+        combatModule.addStage(EventPriority.NORMAL, damageStage);
 
         for (GameClassStore gameClassStore : GameClassStore.values()) {
             if (!usingClasses.contains(gameClassStore.name())) continue;
             Ability[] abilitySet = new Ability[gameClassStore.getHostAbilities().size()];
             for(int x = 0; x < gameClassStore.getHostAbilities().size(); x++) abilitySet[x] = abilityManager.getAbility(gameClassStore.getHostAbilities().get(x));
             try {
-                gameClassSet.add((GameClass) gameClassStore.getHostGameClass().getConstructors()[0].newInstance(new Object[] { abilitySet }));
+                GameClass gameClass = (GameClass) gameClassStore.getHostGameClass().getConstructors()[0].newInstance(new Object[] { abilitySet });
+                gameClass.registerItems(match.getModule(ItemRemoveModule.class));
+                gameClassSet.add(gameClass);
             } catch (Exception e) {
                 e.printStackTrace();
             }
         }
-        ClassMenu.destroyInstance();
     }
 
     public boolean classSetHasInstance(Class<? extends GameClass> candidate) {
@@ -139,6 +152,7 @@ public class GameClassModule extends MatchModule implements Listener {
 
     @Override
     public void disable() {
+        combatModule.removeStage(damageStage);
         abilityManager.destroyAbilities();
         gameClassSet = null;
         classSwitches = null;
@@ -146,6 +160,7 @@ public class GameClassModule extends MatchModule implements Listener {
 
     @Override
     public void unload() {
+        ClassMenu.destroyInstance(this);
         gameClassSet = null;
         classSwitches = null;
         playerClasses = null;
@@ -165,6 +180,38 @@ public class GameClassModule extends MatchModule implements Listener {
         removeClassForPlayer(event.getPlayer());
     }
 
+    // ability items are tagged with the name of their ability, events go straight to it.
+
+    @EventHandler
+    public void onAbilityDrop(PlayerDropItemEvent event) {
+        Ability ability = abilityManager.getAbility(event.getItemDrop().getItemStack());
+        if (ability != null) ability.onDrop(event);
+    }
+
+    @EventHandler
+    public void onAbilityInteract(PlayerInteractEvent event) {
+        Ability ability = abilityManager.getAbility(event.getPlayer().getInventory().getItemInMainHand());
+        if (ability != null) ability.onAbilityInteractEvent(event);
+    }
+
+    @EventHandler
+    public void onAbilityInteractWithEntity(PlayerInteractAtEntityEvent event) {
+        Ability ability = abilityManager.getAbility(event.getPlayer().getInventory().getItemInMainHand());
+        if (ability != null) ability.onAbilityInteractWithEntity(event);
+    }
+
+    @EventHandler
+    public void onAbilityBlockPlace(BlockPlaceEvent event) {
+        Ability ability = abilityManager.getAbility(event.getItemInHand());
+        if (ability != null) ability.onAbilityBlockPlace(event);
+    }
+
+    private void onAbilityDamage(DamageInfo damageInfo) {
+        if (damageInfo.getDamagerPlayer() == null) return;
+        Ability ability = abilityManager.getAbility(damageInfo.getWeapon());
+        if (ability != null) ability.onAbilityDamage(damageInfo);
+    }
+
 
     public void addSwitchClassRequest(Player p, String desiredClass) {
         addSwitchClassRequest(p, desiredClass, true);
@@ -2,7 +2,10 @@ package network.warzone.tgm.modules.kit.classes.abilities;
 
 import lombok.Getter;
 import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.modules.damage.DamageInfo;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.modules.tasked.Timeout;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.util.TimeUnitPair;
 import network.warzone.tgm.util.itemstack.ItemFactory;
@@ -10,19 +13,18 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.block.BlockPlaceEvent;
-import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.player.PlayerInteractAtEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.util.*;
 
@@ -30,7 +32,9 @@ import java.util.*;
  * Created by yikes on 09/27/19
  */
 @Getter
-public abstract class Ability implements Listener {
+public abstract class Ability {
+    private static final NamespacedKey ABILITY_KEY = TGM.getKey("ability");
+
     protected Set<UUID> registeredPlayers = new HashSet<>();
     protected ItemStack abilityItem;
 
@@ -39,62 +43,48 @@ public abstract class Ability implements Listener {
     private Material abilityMaterial;
     private String abilityDisplayName;
 
-    private int runnableID;
-    private HashMap<UUID, Integer> cooldowns = new HashMap<>();
+    private HashMap<UUID, Timeout> cooldowns = new HashMap<>();
     private int cooldown;
 
     protected TeamManagerModule teamManagerModule;
+    protected TaskedModuleManager taskedModuleManager;
 
     public Ability(String abilityName, int cooldown, Material abilityMaterial, String abilityDisplayName, String... abilityLore) {
         this.abilityName = abilityName;
         this.cooldown = cooldown;
         this.abilityItem = ItemFactory.createItem(abilityMaterial, abilityDisplayName, Arrays.asList(abilityLore));
+        ItemMeta meta = this.abilityItem.getItemMeta();
+        meta.getPersistentDataContainer().set(ABILITY_KEY, PersistentDataType.STRING, abilityName);
+        this.abilityItem.setItemMeta(meta);
         this.abilityMaterial = abilityMaterial;
         this.abilityDisplayName = abilityDisplayName;
-
-        this.teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
-
-        setupCooldownRunnable();
-
-        TGM.registerEvents(this);
     }
 
-    private void setupCooldownRunnable() {
-        this.runnableID = Bukkit.getScheduler().scheduleSyncRepeatingTask(TGM.get(), () -> {
-            if (cooldowns.isEmpty()) return;
-
-            ArrayList<UUID> remove = new ArrayList<UUID>();
-            for (UUID uuid : cooldowns.keySet()) {
-                cooldowns.put(uuid, cooldowns.get(uuid) - 1);
-
-                if (cooldowns.get(uuid) <= 0) {
-                    remove.add(uuid);
-                }
-            }
-
-            for (UUID uuid : remove) {
-                cooldowns.remove(uuid);
-                Player player = Bukkit.getServer().getPlayer(uuid);
-                if(player != null) offCooldownMessage(player);
-            }
+    public void load(Match match) {
+        this.teamManagerModule = match.getModule(TeamManagerModule.class);
+        this.taskedModuleManager = match.getModule(TaskedModuleManager.class);
+    }
 
-        }, 0L, 0L);
+    /**
+     * @return the name of the ability the item belongs to, or null if it isn't an ability item.
+     */
+    public static String getAbilityName(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) return null;
+        return item.getItemMeta().getPersistentDataContainer().get(ABILITY_KEY, PersistentDataType.STRING);
     }
 
-    // raw event handlers
+    // raw event handlers, the GameClassModule only calls them with items of this ability
 
-    @EventHandler
     public void onDrop(PlayerDropItemEvent event) {
-        if(!passesGeneralAbilityConditions(event.getItemDrop().getItemStack(), event.getPlayer(), false)) return;
+        if(!passesGeneralAbilityConditions(event.getPlayer(), false)) return;
         event.setCancelled(true);
         event.getPlayer().sendMessage(ChatColor.RED + "You cannot drop ability items!");
     }
 
 
-    @EventHandler
     public void onAbilityInteractEvent(PlayerInteractEvent event) {
         Player mainPlayer = event.getPlayer();
-        if(!passesGeneralAbilityConditions(event.getPlayer().getInventory().getItemInMainHand(), mainPlayer, true)) return;
+        if(!passesGeneralAbilityConditions(mainPlayer, true)) return;
         /* Air Clicks */
         if (event.getAction() == Action.LEFT_CLICK_AIR) {
             this.onClick(mainPlayer);
@@ -117,10 +107,9 @@ public abstract class Ability implements Listener {
         }
     }
 
-    @EventHandler
     public void onAbilityInteractWithEntity(PlayerInteractAtEntityEvent event) {
         Player mainPlayer = event.getPlayer();
-        if(!passesGeneralAbilityConditions(event.getPlayer().getInventory().getItemInMainHand(), mainPlayer, true)) return;
+        if(!passesGeneralAbilityConditions(mainPlayer, true)) return;
         this.onClick(mainPlayer);
         this.onRightClick(mainPlayer);
         if (!(event.getRightClicked() instanceof Player)) return;
@@ -130,21 +119,16 @@ public abstract class Ability implements Listener {
     }
 
 
-    @EventHandler
-    public void onAbilityDamage(EntityDamageEvent event) {
-        DamageInfo damageInfo = new DamageInfo(event);
-        if(damageInfo.getDamagerPlayer() == null) return;
-        ItemStack item = damageInfo.getDamagerPlayer().getInventory().getItemInMainHand();
-        if(!passesGeneralAbilityConditions(item, damageInfo.getDamagerPlayer(), true)) return;
+    public void onAbilityDamage(DamageInfo damageInfo) {
+        if(!passesGeneralAbilityConditions(damageInfo.getDamagerPlayer(), true)) return;
         if (damageInfo.getHurtPlayer() != null) {
-            if (teamManagerModule.getTeam(damageInfo.getHurtPlayer()).isSpectator()) return;
+            if (damageInfo.getHurtTeam().isSpectator()) return;
             this.onHitPlayer(damageInfo.getDamagerPlayer(), damageInfo.getHurtPlayer());
         } else this.onHitEntity(damageInfo.getDamagerPlayer(), damageInfo.getHurtEntity());
     }
 
-    @EventHandler
     public void onAbilityBlockPlace(BlockPlaceEvent event) {
-        if(!passesGeneralAbilityConditions(event.getItemInHand(), event.getPlayer(), true)) return;
+        if(!passesGeneralAbilityConditions(event.getPlayer(), true)) return;
         this.onClick(event.getPlayer());
         this.onPlaceBlock(event.getPlayer(), event.getBlockPlaced().getLocation(), event);
     }
@@ -183,11 +167,21 @@ public abstract class Ability implements Listener {
     // implementation details
 
     protected void putOnCooldown(Player player) {
-        this.cooldowns.put(player.getUniqueId(), this.cooldown);
+        UUID uuid = player.getUniqueId();
+        Timeout previous = this.cooldowns.put(uuid, taskedModuleManager.scheduleTimeout(this.cooldown, () -> {
+            this.cooldowns.remove(uuid);
+            Player online = Bukkit.getPlayer(uuid);
+            if (online != null) offCooldownMessage(online);
+        }));
+        if (previous != null) previous.cancel();
+    }
+
+    public void removeCooldown(Player player) {
+        Timeout timeout = this.cooldowns.remove(player.getUniqueId());
+        if (timeout != null) timeout.cancel();
     }
 
-    private boolean passesGeneralAbilityConditions(ItemStack item, Player player, boolean checkCooldown) {
-        if (!isAbilityItem(item)) return false;
+    private boolean passesGeneralAbilityConditions(Player player, boolean checkCooldown) {
         if (!registeredPlayers.contains(player.getUniqueId())) return false;
         if(!isOffCooldown(player) && checkCooldown) {
             informPlayerOfCooldown(player);
@@ -201,7 +195,7 @@ public abstract class Ability implements Listener {
     }
 
     private int getCooldown(Player player) {
-        if (!this.isOffCooldown(player)) return this.cooldowns.get(player.getUniqueId());
+        if (!this.isOffCooldown(player)) return (int) (this.cooldowns.get(player.getUniqueId()).getDeadline() - taskedModuleManager.getTimerWheel().getCurrentTick());
         return 0;
     }
 
@@ -209,19 +203,13 @@ public abstract class Ability implements Listener {
         return !this.cooldowns.containsKey(player.getUniqueId());
     }
 
-    private boolean isAbilityItem(ItemStack item) {
-        if (item == null) return false;
-        return item.getType() == this.abilityMaterial && item.getItemMeta().getDisplayName().equals(this.abilityDisplayName);
-    }
-
     private void offCooldownMessage(Player player) {
         player.sendMessage(ChatColor.YELLOW + this.abilityName + ChatColor.GRAY + " is now usable");
     }
 
     public void terminate() {
         registeredPlayers = null;
-        Bukkit.getScheduler().cancelTask(this.runnableID);
+        cooldowns.values().forEach(Timeout::cancel);
         cooldowns = null;
-        HandlerList.unregisterAll(this);
     }
 }
@@ -1,9 +1,13 @@
 package network.warzone.tgm.modules.kit.classes.abilities;
 
 import lombok.Getter;
+import network.warzone.tgm.match.Match;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -22,12 +26,16 @@ public class AbilityManager {
     }
     
     private Set<Ability> abilities = new HashSet<>();
+    private final Map<String, Ability> abilitiesByName = new HashMap<>();
 
-    public AbilityManager(Set<Class<? extends Ability>> abilitySet) {
+    public AbilityManager(Match match, Set<Class<? extends Ability>> abilitySet) {
         for(AbilityStore abilityStore : AbilityStore.values()) {
             if (!abilitySet.contains(abilityStore.hostAbility)) continue;
             try {
-                abilities.add((Ability) abilityStore.hostAbility.getConstructors()[0].newInstance());
+                Ability ability = (Ability) abilityStore.hostAbility.getConstructors()[0].newInstance();
+                ability.load(match);
+                abilities.add(ability);
+                abilitiesByName.put(ability.getAbilityName(), ability);
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -39,12 +47,21 @@ public class AbilityManager {
             ability.terminate();
         }
         abilities = null;
+        abilitiesByName.clear();
     }
 
     public void removePlayerFromAbilityCache(Ability ability, Player player) {
         ability.getRegisteredPlayers().remove(player.getUniqueId());
     }
 
+    /**
+     * @return the ability the item is tagged with, or null if it isn't an ability item.
+     */
+    public Ability getAbility(ItemStack item) {
+        String name = Ability.getAbilityName(item);
+        return name == null ? null : abilitiesByName.get(name);
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends Ability> T getAbility(Class<T> clazz) {
         for(Ability ability : abilities) {
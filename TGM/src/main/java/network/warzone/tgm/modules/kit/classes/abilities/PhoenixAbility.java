@@ -1,6 +1,9 @@
 package network.warzone.tgm.modules.kit.classes.abilities;
 
 import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.Match;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
 import network.warzone.tgm.modules.team.MatchTeam;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -8,22 +11,29 @@ import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityChangeBlockEvent;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 
-public class PhoenixAbility extends Ability {
+public class PhoenixAbility extends Ability implements Listener {
 
-    public Map<FallingBlock, BukkitTask> tasks = new HashMap<>();
+    public Map<FallingBlock, ScheduledTask> tasks = new HashMap<>();
 
     public PhoenixAbility() {
         super("Fire Breath", 20 * 15, Material.BLAZE_POWDER, ChatColor.GOLD.toString() + ChatColor.BOLD + "FIRE BREATH");
     }
 
+    @Override
+    public void load(Match match) {
+        super.load(match);
+        TGM.registerEvents(this, match);
+    }
+
     @Override
     public void onClick(final Player player) {
         player.getWorld().playSound(player.getLocation(), Sound.ENTITY_BLAZE_SHOOT, 1, 1);
@@ -50,9 +60,9 @@ public class PhoenixAbility extends Ability {
         final FallingBlock fallingBlock = player.getWorld().spawnFallingBlock(player.getLocation().clone().add(0, 0.4, 0), Material.FIRE.createBlockData());
         fallingBlock.setVelocity(velocity);
         player.getWorld().playSound(player.getLocation(), Sound.BLOCK_SAND_FALL, 1, 1);
-        tasks.put(fallingBlock, Bukkit.getScheduler().runTaskTimer(TGM.get(), () -> {
+        tasks.put(fallingBlock, taskedModuleManager.schedule("Fire Breath", TaskPriority.NORMAL, 1, 1, () -> {
             if (fallingBlock.isDead() && tasks.containsKey(fallingBlock)) {
-                tasks.get(fallingBlock).cancel();
+                tasks.remove(fallingBlock).cancel();
             } else if (fallingBlock.isOnGround()) {
                 fallingBlock.remove();
             } else {
@@ -72,14 +82,15 @@ public class PhoenixAbility extends Ability {
                     }
                 }
             }
-        }, 1L, 1L));
+        }));
     }
 
 
     @Override
     public void terminate() {
         super.terminate();
-        for (BukkitTask bukkitTask : tasks.values()) bukkitTask.cancel();
+        HandlerList.unregisterAll(this);
+        for (ScheduledTask task : tasks.values()) task.cancel();
         tasks = null;
     }
 
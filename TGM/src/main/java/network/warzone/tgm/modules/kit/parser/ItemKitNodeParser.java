@@ -4,6 +4,7 @@ import com.google.gson.JsonObject;
 import network.warzone.tgm.modules.kit.KitNode;
 import network.warzone.tgm.modules.kit.types.ItemKitNode;
 import network.warzone.tgm.parser.item.ItemDeserializer;
+import network.warzone.tgm.util.Materials;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.Collections;
@@ -51,7 +52,7 @@ public class ItemKitNodeParser implements KitNodeParser {
     private ItemStack parseItemStack(JsonObject jsonObject) {
         ItemStack itemStack = ItemDeserializer.parse(jsonObject);
         if (jsonObject.has("color")) {
-            if (itemStack.getType().name().contains("LEATHER_")) { // Leather armor
+            if (Materials.isLeatherArmor(itemStack.getType())) { // Leather armor
                 hasColor = true;
             }
         }
@@ -5,6 +5,7 @@ import lombok.Getter;
 import network.warzone.tgm.modules.kit.KitNode;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.util.ColorConverter;
+import network.warzone.tgm.util.Materials;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.LeatherArmorMeta;
@@ -19,7 +20,7 @@ public class ItemKitNode implements KitNode {
     @Override
     public void apply(Player player, MatchTeam matchTeam) {
         // Set leather armor in armor slots to team color if not set initially
-        if (slot >= 100 && !hasColor && itemStack.getType().toString().contains("LEATHER_")) {
+        if (slot >= 100 && !hasColor && Materials.isLeatherArmor(itemStack.getType())) {
             LeatherArmorMeta leatherArmorMeta = (LeatherArmorMeta) itemStack.getItemMeta();
             leatherArmorMeta.setColor(ColorConverter.getColor(matchTeam.getColor()));
             itemStack.setItemMeta(leatherArmorMeta);
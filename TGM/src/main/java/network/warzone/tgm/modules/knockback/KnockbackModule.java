@@ -1,11 +1,13 @@
 package network.warzone.tgm.modules.knockback;
 
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.modules.damage.CombatModule;
+import network.warzone.tgm.modules.damage.DamageInfo;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.ProjectileLaunchEvent;
 import org.bukkit.projectiles.ProjectileSource;
@@ -13,18 +15,23 @@ import org.bukkit.util.Vector;
 
 public class KnockbackModule extends MatchModule implements Listener {
 
-    @EventHandler(priority= EventPriority.NORMAL)
-    public void onEntityDamage(EntityDamageByEntityEvent event) {
-        if (!(event.getEntity() instanceof LivingEntity)) return;
-        LivingEntity livingEntity = (LivingEntity) event.getEntity();
-        if (event.getDamager() instanceof Arrow) {
-            Arrow arrow = (Arrow) event.getDamager();
+    @Override
+    public void load(Match match) {
+        match.getModule(CombatModule.class).addStage(EventPriority.NORMAL, this::onEntityDamage);
+    }
+
+    private void onEntityDamage(DamageInfo damageInfo) {
+        LivingEntity livingEntity = damageInfo.getHurtEntity();
+        if (livingEntity == null || damageInfo.getDamager() == null) return;
+        EntityDamageEvent event = damageInfo.getEvent();
+        if (damageInfo.getDamager() instanceof Arrow) {
+            Arrow arrow = (Arrow) damageInfo.getDamager();
             event.setDamage(event.getDamage() / 1.75);
             applyBowKnockback(arrow, livingEntity);
         }
 
-        if (event.getCause() == EntityDamageEvent.DamageCause.ENTITY_ATTACK && event.getDamager() instanceof LivingEntity) {
-            applyMeleeKnockback((LivingEntity) event.getDamager(), livingEntity);
+        if (event.getCause() == EntityDamageEvent.DamageCause.ENTITY_ATTACK && damageInfo.getDamager() instanceof LivingEntity) {
+            applyMeleeKnockback((LivingEntity) damageInfo.getDamager(), livingEntity);
         }
     }
 
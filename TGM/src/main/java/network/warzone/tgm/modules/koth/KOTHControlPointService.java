@@ -8,7 +8,6 @@ import network.warzone.tgm.modules.controlpoint.ControlPointService;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.user.PlayerContext;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Sound;
 
@@ -31,7 +30,7 @@ public class KOTHControlPointService implements ControlPointService {
 
     @Override
     public void captured(MatchTeam matchTeam) {
-        Bukkit.broadcastMessage(matchTeam.getColor() + ChatColor.BOLD.toString() + matchTeam.getAlias() + ChatColor.WHITE +
+        match.broadcastMessage(matchTeam.getColor() + ChatColor.BOLD.toString() + matchTeam.getAlias() + ChatColor.WHITE +
                 " took control of " + ChatColor.AQUA + ChatColor.BOLD.toString() + definition.getName());
 
         kothModule.incrementPoints(matchTeam, definition.getPointsPerTick());
@@ -51,7 +50,7 @@ public class KOTHControlPointService implements ControlPointService {
     @Override
     public void lost(MatchTeam matchTeam) {
         kothModule.updateScoreboardControlPointLine(definition);
-        Bukkit.broadcastMessage(matchTeam.getColor() + ChatColor.BOLD.toString() + matchTeam.getAlias() + ChatColor.WHITE +
+        match.broadcastMessage(matchTeam.getColor() + ChatColor.BOLD.toString() + matchTeam.getAlias() + ChatColor.WHITE +
                 " lost control of " + ChatColor.AQUA + ChatColor.BOLD.toString() + definition.getName());
     }
 }
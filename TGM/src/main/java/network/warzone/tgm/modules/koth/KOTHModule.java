@@ -30,6 +30,7 @@ import java.util.stream.Collectors;
 @Getter
 public class KOTHModule extends MatchModule implements Listener {
 
+    private Match match;
     private final List<ControlPoint> controlPoints = new ArrayList<>();
     private PointsModule pointsModule;
 
@@ -39,6 +40,7 @@ public class KOTHModule extends MatchModule implements Listener {
 
     @Override
     public void load(Match match) {
+        this.match = match;
         JsonObject kothJson = match.getMapContainer().getMapInfo().getJsonObject().get("koth").getAsJsonObject();
 
         for (JsonElement capturePointElement : kothJson.getAsJsonArray("hills")) {
@@ -56,7 +58,7 @@ public class KOTHModule extends MatchModule implements Listener {
             final String name = capturePointJson.get("name").getAsString();
 
             ControlPointDefinition definition = new ControlPointDefinition(name, timeToCap, pointsPerHold);
-            ControlPoint controlPoint = new ControlPoint(definition, region, new KOTHControlPointService(this, match, definition));
+            ControlPoint controlPoint = new ControlPoint(match, definition, region, new KOTHControlPointService(this, match, definition));
 
             controlPoints.add(controlPoint);
         }
@@ -66,9 +68,9 @@ public class KOTHModule extends MatchModule implements Listener {
         }
 
         pointsModule = match.getModule(PointsModule.class);
-        pointsModule.addService(matchTeam -> TGM.get().getMatchManager().endMatch(matchTeam));
+        pointsModule.addService(matchTeam -> TGM.get().getMatchManager().endMatch(match, matchTeam));
 
-        TGM.get().getModule(TimeModule.class).setTimeLimitService(() -> getHighestPointsTeam());
+        match.getModule(TimeModule.class).setTimeLimitService(() -> getHighestPointsTeam());
     }
 
     private MatchTeam getHighestPointsTeam() {
@@ -86,7 +88,7 @@ public class KOTHModule extends MatchModule implements Listener {
             final Map.Entry<String, Integer> entry = highest;
             int amount = pointsModule.getPoints().entrySet().stream().filter(en -> entry.getValue() == en.getValue()).collect(Collectors.toList()).size();
             if (amount > 1) return null;
-            else return TGM.get().getModule(TeamManagerModule.class).getTeamById(entry.getKey());
+            else return match.getModule(TeamManagerModule.class).getTeamById(entry.getKey());
         }
         return null;
     }
@@ -98,20 +100,18 @@ public class KOTHModule extends MatchModule implements Listener {
     }
 
     public void updateScoreboardTeamLine(MatchTeam matchTeam) {
-        for (SimpleScoreboard simpleScoreboard : TGM.get().getModule(ScoreboardManagerModule.class).getScoreboards().values()) {
+        for (SimpleScoreboard simpleScoreboard : match.getModule(ScoreboardManagerModule.class).getViews()) {
             int line = teamScoreboardLines.get(matchTeam);
             simpleScoreboard.remove(line);
             simpleScoreboard.add(getTeamScoreLine(matchTeam), line);
-            simpleScoreboard.update();
         }
     }
 
     public void updateScoreboardControlPointLine(ControlPointDefinition definition) {
-        for (SimpleScoreboard simpleScoreboard : TGM.get().getModule(ScoreboardManagerModule.class).getScoreboards().values()) {
+        for (SimpleScoreboard simpleScoreboard : match.getModule(ScoreboardManagerModule.class).getViews()) {
             int line = controlPointScoreboardLines.get(definition);
             simpleScoreboard.remove(line);
             simpleScoreboard.add(getControlPointScoreboardLine(getControlPointByDefinition(definition)), line);
-            simpleScoreboard.update();
         }
     }
 
@@ -124,7 +124,7 @@ public class KOTHModule extends MatchModule implements Listener {
 
     @EventHandler
     public void onScoreboardInit(ScoreboardInitEvent event) {
-        List<MatchTeam> teams = TGM.get().getModule(TeamManagerModule.class).getTeams();
+        List<MatchTeam> teams = match.getModule(TeamManagerModule.class).getTeams();
         SimpleScoreboard simpleScoreboard = event.getSimpleScoreboard();
 
         int j = 2;
@@ -26,7 +26,7 @@ public class LaunchPadLoaderModule extends MatchModule {
             for (JsonElement element : jsonObject.getAsJsonArray("launchpads")) {
                 if (!element.isJsonObject()) continue;
                 try {
-                    LaunchPadModule launchPad = LaunchPadModule.deserialize(element.getAsJsonObject());
+                    LaunchPadModule launchPad = LaunchPadModule.deserialize(match, element.getAsJsonObject());
                     match.getModules().add(launchPad);
                     launchPad.load(match);
                     this.launchPads.add(launchPad);
@@ -9,8 +9,8 @@ import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.region.RegionManagerModule;
-import network.warzone.tgm.modules.tasked.TaskedModule;
 import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.modules.tasked.Timeout;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.modules.team.TeamManagerModule;
@@ -30,7 +30,7 @@ import java.util.*;
  * Created by Jorge on 10/08/2019
  */
 @Getter
-public class LaunchPadModule extends MatchModule implements TaskedModule, Listener {
+public class LaunchPadModule extends MatchModule implements Listener {
 
     private Region region;
     private int delay; // Ticks
@@ -38,25 +38,26 @@ public class LaunchPadModule extends MatchModule implements TaskedModule, Listen
     private boolean directional;
     private List<MatchTeam> teams;
 
-    private final HashMap<Player, Long> standingOnPadDate = new HashMap<>();
+    private final HashMap<Player, Timeout> standingOnPad = new HashMap<>();
 
     private Match match;
     private final TeamManagerModule teamManagerModule;
+    private TaskedModuleManager taskedModuleManager;
 
-    private LaunchPadModule(Region region, int delay, Vector motion, boolean directional, List<MatchTeam> teams) {
+    private LaunchPadModule(Match match, Region region, int delay, Vector motion, boolean directional, List<MatchTeam> teams) {
+        this.match = match;
         this.region = region;
         this.delay = delay;
         this.motion = motion;
         this.directional = directional;
         this.teams = teams;
-        this.teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+        this.teamManagerModule = match.getModule(TeamManagerModule.class);
     }
 
     @Override
     public void load(Match match) {
-        this.match = match;
-        if (isDelayed()) TGM.get().getModule(TaskedModuleManager.class).addTaskedModule(this);
-        TGM.registerEvents(this);
+        this.taskedModuleManager = match.getModule(TaskedModuleManager.class);
+        TGM.registerEvents(this, match);
     }
 
     @EventHandler
@@ -64,10 +65,10 @@ public class LaunchPadModule extends MatchModule implements TaskedModule, Listen
         if (!isDifferentBlock(event)) return;
         if (region.contains(event.getTo().getBlock()) && !region.contains(event.getFrom().getBlock())) {
             if (!allowedTeam(event.getPlayer())) return;
-            if (isDelayed()) standingOnPadDate.put(event.getPlayer(), getTime());
+            if (isDelayed()) scheduleLaunch(event.getPlayer());
             else launch(event.getPlayer());
         } else if (region.contains(event.getFrom().getBlock()) && !region.contains(event.getTo().getBlock())) {
-            if (allowedTeam(event.getPlayer())) standingOnPadDate.remove(event.getPlayer());
+            if (allowedTeam(event.getPlayer())) removePlayer(event.getPlayer());
         }
     }
 
@@ -77,14 +78,12 @@ public class LaunchPadModule extends MatchModule implements TaskedModule, Listen
         return from.getX() != to.getX() || from.getY() != to.getY() || from.getZ() != to.getZ();
     }
 
-    @Override
-    public void tick() {
-        for (Map.Entry<Player, Long> entry : standingOnPadDate.entrySet()) {
-            if (getTime() >= entry.getValue() + (delay * 50)) {
-                launch(entry.getKey());
-                standingOnPadDate.remove(entry.getKey());
-            }
-        }
+    private void scheduleLaunch(Player player) {
+        Timeout previous = standingOnPad.put(player, taskedModuleManager.scheduleTimeout(delay, () -> {
+            standingOnPad.remove(player);
+            launch(player);
+        }));
+        if (previous != null) previous.cancel();
     }
 
     @EventHandler
@@ -103,7 +102,8 @@ public class LaunchPadModule extends MatchModule implements TaskedModule, Listen
     }
 
     private void removePlayer(Player player) {
-        this.standingOnPadDate.remove(player);
+        Timeout timeout = this.standingOnPad.remove(player);
+        if (timeout != null) timeout.cancel();
     }
 
     private void launch(Player player) {
@@ -115,10 +115,10 @@ public class LaunchPadModule extends MatchModule implements TaskedModule, Listen
         }
     }
 
-    static LaunchPadModule deserialize(JsonObject jsonObject) {
+    static LaunchPadModule deserialize(Match match, JsonObject jsonObject) {
         Preconditions.checkArgument(jsonObject.has("region"), "Launch Pad requires a region.");
         Preconditions.checkArgument(jsonObject.has("motion"), "Launch Pad requires a motion direction.");
-        Region region = TGM.get().getModule(RegionManagerModule.class).getRegion(TGM.get().getMatchManager().getMatch(), jsonObject.get("region"));
+        Region region = match.getModule(RegionManagerModule.class).getRegion(match, jsonObject.get("region"));
         Vector motion = Parser.convertVector(jsonObject.get("motion"));
         int delay = 0;
         boolean directional = true;
@@ -126,14 +126,10 @@ public class LaunchPadModule extends MatchModule implements TaskedModule, Listen
         if (jsonObject.has("delay")) delay = jsonObject.get("delay").getAsInt();
         if (jsonObject.has("directional")) directional = jsonObject.get("directional").getAsBoolean();
         if (jsonObject.has("teams")) {
-            TeamManagerModule teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+            TeamManagerModule teamManagerModule = match.getModule(TeamManagerModule.class);
             teams.addAll(teamManagerModule.getTeams(jsonObject.getAsJsonArray("teams")));
         }
-        return new LaunchPadModule(region, delay, motion, directional, teams);
-    }
-
-    private long getTime() {
-        return new Date().getTime();
+        return new LaunchPadModule(match, region, delay, motion, directional, teams);
     }
 
     private boolean isDelayed() {
@@ -3,23 +3,24 @@ package network.warzone.tgm.modules.monument;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.md_5.bungee.api.ChatColor;
-import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchStatus;
+import network.warzone.tgm.modules.region.BlockEventRouterModule;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.team.MatchTeam;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
 import org.bukkit.event.block.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @AllArgsConstructor @Getter
-public class Monument implements Listener {
+public class Monument {
+
+    private final Match match;
 
     private String name;
 
@@ -27,25 +28,22 @@ public class Monument implements Listener {
 
     private final Region region;
 
-    private final List<Material> materials;
+    private final Set<Material> materials;
 
     private int health;
     private int maxHealth;
 
     private final List<MonumentService> services = new ArrayList<>();
 
-    @EventHandler(priority = EventPriority.LOWEST)
-    public void onBlockBreak(BlockBreakEvent event) {
-        if (region.contains(event.getBlock().getLocation())) {
-            if (materials == null || materials.contains(event.getBlock().getType())) {
-                if (canDamage(event.getPlayer())) {
-                    if (TGM.get().getMatchManager().getMatch().getMatchStatus().equals(MatchStatus.MID)) {
-                        event.setCancelled(true); //override filters
-                    }
-                } else {
-                    event.getPlayer().sendMessage(ChatColor.RED + "You cannot damage a monument you own.");
-                    event.setCancelled(true);
+    private void onBlockBreak(BlockBreakEvent event) {
+        if (materials == null || materials.contains(event.getBlock().getType())) {
+            if (canDamage(event.getPlayer())) {
+                if (match.getMatchStatus().equals(MatchStatus.MID)) {
+                    event.setCancelled(true); //override filters
                 }
+            } else {
+                event.getPlayer().sendMessage(ChatColor.RED + "You cannot damage a monument you own.");
+                event.setCancelled(true);
             }
         }
     }
@@ -53,27 +51,24 @@ public class Monument implements Listener {
     /*
     Prevents filter messages
      */
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onBlockBreakHighest(BlockBreakEvent event) {
-        if (region.contains(event.getBlock().getLocation())) {
-            if (materials == null || materials.contains(event.getBlock().getType())) {
-                if (canDamage(event.getPlayer())) {
-                    if (TGM.get().getMatchManager().getMatch().getMatchStatus().equals(MatchStatus.MID)) {
-                        event.setCancelled(false); //override filters
-                        event.getBlock().getDrops().clear();
-
-                        health--;
-
-                        if (health < 0) {
-                            event.getPlayer().sendMessage(ChatColor.RED + "This monument is already destroyed.");
-                        } else if (health == 0) {
-                            for (MonumentService monumentService : services) {
-                                monumentService.destroy(event.getPlayer(), event.getBlock());
-                            }
-                        } else {
-                            for (MonumentService monumentService : services) {
-                                monumentService.damage(event.getPlayer(), event.getBlock());
-                            }
+    private void onBlockBreakHighest(BlockBreakEvent event) {
+        if (materials == null || materials.contains(event.getBlock().getType())) {
+            if (canDamage(event.getPlayer())) {
+                if (match.getMatchStatus().equals(MatchStatus.MID)) {
+                    event.setCancelled(false); //override filters
+                    event.getBlock().getDrops().clear();
+
+                    health--;
+
+                    if (health < 0) {
+                        event.getPlayer().sendMessage(ChatColor.RED + "This monument is already destroyed.");
+                    } else if (health == 0) {
+                        for (MonumentService monumentService : services) {
+                            monumentService.destroy(event.getPlayer(), event.getBlock());
+                        }
+                    } else {
+                        for (MonumentService monumentService : services) {
+                            monumentService.damage(event.getPlayer(), event.getBlock());
                         }
                     }
                 }
@@ -81,31 +76,8 @@ public class Monument implements Listener {
         }
     }
 
-    @EventHandler
-    public void onBlockBurn(BlockBurnEvent event) {
-        if (region.contains(event.getBlock().getLocation())) {
-            if (materials == null || materials.contains(event.getBlock().getType())) {
-                event.setCancelled(true);
-            }
-        }
-    }
-
-    @EventHandler(priority = EventPriority.HIGH)
-    public void onBlockIgniteEvent(BlockIgniteEvent event) {
-        if (region.contains(event.getBlock().getLocation())) {
-            event.setCancelled(true);
-        }
-    }
-    @EventHandler(priority = EventPriority.HIGH)
-    public void onPistonRetract(BlockPistonRetractEvent event) {
-        if (region.contains(event.getBlock().getLocation())) {
-            event.setCancelled(true);
-        }
-    }
-
-    @EventHandler(priority = EventPriority.HIGH)
-    public void onPistonExtend(BlockPistonExtendEvent event) {
-        if (region.contains(event.getBlock().getLocation())) {
+    private void onBlockBurn(BlockBurnEvent event) {
+        if (materials == null || materials.contains(event.getBlock().getType())) {
             event.setCancelled(true);
         }
     }
@@ -118,13 +90,20 @@ public class Monument implements Listener {
         return Math.min(100, Math.max(0, (health * 100) / maxHealth));
     }
 
+    /**
+     * Block events only reach the monument when they happen inside its region.
+     */
     public void load() {
-        TGM.registerEvents(this);
+        BlockEventRouterModule router = match.getModule(BlockEventRouterModule.class);
+        router.register(BlockBreakEvent.class, EventPriority.LOWEST, region, this::onBlockBreak);
+        router.register(BlockBreakEvent.class, EventPriority.HIGHEST, region, this::onBlockBreakHighest);
+        router.register(BlockBurnEvent.class, EventPriority.NORMAL, region, this::onBlockBurn);
+        router.register(BlockIgniteEvent.class, EventPriority.HIGH, region, event -> event.setCancelled(true));
+        router.register(BlockPistonRetractEvent.class, EventPriority.HIGH, region, event -> event.setCancelled(true));
+        router.register(BlockPistonExtendEvent.class, EventPriority.HIGH, region, event -> event.setCancelled(true));
     }
 
     public void unload() {
-        HandlerList.unregisterAll(this);
-
         owners.clear();
         materials.clear();
         services.clear();
@@ -2,8 +2,8 @@ package network.warzone.tgm.modules.points;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import lombok.Getter;
-import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.match.ModuleData;
@@ -12,15 +12,14 @@ import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 @ModuleData(load = ModuleLoadTime.EARLIER) @Getter
 public class PointsModule extends MatchModule {
-    private final HashMap<String, Integer> points = new HashMap<>();
+    private final Object2IntOpenHashMap<String> points = new Object2IntOpenHashMap<>(); // by team id
 
     //amount of points the team has to reach to win the game.
-    private final HashMap<String, Integer> targets = new HashMap<>();
+    private final Object2IntOpenHashMap<String> targets = new Object2IntOpenHashMap<>();
     private final List<PointService> services = new ArrayList<>();
 
     @Override
@@ -30,7 +29,7 @@ public class PointsModule extends MatchModule {
             JsonElement targetElement = pointsJson.get("target");
             if (targetElement.isJsonPrimitive()) {
                 int target = targetElement.getAsInt();
-                for (MatchTeam matchTeam : TGM.get().getModule(TeamManagerModule.class).getTeams()) {
+                for (MatchTeam matchTeam : match.getModule(TeamManagerModule.class).getTeams()) {
                     if (!matchTeam.isSpectator()) {
                         targets.put(matchTeam.getId(), target);
                     }
@@ -49,10 +48,9 @@ public class PointsModule extends MatchModule {
     }
 
     public void incrementPoints(MatchTeam matchTeam, int amount) {
-        int updated = points.getOrDefault(matchTeam.getId(), 0) + amount;
-        this.points.put(matchTeam.getId(), updated);
+        int updated = points.addTo(matchTeam.getId(), amount) + amount;
 
-        if (updated >= targets.get(matchTeam.getId())) {
+        if (targets.containsKey(matchTeam.getId()) && updated >= targets.getInt(matchTeam.getId())) {
             for (PointService pointService : services) {
                 pointService.reachedTarget(matchTeam);
             }
@@ -60,11 +58,11 @@ public class PointsModule extends MatchModule {
     }
 
     public int getPoints(MatchTeam matchTeam) {
-        return this.points.getOrDefault(matchTeam.getId(), 0);
+        return this.points.getInt(matchTeam.getId());
     }
 
     public int getTarget(MatchTeam matchTeam) {
-        return this.targets.getOrDefault(matchTeam.getId(), 0);
+        return this.targets.getInt(matchTeam.getId());
     }
 
     public void addService(PointService pointService) {
@@ -2,20 +2,30 @@ package network.warzone.tgm.modules.portal;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import network.warzone.tgm.TGM;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.modules.filter.FilterCache;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.region.RegionManagerModule;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.util.Parser;
 import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class PortalLoaderModule extends MatchModule {
+/**
+ * Loads the portals of the map and sends the players that move into
+ * another block to the portals they entered.
+ */
+public class PortalLoaderModule extends MatchModule implements Listener {
+
+    private final Long2ObjectOpenHashMap<List<PortalModule>> portals = new Long2ObjectOpenHashMap<>(); // by packed block
 
     @Override
     public void load(Match match) {
@@ -23,13 +33,13 @@ public class PortalLoaderModule extends MatchModule {
             for (JsonElement portalElement : match.getMapContainer().getMapInfo().getJsonObject().getAsJsonArray("portals")) {
                 JsonObject json = portalElement.getAsJsonObject();
 
-                Region from = TGM.get().getModule(RegionManagerModule.class).getRegion(match, json.get("from"));
+                Region from = match.getModule(RegionManagerModule.class).getRegion(match, json.get("from"));
                 Location to = Parser.convertLocation(match.getWorld(), json.get("to"));
 
                 List<MatchTeam> teams = new ArrayList<>();
                 if (json.has("teams")) {
                     for (JsonElement teamElement : json.getAsJsonArray("teams")) {
-                        teams.add(TGM.get().getModule(TeamManagerModule.class).getTeamById(teamElement.getAsString()));
+                        teams.add(match.getModule(TeamManagerModule.class).getTeamById(teamElement.getAsString()));
                     }
                 }
 
@@ -38,10 +48,33 @@ public class PortalLoaderModule extends MatchModule {
                     sound = json.get("sound").getAsBoolean();
                 }
 
-                PortalModule portalModule = new PortalModule(from, to, teams, sound);
+                PortalModule portalModule = new PortalModule(match.getModule(TeamManagerModule.class), from, to, teams, sound);
                 match.getModules().add(portalModule);
-                TGM.registerEvents(portalModule);
+                for (long block : portalModule.getBlocks()) {
+                    portals.computeIfAbsent(block, k -> new ArrayList<>(1)).add(portalModule);
+                }
             }
         }
     }
+
+    @EventHandler
+    public void onMove(PlayerMoveEvent event) {
+        if (portals.isEmpty()) return;
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ()) return;
+
+        List<PortalModule> entered = portals.get(FilterCache.pack(to.getBlockX(), to.getBlockY(), to.getBlockZ()));
+        if (entered == null) return;
+
+        long fromBlock = FilterCache.pack(from.getBlockX(), from.getBlockY(), from.getBlockZ());
+        for (PortalModule portalModule : entered) {
+            if (!portalModule.contains(fromBlock)) portalModule.enter(event);
+        }
+    }
+
+    @Override
+    public void unload() {
+        portals.clear();
+    }
 }
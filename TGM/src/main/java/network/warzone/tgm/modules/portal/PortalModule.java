@@ -1,52 +1,73 @@
 package network.warzone.tgm.modules.portal;
 
-import lombok.AllArgsConstructor;
-import network.warzone.tgm.TGM;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.modules.filter.FilterCache;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import org.bukkit.Location;
 import org.bukkit.Sound;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
+import org.bukkit.block.Block;
 import org.bukkit.event.player.PlayerMoveEvent;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-@AllArgsConstructor
-public class PortalModule extends MatchModule implements Listener {
-    private Region from;
-    private Location to;
-    private List<MatchTeam> teams;
-    private boolean sound;
-
-    @EventHandler
-    public void onMove(PlayerMoveEvent event) {
-        if (from == null) return;
-        if (from.getBlocks().contains(event.getTo().getBlock()) && !from.getBlocks().contains(event.getFrom().getBlock())) {
-            if (!teams.isEmpty()) {
-
-                //allow spectators to use portals
-                MatchTeam spectators = TGM.get().getModule(TeamManagerModule.class).getSpectators();
-                if (!spectators.containsPlayer(event.getPlayer())) {
-                    boolean onTeam = false;
-
-                    for (MatchTeam team : teams) {
-                        if (team.containsPlayer(event.getPlayer())) {
-                            onTeam = true;
-                            break;
-                        }
-                    }
-                    if(!onTeam) return;
-                }
+/**
+ * Teleports players entering its region. The blocks of the region are packed
+ * into a set once, the {@link PortalLoaderModule} finds the portals a player
+ * enters when they move into another block.
+ */
+public class PortalModule extends MatchModule {
+    private final TeamManagerModule teamManagerModule;
+    private final Region from;
+    private final Location to;
+    private final Set<MatchTeam> teams;
+    private final boolean sound;
+
+    private final LongOpenHashSet blocks = new LongOpenHashSet();
+
+    public PortalModule(TeamManagerModule teamManagerModule, Region from, Location to, List<MatchTeam> teams, boolean sound) {
+        this.teamManagerModule = teamManagerModule;
+        this.from = from;
+        this.to = to;
+        this.teams = new HashSet<>(teams);
+        this.sound = sound;
+
+        if (from != null) {
+            for (Block block : from.getBlocks()) {
+                blocks.add(FilterCache.pack(block.getX(), block.getY(), block.getZ()));
             }
+        }
+    }
+
+    public LongOpenHashSet getBlocks() {
+        return blocks;
+    }
+
+    public boolean contains(long block) {
+        return blocks.contains(block);
+    }
 
-            event.getPlayer().teleport(to);
-            if (sound) {
-                event.getFrom().getWorld().playSound(event.getFrom(), Sound.ENTITY_ENDERMAN_TELEPORT, 0.2f, 1);
-                event.getTo().getWorld().playSound(event.getFrom(), Sound.ENTITY_ENDERMAN_TELEPORT, 0.2f, 1);
+    /**
+     * Called when the player moved into the portal from outside of it.
+     */
+    public void enter(PlayerMoveEvent event) {
+        if (!teams.isEmpty()) {
+
+            //allow spectators to use portals
+            MatchTeam team = teamManagerModule.getTeam(event.getPlayer());
+            if (team == null || !team.isSpectator()) {
+                if (!teams.contains(team)) return;
             }
         }
+
+        event.getPlayer().teleport(to);
+        if (sound) {
+            event.getFrom().getWorld().playSound(event.getFrom(), Sound.ENTITY_ENDERMAN_TELEPORT, 0.2f, 1);
+            event.getTo().getWorld().playSound(event.getFrom(), Sound.ENTITY_ENDERMAN_TELEPORT, 0.2f, 1);
+        }
     }
 }
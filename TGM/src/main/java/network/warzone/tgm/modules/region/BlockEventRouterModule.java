@@ -0,0 +1,94 @@
+package network.warzone.tgm.modules.region;
+
+import network.warzone.tgm.match.MatchModule;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Delivers block events to the objectives whose region contains the block.
+ *
+ * Objectives used to listen to every block event of the match and test their
+ * own region, this module listens once per event and priority and looks the
+ * block up in a {@link RegionIndex}. Handlers keep the priority they were
+ * registered with and run in registration order within it.
+ *
+ * Only the events and priorities below are routed:
+ * break and place at LOWEST and HIGHEST, burn at NORMAL,
+ * ignite and pistons at HIGH.
+ */
+public class BlockEventRouterModule extends MatchModule implements Listener {
+
+    private final Map<Class<? extends BlockEvent>, EnumMap<EventPriority, RegionIndex<Consumer<BlockEvent>>>> indexes = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T extends BlockEvent> void register(Class<T> eventClass, EventPriority priority, Region region, Consumer<? super T> handler) {
+        indexes.computeIfAbsent(eventClass, c -> new EnumMap<>(EventPriority.class))
+                .computeIfAbsent(priority, p -> new RegionIndex<>())
+                .add(region, event -> handler.accept((T) event));
+    }
+
+    private void route(BlockEvent event, Class<? extends BlockEvent> eventClass, EventPriority priority) {
+        EnumMap<EventPriority, RegionIndex<Consumer<BlockEvent>>> byPriority = indexes.get(eventClass);
+        if (byPriority == null) return;
+        RegionIndex<Consumer<BlockEvent>> index = byPriority.get(priority);
+        if (index == null) return;
+
+        List<Consumer<BlockEvent>> handlers = index.query(event.getBlock().getLocation());
+        for (Consumer<BlockEvent> handler : handlers) {
+            handler.accept(event);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onBlockBreakLowest(BlockBreakEvent event) {
+        route(event, BlockBreakEvent.class, EventPriority.LOWEST);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onBlockBreakHighest(BlockBreakEvent event) {
+        route(event, BlockBreakEvent.class, EventPriority.HIGHEST);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onBlockPlaceLowest(BlockPlaceEvent event) {
+        route(event, BlockPlaceEvent.class, EventPriority.LOWEST);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onBlockPlaceHighest(BlockPlaceEvent event) {
+        route(event, BlockPlaceEvent.class, EventPriority.HIGHEST);
+    }
+
+    @EventHandler
+    public void onBlockBurn(BlockBurnEvent event) {
+        route(event, BlockBurnEvent.class, EventPriority.NORMAL);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onBlockIgnite(BlockIgniteEvent event) {
+        route(event, BlockIgniteEvent.class, EventPriority.HIGH);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        route(event, BlockPistonExtendEvent.class, EventPriority.HIGH);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        route(event, BlockPistonRetractEvent.class, EventPriority.HIGH);
+    }
+
+    @Override
+    public void unload() {
+        indexes.clear();
+    }
+}
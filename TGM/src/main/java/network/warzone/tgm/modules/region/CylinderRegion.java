@@ -1,7 +1,6 @@
 package network.warzone.tgm.modules.region;
 
 import lombok.Getter;
-import network.warzone.tgm.TGM;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.util.NumberConversions;
@@ -47,7 +46,7 @@ public class CylinderRegion implements Region {
         List<Block> results = new ArrayList<>();
         CuboidRegion bound = new CuboidRegion(getMin(), getMax());
         for (Block block : bound.getBlocks()) {
-            if (contains(new Location(TGM.get().getMatchManager().getMatch().getWorld(), block.getX(), block.getY(), block.getZ()))) results.add(block);
+            if (contains(block.getLocation())) results.add(block);
         }
         return results;
     }
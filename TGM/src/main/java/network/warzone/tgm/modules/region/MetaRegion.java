@@ -3,7 +3,7 @@ package network.warzone.tgm.modules.region;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import lombok.Getter;
-import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.Match;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -13,31 +13,49 @@ import java.util.List;
 
 /**
  * Created by Jorge on 10/09/2019
+ *
+ * Combines other regions with a set operation. The regions are compiled
+ * into a {@link RegionProgram} once, nested meta regions are inlined.
  */
 @Getter
 public class MetaRegion implements Region {
 
     private List<Region> regions = new ArrayList<>();
+    private final Operation operation;
 
     private World world;
     private int minX, minY, minZ, maxX, maxY, maxZ;
     private Location min;
     private Location max;
 
-    public MetaRegion(JsonArray jsonArray) {
+    private final RegionProgram.Node node;
+    private final RegionProgram program;
+
+    public MetaRegion(Match match, JsonArray jsonArray) {
+        this(match, Operation.UNION, jsonArray);
+    }
+
+    public MetaRegion(Match match, Operation operation, JsonArray jsonArray) {
+        RegionManagerModule regionManagerModule = match.getModule(RegionManagerModule.class);
         for (JsonElement element : jsonArray) {
-            this.regions.add(TGM.get().getModule(RegionManagerModule.class).getRegion(TGM.get().getMatchManager().getMatch(), element));
+            Region region = regionManagerModule.getRegion(match, element);
+            if (region != null) this.regions.add(region);
+        }
+        this.operation = operation;
+        this.world = match.getWorld();
+
+        List<RegionProgram.Node> operands = new ArrayList<>();
+        for (Region region : regions) {
+            operands.add(RegionProgram.Node.leaf(region));
         }
-        this.world = TGM.get().getMatchManager().getMatch().getWorld();
+        this.node = RegionProgram.Node.of(operation, operands);
+        this.program = RegionProgram.compile(node);
         calculateMinMax();
     }
 
     @Override
     public boolean contains(Location location) {
-        for (Region region : getRegions()) {
-            if (region.contains(location)) return true;
-        }
-        return false;
+        return program.contains(location);
     }
 
     @Override
@@ -53,8 +71,15 @@ public class MetaRegion implements Region {
     @Override
     public List<Block> getBlocks() {
         List<Block> blocks = new ArrayList<>();
-        for (Region region : getRegions()) {
-            blocks.addAll(region.getBlocks());
+        if (operation == Operation.UNION) {
+            for (Region region : getRegions()) {
+                blocks.addAll(region.getBlocks());
+            }
+        } else if (operation != Operation.NOT && !regions.isEmpty()) {
+            // every other operation lies within its first region.
+            for (Block block : regions.get(0).getBlocks()) {
+                if (contains(block)) blocks.add(block);
+            }
         }
         return blocks;
     }
@@ -72,28 +97,40 @@ public class MetaRegion implements Region {
     private void calculateMinMax() {
         minX = 0; minY = 0; minZ = 0;
         maxX = 0; maxY = 0; maxZ = 0;
-        if (regions != null && !regions.isEmpty()) {
-            Region r = regions.get(0);
-            minX = r.getMin().getBlockX();
-            minY = r.getMin().getBlockY();
-            minZ = r.getMin().getBlockZ();
-
-            maxX = r.getMax().getBlockX();
-            maxY = r.getMax().getBlockY();
-            maxZ = r.getMax().getBlockZ();
-            for (Region region : getRegions()) {
-                Block min = region.getMin().getBlock();
-                Block max = region.getMax().getBlock();
-                if (minX > min.getX()) minX = min.getX();
-                if (minY > min.getY()) minY = min.getY();
-                if (minZ > min.getZ()) minZ = min.getZ();
-
-                if (maxX < max.getX()) maxX = max.getX();
-                if (maxY < max.getY()) maxY = max.getY();
-                if (maxZ < max.getZ()) maxZ = max.getZ();
-            }
+        double[] bounds = node.bounds;
+        if (bounds != null) {
+            minX = (int) Math.floor(bounds[0]);
+            minY = (int) Math.floor(bounds[1]);
+            minZ = (int) Math.floor(bounds[2]);
+
+            maxX = (int) Math.floor(bounds[3]);
+            maxY = (int) Math.floor(bounds[4]);
+            maxZ = (int) Math.floor(bounds[5]);
         }
         this.min = new Location(world, minX, minY, minZ);
         this.max = new Location(world, maxX, maxY, maxZ);
     }
+
+    public enum Operation {
+        UNION,
+        INTERSECT,
+        DIFFERENCE, // the first region without any of the others
+        NOT; // everywhere but the union of the regions
+
+        public static Operation parse(String operation) {
+            switch (operation.toLowerCase()) {
+                case "intersect":
+                case "intersection":
+                    return INTERSECT;
+                case "difference":
+                case "subtract":
+                    return DIFFERENCE;
+                case "not":
+                case "negate":
+                    return NOT;
+                default:
+                    return UNION;
+            }
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package network.warzone.tgm.modules.region;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the values whose region contains a location without testing every region.
+ *
+ * Regions are bucketed by the chunk columns their bounding box covers. Unbounded
+ * regions, and regions covering too many chunks to be worth bucketing, are kept
+ * in a list that is checked for every location. Matches are returned in the
+ * order they were added.
+ */
+public class RegionIndex<T> {
+
+    private static final int MAX_CHUNKS = 1024;
+
+    private final Long2ObjectOpenHashMap<List<Entry<T>>> cells = new Long2ObjectOpenHashMap<>();
+    private final List<Entry<T>> global = new ArrayList<>();
+    private int size = 0;
+
+    public void add(Region region, T value) {
+        Entry<T> entry = new Entry<>(size++, region, value);
+
+        double[] bounds = RegionProgram.Node.leaf(region).bounds;
+        if (bounds == null) {
+            global.add(entry);
+            return;
+        }
+
+        int minX = chunk(bounds[0]), minZ = chunk(bounds[2]);
+        int maxX = chunk(bounds[3]), maxZ = chunk(bounds[5]);
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > MAX_CHUNKS) {
+            global.add(entry);
+            return;
+        }
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                cells.computeIfAbsent(key(x, z), k -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    /**
+     * @return the values whose region contains the location, in the order they were added.
+     */
+    public List<T> query(Location location) {
+        List<Entry<T>> cell = cells.get(key(chunk(location.getX()), chunk(location.getZ())));
+        if (cell == null && global.isEmpty()) return Collections.emptyList();
+        if (cell == null) cell = Collections.emptyList();
+
+        // both lists are sorted by sequence, merge them to keep the order.
+        List<T> results = new ArrayList<>(2);
+        int i = 0, j = 0;
+        while (i < cell.size() || j < global.size()) {
+            Entry<T> entry;
+            if (j >= global.size() || (i < cell.size() && cell.get(i).sequence < global.get(j).sequence)) {
+                entry = cell.get(i++);
+            } else {
+                entry = global.get(j++);
+            }
+            if (entry.region.contains(location)) results.add(entry.value);
+        }
+        return results;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        cells.clear();
+        global.clear();
+        size = 0;
+    }
+
+    private static int chunk(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> 4;
+    }
+
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static class Entry<T> {
+        private final int sequence;
+        private final Region region;
+        private final T value;
+
+        private Entry(int sequence, Region region, T value) {
+            this.sequence = sequence;
+            this.region = region;
+            this.value = value;
+        }
+    }
+}
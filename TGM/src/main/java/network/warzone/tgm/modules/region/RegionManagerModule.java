@@ -77,7 +77,10 @@ public class RegionManagerModule extends MatchModule {
                     );
                     break;
                 case "meta":
-                    region = new MetaRegion(regionJson.getAsJsonArray("regions"));
+                    region = new MetaRegion(match,
+                            regionJson.has("operation") ? MetaRegion.Operation.parse(regionJson.get("operation").getAsString()) : MetaRegion.Operation.UNION,
+                            regionJson.getAsJsonArray("regions")
+                    );
                     break;
                 case "cuboid":
                 default:
@@ -0,0 +1,259 @@
+package network.warzone.tgm.modules.region;
+
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link MetaRegion} compiled into a flat list of instructions.
+ *
+ * Every instruction is three ints: an opcode and two operands. The program
+ * keeps a single boolean result, jumps let unions and intersections stop as
+ * soon as their result is known, and every bounded part of the expression is
+ * guarded by a bounding box check. Cuboids are tested inline.
+ */
+class RegionProgram {
+
+    private static final int LEAF = 0;          // result = leaves[a].contains(location)
+    private static final int BOX = 1;           // result = location in boxes[a]
+    private static final int GUARD = 2;         // if location outside boxes[a]: result = false, jump to b
+    private static final int NOT = 3;           // result = !result
+    private static final int JUMP_IF_TRUE = 4;  // if result: jump to a
+    private static final int JUMP_IF_FALSE = 5; // if !result: jump to a
+    private static final int FALSE = 6;         // result = false
+
+    private final int[] code;
+    private final double[] boxes;
+    private final Region[] leaves;
+
+    private RegionProgram(int[] code, double[] boxes, Region[] leaves) {
+        this.code = code;
+        this.boxes = boxes;
+        this.leaves = leaves;
+    }
+
+    boolean contains(Location location) {
+        double x = location.getX(), y = location.getY(), z = location.getZ();
+        boolean result = false;
+        int pc = 0;
+        while (pc < code.length) {
+            int op = code[pc], a = code[pc + 1], b = code[pc + 2];
+            pc += 3;
+            switch (op) {
+                case LEAF:
+                    result = leaves[a].contains(location);
+                    break;
+                case BOX:
+                    result = inBox(a, x, y, z);
+                    break;
+                case GUARD:
+                    if (!inBox(a, x, y, z)) {
+                        result = false;
+                        pc = b;
+                    }
+                    break;
+                case NOT:
+                    result = !result;
+                    break;
+                case JUMP_IF_TRUE:
+                    if (result) pc = a;
+                    break;
+                case JUMP_IF_FALSE:
+                    if (!result) pc = a;
+                    break;
+                case FALSE:
+                    result = false;
+                    break;
+            }
+        }
+        return result;
+    }
+
+    private boolean inBox(int box, double x, double y, double z) {
+        int i = box * 6;
+        return x >= boxes[i] && x <= boxes[i + 3] &&
+                y >= boxes[i + 1] && y <= boxes[i + 4] &&
+                z >= boxes[i + 2] && z <= boxes[i + 5];
+    }
+
+    /**
+     * A node of the region expression before it is compiled.
+     */
+    static class Node {
+        final MetaRegion.Operation operation; // null for leaves
+        final Region leaf;
+        final List<Node> children;
+        final double[] bounds; // minX, minY, minZ, maxX, maxY, maxZ or null when unbounded
+
+        private Node(MetaRegion.Operation operation, Region leaf, List<Node> children, double[] bounds) {
+            this.operation = operation;
+            this.leaf = leaf;
+            this.children = children;
+            this.bounds = bounds;
+        }
+
+        static Node leaf(Region region) {
+            if (region instanceof MetaRegion) return ((MetaRegion) region).getNode();
+            Location min = region.getMin(), max = region.getMax();
+            return new Node(null, region, null, new double[]{
+                    Math.min(min.getX(), max.getX()), Math.min(min.getY(), max.getY()), Math.min(min.getZ(), max.getZ()),
+                    Math.max(min.getX(), max.getX()), Math.max(min.getY(), max.getY()), Math.max(min.getZ(), max.getZ())
+            });
+        }
+
+        /**
+         * Builds an operation, inlining the children of nested unions and
+         * intersections and ordering children so the cheapest decision comes first.
+         */
+        static Node of(MetaRegion.Operation operation, List<Node> operands) {
+            List<Node> children = new ArrayList<>();
+            for (Node operand : operands) {
+                boolean associative = operation == MetaRegion.Operation.UNION || operation == MetaRegion.Operation.INTERSECT;
+                if (operand.operation == operation && associative && !operand.children.isEmpty()) {
+                    children.addAll(operand.children);
+                } else {
+                    children.add(operand);
+                }
+            }
+
+            Comparator<Node> byVolume = Comparator.comparingDouble(Node::volume);
+            switch (operation) {
+                case UNION:
+                case NOT:
+                    // the largest region is the most likely to contain the location.
+                    children.sort(byVolume.reversed());
+                    break;
+                case INTERSECT:
+                    // the smallest region is the most likely to reject it.
+                    children.sort(byVolume);
+                    break;
+                case DIFFERENCE:
+                    if (children.size() > 1) children.subList(1, children.size()).sort(byVolume.reversed());
+                    break;
+            }
+            return new Node(operation, null, children, bounds(operation, children));
+        }
+
+        private static double[] bounds(MetaRegion.Operation operation, List<Node> children) {
+            if (children.isEmpty() || operation == MetaRegion.Operation.NOT) return null;
+            if (operation == MetaRegion.Operation.DIFFERENCE) return children.get(0).bounds;
+
+            double[] bounds = null;
+            for (Node child : children) {
+                if (child.bounds == null) {
+                    if (operation == MetaRegion.Operation.UNION) return null;
+                    continue;
+                }
+                if (bounds == null) {
+                    bounds = child.bounds.clone();
+                    continue;
+                }
+                for (int i = 0; i < 3; i++) {
+                    if (operation == MetaRegion.Operation.UNION) {
+                        bounds[i] = Math.min(bounds[i], child.bounds[i]);
+                        bounds[i + 3] = Math.max(bounds[i + 3], child.bounds[i + 3]);
+                    } else {
+                        bounds[i] = Math.max(bounds[i], child.bounds[i]);
+                        bounds[i + 3] = Math.min(bounds[i + 3], child.bounds[i + 3]);
+                    }
+                }
+            }
+            return bounds;
+        }
+
+        double volume() {
+            if (bounds == null) return Double.POSITIVE_INFINITY;
+            return Math.max(0, bounds[3] - bounds[0]) * Math.max(0, bounds[4] - bounds[1]) * Math.max(0, bounds[5] - bounds[2]);
+        }
+    }
+
+    static RegionProgram compile(Node node) {
+        Compiler compiler = new Compiler();
+        compiler.emit(node);
+        return compiler.build();
+    }
+
+    private static class Compiler {
+        private final List<Integer> code = new ArrayList<>();
+        private final List<double[]> boxes = new ArrayList<>();
+        private final List<Region> leaves = new ArrayList<>();
+
+        private void emit(Node node) {
+            if (node.leaf instanceof CuboidRegion) {
+                add(BOX, box(node.bounds), 0);
+                return;
+            }
+
+            int guard = -1;
+            if (node.bounds != null) guard = add(GUARD, box(node.bounds), 0);
+
+            if (node.leaf != null) {
+                add(LEAF, leaves.size(), 0);
+                leaves.add(node.leaf);
+            } else {
+                emitOperation(node);
+            }
+
+            if (guard >= 0) code.set(guard + 2, code.size());
+        }
+
+        private void emitOperation(Node node) {
+            List<Node> children = node.children;
+            List<Integer> jumps = new ArrayList<>();
+            if (children.isEmpty()) add(FALSE, 0, 0);
+            switch (node.operation) {
+                case UNION:
+                case NOT:
+                    for (int i = 0; i < children.size(); i++) {
+                        emit(children.get(i));
+                        if (i < children.size() - 1) jumps.add(add(JUMP_IF_TRUE, 0, 0));
+                    }
+                    break;
+                case INTERSECT:
+                    for (int i = 0; i < children.size(); i++) {
+                        emit(children.get(i));
+                        if (i < children.size() - 1) jumps.add(add(JUMP_IF_FALSE, 0, 0));
+                    }
+                    break;
+                case DIFFERENCE:
+                    for (int i = 0; i < children.size(); i++) {
+                        emit(children.get(i));
+                        if (i > 0) add(NOT, 0, 0);
+                        if (i < children.size() - 1) jumps.add(add(JUMP_IF_FALSE, 0, 0));
+                    }
+                    break;
+            }
+            for (int jump : jumps) {
+                code.set(jump + 1, code.size());
+            }
+            if (node.operation == MetaRegion.Operation.NOT) add(NOT, 0, 0);
+        }
+
+        private int add(int op, int a, int b) {
+            int index = code.size();
+            code.add(op);
+            code.add(a);
+            code.add(b);
+            return index;
+        }
+
+        private int box(double[] bounds) {
+            boxes.add(bounds);
+            return boxes.size() - 1;
+        }
+
+        private RegionProgram build() {
+            int[] code = new int[this.code.size()];
+            for (int i = 0; i < code.length; i++) {
+                code[i] = this.code.get(i);
+            }
+            double[] boxes = new double[this.boxes.size() * 6];
+            for (int i = 0; i < this.boxes.size(); i++) {
+                System.arraycopy(this.boxes.get(i), 0, boxes, i * 6, 6);
+            }
+            return new RegionProgram(code, boxes, leaves.toArray(new Region[0]));
+        }
+    }
+}
@@ -10,6 +10,10 @@ import lombok.Setter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.*;
 import network.warzone.tgm.modules.death.DeathInfo;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.modules.tasked.Timeout;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.modules.team.TeamManagerModule;
@@ -29,7 +33,6 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 
 import java.util.*;
@@ -47,12 +50,14 @@ public class RespawnModule extends MatchModule implements Listener {
     @Getter private List<RespawnService> respawnServices;
 
 
-    private BukkitTask task;
+    private TaskedModuleManager taskedModuleManager;
+    private ScheduledTask task;
 
     public void load(Match match) {
         this.respawnRules = new ArrayList<>();
         this.respawning = new HashMap<>();
         this.respawnServices = new ArrayList<>();
+        this.taskedModuleManager = match.getModule(TaskedModuleManager.class);
         TeamManagerModule teamManagerModule = match.getModule(TeamManagerModule.class);
 
         JsonObject mapInfo = match.getMapContainer().getMapInfo().getJsonObject();
@@ -98,6 +103,7 @@ public class RespawnModule extends MatchModule implements Listener {
         if (goal == null || !goal.getRule().isConfirm()) return;
         event.setCancelled(true);
         goal.setConfirmed(true);
+        if (getTimeLeft(goal) <= 0) tryRespawn(goal);
     }
 
     @EventHandler
@@ -132,7 +138,11 @@ public class RespawnModule extends MatchModule implements Listener {
     }
 
     private void setDead(Player player, RespawnRule rule, DeathInfo deathInfo) {
-        this.respawning.put(player, new RespawnGoal(player, rule, now() + rule.getDelay(), !rule.isConfirm()));
+        RespawnGoal goal = new RespawnGoal(player, rule, now() + rule.getDelay(), !rule.isConfirm());
+        goal.setTimeout(taskedModuleManager.scheduleTimeout((rule.getDelay() + 49) / 50, () -> tryRespawn(goal)));
+        RespawnGoal previous = this.respawning.put(player, goal);
+        if (previous != null) previous.getTimeout().cancel();
+        startTitles();
         boolean hasDelay = rule.getDelay() > 0;
         if (rule.isConfirm() || hasDelay || !shouldRespawn(player)) { // Don't apply effects if not needed
             if (rule.isBlindness()) {
@@ -149,7 +159,18 @@ public class RespawnModule extends MatchModule implements Listener {
     }
 
     private void remove(Player player) {
-        this.respawning.remove(player);
+        RespawnGoal goal = this.respawning.remove(player);
+        if (goal != null) goal.getTimeout().cancel();
+    }
+
+    /**
+     * Respawns the player of the goal if nothing is holding them back anymore.
+     */
+    private void tryRespawn(RespawnGoal goal) {
+        Player player = goal.getPlayer();
+        if (this.respawning.get(player) != goal) return;
+        if (!shouldRespawn(player) || (goal.getRule().isConfirm() && !goal.isConfirmed())) return;
+        respawn(player, true);
     }
 
     public void respawn(Player player, boolean reset) {
@@ -159,27 +180,28 @@ public class RespawnModule extends MatchModule implements Listener {
         Bukkit.getPluginManager().callEvent(new TGMPlayerRespawnEvent(player));
     }
 
-    public void enable() {
-        task = Bukkit.getScheduler().runTaskTimer(TGM.get(), () -> {
-            List<Player> toRespawn = new ArrayList<>();
-            for (Map.Entry<Player, RespawnGoal> respawnEntry : this.respawning.entrySet()) {
+    /**
+     * Only runs while someone is respawning, the respawns
+     * themselves are timed by the timeout of each goal.
+     */
+    private void startTitles() {
+        if (task != null && !task.isCancelled()) return;
+        task = taskedModuleManager.schedule("RespawnModule titles", TaskPriority.NORMAL, 1, 1, () -> {
+            if (this.respawning.isEmpty()) {
+                task.cancel();
+                return;
+            }
+            List<RespawnGoal> overdue = new ArrayList<>();
+            for (RespawnGoal goal : this.respawning.values()) {
                 try {
-                    Player player = respawnEntry.getKey();
-                    RespawnGoal goal = respawnEntry.getValue();
-
-                    boolean shouldRespawn = shouldRespawn(player);
-                    sendTitle(player, goal, shouldRespawn);
-                    if (getTimeLeft(goal) > 0 || !shouldRespawn || (goal.getRule().isConfirm() && !goal.isConfirmed())) {
-                        continue;
-                    }
-                    toRespawn.add(player);
+                    sendTitle(goal.getPlayer(), goal, shouldRespawn(goal.getPlayer()));
+                    // respawn services may let an overdue player go at any time.
+                    if (getTimeLeft(goal) <= 0) overdue.add(goal);
                 } catch (Exception ignored) {
                 }
             }
-            for (Player player : toRespawn) {
-                respawn(player, true);
-            }
-        }, 0L, 1L);
+            overdue.forEach(this::tryRespawn);
+        });
     }
 
     private void sendTitle(Player player, RespawnGoal goal, boolean shouldRespawn) {
@@ -207,7 +229,8 @@ public class RespawnModule extends MatchModule implements Listener {
     }
 
     public void disable() {
-        task.cancel();
+        if (task != null) task.cancel();
+        this.respawning.values().forEach(goal -> goal.getTimeout().cancel());
     }
 
     private RespawnRule getRule(MatchTeam team) {
@@ -260,6 +283,11 @@ public class RespawnModule extends MatchModule implements Listener {
         private RespawnRule rule;
         private long until;
         @Setter private boolean confirmed;
+        @Setter private Timeout timeout;
+
+        RespawnGoal(Player player, RespawnRule rule, long until, boolean confirmed) {
+            this(player, rule, until, confirmed, null);
+        }
     }
 
 }
@@ -2,23 +2,25 @@ package network.warzone.tgm.modules.scoreboard;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import org.bukkit.entity.Player;
+import network.warzone.tgm.match.Match;
+import network.warzone.tgm.match.MatchEvent;
+import network.warzone.tgm.modules.team.MatchTeam;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
 
 /**
- * Called when a player enters a match.
+ * Called when the scoreboard view of a team is created.
  *
- * This happens in two cases:
- * 1. A player joins the server.
- * 2. The map cycles.
+ * This happens the first time a player joins the team
+ * during a match.
  */
 
 @AllArgsConstructor
-public class ScoreboardInitEvent extends Event {
+public class ScoreboardInitEvent extends Event implements MatchEvent {
     private static final HandlerList handlers = new HandlerList();
 
-    @Getter private Player player;
+    @Getter private Match match;
+    @Getter private MatchTeam matchTeam; // the team viewing the scoreboard
     @Getter private SimpleScoreboard simpleScoreboard;
 
     @Override
@@ -2,9 +2,14 @@ package network.warzone.tgm.modules.scoreboard;
 
 import lombok.Getter;
 import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
+import network.warzone.tgm.match.MatchPostLoadEvent;
 import network.warzone.tgm.match.ModuleData;
 import network.warzone.tgm.match.ModuleLoadTime;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.modules.team.TeamManagerModule;
@@ -19,50 +24,105 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.scoreboard.Team;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.UUID;
 
 /**
- * Initializes and keeps track of player scoreboards.
+ * Initializes and keeps track of scoreboard views.
+ *
+ * Players on the same team share a single view, so a line update is applied
+ * once per team instead of once per player. Views that changed are
+ * flushed once per tick, however many updates happened during it.
+ *
+ * When the match loads, team changes are only recorded and every view is
+ * built in one pass once all players have joined.
  *
  * Game specific modules should tap into ScoreboardInitEvent and
- * direct access to SimpleScoreboard objects through TGM.get().getModule(ScoreboardManagerModule.class)
+ * direct access to SimpleScoreboard objects through match.getModule(ScoreboardManagerModule.class)
  * to control scoreboards as needed.
  */
 @ModuleData(load = ModuleLoadTime.EARLIER) @Getter
 public class ScoreboardManagerModule extends MatchModule implements Listener {
 
-    private HashMap<UUID, SimpleScoreboard> scoreboards = new HashMap<>();
+    private Match match;
+    private HashMap<String, SimpleScoreboard> views = new HashMap<>(); // by team id
+    private HashMap<UUID, SimpleScoreboard> scoreboards = new HashMap<>(); // the view each player sees
+    private TeamManagerModule teamManagerModule;
+    private ScheduledTask flushTask;
+    private boolean joining = false; // players are being added to the match
+
+    @Override
+    public void load(Match match) {
+        this.match = match;
+        this.teamManagerModule = match.getModule(TeamManagerModule.class);
+        this.flushTask = match.getModule(TaskedModuleManager.class).schedule("ScoreboardManagerModule flush", TaskPriority.LOW, 1, 1, this::flush);
+    }
+
+    private void flush() {
+        for (SimpleScoreboard simpleScoreboard : views.values()) {
+            if (simpleScoreboard.isDirty()) simpleScoreboard.flush();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoinStart(MatchPostLoadEvent event) {
+        joining = true;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoinEnd(MatchPostLoadEvent event) {
+        joining = false;
+        for (MatchTeam matchTeam : teamManagerModule.getTeams()) {
+            if (matchTeam.getMembers().isEmpty()) continue;
+
+            // a new view already has every member of every team.
+            SimpleScoreboard view = getView(matchTeam);
+            for (PlayerContext playerContext : matchTeam.getMembers()) {
+                Player player = playerContext.getPlayer();
+                if (scoreboards.put(player.getUniqueId(), view) != view) view.send(player);
+            }
+        }
+    }
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onTeamChange(TeamChangeEvent event) {
         if (event.isCancelled()) return;
+        if (joining) {
+            updatePlayerListName(event.getPlayerContext(), event.getTeam());
+            return;
+        }
+
+        SimpleScoreboard view = getView(event.getTeam());
         updatePlayerTeam(event.getPlayerContext(), event.getOldTeam(), event.getTeam());
         updatePlayerListName(event.getPlayerContext(), event.getTeam());
+
+        Player player = event.getPlayerContext().getPlayer();
+        if (scoreboards.put(player.getUniqueId(), view) != view) view.send(player);
     }
 
     @EventHandler
     public void onPlayerXPEvent(PlayerXPEvent event) {
-        updatePlayerListName(event.getPlayerContext(), TGM.get().getModule(TeamManagerModule.class).getTeam(event.getPlayerContext().getPlayer()));
+        updatePlayerListName(event.getPlayerContext(), teamManagerModule.getTeam(event.getPlayerContext().getPlayer()));
     }
 
+    /**
+     * Moves the player to the new team on every view. Adding an entry
+     * removes it from its previous team, so that is a single call per view
+     * unless the player is re-added to the same team.
+     */
     public void updatePlayerTeam(PlayerContext player, MatchTeam oldTeam, MatchTeam newTeam) {
-        for (MatchTeam matchTeam : TGM.get().getModule(TeamManagerModule.class).getTeams()) {
-            for (PlayerContext playerContext : matchTeam.getMembers()) {
-                SimpleScoreboard simpleScoreboard = getScoreboard(playerContext.getPlayer());
-
-                if (simpleScoreboard == null) {
-                    simpleScoreboard = initScoreboard(playerContext);
-                }
-
-                if (oldTeam != null) {
-                    Team old = simpleScoreboard.getScoreboard().getTeam(oldTeam.getId());
-                    old.removeEntry(player.getPlayer().getName());
-                }
-
-                Team to = simpleScoreboard.getScoreboard().getTeam(newTeam.getId());
-                to.addEntry(player.getPlayer().getName());
+        String name = player.getPlayer().getName();
+        for (SimpleScoreboard simpleScoreboard : views.values()) {
+            Team to = simpleScoreboard.getScoreboard().getTeam(newTeam.getId());
+            if (to == null) continue;
+
+            if (oldTeam == newTeam) {
+                to.removeEntry(name);
+            } else if (to.hasEntry(name)) {
+                continue;
             }
+            to.addEntry(name);
         }
     }
 
@@ -83,29 +143,43 @@ public class ScoreboardManagerModule extends MatchModule implements Listener {
         event.getSimpleScoreboard().getScoreboard().getTeams().forEach(team -> builder.append(team.getName()).append(", "));
 
 
-        Bukkit.broadcastMessage(ColorConverter.filterString("&aScoreboard:\n&r" + event.getPlayer().getName() + " - &7[&a" + builder.toString().substring(0, builder.length() - 2) + "&r&7]"));
+        Bukkit.broadcastMessage(ColorConverter.filterString("&aScoreboard:\n&r" + event.getMatchTeam().getId() + " - &7[&a" + builder.toString().substring(0, builder.length() - 2) + "&r&7]"));
     }
     */
 
-    private SimpleScoreboard initScoreboard(PlayerContext playerContext) {
+    /**
+     * @return the view shared by the members of the team, created on first use.
+     */
+    public SimpleScoreboard getView(MatchTeam matchTeam) {
+        SimpleScoreboard simpleScoreboard = views.get(matchTeam.getId());
+        if (simpleScoreboard == null) {
+            simpleScoreboard = initView(matchTeam);
+            views.put(matchTeam.getId(), simpleScoreboard);
+        }
+        return simpleScoreboard;
+    }
+
+    public Collection<SimpleScoreboard> getViews() {
+        return views.values();
+    }
+
+    private SimpleScoreboard initView(MatchTeam viewers) {
         SimpleScoreboard simpleScoreboard = new SimpleScoreboard(ChatColor.AQUA + "Objectives");
 
-        for (MatchTeam matchTeam : TGM.get().getModule(TeamManagerModule.class).getTeams()) {
-            registerScoreboardTeam(simpleScoreboard, matchTeam, playerContext);
+        for (MatchTeam matchTeam : teamManagerModule.getTeams()) {
+            registerScoreboardTeam(simpleScoreboard, matchTeam);
         }
 
-        Bukkit.getPluginManager().callEvent(new ScoreboardInitEvent(playerContext.getPlayer(), simpleScoreboard));
+        Bukkit.getPluginManager().callEvent(new ScoreboardInitEvent(match, viewers, simpleScoreboard));
 
         simpleScoreboard.add(" ", 1);
         simpleScoreboard.add(ChatColor.YELLOW + ChatColor.translateAlternateColorCodes('&', TGM.get().getConfig().getString("server.ip", "your.server.ip")), 0);
-        simpleScoreboard.send(playerContext.getPlayer());
-        scoreboards.put(playerContext.getPlayer().getUniqueId(), simpleScoreboard);
-        simpleScoreboard.update();
+        simpleScoreboard.flush();
 
         return simpleScoreboard;
     }
 
-    public Team registerScoreboardTeam(SimpleScoreboard simpleScoreboard, MatchTeam matchTeam, PlayerContext playerContext) {
+    public Team registerScoreboardTeam(SimpleScoreboard simpleScoreboard, MatchTeam matchTeam) {
         Team team = simpleScoreboard.getScoreboard().registerNewTeam(matchTeam.getId());
         //team.setPrefix(matchTeam.getColor().toString());
         team.setColor(matchTeam.getColor());
@@ -131,7 +205,9 @@ public class ScoreboardManagerModule extends MatchModule implements Listener {
 
     @Override
     public void unload() {
+        flushTask.cancel();
         scoreboards.clear();
+        views.clear();
     }
 
 }
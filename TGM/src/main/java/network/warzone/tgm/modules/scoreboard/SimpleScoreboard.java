@@ -1,149 +1,134 @@
 package network.warzone.tgm.modules.scoreboard;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.Splitter;
-import com.google.common.collect.Lists;
-import com.mojang.authlib.GameProfile;
+import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.*;
 
-import java.lang.reflect.Constructor;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * A sidebar that only sends the lines that changed since the last flush.
+ *
+ * Every line has a fixed slot: an invisible colour code entry with the score of
+ * the line, and a team whose prefix and suffix hold the text. Changing the text
+ * of a line only updates the prefix and/or suffix of its team, the score is only
+ * set when the line appears and reset when it disappears.
+ *
+ * Changes are not sent right away, the {@link ScoreboardManagerModule} flushes
+ * every view that changed once per tick. Every prefix, suffix and score sent is
+ * counted.
+ */
 public class SimpleScoreboard {
 
-    private static Map<String, OfflinePlayer> cache = new HashMap<>();
+    private static final ChatColor[] COLORS = ChatColor.values();
+    public static final int MAX_LINES = COLORS.length;
 
     private Scoreboard scoreboard;
     private String title;
-    private Map<String, Integer> scores;
     private Objective obj;
-    private List<Team> teams;
-    private List<Integer> removed;
-    private Set<String> updated;
 
-    private final UUID invalidUserUUID = UUID.nameUUIDFromBytes("InvalidUsername".getBytes(Charsets.UTF_8));
-    private Constructor<?> craftOfflinePlayerConstructor;
+    private final String[] lines = new String[MAX_LINES]; // pending text, by score
+    private final String[] sent = new String[MAX_LINES]; // text the viewer has
+    private final String[] prefixes = new String[MAX_LINES];
+    private final String[] suffixes = new String[MAX_LINES];
+    private final Team[] slots = new Team[MAX_LINES];
+    private boolean dirty = false;
+
+    @Getter private long prefixUpdates = 0;
+    @Getter private long suffixUpdates = 0;
+    @Getter private long scoreUpdates = 0;
+    @Getter private long scoreResets = 0;
 
     public SimpleScoreboard(String title) {
-        this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        this(Bukkit.getScoreboardManager().getNewScoreboard(), title);
+    }
+
+    SimpleScoreboard(Scoreboard scoreboard, String title) {
+        this.scoreboard = scoreboard;
         this.title = ChatColor.translateAlternateColorCodes('&', title);
-        this.scores = new ConcurrentHashMap<>();
-        this.teams = Collections.synchronizedList(Lists.newArrayList());
-        this.removed = Lists.newArrayList();
-        this.updated = Collections.synchronizedSet(new HashSet<>());
     }
 
     public void add(String text, Integer score) {
+        if (score == null || score < 0 || score >= MAX_LINES) return;
         text = ChatColor.translateAlternateColorCodes('&', text);
-        while (scores.containsKey(text)) text += ChatColor.RESET;
-
-        if (remove(score, text, false) || !scores.containsValue(score)) {
-            updated.add(text);
-        }
-
-        scores.put(text, score);
-    }
-
-    public boolean remove(Integer score, String text) {
-        return remove(score, text, true);
+        if (text.equals(lines[score])) return;
+        lines[score] = text;
+        dirty = true;
     }
 
-    public boolean remove(Integer score, String n, boolean b) {
-        String toRemove = get(score, n);
-
-        if (toRemove == null)
-            return false;
-
-        scores.remove(toRemove);
-
-        if (b) removed.add(score);
-
+    public boolean remove(Integer score) {
+        if (score == null || score < 0 || score >= MAX_LINES || lines[score] == null) return false;
+        lines[score] = null;
+        dirty = true;
         return true;
     }
 
-    public boolean remove(Integer score) {
-        return remove(score, true);
+    public String get(int score) {
+        if (score < 0 || score >= MAX_LINES) return null;
+        return lines[score];
     }
 
-    public boolean remove(Integer score, boolean b) {
-        String toRemove = get(score);
-
-        if (toRemove == null)
-            return false;
-
-        scores.remove(toRemove);
-        removed.add(score);
-        if  (b) removed.add(score);
-
-        return true;
+    public boolean isDirty() {
+        return dirty;
     }
 
-    public String get(int score, String n) {
-        String str = null;
-
-        for (Map.Entry<String, Integer> entry : scores.entrySet()) {
-            if (entry.getValue().equals(score) &&
-                    !entry.getKey().equals(n)) {
-                str = entry.getKey();
-            }
+    /**
+     * Sends the lines that changed since the last flush.
+     */
+    void flush() {
+        dirty = false;
+        if (obj == null) {
+            obj = scoreboard.registerNewObjective((title.length() > 16 ? title.substring(0, 15) : title), "dummy");
+            obj.setDisplayName(title);
+            obj.setDisplaySlot(DisplaySlot.SIDEBAR);
         }
 
-        return str;
-    }
-
-    public String get(int score) {
-        String str = null;
+        for (int i = 0; i < MAX_LINES; i++) {
+            String text = lines[i];
+            if (Objects.equals(text, sent[i])) continue;
 
-        for (Map.Entry<String, Integer> entry : scores.entrySet()) {
-            if (entry.getValue().equals(score)) {
-                str = entry.getKey();
+            String entry = COLORS[i].toString();
+            if (text == null) {
+                resetScore(entry);
+            } else {
+                applyText(i, text);
+                if (sent[i] == null) setScore(entry, i);
             }
+            sent[i] = text;
         }
-
-        return str;
     }
 
-    private Map.Entry<Team, OfflinePlayer> createTeam(String text, int pos) {
-        Team team;
-        ChatColor color = ChatColor.values()[pos];
-        OfflinePlayer result;
-
-        if (!cache.containsKey(color.toString())) cache.put(color.toString(), getOfflinePlayerSkipLookup(color.toString()));
-
-        result = cache.get(color.toString());
-
-        try {
-            team = scoreboard.registerNewTeam("text-" + (teams.size() + 1));
-        } catch (IllegalArgumentException e) {
-            team = scoreboard.getTeam("text-" + (teams.size()));
+    private Team getSlot(int line) {
+        Team team = slots[line];
+        if (team == null) {
+            team = scoreboard.getTeam("text-" + line);
+            if (team == null) {
+                team = scoreboard.registerNewTeam("text-" + line);
+                // a new team has no prefix or suffix to replace.
+                prefixes[line] = "";
+                suffixes[line] = "";
+            }
+            team.addEntry(COLORS[line].toString());
+            slots[line] = team;
         }
-
-        applyText(team, text, result);
-
-        teams.add(team);
-        return new AbstractMap.SimpleEntry<>(team, result);
+        return team;
     }
 
-    private void applyText(Team team, String text, OfflinePlayer result) {
+    private void applyText(int line, String text) {
         Iterator<String> iterator = Splitter.fixedLength(16).split(text).iterator();
-        String prefix = iterator.next();
-
-        team.setPrefix(prefix);
-
-        if(!team.hasPlayer(result)) team.addPlayer(result);
+        String prefix = iterator.hasNext() ? iterator.next() : "";
+        String suffix = "";
 
         if (text.length() > 16) {
             String prefixColor = ChatColor.getLastColors(prefix);
-            String suffix = iterator.next();
+            suffix = iterator.next();
 
             if (prefix.endsWith(String.valueOf(ChatColor.COLOR_CHAR))) {
                 prefix = prefix.substring(0, prefix.length() - 1);
-                team.setPrefix(prefix);
                 prefixColor = ChatColor.getByChar(suffix.charAt(0)).toString();
                 suffix = suffix.substring(1);
             }
@@ -155,75 +140,47 @@ public class SimpleScoreboard {
                 suffix = suffix.substring(0, (13 - prefixColor.length())); // cut off suffix, done if text is over 30 characters
             }
 
-            team.setSuffix((prefixColor.equals("") ? ChatColor.RESET : prefixColor) + suffix);
+            suffix = (prefixColor.equals("") ? ChatColor.RESET : prefixColor) + suffix;
         }
-    }
 
-    public void update() {
-        if (updated.isEmpty()) {
-            return;
+        Team team = getSlot(line);
+        if (!prefix.equals(prefixes[line])) {
+            team.setPrefix(prefix);
+            prefixes[line] = prefix;
+            prefixUpdates++;
         }
-
-        if (obj == null) {
-            obj = scoreboard.registerNewObjective((title.length() > 16 ? title.substring(0, 15) : title), "dummy");
-            obj.setDisplayName(title);
-            obj.setDisplaySlot(DisplaySlot.SIDEBAR);
+        if (!suffix.equals(suffixes[line])) {
+            team.setSuffix(suffix);
+            suffixes[line] = suffix;
+            suffixUpdates++;
         }
+    }
 
-        removed.stream().forEach((remove) -> {
-            for (String s : scoreboard.getEntries()) {
-                Score score = obj.getScore(s);
-                
-                if (score == null) continue;
-                if (score.getScore() != remove) continue;
-
-                scoreboard.resetScores(s);
-            }
-        });
-
-        removed.clear();
-
-        int index = scores.size();
-
-        for (Map.Entry<String, Integer> text : scores.entrySet()) {
-            Team t = scoreboard.getTeam(ChatColor.values()[text.getValue()].toString());
-            Map.Entry<Team, OfflinePlayer> team;
-
-            if(!updated.contains(text.getKey())) continue;
-
-            if(t != null) {
-                String color = ChatColor.values()[text.getValue()].toString();
-
-                if (!cache.containsKey(color)) cache.put(color, getOfflinePlayerSkipLookup(color));
-
-                team = new AbstractMap.SimpleEntry<>(t, cache.get(color));
-                applyText(team.getKey(), text.getKey(), team.getValue());
-                index -= 1;
-
-                continue;
-            } else {
-                team = createTeam(text.getKey(), text.getValue());
-            }
-
-            Integer score = text.getValue() != null ? text.getValue() : index;
-
-            obj.getScore(team.getValue()).setScore(score);
-            index -= 1;
-        }
+    private void setScore(String entry, int score) {
+        obj.getScore(entry).setScore(score);
+        scoreUpdates++;
+    }
 
-        updated.clear();
+    private void resetScore(String entry) {
+        scoreboard.resetScores(entry);
+        scoreResets++;
     }
 
     public void setTitle(String title) {
-        this.title = ChatColor.translateAlternateColorCodes('&', title);
+        title = ChatColor.translateAlternateColorCodes('&', title);
+        if (title.equals(this.title)) return;
+        this.title = title;
 
         if(obj != null) obj.setDisplayName(this.title);
     }
 
     public void reset() {
-        for (Team t : teams) t.unregister();
-        teams.clear();
-        scores.clear();
+        for (int i = 0; i < MAX_LINES; i++) {
+            if (sent[i] != null) resetScore(COLORS[i].toString());
+            if (slots[i] != null) slots[i].unregister();
+            lines[i] = sent[i] = prefixes[i] = suffixes[i] = null;
+            slots[i] = null;
+        }
     }
 
     public Scoreboard getScoreboard() {
@@ -234,20 +191,4 @@ public class SimpleScoreboard {
         for (Player p : players)
             p.setScoreboard(scoreboard);
     }
-
-    @SuppressWarnings("deprecation")
-    private OfflinePlayer getOfflinePlayerSkipLookup(String name) {
-        try {
-            if (craftOfflinePlayerConstructor == null) {
-                Class<?> craftOfflinePlayerClass = Class.forName(Bukkit.getServer().getClass().getName().replace("CraftServer", "CraftOfflinePlayer"));
-                craftOfflinePlayerConstructor = craftOfflinePlayerClass.getDeclaredConstructor(Bukkit.getServer().getClass(), GameProfile.class);
-                craftOfflinePlayerConstructor.setAccessible(true);
-            }
-            GameProfile gameProfile = new GameProfile(invalidUserUUID, name);
-            Object craftOfflinePlayer = craftOfflinePlayerConstructor.newInstance(Bukkit.getServer(), gameProfile);
-            return (OfflinePlayer) craftOfflinePlayer;
-        } catch (Throwable t) { // Fallback if fail
-            return Bukkit.getOfflinePlayer(name);
-        }
-    }
-}
\ No newline at end of file
+}
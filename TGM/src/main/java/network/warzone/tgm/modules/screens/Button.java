@@ -3,7 +3,6 @@ package network.warzone.tgm.modules.screens;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import lombok.Getter;
-import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.clickevent.ClickEvent;
 import network.warzone.tgm.modules.team.MatchTeam;
@@ -34,13 +33,13 @@ public class Button {
         this.clickEvents = clickEvents;
     }
 
-    public static Button deserialize(JsonObject jsonObject) {
+    public static Button deserialize(Match match, JsonObject jsonObject) {
         ItemStack item = ItemDeserializer.parse(jsonObject.get("item"));
         int slot = jsonObject.get("slot").getAsInt();
         List<MatchTeam> teams = new ArrayList<>();
         List<ClickEvent> events = new ArrayList<>();
         if (jsonObject.has("teams"))
-            teams.addAll(TGM.get().getModule(TeamManagerModule.class).getTeams(jsonObject.getAsJsonArray("teams")));
+            teams.addAll(match.getModule(TeamManagerModule.class).getTeams(jsonObject.getAsJsonArray("teams")));
         if (jsonObject.has("clickEvents")) {
             if (jsonObject.get("clickEvents").isJsonArray()) {
                 for (JsonElement jsonElement : jsonObject.getAsJsonArray("clickEvents")) {
@@ -51,7 +50,7 @@ public class Button {
                 events.add(ClickEvent.deserialize(jsonObject.getAsJsonObject("clickEvents")));
             }
         }
-        return new Button(TGM.get().getMatchManager().getMatch(), item, slot, teams, events);
+        return new Button(match, item, slot, teams, events);
     }
 
 }
@@ -41,7 +41,7 @@ public class Screen implements Listener {
         this.title = title;
         this.size = size;
         this.buttons = buttons;
-        TGM.registerEvents(this);
+        TGM.registerEvents(this, match);
     }
 
     public Inventory openInventory(Player player) {
@@ -53,7 +53,7 @@ public class ScreenManagerModule extends MatchModule {
             if (jsonObject.has("buttons") && jsonObject.get("buttons").isJsonArray()) {
                 for (JsonElement buttonElement : jsonObject.getAsJsonArray("buttons")) {
                     if (!buttonElement.isJsonObject()) continue;
-                    buttons.add(Button.deserialize(buttonElement.getAsJsonObject()));
+                    buttons.add(Button.deserialize(this.match, buttonElement.getAsJsonObject()));
                 }
             }
             Screen screen = new Screen(this.match, title, size, buttons);
@@ -0,0 +1,128 @@
+package network.warzone.tgm.modules.stats;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import network.warzone.tgm.modules.team.MatchTeam;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Every stat of a match in one place.
+ *
+ * Players get a dense index the first time a stat of theirs is changed,
+ * every stat is an int array indexed by it. Per team totals are kept next
+ * to it, so nothing is boxed on the way.
+ */
+public class MatchStats {
+
+    private static final Stat[] STATS = Stat.values();
+
+    private final Object2IntOpenHashMap<UUID> indexes = new Object2IntOpenHashMap<>();
+    private UUID[] uuids = new UUID[16];
+    private String[] names = new String[16];
+    private final int[][] values = new int[STATS.length][16]; // [stat][player]
+    private int size = 0;
+
+    private final Map<String, int[]> teams = new HashMap<>(); // team id to totals by stat
+
+    public MatchStats() {
+        indexes.defaultReturnValue(-1);
+    }
+
+    /**
+     * @return the index of the player, assigning a new one if needed.
+     */
+    public int index(Player player) {
+        int index = indexes.getInt(player.getUniqueId());
+        if (index < 0) {
+            index = size++;
+            if (index == uuids.length) {
+                uuids = Arrays.copyOf(uuids, index * 2);
+                names = Arrays.copyOf(names, index * 2);
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = Arrays.copyOf(values[i], index * 2);
+                }
+            }
+            uuids[index] = player.getUniqueId();
+            indexes.put(player.getUniqueId(), index);
+        }
+        names[index] = player.getName();
+        return index;
+    }
+
+    /**
+     * @return the index of the player, or -1 if none of their stats were set.
+     */
+    public int getIndex(UUID uuid) {
+        return indexes.getInt(uuid);
+    }
+
+    public int get(int index, Stat stat) {
+        return index < 0 ? 0 : values[stat.ordinal()][index];
+    }
+
+    public int get(Player player, Stat stat) {
+        return get(getIndex(player.getUniqueId()), stat);
+    }
+
+    /**
+     * @param team the team to count the change towards, or null
+     * @return the new value
+     */
+    public int add(Player player, MatchTeam team, Stat stat, int amount) {
+        int index = index(player);
+        values[stat.ordinal()][index] += amount;
+        if (team != null) getTotals(team)[stat.ordinal()] += amount;
+        return values[stat.ordinal()][index];
+    }
+
+    public void set(Player player, MatchTeam team, Stat stat, int value) {
+        int index = index(player);
+        int old = values[stat.ordinal()][index];
+        values[stat.ordinal()][index] = value;
+        if (team != null) getTotals(team)[stat.ordinal()] += value - old;
+    }
+
+    public int getTotal(MatchTeam team, Stat stat) {
+        int[] totals = teams.get(team.getId());
+        return totals == null ? 0 : totals[stat.ordinal()];
+    }
+
+    private int[] getTotals(MatchTeam team) {
+        int[] totals = teams.get(team.getId());
+        if (totals == null) {
+            totals = new int[STATS.length];
+            teams.put(team.getId(), totals);
+        }
+        return totals;
+    }
+
+    /**
+     * @return the amount of players with an index, indexes range from 0 to size - 1.
+     */
+    public int size() {
+        return size;
+    }
+
+    public UUID getUuid(int index) {
+        return uuids[index];
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public void clear() {
+        indexes.clear();
+        teams.clear();
+        for (int[] stat : values) {
+            Arrays.fill(stat, 0);
+        }
+        Arrays.fill(uuids, null);
+        Arrays.fill(names, null);
+        size = 0;
+    }
+}
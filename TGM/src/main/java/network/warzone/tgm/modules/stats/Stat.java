@@ -0,0 +1,14 @@
+package network.warzone.tgm.modules.stats;
+
+/**
+ * A counter kept for every player in {@link MatchStats}.
+ */
+public enum Stat {
+    KILLS,
+    DEATHS,
+    KILLSTREAK, // kills since the last death
+    BEST_KILLSTREAK,
+    OBJECTIVES, // wools, monuments and the like
+    XP,
+    LIVES
+}
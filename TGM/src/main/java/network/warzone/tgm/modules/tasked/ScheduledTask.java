@@ -0,0 +1,65 @@
+package network.warzone.tgm.modules.tasked;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+
+/**
+ * A repeating task run by the {@link TaskedModuleManager} of a match.
+ */
+@Getter
+public class ScheduledTask {
+    private final String name;
+    private final TaskPriority priority;
+    private final int period;
+    private final Runnable runnable;
+
+    private boolean cancelled = false;
+
+    private long runs = 0;
+    private long totalNanos = 0;
+    private long deferrals = 0;
+    private int deferredFor = 0; // consecutive ticks the task has been waiting
+
+    long nextRun;
+
+    ScheduledTask(String name, TaskPriority priority, int period, Runnable runnable, long nextRun) {
+        this.name = name;
+        this.priority = priority;
+        this.period = Math.max(1, period);
+        this.runnable = runnable;
+        this.nextRun = nextRun;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    void run(long tick) {
+        long start = System.nanoTime();
+        try {
+            runnable.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        totalNanos += System.nanoTime() - start;
+        runs++;
+        deferredFor = 0;
+        nextRun = tick + period;
+    }
+
+    void defer() {
+        deferrals++;
+        deferredFor++;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", name);
+        json.addProperty("priority", priority.name().toLowerCase());
+        json.addProperty("period", period);
+        json.addProperty("runs", runs);
+        json.addProperty("totalNanos", totalNanos);
+        json.addProperty("deferrals", deferrals);
+        return json;
+    }
+}
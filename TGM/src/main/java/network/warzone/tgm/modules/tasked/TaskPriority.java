@@ -0,0 +1,16 @@
+package network.warzone.tgm.modules.tasked;
+
+public enum TaskPriority {
+    /**
+     * Always runs on time, used by anything that keeps track of match time.
+     */
+    CRITICAL,
+    /**
+     * Runs as long as the tick budget allows it.
+     */
+    NORMAL,
+    /**
+     * Cosmetic work which is deferred first when the server is lagging.
+     */
+    LOW
+}
@@ -2,4 +2,8 @@ package network.warzone.tgm.modules.tasked;
 
 public interface TaskedModule {
     void tick();
+
+    default TaskPriority getTaskPriority() {
+        return TaskPriority.NORMAL;
+    }
 }
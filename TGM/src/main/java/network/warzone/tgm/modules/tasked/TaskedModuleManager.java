@@ -1,37 +1,154 @@
 package network.warzone.tgm.modules.tasked;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import lombok.Getter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import org.bukkit.Bukkit;
 
-import java.util.Collection;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.*;
 
+/**
+ * Runs every repeating task of a match from a single server task.
+ *
+ * Tasks run by priority within a per tick time budget. Critical tasks
+ * always run, normal tasks wait for the next tick once the budget is
+ * spent and low priority tasks are also held back while the server is
+ * lagging. A task is never held back for longer than max-deferral ticks.
+ *
+ * One-off timeouts go on a {@link TimerWheel} instead, which is
+ * advanced before any task runs and is never held back.
+ */
+@Getter
 public class TaskedModuleManager extends MatchModule {
 
-    private Collection<TaskedModule> taskedModules = new ConcurrentLinkedQueue<>();
+    private final Map<TaskPriority, List<ScheduledTask>> tasks = new EnumMap<>(TaskPriority.class);
+    private final List<ScheduledTask> pendingTasks = new ArrayList<>();
+    private final TimerWheel timerWheel = new TimerWheel();
 
-    private int runnableId;
+    private long budgetNanos;
+    private long deferAboveNanos;
+    private int maxDeferral;
+
+    private long currentTick = 0;
+    private long lastTickTime = 0;
+    private long averageTickNanos = 50000000;
+
+    private int runnableId = -1;
+
+    public TaskedModuleManager() {
+        for (TaskPriority priority : TaskPriority.values()) {
+            tasks.put(priority, new ArrayList<>());
+        }
+    }
 
     @Override
     public void load(Match match) {
-        match.getModules().stream().filter(module -> module instanceof TaskedModule).forEach(module -> taskedModules.add((TaskedModule) module)); // Cache values so it doesn't constantly search
+        budgetNanos = (long) (TGM.get().getConfig().getDouble("scheduler.tick-budget", 10) * 1000000);
+        deferAboveNanos = (long) (TGM.get().getConfig().getDouble("scheduler.defer-above-mspt", 55) * 1000000);
+        maxDeferral = TGM.get().getConfig().getInt("scheduler.max-deferral", 20);
 
-        runnableId = Bukkit.getScheduler().runTaskTimer(TGM.get(), () -> {
-            for (TaskedModule taskedModule : taskedModules) {
-                taskedModule.tick();
-            }
-        }, 1L, 1L).getTaskId();
+        match.getModules().stream().filter(module -> module instanceof TaskedModule).forEach(module -> addTaskedModule((TaskedModule) module));
+
+        runnableId = Bukkit.getScheduler().runTaskTimer(TGM.get(), this::tick, 1L, 1L).getTaskId();
     }
 
     @Override
     public void unload() {
         Bukkit.getScheduler().cancelTask(runnableId);
-        taskedModules.clear();
+        tasks.values().forEach(list -> list.forEach(ScheduledTask::cancel));
+        pendingTasks.forEach(ScheduledTask::cancel);
+        timerWheel.clear();
     }
 
     public void addTaskedModule(TaskedModule taskedModule) {
-        this.taskedModules.add(taskedModule);
+        schedule(taskedModule.getClass().getSimpleName(), taskedModule.getTaskPriority(), 1, 1, taskedModule::tick);
+    }
+
+    /**
+     * Schedules a repeating task, the same way {@code runTaskTimer} would.
+     *
+     * @param delay ticks before the first run
+     * @param period ticks between runs
+     */
+    public ScheduledTask schedule(String name, TaskPriority priority, int delay, int period, Runnable runnable) {
+        ScheduledTask task = new ScheduledTask(name, priority, period, runnable, currentTick + Math.max(1, delay));
+        pendingTasks.add(task);
+        return task;
+    }
+
+    /**
+     * Runs the callback once after the given amount of ticks.
+     */
+    public Timeout scheduleTimeout(long delay, Runnable callback) {
+        return timerWheel.schedule(delay, callback);
+    }
+
+    private void tick() {
+        currentTick++;
+
+        long now = System.nanoTime();
+        if (lastTickTime != 0) averageTickNanos = (averageTickNanos * 19 + (now - lastTickTime)) / 20;
+        lastTickTime = now;
+
+        timerWheel.advance();
+
+        // tasks scheduled from within a task are picked up on the next tick.
+        for (ScheduledTask task : pendingTasks) {
+            tasks.get(task.getPriority()).add(task);
+        }
+        pendingTasks.clear();
+
+        boolean lagging = averageTickNanos > deferAboveNanos;
+        long deadline = now + budgetNanos;
+        for (Map.Entry<TaskPriority, List<ScheduledTask>> entry : tasks.entrySet()) {
+            TaskPriority priority = entry.getKey();
+            Iterator<ScheduledTask> iterator = entry.getValue().iterator();
+            while (iterator.hasNext()) {
+                ScheduledTask task = iterator.next();
+                if (task.isCancelled()) {
+                    iterator.remove();
+                    continue;
+                }
+                if (task.nextRun > currentTick) continue;
+
+                boolean overBudget = System.nanoTime() > deadline || (priority == TaskPriority.LOW && lagging);
+                if (priority != TaskPriority.CRITICAL && overBudget && task.getDeferredFor() < maxDeferral) {
+                    task.defer();
+                    continue;
+                }
+                task.run(currentTick);
+            }
+        }
+    }
+
+    /**
+     * @return every task which is still scheduled.
+     */
+    public List<ScheduledTask> getScheduledTasks() {
+        List<ScheduledTask> scheduled = new ArrayList<>(pendingTasks);
+        tasks.values().forEach(scheduled::addAll);
+        scheduled.removeIf(ScheduledTask::isCancelled);
+        return scheduled;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("averageTickNanos", averageTickNanos);
+        JsonObject timeouts = new JsonObject();
+        timeouts.addProperty("scheduled", timerWheel.getSize());
+        timeouts.addProperty("expired", timerWheel.getExpired());
+        json.add("timeouts", timeouts);
+        // an array, several tasks can share a name.
+        JsonArray tasksJson = new JsonArray();
+        for (List<ScheduledTask> list : tasks.values()) {
+            for (ScheduledTask task : list) {
+                tasksJson.add(task.toJson());
+            }
+        }
+        json.add("tasks", tasksJson);
+        return json;
     }
 }
@@ -0,0 +1,41 @@
+package network.warzone.tgm.modules.tasked;
+
+import lombok.Getter;
+
+/**
+ * A one-off callback scheduled on a {@link TimerWheel}.
+ */
+@Getter
+public class Timeout {
+    private final long deadline;
+    private final Runnable callback;
+
+    private boolean cancelled = false;
+    private boolean expired = false;
+
+    Timeout(long deadline, Runnable callback) {
+        this.deadline = deadline;
+        this.callback = callback;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if the timeout has neither fired nor been cancelled yet.
+     */
+    public boolean isPending() {
+        return !cancelled && !expired;
+    }
+
+    void expire() {
+        if (!isPending()) return;
+        expired = true;
+        try {
+            callback.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
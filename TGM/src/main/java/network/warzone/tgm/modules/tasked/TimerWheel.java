@@ -0,0 +1,132 @@
+package network.warzone.tgm.modules.tasked;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timer wheel for one-off timeouts measured in ticks.
+ *
+ * The first level has a slot for each of the next 256 ticks, every
+ * level above it covers 64 times the span of the one below. Timeouts
+ * are inserted and cancelled in constant time and only the slot of the
+ * current tick is looked at, so an empty wheel costs next to nothing.
+ * Slots of the higher levels are moved down a level whenever the level
+ * below them wraps around.
+ */
+public class TimerWheel {
+
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final long MAX_DELAY = (1L << (ROOT_BITS + LEVEL_BITS * (LEVELS - 1))) - 1;
+
+    private final List<Timeout>[][] wheels;
+
+    @Getter private long currentTick = 0;
+    @Getter private int size = 0; // includes cancelled timeouts which haven't been reached yet
+    @Getter private long expired = 0;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel() {
+        wheels = new List[LEVELS][];
+        wheels[0] = new List[ROOT_SIZE];
+        for (int level = 1; level < LEVELS; level++) {
+            wheels[level] = new List[LEVEL_SIZE];
+        }
+    }
+
+    /**
+     * Runs the callback once, the given amount of ticks from now. Delays
+     * longer than the wheel can hold (about 38 days) are capped.
+     */
+    public Timeout schedule(long delay, Runnable callback) {
+        Timeout timeout = new Timeout(currentTick + Math.min(Math.max(1, delay), MAX_DELAY), callback);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the wheel forward by one tick and fires every timeout due on it.
+     */
+    public void advance() {
+        currentTick++;
+
+        int index = (int) (currentTick & (ROOT_SIZE - 1));
+        if (index == 0) {
+            int level = 1;
+            while (level < LEVELS && cascade(level) == 0) level++;
+        }
+
+        List<Timeout> slot = wheels[0][index];
+        if (slot == null) return;
+        wheels[0][index] = null;
+        for (Timeout timeout : slot) {
+            size--;
+            if (timeout.isCancelled()) continue;
+            expired++;
+            timeout.expire();
+        }
+    }
+
+    /**
+     * Cancels every timeout on the wheel.
+     */
+    public void clear() {
+        for (List<Timeout>[] wheel : wheels) {
+            for (int i = 0; i < wheel.length; i++) {
+                if (wheel[i] != null) wheel[i].forEach(Timeout::cancel);
+                wheel[i] = null;
+            }
+        }
+        size = 0;
+    }
+
+    private void insert(Timeout timeout) {
+        long delta = timeout.getDeadline() - currentTick;
+        int level = 0;
+        int shift = 0;
+        int slots = ROOT_SIZE;
+        long span = ROOT_SIZE;
+        while (delta >= span && level < LEVELS - 1) {
+            shift = level == 0 ? ROOT_BITS : shift + LEVEL_BITS;
+            span <<= LEVEL_BITS;
+            slots = LEVEL_SIZE;
+            level++;
+        }
+
+        int index = (int) ((timeout.getDeadline() >> shift) & (slots - 1));
+        List<Timeout> slot = wheels[level][index];
+        if (slot == null) {
+            slot = new ArrayList<>();
+            wheels[level][index] = slot;
+        }
+        slot.add(timeout);
+    }
+
+    /**
+     * Re-inserts the timeouts of the current slot of a level into the levels below it.
+     *
+     * @return the index of the slot which was cascaded
+     */
+    private int cascade(int level) {
+        int index = (int) ((currentTick >> (ROOT_BITS + LEVEL_BITS * (level - 1))) & (LEVEL_SIZE - 1));
+        List<Timeout> slot = wheels[level][index];
+        if (slot != null) {
+            wheels[level][index] = null;
+            for (Timeout timeout : slot) {
+                if (timeout.isCancelled()) {
+                    size--;
+                    continue;
+                }
+                insert(timeout);
+            }
+        }
+        return index;
+    }
+}
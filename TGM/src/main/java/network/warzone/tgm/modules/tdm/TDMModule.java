@@ -38,7 +38,7 @@ public class TDMModule extends MatchModule implements Listener {
     @Override
     public void load(Match match) {
         this.match = match;
-        teamManager = TGM.get().getModule(TeamManagerModule.class);
+        teamManager = match.getModule(TeamManagerModule.class);
 
         if (match.getMapContainer().getMapInfo().getJsonObject().has("tdm")) {
             JsonObject tdmJson = match.getMapContainer().getMapInfo().getJsonObject().get("tdm").getAsJsonObject();
@@ -47,10 +47,10 @@ public class TDMModule extends MatchModule implements Listener {
             }
         }
 
-        pointsModule = TGM.get().getModule(PointsModule.class);
-        pointsModule.addService(matchTeam -> TGM.get().getMatchManager().endMatch(matchTeam));
+        pointsModule = match.getModule(PointsModule.class);
+        pointsModule.addService(matchTeam -> TGM.get().getMatchManager().endMatch(match, matchTeam));
 
-        TGM.get().getModule(TimeModule.class).setTimeLimitService(this::getHighestPointsTeam);
+        match.getModule(TimeModule.class).setTimeLimitService(this::getHighestPointsTeam);
     }
 
     @Override
@@ -73,14 +73,14 @@ public class TDMModule extends MatchModule implements Listener {
             final Map.Entry<String, Integer> entry = highest;
             long amount = pointsModule.getPoints().entrySet().stream().filter(en -> entry.getValue().equals(en.getValue())).count();
             if (amount > 1) return null;
-            else return TGM.get().getModule(TeamManagerModule.class).getTeamById(entry.getKey());
+            else return match.getModule(TeamManagerModule.class).getTeamById(entry.getKey());
         }
         return null;
     }
 
     @EventHandler
     public void onScoreboardInit(ScoreboardInitEvent event) {
-        List<MatchTeam> teams = TGM.get().getModule(TeamManagerModule.class).getTeams();
+        List<MatchTeam> teams = match.getModule(TeamManagerModule.class).getTeams();
 
         SimpleScoreboard simpleScoreboard = event.getSimpleScoreboard();
 
@@ -106,11 +106,10 @@ public class TDMModule extends MatchModule implements Listener {
     }
 
     private void updateScoreboardTeamLine(MatchTeam matchTeam) {
-        for (SimpleScoreboard simpleScoreboard : TGM.get().getModule(ScoreboardManagerModule.class).getScoreboards().values()) {
+        for (SimpleScoreboard simpleScoreboard : match.getModule(ScoreboardManagerModule.class).getViews()) {
             int line = teamScoreboardLines.get(matchTeam.getId());
             simpleScoreboard.remove(line);
             simpleScoreboard.add(getTeamScoreLine(matchTeam), line);
-            simpleScoreboard.update();
         }
     }
 
@@ -12,6 +12,8 @@ import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.match.ModuleData;
 import network.warzone.tgm.match.ModuleLoadTime;
+import network.warzone.tgm.modules.damage.CombatModule;
+import network.warzone.tgm.modules.damage.DamageInfo;
 import network.warzone.tgm.user.PlayerContext;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -20,7 +22,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.util.ArrayList;
@@ -54,17 +55,15 @@ public class TeamManagerModule extends MatchModule implements Listener {
                     parsedTeam.isFriendlyFire()
             ));
         }
+        match.getModule(CombatModule.class).addStage(EventPriority.HIGH, this::onDamage);
     }
 
-    @EventHandler(priority = EventPriority.HIGH)
-    public void onDamage(EntityDamageByEntityEvent event) {
-        if (!(event.getEntity() instanceof Player) || !(event.getDamager() instanceof Player)) return;
-        Player player = (Player) event.getEntity();
-        Player damager = (Player) event.getDamager();
-        MatchTeam team = getTeam(player);
-        if (!team.isFriendlyFire() && team.equals(getTeam(damager))) {
-            event.setCancelled(true);
-            event.setDamage(0);
+    private void onDamage(DamageInfo damageInfo) {
+        if (damageInfo.getHurtPlayer() == null || !(damageInfo.getDamager() instanceof Player)) return;
+        MatchTeam team = damageInfo.getHurtTeam();
+        if (!team.isFriendlyFire() && team.equals(damageInfo.getDamagerTeam())) {
+            damageInfo.getEvent().setCancelled(true);
+            damageInfo.getEvent().setDamage(0);
         }
     }
 
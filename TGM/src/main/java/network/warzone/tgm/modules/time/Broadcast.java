@@ -2,6 +2,7 @@ package network.warzone.tgm.modules.time;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import network.warzone.tgm.match.Match;
 import network.warzone.tgm.util.Strings;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -15,6 +16,7 @@ import java.util.List;
 @AllArgsConstructor @Getter
 public class Broadcast {
 
+    private Match match;
     private String message;
     private List<String> commands;
 
@@ -32,7 +34,7 @@ public class Broadcast {
     }
 
     private void dispatch(int time) {
-        Bukkit.broadcastMessage(ChatColor.translateAlternateColorCodes('&', message).replace("%time%", String.valueOf(time)).replace("%time_formatted%", Strings.formatTime(time)));
+        match.broadcastMessage(ChatColor.translateAlternateColorCodes('&', message).replace("%time%", String.valueOf(time)).replace("%time_formatted%", Strings.formatTime(time)));
         commands.forEach(command -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command.replace("%time%", String.valueOf(time)).replace("%time_formatted%", Strings.formatTime(time))));
     }
 
@@ -6,15 +6,18 @@ import lombok.Getter;
 import lombok.Setter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.*;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamManagerModule;
-import org.bukkit.Bukkit;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @ModuleData(load = ModuleLoadTime.EARLIEST) @Getter
 public class TimeModule extends MatchModule {
+    private Match match;
     private long startedTimeStamp = 0;
     private long endedTimeStamp = 0;
 
@@ -27,10 +30,11 @@ public class TimeModule extends MatchModule {
     //@Getter private List<TimeLimitService> services = new ArrayList<>();
     @Setter private TimeLimitService timeLimitService;
 
-    private int taskID;
+    private ScheduledTask task;
 
     @Override
     public void load(Match match) {
+        this.match = match;
         if (match.getMapContainer().getMapInfo().getJsonObject().has("time")) {
             JsonObject timeObject = match.getMapContainer().getMapInfo().getJsonObject().get("time").getAsJsonObject();
             if (timeObject.has("limit")) {
@@ -52,7 +56,7 @@ public class TimeModule extends MatchModule {
                     int interval = broadcast.get("interval").getAsInt();
                     List<Integer> exclude = new ArrayList<>();
                     if (broadcast.has("exclude") && broadcast.get("exclude").isJsonArray()) broadcast.get("exclude").getAsJsonArray().forEach(jsonElement -> exclude.add(jsonElement.getAsInt()));
-                    broadcasts.add(new Broadcast(message, commands, interval, repeat, exclude));
+                    broadcasts.add(new Broadcast(match, message, commands, interval, repeat, exclude));
                 }
             }
         }
@@ -61,7 +65,7 @@ public class TimeModule extends MatchModule {
     @Override
     public void enable() {
         startedTimeStamp = System.currentTimeMillis();
-        taskID = Bukkit.getScheduler().runTaskTimer(TGM.get(), () -> {
+        task = match.getModule(TaskedModuleManager.class).schedule("TimeModule", TaskPriority.CRITICAL, 20, 20, () -> {
             int time = (int) getTimeElapsed();
             for (TimeSubscriber module : timeSubscribers) {
                 module.processSecond(time);
@@ -74,7 +78,7 @@ public class TimeModule extends MatchModule {
                     endMatch();
                 }
             }
-        }, 20, 20).getTaskId();
+        });
     }
 
     public void endMatch() {
@@ -82,20 +86,20 @@ public class TimeModule extends MatchModule {
         if (getTimeLimitService() != null) {
             winnerTeam = getTimeLimitService().getWinnerTeam();
         }
-        TGM.get().getMatchManager().endMatch(winnerTeam);
+        TGM.get().getMatchManager().endMatch(match, winnerTeam);
     }
 
     @Override
     public void disable() {
         endedTimeStamp = System.currentTimeMillis();
         setTimeLimited(false);
-        Bukkit.getScheduler().cancelTask(taskID);
+        if (task != null) task.cancel();
 
         broadcasts.clear();
     }
 
     public double getTimeElapsed() {
-        MatchStatus matchStatus = TGM.get().getMatchManager().getMatch().getMatchStatus();
+        MatchStatus matchStatus = match.getMatchStatus();
         if (matchStatus == MatchStatus.MID) {
             return (double) ((System.currentTimeMillis() - startedTimeStamp) / 1000);
         } else if (matchStatus == MatchStatus.POST) {
@@ -0,0 +1,140 @@
+package network.warzone.tgm.modules.visibility;
+
+import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import lombok.Getter;
+import network.warzone.tgm.TGM;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * Remembers which players are hidden from which, so only the pairs whose
+ * visibility actually changes are sent to the server.
+ *
+ * Every tracked player has an index, row i holds the players hidden from
+ * player i. A player that was just added doesn't have a known state yet,
+ * so its whole row and column are sent once.
+ */
+public class VisibilityMatrix {
+
+    private final VisibilityController visibilityController;
+    private final World world;
+
+    private final Object2IntOpenHashMap<UUID> indexes = new Object2IntOpenHashMap<>();
+    private final IntArrayList free = new IntArrayList();
+    private Player[] players = new Player[16];
+    private BitSet[] hidden = new BitSet[16];
+    private int size = 0; // highest index in use + 1
+
+    @Getter private long flips = 0;
+    @Getter private long flipsPerSecond = 0;
+    private long lastFlips = 0;
+
+    public VisibilityMatrix(VisibilityController visibilityController, World world) {
+        this.visibilityController = visibilityController;
+        this.world = world;
+        this.indexes.defaultReturnValue(-1);
+    }
+
+    /**
+     * Recomputes the row and column of the player.
+     */
+    public void refresh(Player player) {
+        int index = indexes.getInt(player.getUniqueId());
+        boolean known = index >= 0;
+        if (!known) index = add(player);
+
+        BitSet row = hidden[index];
+        for (int i = 0; i < size; i++) {
+            Player other = players[i];
+            if (other == null || i == index) continue;
+            if (!other.isOnline() || other.getWorld() != world) {
+                remove(other);
+                continue;
+            }
+
+            boolean hide = !visibilityController.canSee(other, player);
+            if (!known || hidden[i].get(index) != hide) {
+                hidden[i].set(index, hide);
+                apply(other, player, hide);
+            }
+
+            hide = !visibilityController.canSee(player, other);
+            if (!known || row.get(i) != hide) {
+                row.set(i, hide);
+                apply(player, other, hide);
+            }
+        }
+    }
+
+    private void apply(Player eyes, Player target, boolean hide) {
+        if (hide) {
+            eyes.hidePlayer(TGM.get(), target);
+        } else {
+            eyes.showPlayer(TGM.get(), target);
+        }
+        flips++;
+    }
+
+    private int add(Player player) {
+        int index;
+        if (free.isEmpty()) {
+            index = size++;
+            if (index == players.length) {
+                players = Arrays.copyOf(players, index * 2);
+                hidden = Arrays.copyOf(hidden, index * 2);
+            }
+        } else {
+            index = free.popInt();
+        }
+        players[index] = player;
+        hidden[index] = new BitSet();
+        indexes.put(player.getUniqueId(), index);
+        return index;
+    }
+
+    public void remove(Player player) {
+        int index = indexes.removeInt(player.getUniqueId());
+        if (index < 0) return;
+
+        players[index] = null;
+        hidden[index] = null;
+        for (int i = 0; i < size; i++) {
+            if (hidden[i] != null) hidden[i].clear(index);
+        }
+        free.add(index);
+    }
+
+    /**
+     * Called every second to update the flip rate.
+     */
+    public void sample() {
+        flipsPerSecond = flips - lastFlips;
+        lastFlips = flips;
+    }
+
+    public int getTracked() {
+        return indexes.size();
+    }
+
+    public void clear() {
+        indexes.clear();
+        free.clear();
+        players = new Player[16];
+        hidden = new BitSet[16];
+        size = 0;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("tracked", getTracked());
+        json.addProperty("flips", flips);
+        json.addProperty("flipsPerSecond", flipsPerSecond);
+        return json;
+    }
+}
@@ -1,30 +1,48 @@
 package network.warzone.tgm.modules.visibility;
 
 import lombok.Getter;
-import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
 import network.warzone.tgm.modules.SpectatorModule;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.player.event.TGMPlayerDeathEvent;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
+/**
+ * Shows and hides players based on the {@link VisibilityController}.
+ * Only the pairs whose visibility changed are updated, see {@link VisibilityMatrix}.
+ */
 @Getter
 public class VisibilityModule extends MatchModule implements Listener {
 
+    private Match match;
     private VisibilityController visibilityController;
+    private VisibilityMatrix visibilityMatrix;
+    private ScheduledTask sampleTask;
 
     @Override
     public void load(Match match) {
+        this.match = match;
         visibilityController = new VisibilityControllerImpl(match.getModule(SpectatorModule.class));
+        visibilityMatrix = new VisibilityMatrix(visibilityController, match.getWorld());
+        sampleTask = match.getModule(TaskedModuleManager.class).schedule("VisibilityModule metrics", TaskPriority.LOW, 20, 20, visibilityMatrix::sample);
         refreshAllPlayers();
     }
 
+    @Override
+    public void unload() {
+        sampleTask.cancel();
+        visibilityMatrix.clear();
+    }
+
     @EventHandler
     public void onDeath(TGMPlayerDeathEvent event) {
         refreshPlayer(event.getVictim());
@@ -41,6 +59,11 @@ public class VisibilityModule extends MatchModule implements Listener {
         refreshPlayer(event.getPlayer());
     }
 
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        visibilityMatrix.remove(event.getPlayer());
+    }
+
     @EventHandler
     public void onWorldSwitch(PlayerChangedWorldEvent event) {
         refreshPlayer(event.getPlayer());
@@ -50,23 +73,11 @@ public class VisibilityModule extends MatchModule implements Listener {
         if (player == null) return;
 
         // Update who can see who
-        Bukkit.getOnlinePlayers().stream().filter(looker -> !looker.equals(player)).forEach(looker -> {
-            if (visibilityController.canSee(looker, player)) {
-                looker.showPlayer(TGM.get(), player);
-            } else {
-                looker.hidePlayer(TGM.get(), player);
-            }
-
-            if (visibilityController.canSee(player, looker)) {
-                player.showPlayer(TGM.get(), looker);
-            } else {
-                player.hidePlayer(TGM.get(), looker);
-            }
-        });
+        visibilityMatrix.refresh(player);
     }
 
     public void refreshAllPlayers() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (Player player : match.getPlayers()) {
             refreshPlayer(player);
         }
     }
@@ -1,10 +1,12 @@
 package network.warzone.tgm.modules.wool;
 
 import lombok.Getter;
-import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchModule;
-import org.bukkit.Bukkit;
+import network.warzone.tgm.modules.tasked.ScheduledTask;
+import network.warzone.tgm.modules.tasked.TaskPriority;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.util.Materials;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.block.BlockState;
@@ -25,19 +27,19 @@ public class WoolChestModule extends MatchModule implements Listener {
 
     private final HashMap<InventoryHolder, ItemStack> woolChests = new HashMap<>();
 
-    private int runnableId = -1;
+    private ScheduledTask task;
 
     @Override
     public void load(Match match) {
-        runnableId = Bukkit.getScheduler().runTaskTimer(TGM.get(), () ->
+        task = match.getModule(TaskedModuleManager.class).schedule("WoolChestModule", TaskPriority.LOW, 1, 1, () ->
                 woolChests.forEach((inventory, color) ->
                         fillInventoryWithWool(inventory.getInventory(), color)
-                ), 1L, 1L).getTaskId();
+                ));
     }
 
     @Override
     public void unload() {
-        Bukkit.getScheduler().cancelTask(runnableId);
+        task.cancel();
         woolChests.clear();
     }
 
@@ -101,7 +103,7 @@ public class WoolChestModule extends MatchModule implements Listener {
     private void registerInventory(Inventory inventory) {
         for (ItemStack itemStack : inventory.getContents()) {
             if (itemStack != null && itemStack.getData() != null &&
-                    itemStack.getType().name().contains("WOOL")) {
+                    Materials.isWool(itemStack.getType())) {
                 woolChests.put(inventory.getHolder(), itemStack);
                 fillInventoryWithWool(inventory, itemStack);
                 return;
@@ -5,12 +5,14 @@ import lombok.Setter;
 import network.warzone.tgm.TGM;
 import network.warzone.tgm.match.Match;
 import network.warzone.tgm.match.MatchStatus;
+import network.warzone.tgm.modules.region.BlockEventRouterModule;
 import network.warzone.tgm.modules.region.Region;
 import network.warzone.tgm.modules.team.MatchTeam;
 import network.warzone.tgm.modules.team.TeamChangeEvent;
 import network.warzone.tgm.modules.team.TeamManagerModule;
 import network.warzone.tgm.modules.time.TimeModule;
 import network.warzone.tgm.player.event.TGMPlayerDeathEvent;
+import network.warzone.tgm.util.Materials;
 import network.warzone.tgm.util.itemstack.ItemUtils;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -51,40 +53,32 @@ public class WoolObjective implements Listener {
 
     @Setter private boolean completed = false;
 
-    public WoolObjective(String name, Material block, MatchTeam owner, Region podium, ChatColor color) {
+    public WoolObjective(Match match, String name, Material block, MatchTeam owner, Region podium, ChatColor color) {
         this.name = name;
         this.block = block;
-        this.match = TGM.get().getMatchManager().getMatch();
+        this.match = match;
         this.owner = owner;
         this.podium = podium;
         this.color = color;
     }
 
-    @EventHandler(priority = EventPriority.LOWEST)
-    public void onPlace(BlockPlaceEvent event) {
+    private void onPlace(BlockPlaceEvent event) {
         if (event.getBlockPlaced().getType() == block) {
-            if (!completed && podium.contains(event.getBlockPlaced().getLocation()) && owner.containsPlayer(event.getPlayer()))
+            if (!completed && owner.containsPlayer(event.getPlayer()))
                 event.setCancelled(true);
         } else {
-            if (podium.contains(event.getBlockPlaced().getLocation())) {
-                event.setCancelled(true);
-                event.getPlayer().sendMessage(ChatColor.RED + "You may only place " + ChatColor.YELLOW + ItemUtils.materialToString(block) + ChatColor.RED + " in the podium!");
-            }
+            event.setCancelled(true);
+            event.getPlayer().sendMessage(ChatColor.RED + "You may only place " + ChatColor.YELLOW + ItemUtils.materialToString(block) + ChatColor.RED + " in the podium!");
         }
     }
 
     /*
     Prevents filter messages
      */
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onPlaceHighest(BlockPlaceEvent event) {
+    private void onPlaceHighest(BlockPlaceEvent event) {
         if (event.getBlockPlaced().getType() == block) {
             if (!completed) {
 
-                if (!podium.contains(event.getBlockPlaced().getLocation())) {
-                    return;
-                }
-
                 if (!owner.containsPlayer(event.getPlayer())) {
                     return;
                 }
@@ -92,7 +86,7 @@ public class WoolObjective implements Listener {
                 event.setCancelled(false); //override filter
                 setCompleted(true);
 
-                TeamManagerModule teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+                TeamManagerModule teamManagerModule = match.getModule(TeamManagerModule.class);
                 MatchTeam matchTeam = teamManagerModule.getTeam(event.getPlayer());
 
                 for (WoolObjectiveService woolObjectiveService : services) {
@@ -105,14 +99,21 @@ public class WoolObjective implements Listener {
 
     @EventHandler
     public void onWoolCraft(CraftItemEvent event) {
-        if (event.getRecipe().getResult().getType().name().contains("WOOL")) { //TODO 1.13 Temp fix
+        if (Materials.isWool(event.getRecipe().getResult().getType())) { //TODO 1.13 Temp fix
             event.setCancelled(true);
             event.getWhoClicked().sendMessage(ChatColor.RED + "You are not allowed to craft wool.");
         }
     }
 
+    /**
+     * Placed blocks only reach the objective when they are inside its podium.
+     */
     public void load() {
-        TGM.registerEvents(this);
+        TGM.registerEvents(this, match);
+
+        BlockEventRouterModule router = match.getModule(BlockEventRouterModule.class);
+        router.register(BlockPlaceEvent.class, EventPriority.LOWEST, podium, this::onPlace);
+        router.register(BlockPlaceEvent.class, EventPriority.HIGHEST, podium, this::onPlaceHighest);
     }
 
     public void unload() {
@@ -130,9 +131,9 @@ public class WoolObjective implements Listener {
             return;
         }
         boolean firstTouch = touches.isEmpty();
-        touches.put(player.getUniqueId(), TGM.get().getModule(TimeModule.class).getTimeElapsed());
+        touches.put(player.getUniqueId(), match.getModule(TimeModule.class).getTimeElapsed());
 
-        TeamManagerModule teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+        TeamManagerModule teamManagerModule = match.getModule(TeamManagerModule.class);
         MatchTeam matchTeam = teamManagerModule.getTeam(player);
 
         for (WoolObjectiveService woolObjectiveService : services) {
@@ -143,7 +144,7 @@ public class WoolObjective implements Listener {
     @EventHandler
     public void onPickup(EntityPickupItemEvent event) {
         if (event.getEntity() instanceof Player) {
-            if (event.getItem() != null && event.getItem().getItemStack().getType().name().contains("WOOL")) { //TODO 1.13 Temp fix
+            if (event.getItem() != null && Materials.isWool(event.getItem().getItemStack().getType())) { //TODO 1.13 Temp fix
                 if (event.getItem().getItemStack().getType() == block) {
                     handleWoolPickup(((Player) event.getEntity()).getPlayer());
                 }
@@ -153,7 +154,7 @@ public class WoolObjective implements Listener {
 
     @EventHandler
     public void onCollect(InventoryClickEvent event) {
-        if (event.getCurrentItem() != null && event.getCurrentItem().getType().name().contains("WOOL")) { //TODO 1.13 Temp fix
+        if (event.getCurrentItem() != null && Materials.isWool(event.getCurrentItem().getType())) { //TODO 1.13 Temp fix
             if (event.getCurrentItem().getType() == block) {
                 handleWoolPickup((Player) event.getWhoClicked());
             }
@@ -176,7 +177,7 @@ public class WoolObjective implements Listener {
         }
         touches.remove(player.getUniqueId());
 
-        TeamManagerModule teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+        TeamManagerModule teamManagerModule = match.getModule(TeamManagerModule.class);
         MatchTeam matchTeam = teamManagerModule.getTeam(player);
 
         for (WoolObjectiveService woolObjectiveService : services) {
@@ -204,7 +205,7 @@ public class WoolObjective implements Listener {
 
     @EventHandler(priority = EventPriority.LOWEST)
     public void onQuit(PlayerQuitEvent event) {
-        if (TGM.get().getMatchManager().getMatch().getMatchStatus() == MatchStatus.POST) {
+        if (match.getMatchStatus() == MatchStatus.POST) {
             handleWoolDrop(event.getPlayer(), false);
         } else {
             handleWoolDrop(event.getPlayer());
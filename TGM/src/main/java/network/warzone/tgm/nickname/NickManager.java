@@ -97,7 +97,7 @@ public class NickManager {
         EntityPlayer entityPlayer = getEntityPlayer(player);
         updateOriginalName(player, newName);
 
-        TeamManagerModule teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+        TeamManagerModule teamManagerModule = TGM.get().getMatchManager().getMatch(player).getModule(TeamManagerModule.class);
         MatchTeam matchTeam = teamManagerModule.getTeam(player);
 
         // Modify the player's game profile.
@@ -191,14 +191,14 @@ public class NickManager {
 
     private void updatePlayerList(Player player) {
         PlayerContext context = TGM.get().getPlayerManager().getPlayerContext(player);
-        ScoreboardManagerModule scoreboardManagerModule = TGM.get().getModule(ScoreboardManagerModule.class);
-        TeamManagerModule teamManagerModule = TGM.get().getModule(TeamManagerModule.class);
+        ScoreboardManagerModule scoreboardManagerModule = TGM.get().getMatchManager().getMatch(player).getModule(ScoreboardManagerModule.class);
+        TeamManagerModule teamManagerModule = TGM.get().getMatchManager().getMatch(player).getModule(TeamManagerModule.class);
         scoreboardManagerModule.updatePlayerListName(context, teamManagerModule.getTeam(player));
     }
 
     private void updatePlayerTeam(Player player, MatchTeam team) {
         PlayerContext context = TGM.get().getPlayerManager().getPlayerContext(player);
-        ScoreboardManagerModule scoreboardManagerModule = TGM.get().getModule(ScoreboardManagerModule.class);
+        ScoreboardManagerModule scoreboardManagerModule = TGM.get().getMatchManager().getMatch(player).getModule(ScoreboardManagerModule.class);
         scoreboardManagerModule.updatePlayerTeam(context, team, team);
     }
 
@@ -2,7 +2,6 @@ package network.warzone.tgm.parser.item;
 
 import com.google.gson.*;
 import lombok.Getter;
-import lombok.Setter;
 import network.warzone.tgm.parser.item.meta.ItemMetaParser;
 import network.warzone.tgm.parser.item.meta.ItemMetaParserType;
 import network.warzone.tgm.parser.item.tag.ItemAmountParser;
@@ -17,16 +16,23 @@ import org.bukkit.inventory.meta.ItemMeta;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Created by Jorge on 09/14/2019
+ *
+ * Parsed items are cached across matches by the canonical form of their JSON,
+ * since the same maps are loaded again and again as they rotate. The cache
+ * hands out copies and is cleared whenever a parser is replaced or added.
  */
 public class ItemDeserializer implements JsonDeserializer<ItemStack> {
 
-    @Getter @Setter static ItemTagParser<Material> materialParser = new ItemMaterialParser();
-    @Getter @Setter static ItemTagParser<Integer> amountParser = new ItemAmountParser();
+    private static final int CACHE_SIZE = 1024;
+
+    @Getter static ItemTagParser<Material> materialParser = new ItemMaterialParser();
+    @Getter static ItemTagParser<Integer> amountParser = new ItemAmountParser();
 
     private static Map<ItemMetaParserType, ItemMetaParser> metaParsers = new HashMap<ItemMetaParserType, ItemMetaParser>() {{
         put(ItemMetaParserType.DISPLAY_NAME, ItemMetaParserType.DISPLAY_NAME.newDefaultInstance());
@@ -43,23 +49,69 @@ public class ItemDeserializer implements JsonDeserializer<ItemStack> {
 
     private static List<ItemMetaParser> extraParsers = new ArrayList<>();
 
+    private static final Map<String, ItemStack> cache = new LinkedHashMap<String, ItemStack>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ItemStack> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    @Getter private static long cacheHits = 0;
+    @Getter private static long cacheMisses = 0;
+
     public static ItemMetaParser getItemMetaParser(ItemMetaParserType type) {
         return metaParsers.get(type);
     }
 
+    public static void setMaterialParser(ItemTagParser<Material> materialParser) {
+        ItemDeserializer.materialParser = materialParser;
+        clearCache();
+    }
+
+    public static void setAmountParser(ItemTagParser<Integer> amountParser) {
+        ItemDeserializer.amountParser = amountParser;
+        clearCache();
+    }
+
     public static void setItemMetaParser(ItemMetaParserType type, ItemMetaParser parser) {
         metaParsers.put(type, parser);
+        clearCache();
     }
 
     public static void addExtraParser(ItemMetaParser itemMetaParser) {
         extraParsers.add(itemMetaParser);
+        clearCache();
     }
 
     public static void removeExtraParser(ItemMetaParser itemMetaParser) {
         extraParsers.remove(itemMetaParser);
+        clearCache();
+    }
+
+    public static synchronized void clearCache() {
+        cache.clear();
     }
 
     public static ItemStack parse(JsonElement jsonElement) {
+        String key = canonical(jsonElement);
+        synchronized (ItemDeserializer.class) {
+            ItemStack cached = cache.get(key);
+            if (cached != null) {
+                cacheHits++;
+                return cached.clone();
+            }
+            cacheMisses++;
+        }
+
+        ItemStack itemStack = build(jsonElement);
+        if (itemStack != null) {
+            synchronized (ItemDeserializer.class) {
+                cache.put(key, itemStack.clone());
+            }
+        }
+        return itemStack;
+    }
+
+    private static ItemStack build(JsonElement jsonElement) {
         if (jsonElement.isJsonPrimitive()) {
             Material material = Material.valueOf(Strings.getTechnicalName(jsonElement.getAsString()));
             if (material == null) return null;
@@ -77,6 +129,52 @@ public class ItemDeserializer implements JsonDeserializer<ItemStack> {
         }
     }
 
+    /**
+     * The JSON with the keys of every object sorted, so specs that only differ
+     * in key order share a cache entry.
+     */
+    private static String canonical(JsonElement jsonElement) {
+        StringBuilder builder = new StringBuilder();
+        appendCanonical(builder, jsonElement);
+        return builder.toString();
+    }
+
+    private static void appendCanonical(StringBuilder builder, JsonElement jsonElement) {
+        if (jsonElement.isJsonObject()) {
+            List<Map.Entry<String, JsonElement>> entries = new ArrayList<>(jsonElement.getAsJsonObject().entrySet());
+            entries.sort(Map.Entry.comparingByKey());
+            builder.append('{');
+            for (int i = 0; i < entries.size(); i++) {
+                if (i > 0) builder.append(',');
+                builder.append(new JsonPrimitive(entries.get(i).getKey())).append(':');
+                appendCanonical(builder, entries.get(i).getValue());
+            }
+            builder.append('}');
+        } else if (jsonElement.isJsonArray()) {
+            JsonArray jsonArray = jsonElement.getAsJsonArray();
+            builder.append('[');
+            for (int i = 0; i < jsonArray.size(); i++) {
+                if (i > 0) builder.append(',');
+                appendCanonical(builder, jsonArray.get(i));
+            }
+            builder.append(']');
+        } else {
+            builder.append(jsonElement);
+        }
+    }
+
+    public static synchronized int getCacheSize() {
+        return cache.size();
+    }
+
+    public static synchronized JsonObject cacheToJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("size", cache.size());
+        json.addProperty("hits", cacheHits);
+        json.addProperty("misses", cacheMisses);
+        return json;
+    }
+
     @Override
     public ItemStack deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
         return parse(json);
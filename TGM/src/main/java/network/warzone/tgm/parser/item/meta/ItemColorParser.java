@@ -1,6 +1,7 @@
 package network.warzone.tgm.parser.item.meta;
 
 import com.google.gson.JsonObject;
+import network.warzone.tgm.util.Materials;
 import network.warzone.tgm.util.itemstack.ItemUtils;
 import org.bukkit.Color;
 import org.bukkit.inventory.ItemStack;
@@ -18,7 +19,7 @@ public class ItemColorParser implements ItemMetaParser {
         if (!object.has("color")) return;
         String[] rgb = object.get("color").getAsString().replace(" ", "").split(",");
         Color color = Color.fromRGB(Integer.parseInt(rgb[0]), Integer.parseInt(rgb[1]), Integer.parseInt(rgb[2]));
-        if (itemStack.getType().name().contains("LEATHER_")) {
+        if (Materials.isLeatherArmor(itemStack.getType())) {
             LeatherArmorMeta leatherArmorMeta = (LeatherArmorMeta) meta;
             leatherArmorMeta.setColor(color);
             itemStack.setItemMeta(leatherArmorMeta);
@@ -0,0 +1,83 @@
+package network.warzone.tgm.profiling;
+
+import com.google.gson.JsonObject;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time accounting of a single event handler. Every invocation is
+ * counted, only sampled invocations are timed.
+ *
+ * Sampled durations are kept in power of two buckets so the p99
+ * can be estimated without storing every sample.
+ */
+public class HandlerTimings {
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[64];
+
+    public HandlerTimings() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void count() {
+        invocations.increment();
+    }
+
+    public void sample(long nanos) {
+        samples.increment();
+        sampledNanos.add(nanos);
+        buckets[Math.min(63, 64 - Long.numberOfLeadingZeros(nanos))].increment();
+    }
+
+    public void reset() {
+        invocations.reset();
+        samples.reset();
+        sampledNanos.reset();
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    /**
+     * @return the time spent in this handler, extrapolated from the samples.
+     */
+    public long getTotalNanos() {
+        long samples = this.samples.sum();
+        if (samples == 0) return 0;
+        return (long) (sampledNanos.sum() * ((double) invocations.sum() / samples));
+    }
+
+    /**
+     * @return the upper bound of the bucket holding the 99th percentile sample.
+     */
+    public long getP99Nanos() {
+        long samples = this.samples.sum();
+        if (samples == 0) return 0;
+
+        long threshold = (long) Math.ceil(samples * 0.99);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= threshold) return i == 0 ? 0 : 1L << i;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("invocations", getInvocations());
+        json.addProperty("samples", samples.sum());
+        json.addProperty("totalNanos", getTotalNanos());
+        json.addProperty("p99Nanos", getP99Nanos());
+        return json;
+    }
+}
@@ -0,0 +1,12 @@
+package network.warzone.tgm.profiling;
+
+public enum LifecyclePhase {
+    /**
+     * MatchLoadEvent and MatchPostLoadEvent dispatch
+     */
+    EVENTS,
+    LOAD,
+    ENABLE,
+    DISABLE,
+    UNLOAD
+}
@@ -0,0 +1,51 @@
+package network.warzone.tgm.profiling;
+
+import lombok.Getter;
+import lombok.Setter;
+import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.Match;
+import org.bukkit.event.Event;
+import org.bukkit.plugin.EventExecutor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opt-in time accounting of the handlers registered through
+ * {@link TGM#registerEvents}. Only listeners registered while
+ * profiling is enabled are instrumented, so turning it on takes
+ * effect for match listeners after the next cycle.
+ */
+@Getter
+public class ListenerProfiler {
+
+    @Setter private volatile boolean enabled;
+    private final int sampleRate;
+
+    // listeners that don't belong to a match.
+    private final ListenerTimings globalTimings = new ListenerTimings();
+
+    public ListenerProfiler() {
+        this.enabled = TGM.get().getConfig().getBoolean("profiling.listeners", false);
+        this.sampleRate = Math.max(1, TGM.get().getConfig().getInt("profiling.listener-sample-rate", 8));
+    }
+
+    public EventExecutor wrap(EventExecutor executor, Class<?> listenerClass, Class<? extends Event> eventClass, Match match) {
+        if (!enabled) return executor;
+
+        HandlerTimings timings = (match != null ? match.getTimings().getListenerTimings() : globalTimings).get(listenerClass, eventClass);
+        return (listener, event) -> {
+            timings.count();
+            if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+                executor.execute(listener, event);
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                executor.execute(listener, event);
+            } finally {
+                timings.sample(System.nanoTime() - start);
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package network.warzone.tgm.profiling;
+
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handler timings grouped by listener class and event type.
+ */
+public class ListenerTimings {
+
+    private final Map<String, Map<String, HandlerTimings>> listeners = new ConcurrentHashMap<>();
+
+    public HandlerTimings get(Class<?> listenerClass, Class<?> eventClass) {
+        return listeners.computeIfAbsent(getName(listenerClass), l -> new ConcurrentHashMap<>())
+                .computeIfAbsent(eventClass.getSimpleName(), e -> new HandlerTimings());
+    }
+
+    public Map<String, Map<String, HandlerTimings>> getListeners() {
+        return listeners;
+    }
+
+    public boolean isEmpty() {
+        return listeners.isEmpty();
+    }
+
+    /**
+     * Zeroes every handler's timings. The entries are kept, since registered
+     * handlers hold on to their timings and keep counting into them.
+     */
+    public void reset() {
+        listeners.values().forEach(events -> events.values().forEach(HandlerTimings::reset));
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        listeners.forEach((listener, events) -> {
+            JsonObject listenerJson = new JsonObject();
+            events.forEach((event, timings) -> listenerJson.add(event, timings.toJson()));
+            json.add(listener, listenerJson);
+        });
+        return json;
+    }
+
+    private static String getName(Class<?> listenerClass) {
+        // anonymous listeners are reported under the class declaring them.
+        while (listenerClass.isAnonymousClass() && listenerClass.getEnclosingClass() != null) {
+            listenerClass = listenerClass.getEnclosingClass();
+        }
+        return listenerClass.getSimpleName();
+    }
+}
@@ -0,0 +1,104 @@
+package network.warzone.tgm.profiling;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import network.warzone.tgm.TGM;
+import network.warzone.tgm.match.Match;
+import network.warzone.tgm.modules.damage.CombatModule;
+import network.warzone.tgm.modules.kit.KitLoaderModule;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.modules.visibility.VisibilityModule;
+import network.warzone.tgm.parser.item.ItemDeserializer;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Keeps a rolling history of lifecycle timings for every map
+ * and writes a JSON report for each match once it unloads.
+ */
+public class MatchProfiler {
+
+    private final Map<String, Deque<MatchTimings>> history = new HashMap<>();
+
+    private final int historySize;
+    private final boolean writeReports;
+    private final int maxReports;
+    private final File reportFolder;
+
+    public MatchProfiler() {
+        this.historySize = Math.max(1, TGM.get().getConfig().getInt("profiling.history", 10));
+        this.writeReports = TGM.get().getConfig().getBoolean("profiling.reports", false);
+        this.maxReports = Math.max(1, TGM.get().getConfig().getInt("profiling.max-reports", 50));
+        this.reportFolder = new File(TGM.get().getDataFolder(), "reports");
+    }
+
+    /**
+     * Adds a freshly created match to the history of its map.
+     */
+    public void track(Match match) {
+        Deque<MatchTimings> timings = history.computeIfAbsent(match.getMapContainer().getMapInfo().getName().toLowerCase(), m -> new ArrayDeque<>());
+        timings.addFirst(match.getTimings());
+        while (timings.size() > historySize) {
+            timings.removeLast();
+        }
+    }
+
+    /**
+     * Called once the match has unloaded and none of its timings will change anymore.
+     */
+    public void complete(Match match) {
+        if (writeReports) writeReport(match);
+    }
+
+    /**
+     * @return the tracked timings of the map, most recent first.
+     */
+    public List<MatchTimings> getHistory(String mapName) {
+        return new ArrayList<>(history.getOrDefault(mapName.toLowerCase(), new ArrayDeque<>()));
+    }
+
+    public File writeReport(Match match) {
+        // serialize on the main thread, the report is written off of it.
+        JsonObject json = match.getTimings().toJson();
+        TaskedModuleManager taskedModuleManager = match.getModule(TaskedModuleManager.class);
+        if (taskedModuleManager != null) json.add("scheduler", taskedModuleManager.toJson());
+        VisibilityModule visibilityModule = match.getModule(VisibilityModule.class);
+        if (visibilityModule != null && visibilityModule.getVisibilityMatrix() != null) json.add("visibility", visibilityModule.getVisibilityMatrix().toJson());
+        CombatModule combatModule = match.getModule(CombatModule.class);
+        if (combatModule != null) json.add("combat", combatModule.toJson());
+        KitLoaderModule kitLoaderModule = match.getModule(KitLoaderModule.class);
+        if (kitLoaderModule != null) json.add("kits", kitLoaderModule.toJson());
+        json.add("itemCache", ItemDeserializer.cacheToJson());
+        String report = new GsonBuilder().setPrettyPrinting().create().toJson(json);
+        File file = new File(reportFolder, match.getUuid().toString() + ".json");
+
+        Bukkit.getScheduler().runTaskAsynchronously(TGM.get(), () -> {
+            reportFolder.mkdirs();
+            try (Writer writer = new FileWriter(file)) {
+                writer.write(report);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            pruneReports();
+        });
+        return file;
+    }
+
+    /**
+     * Deletes the oldest reports beyond the maximum amount.
+     */
+    private void pruneReports() {
+        File[] reports = reportFolder.listFiles((dir, name) -> name.endsWith(".json"));
+        if (reports == null || reports.length <= maxReports) return;
+
+        Arrays.sort(reports, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < reports.length - maxReports; i++) {
+            if (!reports[i].delete()) TGM.get().getLogger().warning("Could not delete match report " + reports[i].getName());
+        }
+    }
+}
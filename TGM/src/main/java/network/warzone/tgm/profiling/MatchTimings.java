@@ -0,0 +1,65 @@
+package network.warzone.tgm.profiling;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import network.warzone.tgm.match.Match;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Nanosecond timings of every lifecycle call made on a single match,
+ * along with the handler timings of its listeners when they are profiled.
+ */
+@Getter
+public class MatchTimings {
+    private final UUID matchUuid;
+    private final String mapName;
+    private final long createdTime = System.currentTimeMillis();
+
+    private final Map<LifecyclePhase, Map<String, Long>> phases = new EnumMap<>(LifecyclePhase.class);
+    private final ListenerTimings listenerTimings = new ListenerTimings();
+
+    public MatchTimings(Match match) {
+        this.matchUuid = match.getUuid();
+        this.mapName = match.getMapContainer().getMapInfo().getName();
+    }
+
+    public void record(LifecyclePhase phase, String name, long nanos) {
+        phases.computeIfAbsent(phase, p -> new LinkedHashMap<>()).merge(name, nanos, Long::sum);
+    }
+
+    public Map<String, Long> getTimings(LifecyclePhase phase) {
+        return phases.getOrDefault(phase, new LinkedHashMap<>());
+    }
+
+    public long getTotal(LifecyclePhase phase) {
+        long total = 0;
+        for (long nanos : getTimings(phase).values()) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("match", matchUuid.toString());
+        json.addProperty("map", mapName);
+        json.addProperty("created", createdTime);
+
+        JsonObject lifecycle = new JsonObject();
+        for (Map.Entry<LifecyclePhase, Map<String, Long>> entry : phases.entrySet()) {
+            JsonObject phase = new JsonObject();
+            phase.addProperty("totalNanos", getTotal(entry.getKey()));
+            JsonObject calls = new JsonObject();
+            entry.getValue().forEach(calls::addProperty);
+            phase.add("calls", calls);
+            lifecycle.add(entry.getKey().name().toLowerCase(), phase);
+        }
+        json.add("lifecycle", lifecycle);
+        if (!listenerTimings.isEmpty()) json.add("listeners", listenerTimings.toJson());
+        return json;
+    }
+}
@@ -1,9 +1,11 @@
 package network.warzone.tgm.util;
 
-import network.warzone.tgm.util.itemstack.ItemFactory;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Created by Luke on 11/26/14.
  */
@@ -11,23 +13,27 @@ public enum ArmorType {
 
     HELMET, CHESTPLATE, LEGGINGS, BOOTS;
 
-    public static ArmorType getArmorType(ItemStack itemStack) {
-        Material material = itemStack.getType();
-
-        if (material.name().contains("_HELMET")) {
-            return ArmorType.HELMET;
-        } else if (material.name().contains("_CHESTPLATE")) {
-            return ArmorType.CHESTPLATE;
-        } else if (material.name().contains("_LEGGINGS")) {
-            return ArmorType.LEGGINGS;
-        } else if (material.name().contains("_BOOTS")) {
-            return ArmorType.BOOTS;
-        } else {
-            return null;
+    private static final Map<Material, ArmorType> armorTypes = new EnumMap<>(Material.class);
+
+    static {
+        for (Material material : Material.values()) {
+            if (material.name().contains("_HELMET")) {
+                armorTypes.put(material, ArmorType.HELMET);
+            } else if (material.name().contains("_CHESTPLATE")) {
+                armorTypes.put(material, ArmorType.CHESTPLATE);
+            } else if (material.name().contains("_LEGGINGS")) {
+                armorTypes.put(material, ArmorType.LEGGINGS);
+            } else if (material.name().contains("_BOOTS")) {
+                armorTypes.put(material, ArmorType.BOOTS);
+            }
         }
     }
 
+    public static ArmorType getArmorType(ItemStack itemStack) {
+        return getArmorType(itemStack.getType());
+    }
+
     public static ArmorType getArmorType(Material material) {
-        return getArmorType(ItemFactory.createItem(material));
+        return armorTypes.get(material);
     }
 }
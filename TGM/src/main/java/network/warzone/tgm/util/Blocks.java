@@ -2,18 +2,30 @@ package network.warzone.tgm.util;
 
 import org.bukkit.Material;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 public class Blocks {
 
     private static String[] visualChoices = {"WOOL", "CARPET", "TERRACOTTA", "STAINED_GLASS_PANE", "STAINED_GLASS"};
+    private static final Map<Material, String> visualMaterials = new EnumMap<>(Material.class);
+
+    static {
+        for (Material material : Material.values()) {
+            for (String visualChoice : visualChoices) {
+                if (material.name().contains(visualChoice)) {
+                    visualMaterials.put(material, visualChoice);
+                    break;
+                }
+            }
+        }
+    }
 
     public static boolean isVisualMaterial(Material material) {
-        String name = material.name();
-        for(String visualChoice : visualChoices) if(name.contains(visualChoice)) return true;
-        return false;
+        return visualMaterials.containsKey(material);
     }
 
     public static String whichVisualMaterial(Material material) {
-        for(String visualChoice : visualChoices) if(material.name().contains(visualChoice)) return visualChoice;
-        return "NONE";
+        return visualMaterials.getOrDefault(material, "NONE");
     }
 }
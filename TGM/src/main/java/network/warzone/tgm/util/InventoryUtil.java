@@ -53,30 +53,40 @@ public class InventoryUtil {
     }
 
     public static void setPlayerInventoryContents(Player player, Inventory inventory) {
+        ItemStack[] layout = getPlayerInventoryLayout(player);
+        for (int i = 0; i < layout.length; i++) {
+            if (layout[i] != null) inventory.setItem(i, layout[i]);
+        }
+
+        inventory.setItem(7, getHealthItem(player));
+        inventory.setItem(8, getPotionsItem(player.getActivePotionEffects()));
+    }
+
+    /**
+     * @return the player's items laid out the way they are shown in a 5 row preview:
+     * armor and off hand on the first row, the hotbar on the last. Slots 7 and 8
+     * are left for the health and potions items.
+     */
+    public static ItemStack[] getPlayerInventoryLayout(Player player) {
+        ItemStack[] layout = new ItemStack[5*9];
         ItemStack[] contents = player.getInventory().getContents();
         ItemStack[] armorContents = player.getInventory().getArmorContents();
         for (int i = 0; i < 36; i++) {
-            ItemStack itemStack = contents[i];
-            if (itemStack == null) continue;
-            if (i < 9) inventory.setItem(36 + i, itemStack);
-            else inventory.setItem(i, itemStack);
+            if (i < 9) layout[36 + i] = contents[i];
+            else layout[i] = contents[i];
         }
         for (int i = 0; i < 4; i++) {
-            ItemStack itemStack = armorContents[3 - i];
-            if (itemStack == null) continue;
-            inventory.setItem(i, itemStack);
+            layout[i] = armorContents[3 - i];
         }
-        inventory.setItem(4, player.getInventory().getItemInOffHand());
-
-        inventory.setItem(7, getHealthItem(player));
-        inventory.setItem(8, getPotionsItem(player.getActivePotionEffects()));
+        layout[4] = player.getInventory().getItemInOffHand();
+        return layout;
     }
 
     public static Color colorFromTime() {
         return Color.fromRGB(0);
     }
 
-    private static ItemStack getHealthItem(Player player) {
+    public static ItemStack getHealthItem(Player player) {
         return ItemFactory.createItem(Material.APPLE, ChatColor.RED + "Player health", Arrays.asList(
                 ChatColor.GRAY + "Health: " + ChatColor.WHITE + ((int) player.getHealth()) + " / " + ((int) player.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue()),
                 ChatColor.GRAY + "Food: " + ChatColor.WHITE + player.getFoodLevel(),
@@ -84,7 +94,7 @@ public class InventoryUtil {
         ));
     }
 
-    private static ItemStack getPotionsItem(Collection<PotionEffect> potionEffects) {
+    public static ItemStack getPotionsItem(Collection<PotionEffect> potionEffects) {
         if (potionEffects == null || potionEffects.isEmpty()) {
             ItemStack itemStack = ItemFactory.createItem(Material.GLASS_BOTTLE, ChatColor.AQUA + "Active potions effects");
             ItemMeta meta = itemStack.getItemMeta();
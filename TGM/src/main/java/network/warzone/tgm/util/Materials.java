@@ -0,0 +1,37 @@
+package network.warzone.tgm.util;
+
+import org.bukkit.Material;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Material categories computed once from the material names, so checking
+ * whether a material belongs to one is a set lookup instead of string work.
+ */
+public class Materials {
+
+    public static final Set<Material> WOOLS = matching(name -> name.contains("WOOL"));
+    public static final Set<Material> LEATHER_ARMOR = matching(name -> name.contains("LEATHER_"));
+
+    public static boolean isWool(Material material) {
+        return WOOLS.contains(material);
+    }
+
+    public static boolean isLeatherArmor(Material material) {
+        return LEATHER_ARMOR.contains(material);
+    }
+
+    /**
+     * @return an unmodifiable set of every material whose name matches
+     */
+    public static Set<Material> matching(Predicate<String> predicate) {
+        EnumSet<Material> materials = EnumSet.noneOf(Material.class);
+        for (Material material : Material.values()) {
+            if (predicate.test(material.name())) materials.add(material);
+        }
+        return Collections.unmodifiableSet(materials);
+    }
+}
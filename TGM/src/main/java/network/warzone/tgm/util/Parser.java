@@ -9,8 +9,8 @@ import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.util.Vector;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 
 public class Parser {
 
@@ -71,8 +71,8 @@ public class Parser {
     /**
      * returns null if all materials are allowed
      */
-    public static List<Material> getMaterialsFromElement(JsonElement element) {
-        List<Material> materials = new ArrayList<>();
+    public static Set<Material> getMaterialsFromElement(JsonElement element) {
+        Set<Material> materials = EnumSet.noneOf(Material.class);
 
         if (element.isJsonPrimitive()) {
             if (element.getAsString().equalsIgnoreCase("all")) {
@@ -1,38 +1,39 @@
 package network.warzone.tgm.util.menu;
 
-import network.warzone.tgm.TGM;
 import network.warzone.tgm.modules.kit.classes.GameClassModule;
 import org.bukkit.ChatColor;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Created by yikes on 09/27/19
  */
 public class ClassMenu extends Menu {
 
-    private static ClassMenu classMenu;
+    private static final Map<GameClassModule, ClassMenu> classMenus = new HashMap<>();
 
     private ClassMenu(String name, int slots) {
         super(name, slots);
     }
 
-    public static ClassMenu getClassMenu() {
-        if (classMenu == null) {
-            classMenu = new ClassMenu(ChatColor.UNDERLINE + "Classes!", 27);
-            classMenu.setup();
-        }
-        return classMenu;
+    public static ClassMenu getClassMenu(GameClassModule gameClassModule) {
+        return classMenus.computeIfAbsent(gameClassModule, module -> {
+            ClassMenu classMenu = new ClassMenu(ChatColor.UNDERLINE + "Classes!", 27);
+            classMenu.setup(module);
+            return classMenu;
+        });
     }
 
-    public static void destroyInstance() {
-        classMenu = null;
+    public static void destroyInstance(GameClassModule gameClassModule) {
+        ClassMenu classMenu = classMenus.remove(gameClassModule);
+        if (classMenu != null) classMenu.disable();
     }
 
-    // it can be assumed the current match is one that uses classes, due to when this is called
     @SuppressWarnings("unchecked")
-    private void setup() {
-        GameClassModule gameClassModule = TGM.get().getModule(GameClassModule.class);
+    private void setup(GameClassModule gameClassModule) {
         int start = 0;
         for (GameClassModule.GameClassStore gameClassStore : GameClassModule.GameClassStore.values()) {
             if (!gameClassModule.classSetHasInstance(gameClassStore.getHostGameClass())) continue;
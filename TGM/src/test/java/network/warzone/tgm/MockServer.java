@@ -0,0 +1,46 @@
+package network.warzone.tgm;
+
+import network.warzone.tgm.match.MatchEventRouter;
+import network.warzone.tgm.match.MatchManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * A mocked server and plugin for tests of modules that reach for Bukkit or
+ * TGM statically. Both are installed once, tests stub whatever else they
+ * need on the returned server.
+ */
+public class MockServer {
+
+    public static Server get() {
+        // modules log through the server, menus and items need an inventory and an item factory.
+        if (Bukkit.getServer() == null) {
+            Server server = mock(Server.class);
+            ItemFactory itemFactory = mock(ItemFactory.class);
+            when(server.getLogger()).thenReturn(Logger.getLogger("TGM"));
+            when(server.getItemFactory()).thenReturn(itemFactory);
+            when(server.createInventory(any(), anyInt(), anyString())).thenAnswer(invocation -> mock(Inventory.class));
+            when(itemFactory.getItemMeta(any(Material.class))).thenAnswer(invocation -> mock(LeatherArmorMeta.class));
+            Bukkit.setServer(server);
+        }
+        // menus register their listeners through the plugin, modules read its config.
+        if (TGM.get() == null) {
+            TGM tgm = mock(TGM.class);
+            MatchManager matchManager = mock(MatchManager.class);
+            when(tgm.getMatchManager()).thenReturn(matchManager);
+            when(tgm.getConfig()).thenReturn(new YamlConfiguration());
+            when(matchManager.getEventRouter()).thenReturn(mock(MatchEventRouter.class));
+            TGM.instance = tgm;
+        }
+        return Bukkit.getServer();
+    }
+}
@@ -0,0 +1,239 @@
+package network.warzone.tgm.modules.damage;
+
+import net.md_5.bungee.api.ChatMessageType;
+import network.warzone.tgm.MockServer;
+import network.warzone.tgm.map.MapContainer;
+import network.warzone.tgm.map.MapInfo;
+import network.warzone.tgm.match.Match;
+import network.warzone.tgm.match.MatchStatus;
+import network.warzone.tgm.modules.EntityDamageModule;
+import network.warzone.tgm.modules.SpectatorModule;
+import network.warzone.tgm.modules.death.DeathModule;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.modules.team.MatchTeam;
+import network.warzone.tgm.modules.team.TeamManagerModule;
+import network.warzone.tgm.player.event.TGMPlayerDeathEvent;
+import network.warzone.tgm.user.PlayerContext;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.GameMode;
+import org.bukkit.Material;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.PluginManager;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives damage events through the stages the team, spectator, death and
+ * entity damage modules register, loaded in the order of the match manifest.
+ */
+public class CombatModuleTest {
+
+    private PluginManager pluginManager;
+
+    private CombatModule combatModule;
+    private DeathModule deathModule;
+    private DamageInfo damageInfo; // as seen by the last stage
+
+    private MatchTeam red, blue, green, spectators;
+
+    @BeforeClass
+    public static void setUpServer() {
+        MockServer.get();
+    }
+
+    @Before
+    public void setUp() {
+        pluginManager = mock(PluginManager.class);
+        when(Bukkit.getServer().getPluginManager()).thenReturn(pluginManager);
+
+        MapInfo mapInfo = mock(MapInfo.class);
+        MapContainer mapContainer = mock(MapContainer.class);
+        when(mapInfo.getTeams()).thenReturn(Collections.emptyList());
+        when(mapContainer.getMapInfo()).thenReturn(mapInfo);
+
+        Match match = mock(Match.class);
+        when(match.getMapContainer()).thenReturn(mapContainer);
+        when(match.getMatchStatus()).thenReturn(MatchStatus.MID);
+
+        TeamManagerModule teamManagerModule = new TeamManagerModule();
+        combatModule = new CombatModule();
+        SpectatorModule spectatorModule = new SpectatorModule();
+        deathModule = new DeathModule();
+        EntityDamageModule entityDamageModule = new EntityDamageModule();
+        when(match.getModule(TeamManagerModule.class)).thenReturn(teamManagerModule);
+        when(match.getModule(CombatModule.class)).thenReturn(combatModule);
+        when(match.getModule(TaskedModuleManager.class)).thenReturn(mock(TaskedModuleManager.class));
+
+        teamManagerModule.load(match);
+        red = new MatchTeam("red", "Red", ChatColor.RED, GameMode.SURVIVAL, false, 16, 0, false);
+        blue = new MatchTeam("blue", "Blue", ChatColor.BLUE, GameMode.SURVIVAL, false, 16, 0, false);
+        green = new MatchTeam("green", "Green", ChatColor.GREEN, GameMode.SURVIVAL, false, 16, 0, true);
+        teamManagerModule.addTeam(red);
+        teamManagerModule.addTeam(blue);
+        teamManagerModule.addTeam(green);
+        spectators = teamManagerModule.getSpectators();
+
+        combatModule.load(match);
+        spectatorModule.load(match);
+        deathModule.load(match);
+        entityDamageModule.load(match);
+        combatModule.addStage(EventPriority.HIGHEST, damageInfo -> this.damageInfo = damageInfo);
+    }
+
+    @Test
+    public void friendlyFireIsCancelled() {
+        Player attacker = player("Attacker", red);
+        Player hurt = player("Hurt", red);
+
+        EntityDamageByEntityEvent event = damage(attacker, hurt, EntityDamageEvent.DamageCause.ENTITY_ATTACK, 4);
+        assertTrue(event.isCancelled());
+        assertEquals(0, event.getDamage(), 0);
+        assertSame(red, damageInfo.getHurtTeam());
+        assertSame(red, damageInfo.getDamagerTeam());
+
+        // teams with friendly fire and hits across teams go through.
+        event = damage(player("Attacker", green), player("Hurt", green), EntityDamageEvent.DamageCause.ENTITY_ATTACK, 4);
+        assertFalse(event.isCancelled());
+        assertEquals(4, event.getDamage(), 0);
+
+        event = damage(player("Attacker", blue), hurt, EntityDamageEvent.DamageCause.ENTITY_ATTACK, 4);
+        assertFalse(event.isCancelled());
+        assertEquals(4, event.getDamage(), 0);
+    }
+
+    @Test
+    public void spectatorsCantHitOrBeHit() {
+        Player spectator = player("Spectator", spectators);
+        Player hurt = player("Hurt", red);
+
+        // a lethal hit from a spectator neither kills nor credits them.
+        EntityDamageByEntityEvent event = damage(spectator, hurt, EntityDamageEvent.DamageCause.ENTITY_ATTACK, 40);
+        assertTrue(event.isCancelled());
+        assertSame(spectators, damageInfo.getDamagerTeam());
+        assertNull(deathModule.getPlayer(hurt).killer);
+        verify(pluginManager, never()).callEvent(any(Event.class));
+
+        event = damage(player("Attacker", blue), spectator, EntityDamageEvent.DamageCause.ENTITY_ATTACK, 4);
+        assertTrue(event.isCancelled());
+        assertSame(spectators, damageInfo.getHurtTeam());
+    }
+
+    @Test
+    public void projectileIsCreditedToShooter() {
+        Player shooter = player("Shooter", blue);
+        Player hurt = player("Hurt", red);
+        Arrow arrow = mock(Arrow.class);
+        when(arrow.getShooter()).thenReturn(shooter);
+
+        EntityDamageByEntityEvent event = damage(arrow, hurt, EntityDamageEvent.DamageCause.PROJECTILE, 5);
+        assertFalse(event.isCancelled());
+        assertEquals(5, event.getDamage(), 0);
+        assertSame(arrow, damageInfo.getDamager());
+        assertSame(arrow, damageInfo.getProjectile());
+        assertSame(shooter, damageInfo.getDamagerPlayer());
+        assertSame(blue, damageInfo.getDamagerTeam());
+
+        assertEquals(1, actionBars(shooter));
+        assertSame(shooter, deathModule.getPlayer(hurt).killer);
+        assertSame(blue, deathModule.getPlayer(hurt).killerTeam);
+        assertEquals(Material.BOW, deathModule.getPlayer(hurt).item.getType());
+
+        // arrows of a team mate aren't friendly fire, the listener only ever looked at direct hits.
+        event = damage(arrow, player("Team mate", blue), EntityDamageEvent.DamageCause.PROJECTILE, 5);
+        assertFalse(event.isCancelled());
+        assertEquals(2, actionBars(shooter));
+    }
+
+    @Test
+    public void lethalHitKills() {
+        Player attacker = player("Attacker", blue);
+        Player hurt = player("Hurt", red);
+
+        EntityDamageByEntityEvent event = damage(attacker, hurt, EntityDamageEvent.DamageCause.ENTITY_ATTACK, 25);
+        assertFalse(event.isCancelled());
+        assertEquals(0, event.getDamage(), 0);
+        assertFalse(damageInfo.isLethal()); // the death stage took the damage away
+
+        ArgumentCaptor<Event> death = ArgumentCaptor.forClass(Event.class);
+        verify(pluginManager).callEvent(death.capture());
+        TGMPlayerDeathEvent deathEvent = (TGMPlayerDeathEvent) death.getValue();
+        assertSame(hurt, deathEvent.getVictim());
+        assertSame(attacker, deathEvent.getKiller());
+        assertSame(attacker.getInventory().getItemInMainHand(), deathEvent.getMurderWeapon());
+        assertEquals(EntityDamageEvent.DamageCause.ENTITY_ATTACK, deathEvent.getCause());
+
+        // the dead can't be hurt again until they respawn.
+        event = damage(attacker, hurt, EntityDamageEvent.DamageCause.ENTITY_ATTACK, 25);
+        assertTrue(event.isCancelled());
+        verify(pluginManager, times(1)).callEvent(any(Event.class));
+    }
+
+    @Test
+    public void eventsAreCountedOnce() {
+        damage(player("Attacker", blue), player("Hurt", red), EntityDamageEvent.DamageCause.ENTITY_ATTACK, 4);
+        damage(player("Attacker", blue), player("Hurt", red), EntityDamageEvent.DamageCause.ENTITY_ATTACK, 4);
+        assertEquals(2, combatModule.getEvents());
+    }
+
+    /**
+     * Calls the pipeline like the server calls its listeners, in order of priority.
+     */
+    private EntityDamageByEntityEvent damage(Entity damager, Entity hurt, EntityDamageEvent.DamageCause cause, double damage) {
+        EntityDamageByEntityEvent event = new EntityDamageByEntityEvent(damager, hurt, cause, damage);
+        combatModule.onDamageLowest(event);
+        combatModule.onDamageLow(event);
+        combatModule.onDamageNormal(event);
+        combatModule.onDamageHigh(event);
+        combatModule.onDamageHighest(event);
+        return event;
+    }
+
+    private static Player player(String name, MatchTeam team) {
+        Player player = mock(Player.class);
+        UUID uuid = UUID.randomUUID();
+        when(player.getUniqueId()).thenReturn(uuid);
+        when(player.getName()).thenReturn(name);
+        when(player.getHealth()).thenReturn(20.0);
+
+        PlayerInventory inventory = mock(PlayerInventory.class);
+        ItemStack sword = new ItemStack(Material.IRON_SWORD);
+        when(inventory.getContents()).thenReturn(new ItemStack[0]);
+        when(inventory.getItemInMainHand()).thenReturn(sword);
+        when(player.getInventory()).thenReturn(inventory);
+
+        AttributeInstance maxHealth = mock(AttributeInstance.class);
+        when(maxHealth.getValue()).thenReturn(20.0);
+        when(player.getAttribute(Attribute.GENERIC_MAX_HEALTH)).thenReturn(maxHealth);
+        Player.Spigot spigot = mock(Player.Spigot.class);
+        when(player.spigot()).thenReturn(spigot);
+
+        team.addPlayer(new PlayerContext(player, null));
+        return player;
+    }
+
+    private static long actionBars(Player player) {
+        return mockingDetails(player.spigot()).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("sendMessage"))
+                .filter(invocation -> invocation.getArgument(0) == ChatMessageType.ACTION_BAR)
+                .count();
+    }
+}
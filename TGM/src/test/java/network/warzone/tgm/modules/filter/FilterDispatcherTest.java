@@ -0,0 +1,648 @@
+package network.warzone.tgm.modules.filter;
+
+import network.warzone.tgm.modules.filter.evaluate.AllowFilterEvaluator;
+import network.warzone.tgm.modules.filter.evaluate.DenyFilterEvaluator;
+import network.warzone.tgm.modules.filter.evaluate.FilterEvaluator;
+import network.warzone.tgm.modules.filter.type.*;
+import network.warzone.tgm.modules.region.CuboidRegion;
+import network.warzone.tgm.modules.region.Region;
+import network.warzone.tgm.modules.region.SphereRegion;
+import network.warzone.tgm.modules.team.MatchTeam;
+import network.warzone.tgm.modules.team.TeamManagerModule;
+import network.warzone.tgm.user.PlayerContext;
+import org.bukkit.ChatColor;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ItemFrame;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.hanging.HangingBreakEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs random filters, teams and events through the {@link FilterDispatcher}
+ * and through the per filter listeners it replaced, and expects the same
+ * cancellations, messages and exploded blocks from both.
+ */
+public class FilterDispatcherTest {
+
+    private static final int TRIALS = 200;
+    private static final int EVENTS = 100;
+    private static final Material[] MATERIALS = {Material.STONE, Material.DIRT, Material.GLASS};
+    private static final String[] TYPES = {"enter", "leave", "build", "block-place", "block-break", "block-explode"};
+    private static final BlockFace[] FACES = {BlockFace.UP, BlockFace.DOWN, BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST};
+
+    private World world;
+    private List<String> messages;
+
+    private Random random;
+    private List<MatchTeam> teams;
+    private List<Player> players;
+    private Map<Player, Location> positions; // where each player last moved to
+    private List<Filter> filters;
+    private FilterDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        world = mock(World.class);
+        messages = new ArrayList<>();
+    }
+
+    @Test
+    public void dispatcherMatchesFilterListeners() {
+        for (int trial = 0; trial < TRIALS; trial++) {
+            random = new Random(trial);
+            createTrial();
+            for (int i = 0; i < EVENTS; i++) {
+                String description = "trial " + trial + ", event " + i;
+                switch (random.nextInt(8)) {
+                    case 0:
+                    case 1:
+                        move(description);
+                        break;
+                    case 2:
+                        place(description);
+                        break;
+                    case 3:
+                        breakBlock(description);
+                        break;
+                    case 4:
+                        explode(description);
+                        break;
+                    case 5:
+                        piston(description);
+                        break;
+                    case 6:
+                        clickItemFrame(description);
+                        break;
+                    default:
+                        breakHanging(description);
+                        break;
+                }
+            }
+        }
+    }
+
+    private void createTrial() {
+        teams = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            teams.add(new MatchTeam("team" + i, "Team " + i, ChatColor.RED, GameMode.SURVIVAL, i == 0, 16, 0, false));
+        }
+
+        players = new ArrayList<>();
+        positions = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            Player player = player("player" + i);
+            players.add(player);
+            // some players aren't on any team.
+            int team = random.nextInt(teams.size() + 1);
+            if (team < teams.size()) teams.get(team).addPlayer(new PlayerContext(player, null));
+        }
+
+        List<Region> regions = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            if (random.nextBoolean()) {
+                regions.add(new CuboidRegion(randomLocation(12), randomLocation(12)));
+            } else {
+                regions.add(new SphereRegion(randomLocation(8), 1 + random.nextInt(8)));
+            }
+        }
+
+        filters = new ArrayList<>();
+        int count = 1 + random.nextInt(8);
+        for (int i = 0; i < count; i++) {
+            String type = TYPES[random.nextInt(TYPES.length)];
+            List<MatchTeam> filterTeams = new ArrayList<>();
+            for (MatchTeam team : teams) {
+                if (random.nextBoolean()) filterTeams.add(team);
+            }
+            // filters may list a region more than once, or share it with other filters.
+            List<Region> filterRegions = new ArrayList<>();
+            int regionCount = 1 + random.nextInt(3);
+            for (int j = 0; j < regionCount; j++) {
+                filterRegions.add(regions.get(random.nextInt(regions.size())));
+            }
+            List<Material> blocks = new ArrayList<>();
+            for (Material material : MATERIALS) {
+                if (random.nextInt(3) == 0) blocks.add(material);
+            }
+            FilterEvaluator evaluator = random.nextBoolean() ? new AllowFilterEvaluator() : new DenyFilterEvaluator();
+            String message = random.nextInt(4) == 0 ? null : type + " #" + i;
+            filters.add(new Filter(type, filterTeams, filterRegions, evaluator, message, blocks, random.nextInt(4) == 0));
+        }
+
+        TeamManagerModule teamManagerModule = mock(TeamManagerModule.class);
+        when(teamManagerModule.getTeams()).thenReturn(teams);
+        when(teamManagerModule.getTeam(any(Player.class))).thenAnswer(invocation -> {
+            Player player = invocation.getArgument(0);
+            for (MatchTeam team : teams) {
+                if (team.containsPlayer(player)) return team;
+            }
+            return null;
+        });
+
+        // messages aren't throttled, the filter listeners didn't throttle them either.
+        dispatcher = new FilterDispatcher(teamManagerModule, random.nextBoolean() ? 4 : 4096, 0);
+        for (Filter filter : filters) {
+            filter.compiled().compile(dispatcher);
+        }
+    }
+
+    private void move(String description) {
+        Player player = players.get(random.nextInt(players.size()));
+        // players mostly walk on from where they are, often within the same block.
+        Location from = positions.containsKey(player) && random.nextInt(4) != 0 ? positions.get(player) : randomPosition();
+        Location to;
+        switch (random.nextInt(4)) {
+            case 0: // turning
+                to = from.clone();
+                break;
+            case 1:
+                to = new Location(world, from.getBlockX(), from.getBlockY(), from.getBlockZ()).add(random.nextDouble(), random.nextDouble(), random.nextDouble());
+                break;
+            case 2: // onto a face of the block
+                to = new Location(world, from.getBlockX(), from.getBlockY(), from.getBlockZ()).add(random.nextInt(2) * 0.999, 0, random.nextBoolean() ? 0 : 0.5);
+                break;
+            default:
+                to = randomPosition();
+        }
+        positions.put(player, to);
+        boolean cancelled = random.nextInt(4) == 0;
+
+        compare(description + " (move)", () -> {
+            PlayerMoveEvent event = new PlayerMoveEvent(player, from.clone(), to.clone());
+            event.setCancelled(cancelled);
+            return event;
+        }, event -> {
+            for (Filter filter : filters) {
+                if (filter.type.equals("enter")) Baseline.enter(filter, event);
+                else if (filter.type.equals("leave")) Baseline.leave(filter, event);
+            }
+        }, dispatcher::onMove);
+    }
+
+    private void place(String description) {
+        Player player = players.get(random.nextInt(players.size()));
+        Block block = randomBlock();
+        boolean cancelled = random.nextInt(4) == 0;
+
+        compare(description + " (place)", () -> {
+            BlockPlaceEvent event = new BlockPlaceEvent(block, null, block.getRelative(BlockFace.DOWN), null, player, true, EquipmentSlot.HAND);
+            event.setCancelled(cancelled);
+            return event;
+        }, event -> {
+            for (Filter filter : filters) {
+                if (filter.type.equals("build") && !event.isCancelled()) Baseline.buildPlace(filter, event);
+            }
+            for (Filter filter : filters) {
+                if (filter.type.equals("block-place") && !event.isCancelled()) Baseline.blockPlace(filter, event);
+            }
+        }, event -> {
+            dispatcher.onBlockPlace(event);
+            if (!event.isCancelled()) dispatcher.onFilteredBlockPlace(event);
+        });
+    }
+
+    private void breakBlock(String description) {
+        Player player = players.get(random.nextInt(players.size()));
+        Block block = randomBlock();
+        boolean cancelled = random.nextInt(4) == 0;
+
+        compare(description + " (break)", () -> {
+            BlockBreakEvent event = new BlockBreakEvent(block, player);
+            event.setCancelled(cancelled);
+            return event;
+        }, event -> {
+            for (Filter filter : filters) {
+                if (filter.type.equals("build") && !event.isCancelled()) Baseline.buildBreak(filter, event);
+            }
+            for (Filter filter : filters) {
+                if (filter.type.equals("block-break") && !event.isCancelled()) Baseline.blockBreak(filter, event);
+            }
+        }, event -> {
+            dispatcher.onBlockBreak(event);
+            if (!event.isCancelled()) dispatcher.onFilteredBlockBreak(event);
+        });
+    }
+
+    private void explode(String description) {
+        List<Block> blocks = new ArrayList<>();
+        int count = 1 + random.nextInt(10);
+        for (int i = 0; i < count; i++) {
+            blocks.add(randomBlock());
+        }
+        Entity entity = mock(Entity.class);
+
+        List<Block> baseline = new ArrayList<>(blocks);
+        EntityExplodeEvent baselineEvent = new EntityExplodeEvent(entity, randomLocation(16), baseline, 1);
+        for (Filter filter : filters) {
+            if (filter.type.equals("block-explode")) Baseline.explode(filter, baselineEvent);
+        }
+
+        List<Block> dispatched = new ArrayList<>(blocks);
+        dispatcher.onEntityExplode(new EntityExplodeEvent(entity, randomLocation(16), dispatched, 1));
+
+        assertEquals(description + " (explode)", baseline, dispatched);
+    }
+
+    private void piston(String description) {
+        Block piston = randomBlock();
+        BlockFace direction = FACES[random.nextInt(FACES.length)];
+        List<Block> blocks = new ArrayList<>();
+        int count = random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            blocks.add(randomBlock());
+        }
+
+        if (random.nextBoolean()) {
+            compare(description + " (piston extend)", () -> new BlockPistonExtendEvent(piston, blocks, direction), event -> {
+                for (Filter filter : filters) {
+                    if (filter.type.equals("build")) Baseline.pistonExtend(filter, event);
+                }
+            }, dispatcher::onPistonExtend);
+        } else {
+            compare(description + " (piston retract)", () -> new BlockPistonRetractEvent(piston, blocks, direction), event -> {
+                for (Filter filter : filters) {
+                    if (filter.type.equals("build")) Baseline.pistonRetract(filter, event);
+                }
+            }, dispatcher::onPistonRetract);
+        }
+    }
+
+    private void clickItemFrame(String description) {
+        Player player = players.get(random.nextInt(players.size()));
+        ItemFrame itemFrame = itemFrame(randomLocation(16));
+        boolean cancelled = random.nextInt(4) == 0;
+
+        compare(description + " (item frame)", () -> {
+            PlayerInteractEntityEvent event = new PlayerInteractEntityEvent(player, itemFrame);
+            event.setCancelled(cancelled);
+            return event;
+        }, event -> {
+            for (Filter filter : filters) {
+                if (filter.type.equals("build")) Baseline.clickItemFrame(filter, event);
+            }
+        }, dispatcher::onPlayerClickItemFrame);
+    }
+
+    private void breakHanging(String description) {
+        ItemFrame itemFrame = itemFrame(randomLocation(16));
+
+        compare(description + " (hanging break)", () -> new HangingBreakEvent(itemFrame, HangingBreakEvent.RemoveCause.PHYSICS), event -> {
+            for (Filter filter : filters) {
+                if (filter.type.equals("build")) Baseline.breakHanging(filter, event);
+            }
+        }, dispatcher::onHangingBreak);
+    }
+
+    /**
+     * Hands an event to the filter listeners and an identical one to the
+     * dispatcher, then compares whether they were cancelled and what was sent.
+     */
+    private <T extends Cancellable> void compare(String description, Supplier<T> events, Consumer<T> baseline, Consumer<T> dispatched) {
+        messages.clear();
+        T baselineEvent = events.get();
+        baseline.accept(baselineEvent);
+        List<String> baselineMessages = new ArrayList<>(messages);
+
+        messages.clear();
+        T dispatchedEvent = events.get();
+        dispatched.accept(dispatchedEvent);
+
+        assertEquals(description + " cancelled", baselineEvent.isCancelled(), dispatchedEvent.isCancelled());
+        assertEquals(description + " messages", baselineMessages, messages);
+    }
+
+    private Player player(String name) {
+        Player player = mock(Player.class);
+        UUID uuid = UUID.randomUUID();
+        when(player.getUniqueId()).thenReturn(uuid);
+        when(player.getName()).thenReturn(name);
+        // the old build listeners sent null messages, those never reached the player.
+        doAnswer(invocation -> messages.add(name + ": " + invocation.getArgument(0))).when(player).sendMessage(anyString());
+        return player;
+    }
+
+    private ItemFrame itemFrame(Location location) {
+        ItemFrame itemFrame = mock(ItemFrame.class);
+        when(itemFrame.getLocation()).thenReturn(location);
+        return itemFrame;
+    }
+
+    private Block randomBlock() {
+        return block(random.nextInt(33) - 16, random.nextInt(33) - 16, random.nextInt(33) - 16, MATERIALS[random.nextInt(MATERIALS.length)]);
+    }
+
+    private Block block(int x, int y, int z, Material type) {
+        return mock(Block.class, invocation -> {
+            Object[] arguments = invocation.getArguments();
+            switch (invocation.getMethod().getName()) {
+                case "getX":
+                    return x;
+                case "getY":
+                    return y;
+                case "getZ":
+                    return z;
+                case "getType":
+                    return type;
+                case "getLocation":
+                    if (arguments.length == 0) return new Location(world, x, y, z);
+                    break;
+                case "getRelative":
+                    if (arguments.length == 1 && arguments[0] instanceof BlockFace) {
+                        BlockFace face = (BlockFace) arguments[0];
+                        return block(x + face.getModX(), y + face.getModY(), z + face.getModZ(), Material.AIR);
+                    }
+                    break;
+            }
+            return RETURNS_DEFAULTS.answer(invocation);
+        });
+    }
+
+    private Location randomLocation(int range) {
+        return new Location(world, random.nextInt(range * 2 + 1) - range, random.nextInt(range * 2 + 1) - range, random.nextInt(range * 2 + 1) - range);
+    }
+
+    private Location randomPosition() {
+        return randomLocation(16).add(random.nextDouble(), random.nextDouble(), random.nextDouble());
+    }
+
+    private static class Filter {
+        private final String type;
+        private final List<MatchTeam> teams;
+        private final List<Region> regions;
+        private final FilterEvaluator evaluator;
+        private final String message;
+        private final List<Material> blocks;
+        private final boolean inverted;
+
+        private Filter(String type, List<MatchTeam> teams, List<Region> regions, FilterEvaluator evaluator, String message, List<Material> blocks, boolean inverted) {
+            this.type = type;
+            this.teams = teams;
+            this.regions = regions;
+            this.evaluator = evaluator;
+            this.message = message;
+            this.blocks = blocks;
+            this.inverted = inverted;
+        }
+
+        private FilterType compiled() {
+            switch (type) {
+                case "enter":
+                    return new EnterFilterType(teams, regions, evaluator, message, inverted);
+                case "leave":
+                    return new LeaveFilterType(teams, regions, evaluator, message, inverted);
+                case "build":
+                    return new BuildFilterType(teams, regions, evaluator, message, inverted);
+                case "block-place":
+                    return new BlockPlaceFilterType(teams, regions, evaluator, message, blocks, inverted);
+                case "block-break":
+                    return new BlockBreakFilterType(teams, regions, evaluator, message, blocks, inverted);
+                default:
+                    return new BlockExplodeFilterType(regions, evaluator, inverted);
+            }
+        }
+
+        private boolean contains(Region region, Location location) {
+            if (!inverted) return region.contains(location);
+            else return !region.contains(location);
+        }
+    }
+
+    /**
+     * The event handlers of the filter types before they were compiled into
+     * the dispatcher, one call per filter listener.
+     */
+    private static class Baseline {
+
+        private static void enter(Filter filter, PlayerMoveEvent event) {
+            for (Region region : filter.regions) {
+                if (filter.contains(region, event.getTo())) {
+                    for (MatchTeam matchTeam : filter.teams) {
+                        if (matchTeam.containsPlayer(event.getPlayer())) {
+                            FilterResult filterResult = filter.evaluator.evaluate(event.getPlayer());
+                            if (filterResult == FilterResult.DENY) {
+                                event.setCancelled(true);
+                                if (filter.message != null) event.getPlayer().sendMessage(filter.message);
+                            } else if (filterResult == FilterResult.ALLOW) {
+                                event.setCancelled(false);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void leave(Filter filter, PlayerMoveEvent event) {
+            if (event.getFrom().getX() == event.getTo().getX() && event.getFrom().getY() == event.getTo().getY() && event.getFrom().getZ() == event.getTo().getZ()) return;
+            for (Region region : filter.regions) {
+                if (!filter.contains(region, event.getFrom()) && filter.contains(region, event.getTo())) {
+                    for (MatchTeam matchTeam : filter.teams) {
+                        if (matchTeam.containsPlayer(event.getPlayer())) {
+                            FilterResult filterResult = filter.evaluator.evaluate(event.getPlayer());
+                            if (filterResult == FilterResult.DENY) {
+                                event.setCancelled(true);
+                                if (filter.message != null) event.getPlayer().sendMessage(filter.message);
+                            } else if (filterResult == FilterResult.ALLOW) {
+                                event.setCancelled(false);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void buildPlace(Filter filter, BlockPlaceEvent event) {
+            for (Region region : filter.regions) {
+                if (filter.contains(region, event.getBlockPlaced().getLocation())) {
+                    for (MatchTeam matchTeam : filter.teams) {
+                        if (matchTeam.containsPlayer(event.getPlayer())) {
+                            FilterResult filterResult = filter.evaluator.evaluate(event.getPlayer());
+                            if (filterResult == FilterResult.DENY) {
+                                event.setCancelled(true);
+                                if (filter.message != null) event.getPlayer().sendMessage(filter.message);
+                            } else if (filterResult == FilterResult.ALLOW) {
+                                event.setCancelled(false);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void buildBreak(Filter filter, BlockBreakEvent event) {
+            for (Region region : filter.regions) {
+                if (filter.contains(region, event.getBlock().getLocation())) {
+                    for (MatchTeam matchTeam : filter.teams) {
+                        if (matchTeam.containsPlayer(event.getPlayer())) {
+                            FilterResult filterResult = filter.evaluator.evaluate(event.getPlayer());
+                            if (filterResult == FilterResult.DENY) {
+                                event.setCancelled(true);
+                                event.getPlayer().sendMessage(filter.message);
+                            } else if (filterResult == FilterResult.ALLOW) {
+                                event.setCancelled(false);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void clickItemFrame(Filter filter, PlayerInteractEntityEvent event) {
+            if (!event.isCancelled() && event.getRightClicked() != null && event.getRightClicked() instanceof ItemFrame) {
+                for (Region region : filter.regions) {
+                    if (filter.contains(region, event.getRightClicked().getLocation())) {
+                        for (MatchTeam matchTeam : filter.teams) {
+                            if (matchTeam.containsPlayer(event.getPlayer())) {
+                                FilterResult filterResult = filter.evaluator.evaluate(event.getPlayer());
+                                if (filterResult == FilterResult.DENY) {
+                                    event.setCancelled(true);
+                                    event.getPlayer().sendMessage(filter.message);
+                                } else if (filterResult == FilterResult.ALLOW) {
+                                    event.setCancelled(false);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void breakHanging(Filter filter, HangingBreakEvent event) {
+            if (!event.isCancelled()) {
+                for (Region region : filter.regions) {
+                    if (filter.contains(region, event.getEntity().getLocation())) {
+                        event.setCancelled(true);
+                    }
+                }
+            }
+        }
+
+        private static void pistonExtend(Filter filter, BlockPistonExtendEvent event) {
+            if (!event.isCancelled()) {
+                FilterResult filterResult = filter.evaluator.evaluate();
+                if (filterResult == FilterResult.DENY) {
+                    BlockFace direction = event.getDirection();
+                    for (Region region : filter.regions) {
+                        if (filter.contains(region, event.getBlock().getLocation().clone().add(direction.getModX(), direction.getModY(), direction.getModZ()))) {
+                            event.setCancelled(true);
+                            return;
+                        } else {
+                            for (Block block : event.getBlocks()) {
+                                if (filter.contains(region, event.getBlock().getLocation().clone().add(direction.getModX(), direction.getModY(), direction.getModZ())) || filter.contains(region, block.getLocation().clone().add(direction.getModX(), direction.getModY(), direction.getModZ()))) {
+                                    event.setCancelled(true);
+                                    return;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void pistonRetract(Filter filter, BlockPistonRetractEvent event) {
+            if (!event.isCancelled()) {
+                FilterResult filterResult = filter.evaluator.evaluate();
+                if (filterResult == FilterResult.DENY) {
+                    BlockFace direction = event.getDirection().getOppositeFace();
+                    for (Region region : filter.regions) {
+                        if (filter.contains(region, event.getBlock().getLocation().clone().add(direction.getModX(), direction.getModY(), direction.getModZ()))) {
+                            event.setCancelled(true);
+                            return;
+                        } else {
+                            for (Block block : event.getBlocks()) {
+                                if (filter.contains(region, block.getLocation().clone().add(direction.getModX(), direction.getModY(), direction.getModZ()))) {
+                                    event.setCancelled(true);
+                                    return;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void blockPlace(Filter filter, BlockPlaceEvent event) {
+            for (Region region : filter.regions) {
+                if (filter.contains(region, event.getBlockPlaced().getLocation())) {
+                    for (MatchTeam matchTeam : filter.teams) {
+                        if (matchTeam.containsPlayer(event.getPlayer())) {
+                            FilterResult filterResult = filter.evaluator.evaluate(event.getPlayer());
+                            if (!allows(filter, event.getBlockPlaced().getType(), filterResult)) {
+                                event.setCancelled(true);
+                                if (filter.message != null) event.getPlayer().sendMessage(filter.message);
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void blockBreak(Filter filter, BlockBreakEvent event) {
+            for (Region region : filter.regions) {
+                if (filter.contains(region, event.getBlock().getLocation())) {
+                    for (MatchTeam matchTeam : filter.teams) {
+                        if (matchTeam.containsPlayer(event.getPlayer())) {
+                            FilterResult filterResult = filter.evaluator.evaluate(event.getPlayer());
+                            if (!allows(filter, event.getBlock().getType(), filterResult)) {
+                                event.setCancelled(true);
+                                if (filter.message != null) event.getPlayer().sendMessage(filter.message);
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        private static boolean allows(Filter filter, Material material, FilterResult filterResult) {
+            if (filterResult == FilterResult.ALLOW) {
+                if (filter.blocks == null || filter.blocks.isEmpty()) return true;
+                return filter.blocks.contains(material);
+            } else {
+                if (filter.blocks == null || filter.blocks.isEmpty()) return false;
+                return !filter.blocks.contains(material);
+            }
+        }
+
+        private static void explode(Filter filter, EntityExplodeEvent event) {
+            List<Block> cancelledBlocks = new ArrayList<>();
+            for (Block block : event.blockList()) {
+                for (Region region : filter.regions) {
+                    FilterResult filterResult = filter.evaluator.evaluate();
+                    if (filterResult == FilterResult.DENY) {
+                        if (filter.contains(region, block.getLocation())) {
+                            if (!cancelledBlocks.contains(block)) cancelledBlocks.add(block);
+                        }
+                    }
+                }
+            }
+
+            for (Block block : cancelledBlocks) {
+                event.blockList().remove(block);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package network.warzone.tgm.modules.kit;
+
+import network.warzone.tgm.modules.kit.types.EffectKitNode;
+import network.warzone.tgm.modules.kit.types.ItemKitNode;
+import network.warzone.tgm.modules.team.MatchTeam;
+import org.bukkit.ChatColor;
+import org.bukkit.GameMode;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Applies a full kit with armor and effects through its compiled template and
+ * node by node, and expects the same inventory from both.
+ */
+public class KitTemplateTest {
+
+    private static final Material[] MATERIALS = {Material.STONE_SWORD, Material.BOW, Material.ARROW, Material.OAK_PLANKS, Material.COOKED_BEEF, Material.GLASS};
+    private static final int APPLICATIONS = 10000;
+
+    private MatchTeam matchTeam;
+    private List<KitNode> nodes;
+
+    @Before
+    public void setUp() {
+        matchTeam = new MatchTeam("red", "Red", ChatColor.RED, GameMode.SURVIVAL, false, 16, 0, false);
+
+        nodes = new ArrayList<>();
+        for (int slot = 0; slot < 36; slot++) {
+            nodes.add(new ItemKitNode(slot, new ItemStack(MATERIALS[slot % MATERIALS.length], 1 + slot), false));
+        }
+        nodes.add(new ItemKitNode(100, new ItemStack(Material.IRON_BOOTS), false));
+        nodes.add(new ItemKitNode(101, new ItemStack(Material.IRON_LEGGINGS), false));
+        nodes.add(new ItemKitNode(102, new ItemStack(Material.IRON_CHESTPLATE), false));
+        nodes.add(new ItemKitNode(103, new ItemStack(Material.IRON_HELMET), false));
+        nodes.add(new ItemKitNode(-106, new ItemStack(Material.SHIELD), false));
+        nodes.add(new EffectKitNode(new PotionEffect(PotionEffectType.SPEED, 200, 1)));
+        nodes.add(new EffectKitNode(new PotionEffect(PotionEffectType.DAMAGE_RESISTANCE, 200, 0)));
+    }
+
+    @Test
+    public void templateMatchesNodes() {
+        FakePlayer expected = new FakePlayer();
+        for (KitNode node : nodes) {
+            node.apply(expected.player, matchTeam);
+        }
+
+        FakePlayer actual = new FakePlayer();
+        new KitTemplate(nodes, matchTeam).apply(actual.player);
+
+        actual.assertSameAs(expected);
+    }
+
+    @Test
+    public void templateKeepsItemsItDoesNotSet() {
+        // a kit filling every other slot, applied over a full inventory.
+        List<KitNode> partial = new ArrayList<>();
+        for (KitNode node : nodes) {
+            if (node instanceof ItemKitNode && ((ItemKitNode) node).getSlot() % 2 == 1) continue;
+            partial.add(node);
+        }
+
+        FakePlayer expected = new FakePlayer();
+        FakePlayer actual = new FakePlayer();
+        for (int slot = 0; slot < 36; slot++) {
+            ItemStack itemStack = new ItemStack(Material.DIRT, 1 + slot);
+            expected.storage[slot] = itemStack;
+            actual.storage[slot] = itemStack;
+        }
+        ItemStack helmet = new ItemStack(Material.DIAMOND_HELMET);
+        expected.armor[3] = helmet;
+        actual.armor[3] = helmet;
+
+        for (KitNode node : partial) {
+            node.apply(expected.player, matchTeam);
+        }
+        new KitTemplate(partial, matchTeam).apply(actual.player);
+
+        actual.assertSameAs(expected);
+        assertSame(helmet, actual.armor[3]);
+    }
+
+    @Test
+    public void templateWritesInventoryOncePerPart() {
+        KitTemplate template = new KitTemplate(nodes, matchTeam);
+        FakePlayer player = new FakePlayer();
+
+        for (int i = 0; i < APPLICATIONS; i++) {
+            template.apply(player.player);
+        }
+
+        assertEquals(APPLICATIONS, player.calls("setStorageContents"));
+        assertEquals(APPLICATIONS, player.calls("setArmorContents"));
+        assertEquals(APPLICATIONS, player.calls("setItemInOffHand"));
+        assertEquals(0, player.calls("setItem"));
+        assertEquals(2 * APPLICATIONS, player.effects.size());
+    }
+
+    /**
+     * A player whose inventory is kept in arrays.
+     */
+    private static class FakePlayer {
+        private final ItemStack[] storage = new ItemStack[36];
+        private final ItemStack[] armor = new ItemStack[4]; // boots, leggings, chestplate, helmet
+        private ItemStack offHand;
+        private final List<PotionEffect> effects = new ArrayList<>();
+        private final Map<String, Integer> calls = new HashMap<>();
+
+        private final Player player;
+
+        private FakePlayer() {
+            PlayerInventory inventory = mock(PlayerInventory.class, invocation -> {
+                String name = invocation.getMethod().getName();
+                calls.merge(name, 1, Integer::sum);
+                switch (name) {
+                    case "getStorageContents":
+                        return storage.clone();
+                    case "getArmorContents":
+                        return armor.clone();
+                    case "setStorageContents":
+                        System.arraycopy(invocation.<ItemStack[]>getArgument(0), 0, storage, 0, storage.length);
+                        return null;
+                    case "setArmorContents":
+                        System.arraycopy(invocation.<ItemStack[]>getArgument(0), 0, armor, 0, armor.length);
+                        return null;
+                    case "setBoots":
+                        armor[0] = invocation.getArgument(0);
+                        return null;
+                    case "setLeggings":
+                        armor[1] = invocation.getArgument(0);
+                        return null;
+                    case "setChestplate":
+                        armor[2] = invocation.getArgument(0);
+                        return null;
+                    case "setHelmet":
+                        armor[3] = invocation.getArgument(0);
+                        return null;
+                    case "setItemInOffHand":
+                        offHand = invocation.getArgument(0);
+                        return null;
+                    case "setItem":
+                        int slot = invocation.getArgument(0);
+                        if (slot < storage.length) storage[slot] = invocation.getArgument(1);
+                        return null;
+                }
+                return RETURNS_DEFAULTS.answer(invocation);
+            });
+
+            player = mock(Player.class);
+            when(player.getInventory()).thenReturn(inventory);
+            when(player.addPotionEffect(any(PotionEffect.class), anyBoolean())).thenAnswer(invocation -> effects.add(invocation.getArgument(0)));
+        }
+
+        private int calls(String method) {
+            return calls.getOrDefault(method, 0);
+        }
+
+        private void assertSameAs(FakePlayer expected) {
+            for (int slot = 0; slot < storage.length; slot++) {
+                assertSame("slot " + slot, expected.storage[slot], storage[slot]);
+            }
+            for (int slot = 0; slot < armor.length; slot++) {
+                assertSame("armor slot " + slot, expected.armor[slot], armor[slot]);
+            }
+            assertSame(expected.offHand, offHand);
+            assertEquals(expected.effects, effects);
+        }
+    }
+}
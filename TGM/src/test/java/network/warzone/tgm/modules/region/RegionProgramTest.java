@@ -0,0 +1,158 @@
+package network.warzone.tgm.modules.region;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import network.warzone.tgm.match.Match;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares compiled meta regions against evaluating their regions one by one.
+ */
+public class RegionProgramTest {
+
+    private static final int TRIALS = 500;
+    private static final int POINTS = 200;
+    private static final MetaRegion.Operation[] OPERATIONS = MetaRegion.Operation.values();
+
+    private World world;
+    private Match match;
+    private final List<Region> registry = new ArrayList<>(); // regions referenced by meta regions, by index
+
+    private Random random;
+
+    @Before
+    public void setUp() {
+        world = mock(World.class);
+        match = mock(Match.class);
+        RegionManagerModule regionManagerModule = mock(RegionManagerModule.class);
+        when(match.getWorld()).thenReturn(world);
+        when(match.getModule(RegionManagerModule.class)).thenReturn(regionManagerModule);
+        when(regionManagerModule.getRegion(any(Match.class), any(JsonElement.class)))
+                .thenAnswer(invocation -> registry.get(invocation.<JsonElement>getArgument(1).getAsInt()));
+    }
+
+    @Test
+    public void programMatchesRecursiveContains() {
+        for (int trial = 0; trial < TRIALS; trial++) {
+            random = new Random(trial);
+            MetaRegion region = metaRegion(0);
+            for (int i = 0; i < POINTS; i++) {
+                Location location = randomPoint();
+                assertEquals("trial " + trial + " at " + location.toVector(), contains(region, location), region.contains(location));
+            }
+        }
+    }
+
+    @Test
+    public void notIsUnbounded() {
+        Region cuboid = new CuboidRegion(new Location(world, 10, 10, 10), new Location(world, 20, 20, 20));
+        MetaRegion not = metaRegion(MetaRegion.Operation.NOT, cuboid);
+
+        assertNull(not.getNode().bounds);
+        assertEquals(new Location(world, 0, 0, 0), not.getMin());
+        assertEquals(new Location(world, 0, 0, 0), not.getMax());
+
+        assertFalse(not.contains(new Location(world, 15, 15, 15)));
+        assertTrue(not.contains(new Location(world, 0, 0, 0)));
+        assertTrue(not.contains(new Location(world, 1000, -64, -1000)));
+
+        // nested in a union the whole union is unbounded, in an intersection the other regions bound it.
+        MetaRegion union = metaRegion(MetaRegion.Operation.UNION, not, cuboid);
+        assertNull(union.getNode().bounds);
+        assertTrue(union.contains(new Location(world, 1000, -64, -1000)));
+
+        Region sphere = new SphereRegion(new Location(world, 20, 20, 20), 4);
+        MetaRegion intersection = metaRegion(MetaRegion.Operation.INTERSECT, not, sphere);
+        assertNotNull(intersection.getNode().bounds);
+        assertTrue(intersection.contains(new Location(world, 22, 20, 20)));
+        assertFalse(intersection.contains(new Location(world, 20, 20, 20)));
+        assertFalse(intersection.contains(new Location(world, 1000, -64, -1000)));
+    }
+
+    @Test
+    public void emptyOperations() {
+        Location location = new Location(world, 1, 2, 3);
+        assertFalse(metaRegion(MetaRegion.Operation.UNION).contains(location));
+        assertFalse(metaRegion(MetaRegion.Operation.INTERSECT).contains(location));
+        assertFalse(metaRegion(MetaRegion.Operation.DIFFERENCE).contains(location));
+        assertTrue(metaRegion(MetaRegion.Operation.NOT).contains(location));
+    }
+
+    /**
+     * The meaning of each operation, evaluated without the program.
+     */
+    private static boolean contains(Region region, Location location) {
+        if (!(region instanceof MetaRegion)) return region.contains(location);
+
+        MetaRegion metaRegion = (MetaRegion) region;
+        List<Region> regions = metaRegion.getRegions();
+        switch (metaRegion.getOperation()) {
+            case UNION:
+                for (Region child : regions) {
+                    if (contains(child, location)) return true;
+                }
+                return false;
+            case INTERSECT:
+                if (regions.isEmpty()) return false;
+                for (Region child : regions) {
+                    if (!contains(child, location)) return false;
+                }
+                return true;
+            case DIFFERENCE:
+                if (regions.isEmpty() || !contains(regions.get(0), location)) return false;
+                for (Region child : regions.subList(1, regions.size())) {
+                    if (contains(child, location)) return false;
+                }
+                return true;
+            default:
+                for (Region child : regions) {
+                    if (contains(child, location)) return false;
+                }
+                return true;
+        }
+    }
+
+    private MetaRegion metaRegion(int depth) {
+        MetaRegion.Operation operation = OPERATIONS[random.nextInt(OPERATIONS.length)];
+        int count = random.nextInt(5);
+        Region[] children = new Region[count];
+        for (int i = 0; i < count; i++) {
+            children[i] = depth < 3 && random.nextInt(3) == 0 ? metaRegion(depth + 1) : randomRegion();
+        }
+        return metaRegion(operation, children);
+    }
+
+    private MetaRegion metaRegion(MetaRegion.Operation operation, Region... children) {
+        JsonArray jsonArray = new JsonArray();
+        for (Region child : children) {
+            jsonArray.add(registry.size());
+            registry.add(child);
+        }
+        return new MetaRegion(match, operation, jsonArray);
+    }
+
+    private Region randomRegion() {
+        if (random.nextBoolean()) {
+            return new CuboidRegion(randomPoint(), randomPoint());
+        }
+        return new SphereRegion(randomPoint(), 1 + random.nextDouble() * 8);
+    }
+
+    private Location randomPoint() {
+        // whole coordinates land on the faces of cuboids.
+        if (random.nextBoolean()) {
+            return new Location(world, random.nextInt(41) - 20, random.nextInt(41) - 20, random.nextInt(41) - 20);
+        }
+        return new Location(world, random.nextDouble() * 40 - 20, random.nextDouble() * 40 - 20, random.nextDouble() * 40 - 20);
+    }
+}
@@ -0,0 +1,197 @@
+package network.warzone.tgm.modules.scoreboard;
+
+import network.warzone.tgm.MockServer;
+import network.warzone.tgm.match.Match;
+import network.warzone.tgm.match.MatchPostLoadEvent;
+import network.warzone.tgm.modules.tasked.TaskedModuleManager;
+import network.warzone.tgm.modules.team.MatchTeam;
+import network.warzone.tgm.modules.team.TeamChangeEvent;
+import network.warzone.tgm.modules.team.TeamManagerModule;
+import network.warzone.tgm.user.PlayerContext;
+import org.bukkit.ChatColor;
+import org.bukkit.GameMode;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scoreboard.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Counts the Bukkit scoreboards, teams and team entries created for 100
+ * players on two teams and spectators. One scoreboard per player took 100
+ * scoreboards with 5 teams each, and every one of them held an entry for
+ * every player.
+ */
+public class ScoreboardManagerModuleTest {
+
+    private static final int PLAYERS = 100;
+    private static final int SPECTATORS = 10;
+    private static final int LINES = 2; // the blank line and the server address
+
+    private final List<FakeScoreboard> scoreboards = new ArrayList<>();
+
+    private Match match;
+    private List<MatchTeam> matchTeams;
+    private ScoreboardManagerModule scoreboardManagerModule;
+
+    @BeforeClass
+    public static void setUpServer() {
+        MockServer.get();
+    }
+
+    @Before
+    public void setUp() {
+        Server server = MockServer.get();
+        ScoreboardManager scoreboardManager = mock(ScoreboardManager.class);
+        when(server.getScoreboardManager()).thenReturn(scoreboardManager);
+        when(server.getPluginManager()).thenReturn(mock(PluginManager.class));
+        when(scoreboardManager.getNewScoreboard()).thenAnswer(invocation -> {
+            FakeScoreboard scoreboard = new FakeScoreboard();
+            scoreboards.add(scoreboard);
+            return scoreboard.scoreboard;
+        });
+
+        matchTeams = Arrays.asList(
+                new MatchTeam("spectators", "Spectators", ChatColor.AQUA, GameMode.ADVENTURE, true, Integer.MAX_VALUE, 0, false),
+                new MatchTeam("red", "Red", ChatColor.RED, GameMode.SURVIVAL, false, 50, 0, false),
+                new MatchTeam("blue", "Blue", ChatColor.BLUE, GameMode.SURVIVAL, false, 50, 0, false));
+        TeamManagerModule teamManagerModule = mock(TeamManagerModule.class);
+        when(teamManagerModule.getTeams()).thenReturn(matchTeams);
+
+        match = mock(Match.class);
+        when(match.getModule(TeamManagerModule.class)).thenReturn(teamManagerModule);
+        when(match.getModule(TaskedModuleManager.class)).thenReturn(mock(TaskedModuleManager.class));
+
+        scoreboardManagerModule = new ScoreboardManagerModule();
+        scoreboardManagerModule.load(match);
+    }
+
+    @Test
+    public void playersJoiningOnLoadShareViews() {
+        scoreboardManagerModule.onJoinStart(new MatchPostLoadEvent(match));
+        List<PlayerContext> players = joinAll();
+        scoreboardManagerModule.onJoinEnd(new MatchPostLoadEvent(match));
+
+        assertShared(players);
+    }
+
+    @Test
+    public void playersJoiningLateShareViews() {
+        List<PlayerContext> players = joinAll();
+
+        assertShared(players);
+    }
+
+    private void assertShared(List<PlayerContext> players) {
+        assertEquals(matchTeams.size(), scoreboards.size());
+        assertEquals(matchTeams.size(), scoreboardManagerModule.getViews().size());
+        for (FakeScoreboard scoreboard : scoreboards) {
+            assertEquals(matchTeams.size() + LINES, scoreboard.teams.size());
+            assertEquals(PLAYERS, scoreboard.playerEntries());
+        }
+
+        for (PlayerContext playerContext : players) {
+            Player player = playerContext.getPlayer();
+            MatchTeam team = matchTeams.stream().filter(matchTeam -> matchTeam.containsPlayer(player)).findFirst().get();
+            Scoreboard view = scoreboardManagerModule.getView(team).getScoreboard();
+            assertSame(view, scoreboardManagerModule.getScoreboard(player).getScoreboard());
+            verify(player).setScoreboard(view);
+            assertTrue(find(view).teams.get(team.getId()).contains(player.getName()));
+        }
+    }
+
+    /**
+     * Joins spectators first, then alternates between red and blue.
+     */
+    private List<PlayerContext> joinAll() {
+        List<PlayerContext> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            MatchTeam team = i < SPECTATORS ? matchTeams.get(0) : matchTeams.get(1 + i % 2);
+            PlayerContext playerContext = player("player" + i);
+            team.addPlayer(playerContext);
+            scoreboardManagerModule.onTeamChange(new TeamChangeEvent(playerContext, team, null, false, true));
+            players.add(playerContext);
+        }
+        return players;
+    }
+
+    private FakeScoreboard find(Scoreboard scoreboard) {
+        for (FakeScoreboard fakeScoreboard : scoreboards) {
+            if (fakeScoreboard.scoreboard == scoreboard) return fakeScoreboard;
+        }
+        throw new AssertionError("unknown scoreboard");
+    }
+
+    private static PlayerContext player(String name) {
+        Player player = mock(Player.class);
+        UUID uuid = UUID.randomUUID();
+        when(player.getUniqueId()).thenReturn(uuid);
+        when(player.getName()).thenReturn(name);
+
+        // players without a level keep their list name.
+        PlayerContext playerContext = mock(PlayerContext.class);
+        when(playerContext.getPlayer()).thenReturn(player);
+        return playerContext;
+    }
+
+    /**
+     * A scoreboard keeping its teams and their entries.
+     */
+    private static class FakeScoreboard {
+        private final Map<String, Set<String>> teams = new HashMap<>();
+        private final Scoreboard scoreboard;
+
+        private FakeScoreboard() {
+            Objective objective = mock(Objective.class, invocation ->
+                    invocation.getMethod().getName().equals("getScore") ? mock(Score.class) : RETURNS_DEFAULTS.answer(invocation));
+            Map<String, Team> registered = new HashMap<>();
+            scoreboard = mock(Scoreboard.class, invocation -> {
+                switch (invocation.getMethod().getName()) {
+                    case "registerNewObjective":
+                        return objective;
+                    case "registerNewTeam":
+                        String name = invocation.getArgument(0);
+                        Team team = team(teams.computeIfAbsent(name, n -> new HashSet<>()));
+                        registered.put(name, team);
+                        return team;
+                    case "getTeam":
+                        return registered.get(invocation.<String>getArgument(0));
+                }
+                return RETURNS_DEFAULTS.answer(invocation);
+            });
+        }
+
+        private static Team team(Set<String> entries) {
+            return mock(Team.class, invocation -> {
+                switch (invocation.getMethod().getName()) {
+                    case "addEntry":
+                        entries.add(invocation.getArgument(0));
+                        return null;
+                    case "removeEntry":
+                        return entries.remove(invocation.<String>getArgument(0));
+                    case "hasEntry":
+                        return entries.contains(invocation.<String>getArgument(0));
+                }
+                return RETURNS_DEFAULTS.answer(invocation);
+            });
+        }
+
+        /**
+         * @return the entries of players, leaving out the entries of the sidebar lines
+         */
+        private int playerEntries() {
+            int entries = 0;
+            for (Map.Entry<String, Set<String>> team : teams.entrySet()) {
+                if (!team.getKey().startsWith("text-")) entries += team.getValue().size();
+            }
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package network.warzone.tgm.modules.scoreboard;
+
+import org.bukkit.ChatColor;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.*;
+
+/**
+ * Counts the prefixes, suffixes and scores a sidebar sends for the usual
+ * CTW and DTM updates.
+ */
+public class SimpleScoreboardTest {
+
+    private static final String WOOL_INCOMPLETE = "\u2b1c";
+    private static final String WOOL_TOUCHED = "\u2592";
+    private static final String WOOL_COMPLETE = "\u2b1b";
+
+    private SimpleScoreboard simpleScoreboard;
+
+    @Before
+    public void setUp() {
+        Scoreboard scoreboard = mock(Scoreboard.class);
+        Objective objective = mock(Objective.class);
+        when(scoreboard.registerNewObjective(anyString(), anyString())).thenReturn(objective);
+        when(scoreboard.registerNewTeam(anyString())).thenAnswer(invocation -> mock(Team.class));
+        when(objective.getScore(anyString())).thenAnswer(invocation -> mock(Score.class));
+        simpleScoreboard = new SimpleScoreboard(scoreboard, ChatColor.AQUA + "Objectives");
+    }
+
+    @Test
+    public void firstFlushSendsEveryLineOnce() {
+        List<String> lines = ctwLayout();
+        simpleScoreboard.flush();
+
+        long longLines = lines.stream().filter(line -> line.length() > 16).count();
+        assertEquals(lines.size(), simpleScoreboard.getScoreUpdates());
+        assertEquals(lines.size(), simpleScoreboard.getPrefixUpdates());
+        assertEquals(longLines, simpleScoreboard.getSuffixUpdates());
+        assertEquals(0, simpleScoreboard.getScoreResets());
+    }
+
+    @Test
+    public void woolTouchSendsOnePrefix() {
+        ctwLayout();
+        simpleScoreboard.flush();
+        long prefixes = simpleScoreboard.getPrefixUpdates();
+        long suffixes = simpleScoreboard.getSuffixUpdates();
+        long scores = simpleScoreboard.getScoreUpdates();
+
+        // the symbol is in the first 16 characters, the suffix keeps its colour.
+        simpleScoreboard.add(wool(ChatColor.GOLD, WOOL_TOUCHED, "Orange Wool"), 3);
+        simpleScoreboard.flush();
+        assertEquals(prefixes + 1, simpleScoreboard.getPrefixUpdates());
+        assertEquals(suffixes, simpleScoreboard.getSuffixUpdates());
+        assertEquals(scores, simpleScoreboard.getScoreUpdates());
+
+        simpleScoreboard.add(wool(ChatColor.GOLD, WOOL_COMPLETE, "Orange Wool"), 3);
+        simpleScoreboard.flush();
+        assertEquals(prefixes + 2, simpleScoreboard.getPrefixUpdates());
+        assertEquals(suffixes, simpleScoreboard.getSuffixUpdates());
+        assertEquals(scores, simpleScoreboard.getScoreUpdates());
+        assertEquals(0, simpleScoreboard.getScoreResets());
+    }
+
+    @Test
+    public void unchangedLinesSendNothing() {
+        List<String> lines = ctwLayout();
+        simpleScoreboard.flush();
+        long prefixes = simpleScoreboard.getPrefixUpdates();
+        long suffixes = simpleScoreboard.getSuffixUpdates();
+        long scores = simpleScoreboard.getScoreUpdates();
+
+        // team updates re-add the same team names.
+        for (int i = 0; i < lines.size(); i++) {
+            simpleScoreboard.add(lines.get(i), i + 1);
+        }
+        assertFalse(simpleScoreboard.isDirty());
+        simpleScoreboard.flush();
+
+        assertEquals(prefixes, simpleScoreboard.getPrefixUpdates());
+        assertEquals(suffixes, simpleScoreboard.getSuffixUpdates());
+        assertEquals(scores, simpleScoreboard.getScoreUpdates());
+        assertEquals(0, simpleScoreboard.getScoreResets());
+    }
+
+    @Test
+    public void monumentDamageSendsPrefixAndSuffix() {
+        List<String> lines = dtmLayout();
+        simpleScoreboard.flush();
+        long prefixes = simpleScoreboard.getPrefixUpdates();
+        long suffixes = simpleScoreboard.getSuffixUpdates();
+        long scores = simpleScoreboard.getScoreUpdates();
+        assertEquals(lines.size(), scores);
+
+        // DTM removes the line before adding it again, only the new text is sent.
+        simpleScoreboard.remove(2);
+        simpleScoreboard.add(monument(95, "Monument"), 2);
+        simpleScoreboard.flush();
+        assertEquals(prefixes + 1, simpleScoreboard.getPrefixUpdates());
+        assertEquals(suffixes + 1, simpleScoreboard.getSuffixUpdates());
+        assertEquals(scores, simpleScoreboard.getScoreUpdates());
+        assertEquals(0, simpleScoreboard.getScoreResets());
+
+        // the same damage again changes nothing.
+        simpleScoreboard.remove(2);
+        simpleScoreboard.add(monument(95, "Monument"), 2);
+        simpleScoreboard.flush();
+        assertEquals(prefixes + 1, simpleScoreboard.getPrefixUpdates());
+        assertEquals(suffixes + 1, simpleScoreboard.getSuffixUpdates());
+        assertEquals(scores, simpleScoreboard.getScoreUpdates());
+    }
+
+    @Test
+    public void removedLinesAreReset() {
+        List<String> lines = ctwLayout();
+        simpleScoreboard.flush();
+        long prefixes = simpleScoreboard.getPrefixUpdates();
+
+        simpleScoreboard.remove(lines.size());
+        simpleScoreboard.flush();
+        assertEquals(1, simpleScoreboard.getScoreResets());
+        assertEquals(prefixes, simpleScoreboard.getPrefixUpdates());
+    }
+
+    /**
+     * The sidebar of a CTW match with two teams and two wools each, laid out like
+     * the CTW module does, starting with the blank line of the manager at score 1.
+     *
+     * @return the lines, by score starting at 1
+     */
+    private List<String> ctwLayout() {
+        List<String> lines = new ArrayList<>();
+        lines.add(" ");
+        lines.add(wool(ChatColor.RED, WOOL_INCOMPLETE, "Red Wool"));
+        lines.add(wool(ChatColor.GOLD, WOOL_INCOMPLETE, "Orange Wool"));
+        lines.add(ChatColor.BLUE + "Blue");
+        lines.add(" ");
+        lines.add(wool(ChatColor.GREEN, WOOL_INCOMPLETE, "Lime Wool"));
+        lines.add(wool(ChatColor.LIGHT_PURPLE, WOOL_INCOMPLETE, "Magenta Wool"));
+        lines.add(ChatColor.RED + "Red");
+        addAll(lines);
+        return lines;
+    }
+
+    /**
+     * The sidebar of a DTM match with two teams and one monument each.
+     */
+    private List<String> dtmLayout() {
+        List<String> lines = new ArrayList<>();
+        lines.add(" ");
+        lines.add(monument(100, "Monument"));
+        lines.add(ChatColor.BLUE + "Blue");
+        lines.add(" ");
+        lines.add(monument(100, "Monument"));
+        lines.add(ChatColor.RED + "Red");
+        addAll(lines);
+        return lines;
+    }
+
+    private void addAll(List<String> lines) {
+        for (int i = 0; i < lines.size(); i++) {
+            simpleScoreboard.add(lines.get(i), i + 1);
+        }
+    }
+
+    private static String wool(ChatColor color, String symbol, String name) {
+        return "  " + color + symbol + ChatColor.WHITE + " " + name;
+    }
+
+    private static String monument(int percentage, String name) {
+        return "  " + ChatColor.GREEN.toString() + percentage + "% " + ChatColor.WHITE + name;
+    }
+}
@@ -16,4 +16,5 @@ public class MatchFinishPacket {
     @Getter private List<String> losers; //id
     @Getter private String winningTeam; //map defined team name
     @Getter private List<TeamMapping> teamMappings;
+    @Getter private List<PlayerMatchStats> stats;
 }
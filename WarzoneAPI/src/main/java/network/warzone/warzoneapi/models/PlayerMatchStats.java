@@ -0,0 +1,14 @@
+package network.warzone.warzoneapi.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+public class PlayerMatchStats {
+    @Getter private String player; //id
+    @Getter private int kills;
+    @Getter private int deaths;
+    @Getter private int highestKillstreak;
+    @Getter private int objectives;
+    @Getter private int xp;
+}